@@ -0,0 +1,1126 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Razred koji operacije kalkulatora {@link UnaryOperation} i
+ * {@link BinaryOperation} izračunava nad brojevima {@link BigDecimal} u
+ * preciznosti zadanoj primjerkom razreda {@link MathContext}. Zbrajanje,
+ * oduzimanje i množenje su točni do zaokruživanja na zadanu preciznost, a
+ * transcendentne funkcije računaju se redovima potencija uz
+ * {@value #GUARD_DIGITS} dodatnih znamenaka pa se tek rezultat zaokružuje.
+ * <p>
+ * Konstante π, ln 2 i ln 10 te recipročne vrijednosti faktorijela (koeficijenti
+ * redova za e^x, sin i cos) pamte se u najvećoj dosad traženoj radnoj
+ * preciznosti i za manje preciznosti samo zaokružuju, pa se ponovno
+ * izračunavaju tek kad se zatraži veća preciznost. Zadnjih {@value #MEMO_CAPACITY} rezultata transcendentnih funkcija
+ * također se pamti, pa ponovljeni izračun u preciznom načinu rada kalkulatora
+ * ne traje dulje od dohvata iz mape.
+ * </p>
+ * <p>
+ * Operacije koje nemaju rezultat u realnim brojevima ili koji se ne može
+ * prikazati razredom {@link BigDecimal} (dijeljenje nulom, logaritam
+ * nepozitivnog broja, arkus sinus broja izvan [-1, 1]) bacaju
+ * {@link ArithmeticException}. Isti izuzetak bacaju i trigonometrijske
+ * funkcije kuta čija je apsolutna vrijednost veća od 10^100 jer bi svođenje
+ * takvog kuta zahtijevalo radnu preciznost razmjernu broju njegovih
+ * znamenaka.
+ * </p>
+ *
+ * @see CalculatorEngine#setMathContext(MathContext)
+ *
+ * @author Davor Češljaš
+ */
+public class BigDecimalMath {
+
+	/** Konstanta koja predstavlja broj dodatnih znamenaka tijekom izračuna */
+	private static final int GUARD_DIGITS = 10;
+
+	/** Konstanta koja predstavlja broj zapamćenih rezultata */
+	private static final int MEMO_CAPACITY = 256;
+
+	/** Konstanta koja predstavlja najveću apsolutnu vrijednost eksponenta */
+	private static final BigDecimal MAX_EXPONENT = new BigDecimal("1e8");
+
+	/** Konstanta koja predstavlja najveću apsolutnu vrijednost kuta */
+	private static final BigDecimal MAX_ANGLE = new BigDecimal("1e100");
+
+	/** Konstanta koja predstavlja najveći cijeli eksponent */
+	private static final BigDecimal MAX_INTEGER_EXPONENT = BigDecimal.valueOf(999_999_999);
+
+	/** Konstanta koja predstavlja broj 2 */
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+	/** Konstanta koja predstavlja granicu do koje se smanjuje argument atan */
+	private static final BigDecimal ATAN_REDUCTION_LIMIT = new BigDecimal("0.1");
+
+	/** Konstanta koja predstavlja granice unutar kojih se ln ne svodi */
+	private static final BigDecimal LN_LOWER = new BigDecimal("0.5");
+
+	/** Konstanta koja predstavlja granice unutar kojih se ln ne svodi */
+	private static final BigDecimal LN_UPPER = TWO;
+
+	/** Konstante najveće dosad tražene radne preciznosti */
+	private static final AtomicReference<Constants> CONSTANTS = new AtomicReference<>(new Constants(0));
+
+	/**
+	 * {@link Map} koji pamti zadnje rezultate. Poredak mape je poredak
+	 * korištenja.
+	 */
+	private static final Map<MemoKey, BigDecimal> MEMO = new LinkedHashMap<MemoKey, BigDecimal>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<MemoKey, BigDecimal> eldest) {
+			return size() > MEMO_CAPACITY;
+		}
+	};
+
+	/**
+	 * Konstruktor koji je privatan jer se razred ne instancira.
+	 */
+	private BigDecimalMath() {
+	}
+
+	/**
+	 * Metoda koja na argument <b>x</b> primjenjuje unarnu operaciju
+	 * <b>operation</b>
+	 *
+	 * @param operation
+	 *            operacija
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param x
+	 *            argument
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return rezultat zaokružen na preciznost <b>mc</b>
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko rezultat ne postoji
+	 */
+	public static BigDecimal apply(UnaryOperation operation, boolean inverse, BigDecimal x, MathContext mc) {
+		if (operation == UnaryOperation.RECIPROCAL) {
+			return BigDecimal.ONE.divide(x, mc);
+		}
+
+		MemoKey key = new MemoKey(operation, inverse, x, null, mc);
+		BigDecimal result = recall(key);
+		if (result != null) {
+			return result;
+		}
+
+		switch (operation) {
+		case LOG:
+			result = inverse ? exp10(x, mc) : log10(x, mc);
+			break;
+		case LN:
+			result = inverse ? exp(x, mc) : ln(x, mc);
+			break;
+		case SIN:
+			result = inverse ? asin(x, mc) : sin(x, mc);
+			break;
+		case COS:
+			result = inverse ? acos(x, mc) : cos(x, mc);
+			break;
+		case TAN:
+			result = inverse ? atan(x, mc) : tan(x, mc);
+			break;
+		case CTG:
+			result = inverse ? actg(x, mc) : ctg(x, mc);
+			break;
+		default:
+			throw new IllegalArgumentException("Nepodržana operacija: " + operation);
+		}
+		remember(key, result);
+		return result;
+	}
+
+	/**
+	 * Metoda koja na argumente <b>x</b> i <b>y</b> primjenjuje binarnu
+	 * operaciju <b>operation</b>
+	 *
+	 * @param operation
+	 *            operacija
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param x
+	 *            prvi argument
+	 * @param y
+	 *            drugi argument
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return rezultat zaokružen na preciznost <b>mc</b>
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko rezultat ne postoji
+	 */
+	public static BigDecimal apply(BinaryOperation operation, boolean inverse, BigDecimal x, BigDecimal y,
+			MathContext mc) {
+		switch (operation) {
+		case ADD:
+			return x.add(y, mc);
+		case SUBTRACT:
+			return x.subtract(y, mc);
+		case MULTIPLY:
+			return x.multiply(y, mc);
+		case DIVIDE:
+			return x.divide(y, mc);
+		case POWER:
+			MemoKey key = new MemoKey(operation, inverse, x, y, mc);
+			BigDecimal result = recall(key);
+			if (result == null) {
+				result = inverse ? root(x, y, mc) : pow(x, y, mc);
+				remember(key, result);
+			}
+			return result;
+		default:
+			throw new IllegalArgumentException("Nepodržana operacija: " + operation);
+		}
+	}
+
+	/**
+	 * Metoda koja izračunava broj π
+	 *
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return broj π
+	 */
+	public static BigDecimal pi(MathContext mc) {
+		return constants(mc.getPrecision() + GUARD_DIGITS).pi(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava e^x
+	 *
+	 * @param x
+	 *            eksponent
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return e^x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 10^8
+	 */
+	public static BigDecimal exp(BigDecimal x, MathContext mc) {
+		if (x.signum() == 0) {
+			return BigDecimal.ONE.round(mc);
+		}
+		if (x.abs().compareTo(MAX_EXPONENT) > 0) {
+			throw new ArithmeticException("Prevelik eksponent: " + x);
+		}
+
+		// e^x = (e^(x / 2^k))^(2^k) uz |x / 2^k| < 0.5
+		double magnitude = Math.abs(x.doubleValue());
+		int halvings = magnitude < 0.5 ? 0 : (int) Math.ceil(Math.log(magnitude) / Math.log(2)) + 1;
+		MathContext work = working(mc, halvings / 3 + integerDigits(x));
+
+		BigDecimal reduced = x.abs().divide(TWO.pow(halvings), work);
+		Constants constants = constants(work.getPrecision());
+		BigDecimal epsilon = BigDecimal.ONE.movePointLeft(work.getPrecision());
+		BigDecimal sum = BigDecimal.ONE;
+		BigDecimal power = BigDecimal.ONE;
+		for (int n = 1;; n++) {
+			power = power.multiply(reduced, work);
+			BigDecimal term = power.multiply(constants.reciprocalFactorial(n, work), work);
+			sum = sum.add(term, work);
+			if (term.compareTo(epsilon) < 0) {
+				break;
+			}
+		}
+		for (int i = 0; i < halvings; i++) {
+			sum = sum.multiply(sum, work);
+		}
+
+		if (x.signum() < 0) {
+			sum = BigDecimal.ONE.divide(sum, work);
+		}
+		return sum.round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava prirodni logaritam broja <b>x</b>
+	 *
+	 * @param x
+	 *            argument
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return ln x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko <b>x</b> nije pozitivan
+	 */
+	public static BigDecimal ln(BigDecimal x, MathContext mc) {
+		return lnWorking(x, working(mc, 0)).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava dekadski logaritam broja <b>x</b>. Logaritam
+	 * potencije broja 10 je točan.
+	 *
+	 * @param x
+	 *            argument
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return log x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko <b>x</b> nije pozitivan
+	 */
+	public static BigDecimal log10(BigDecimal x, MathContext mc) {
+		checkPositive(x);
+		BigDecimal stripped = x.stripTrailingZeros();
+		if (stripped.unscaledValue().equals(BigInteger.ONE)) {
+			return BigDecimal.valueOf(-stripped.scale()).round(mc);
+		}
+
+		MathContext work = working(mc, 0);
+		return lnWorking(x, work).divide(constants(work.getPrecision()).ln10(work), work).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava 10^x. Cjelobrojne potencije su točne.
+	 *
+	 * @param x
+	 *            eksponent
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return 10^x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 10^8
+	 */
+	public static BigDecimal exp10(BigDecimal x, MathContext mc) {
+		if (isInteger(x) && x.abs().compareTo(MAX_EXPONENT) <= 0) {
+			return BigDecimal.ONE.scaleByPowerOfTen(x.intValueExact()).round(mc);
+		}
+
+		MathContext work = working(mc, integerDigits(x));
+		return exp(x.multiply(constants(work.getPrecision()).ln10(work), work), mc);
+	}
+
+	/**
+	 * Metoda koja izračunava x^y. Cjelobrojni eksponenti računaju se
+	 * uzastopnim množenjem.
+	 *
+	 * @param x
+	 *            baza
+	 * @param y
+	 *            eksponent
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return x^y
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je baza negativna, a eksponent nije cijeli broj ili
+	 *             ukoliko je baza nula, a eksponent negativan
+	 */
+	public static BigDecimal pow(BigDecimal x, BigDecimal y, MathContext mc) {
+		if (isInteger(y) && y.abs().compareTo(MAX_INTEGER_EXPONENT) <= 0) {
+			if (x.signum() == 0 && y.signum() < 0) {
+				throw new ArithmeticException("Dijeljenje nulom");
+			}
+			return x.pow(y.intValueExact(), mc);
+		}
+		if (x.signum() < 0) {
+			throw new ArithmeticException("Negativna baza s necijelim eksponentom");
+		}
+		if (x.signum() == 0) {
+			if (y.signum() < 0) {
+				throw new ArithmeticException("Dijeljenje nulom");
+			}
+			return BigDecimal.ZERO;
+		}
+
+		MathContext work = working(mc, integerDigits(y) + integerDigits(x));
+		return exp(y.multiply(lnWorking(x, work), work), mc);
+	}
+
+	/**
+	 * Metoda koja izračunava y-ti korijen broja <b>x</b>, odnosno x^(1/y).
+	 * Cjelobrojni korijeni dodatno se popravljaju Newtonovom metodom pa je
+	 * primjerice treći korijen iz 8 točno 2.
+	 *
+	 * @param x
+	 *            broj koji se korjenuje
+	 * @param y
+	 *            stupanj korijena
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return y-ti korijen broja <b>x</b>
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je stupanj nula ili ukoliko korijen ne postoji
+	 */
+	public static BigDecimal root(BigDecimal x, BigDecimal y, MathContext mc) {
+		if (y.signum() == 0) {
+			throw new ArithmeticException("Nulti korijen");
+		}
+		MathContext work = working(mc, 0);
+		if (!isInteger(y) || y.abs().compareTo(MAX_INTEGER_EXPONENT) > 0) {
+			return pow(x, BigDecimal.ONE.divide(y, work), mc);
+		}
+
+		int n = y.intValueExact();
+		if (x.signum() == 0) {
+			if (n < 0) {
+				throw new ArithmeticException("Dijeljenje nulom");
+			}
+			return BigDecimal.ZERO;
+		}
+		if (x.signum() < 0 && n % 2 == 0) {
+			throw new ArithmeticException("Paran korijen negativnog broja");
+		}
+
+		BigDecimal a = x.abs();
+		int degree = Math.abs(n);
+		BigDecimal root = exp(lnWorking(a, work).divide(BigDecimal.valueOf(degree), work), work);
+		BigDecimal bigDegree = BigDecimal.valueOf(degree);
+		BigDecimal degreeMinusOne = BigDecimal.valueOf(degree - 1L);
+		for (int i = 0; i < 2; i++) {
+			// y = ((n - 1) y + a / y^(n - 1)) / n
+			BigDecimal quotient = a.divide(root.pow(degree - 1, work), work);
+			root = root.multiply(degreeMinusOne, work).add(quotient, work).divide(bigDegree, work);
+		}
+
+		if (n < 0) {
+			root = BigDecimal.ONE.divide(root, work);
+		}
+		return (x.signum() < 0 ? root.negate() : root).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava kvadratni korijen broja <b>x</b> Newtonovom
+	 * metodom
+	 *
+	 * @param x
+	 *            broj koji se korjenuje
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return kvadratni korijen
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je <b>x</b> negativan
+	 */
+	public static BigDecimal sqrt(BigDecimal x, MathContext mc) {
+		if (x.signum() < 0) {
+			throw new ArithmeticException("Korijen negativnog broja");
+		}
+		if (x.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		MathContext work = working(mc, 0);
+		double guess = Math.sqrt(x.doubleValue());
+		BigDecimal root = guess > 0 && !Double.isInfinite(guess) ? BigDecimal.valueOf(guess)
+				: exp(lnWorking(x, work).divide(TWO, work), work);
+		for (int i = 0; i < 100; i++) {
+			BigDecimal next = root.add(x.divide(root, work), work).divide(TWO, work);
+			if (next.compareTo(root) == 0) {
+				break;
+			}
+			root = next;
+		}
+		return root.round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava sinus kuta <b>x</b> (u radijanima)
+	 *
+	 * @param x
+	 *            kut
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return sin x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 10^100
+	 */
+	public static BigDecimal sin(BigDecimal x, MathContext mc) {
+		checkAngle(x);
+		MathContext work = working(mc, integerDigits(x));
+		return sinWorking(x, work).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava kosinus kuta <b>x</b> (u radijanima)
+	 *
+	 * @param x
+	 *            kut
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return cos x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 10^100
+	 */
+	public static BigDecimal cos(BigDecimal x, MathContext mc) {
+		checkAngle(x);
+		MathContext work = working(mc, integerDigits(x));
+		return cosWorking(x, work).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava tangens kuta <b>x</b> (u radijanima)
+	 *
+	 * @param x
+	 *            kut
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return tan x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 10^100
+	 */
+	public static BigDecimal tan(BigDecimal x, MathContext mc) {
+		checkAngle(x);
+		MathContext work = working(mc, integerDigits(x));
+		return sinWorking(x, work).divide(cosWorking(x, work), work).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava kotangens kuta <b>x</b> (u radijanima)
+	 *
+	 * @param x
+	 *            kut
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return ctg x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je <b>x</b> nula ili je |x| veći od 10^100
+	 */
+	public static BigDecimal ctg(BigDecimal x, MathContext mc) {
+		checkAngle(x);
+		MathContext work = working(mc, integerDigits(x));
+		return cosWorking(x, work).divide(sinWorking(x, work), work).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava arkus sinus broja <b>x</b>
+	 *
+	 * @param x
+	 *            broj iz [-1, 1]
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return asin x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 1
+	 */
+	public static BigDecimal asin(BigDecimal x, MathContext mc) {
+		return asinWorking(x, working(mc, 0)).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava arkus kosinus broja <b>x</b>
+	 *
+	 * @param x
+	 *            broj iz [-1, 1]
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return acos x
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 1
+	 */
+	public static BigDecimal acos(BigDecimal x, MathContext mc) {
+		MathContext work = working(mc, 0);
+		BigDecimal halfPi = constants(work.getPrecision()).pi(work).divide(TWO, work);
+		return halfPi.subtract(asinWorking(x, work), work).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava arkus tangens broja <b>x</b>
+	 *
+	 * @param x
+	 *            argument
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return atan x
+	 */
+	public static BigDecimal atan(BigDecimal x, MathContext mc) {
+		return atanWorking(x, working(mc, 0)).round(mc);
+	}
+
+	/**
+	 * Metoda koja izračunava arkus kotangens broja <b>x</b> kao atan(1 / x).
+	 * Arkus kotangens nule je π/2.
+	 *
+	 * @param x
+	 *            argument
+	 * @param mc
+	 *            preciznost rezultata
+	 * @return actg x
+	 */
+	public static BigDecimal actg(BigDecimal x, MathContext mc) {
+		MathContext work = working(mc, 0);
+		if (x.signum() == 0) {
+			return constants(work.getPrecision()).pi(work).divide(TWO, work).round(mc);
+		}
+		return atanWorking(BigDecimal.ONE.divide(x, work), work).round(mc);
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava prirodni logaritam u radnoj preciznosti.
+	 * Argument se svodi na m * 2^j * 10^e s m blizu 1, osim ukoliko je već
+	 * unutar [0.5, 2] kada bi svođenje uzrokovalo gubitak znamenaka.
+	 *
+	 * @param x
+	 *            argument
+	 * @param work
+	 *            radna preciznost
+	 * @return ln x
+	 */
+	private static BigDecimal lnWorking(BigDecimal x, MathContext work) {
+		checkPositive(x);
+		if (x.compareTo(BigDecimal.ONE) == 0) {
+			return BigDecimal.ZERO;
+		}
+		if (x.compareTo(LN_LOWER) >= 0 && x.compareTo(LN_UPPER) <= 0) {
+			return atanhLn(x, work);
+		}
+
+		int tens = x.precision() - x.scale() - 1;
+		MathContext wide = new MathContext(work.getPrecision() + String.valueOf(Math.abs(tens)).length(),
+				RoundingMode.HALF_EVEN);
+		BigDecimal mantissa = x.movePointLeft(tens);
+		int twos = (int) Math.round(Math.log(mantissa.doubleValue()) / Math.log(2));
+		BigDecimal reduced = twos == 0 ? mantissa : mantissa.divide(TWO.pow(twos), wide);
+
+		Constants constants = constants(wide.getPrecision());
+		BigDecimal result = atanhLn(reduced, wide);
+		if (twos != 0) {
+			result = result.add(constants.ln2(wide).multiply(BigDecimal.valueOf(twos), wide), wide);
+		}
+		if (tens != 0) {
+			result = result.add(constants.ln10(wide).multiply(BigDecimal.valueOf(tens), wide), wide);
+		}
+		return result.round(work);
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava ln x = 2 atanh((x - 1) / (x + 1))
+	 *
+	 * @param x
+	 *            argument blizu 1
+	 * @param work
+	 *            radna preciznost
+	 * @return ln x
+	 */
+	private static BigDecimal atanhLn(BigDecimal x, MathContext work) {
+		BigDecimal z = x.subtract(BigDecimal.ONE).divide(x.add(BigDecimal.ONE), work);
+		return atanh(z, work).multiply(TWO, work);
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava red atanh z = z + z^3/3 + z^5/5 + ...
+	 *
+	 * @param z
+	 *            argument, |z| < 1
+	 * @param work
+	 *            radna preciznost
+	 * @return atanh z
+	 */
+	private static BigDecimal atanh(BigDecimal z, MathContext work) {
+		return oddSeries(z, false, work);
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava red atan z = z - z^3/3 + z^5/5 - ...
+	 *
+	 * @param z
+	 *            argument, |z| < 1
+	 * @param work
+	 *            radna preciznost
+	 * @return atan z
+	 */
+	private static BigDecimal atanSeries(BigDecimal z, MathContext work) {
+		return oddSeries(z, true, work);
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava red z ± z^3/3 + z^5/5 ± ...
+	 *
+	 * @param z
+	 *            argument, |z| < 1
+	 * @param alternating
+	 *            zastavica koja govori izmjenjuju li se predznaci
+	 * @param work
+	 *            radna preciznost
+	 * @return zbroj reda
+	 */
+	private static BigDecimal oddSeries(BigDecimal z, boolean alternating, MathContext work) {
+		if (z.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+		BigDecimal z2 = z.multiply(z, work);
+		BigDecimal power = z;
+		BigDecimal sum = z;
+		BigDecimal epsilon = z.abs().movePointLeft(work.getPrecision());
+		for (int n = 3;; n += 2) {
+			power = power.multiply(z2, work);
+			if (alternating) {
+				power = power.negate();
+			}
+			BigDecimal term = power.divide(BigDecimal.valueOf(n), work);
+			sum = sum.add(term, work);
+			if (term.abs().compareTo(epsilon) < 0) {
+				return sum;
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava sinus u radnoj preciznosti. Kut se svodi
+	 * na [-π/2, π/2].
+	 *
+	 * @param x
+	 *            kut
+	 * @param work
+	 *            radna preciznost
+	 * @return sin x
+	 */
+	private static BigDecimal sinWorking(BigDecimal x, MathContext work) {
+		Constants constants = constants(work.getPrecision());
+		BigDecimal pi = constants.pi(work);
+		BigDecimal halfPi = pi.divide(TWO, work);
+		BigDecimal r = reduceAngle(x, pi, work);
+		if (r.compareTo(halfPi) > 0) {
+			r = pi.subtract(r, work);
+		} else if (r.compareTo(halfPi.negate()) < 0) {
+			r = pi.negate().subtract(r, work);
+		}
+		return trigSeries(r, 1, constants, work);
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava kosinus u radnoj preciznosti. Kut se
+	 * svodi na [-π/2, π/2].
+	 *
+	 * @param x
+	 *            kut
+	 * @param work
+	 *            radna preciznost
+	 * @return cos x
+	 */
+	private static BigDecimal cosWorking(BigDecimal x, MathContext work) {
+		Constants constants = constants(work.getPrecision());
+		BigDecimal pi = constants.pi(work);
+		BigDecimal halfPi = pi.divide(TWO, work);
+		BigDecimal r = reduceAngle(x, pi, work).abs();
+		if (r.compareTo(halfPi) > 0) {
+			return trigSeries(pi.subtract(r, work), 0, constants, work).negate();
+		}
+		return trigSeries(r, 0, constants, work);
+	}
+
+	/**
+	 * Pomoćna metoda koja kut <b>x</b> svodi na [-π, π]
+	 *
+	 * @param x
+	 *            kut
+	 * @param pi
+	 *            broj π u radnoj preciznosti
+	 * @param work
+	 *            radna preciznost
+	 * @return svedeni kut
+	 */
+	private static BigDecimal reduceAngle(BigDecimal x, BigDecimal pi, MathContext work) {
+		BigDecimal twoPi = pi.multiply(TWO, work);
+		if (x.abs().compareTo(pi) <= 0) {
+			return x;
+		}
+		BigDecimal turns = x.divide(twoPi, work).setScale(0, RoundingMode.HALF_EVEN);
+		return x.subtract(twoPi.multiply(turns, work), work);
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava red sinusa (<b>start</b> = 1) ili
+	 * kosinusa (<b>start</b> = 0) koristeći zapamćene recipročne faktorijele
+	 *
+	 * @param r
+	 *            svedeni kut
+	 * @param start
+	 *            potencija prvog člana
+	 * @param constants
+	 *            konstante radne preciznosti
+	 * @param work
+	 *            radna preciznost
+	 * @return zbroj reda
+	 */
+	private static BigDecimal trigSeries(BigDecimal r, int start, Constants constants, MathContext work) {
+		BigDecimal r2 = r.multiply(r, work);
+		BigDecimal power = start == 0 ? BigDecimal.ONE : r;
+		BigDecimal sum = power;
+		BigDecimal epsilon = BigDecimal.ONE.movePointLeft(work.getPrecision());
+		for (int n = start + 2;; n += 2) {
+			power = power.multiply(r2, work).negate();
+			BigDecimal term = power.multiply(constants.reciprocalFactorial(n, work), work);
+			sum = sum.add(term, work);
+			if (term.abs().compareTo(epsilon) < 0) {
+				return sum;
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava arkus tangens u radnoj preciznosti.
+	 * Argument se preslikava u [0, 1] i zatim raspolavlja formulom atan y = 2
+	 * atan(y / (1 + sqrt(1 + y^2))) dok ne postane manji od 0.1.
+	 *
+	 * @param x
+	 *            argument
+	 * @param work
+	 *            radna preciznost
+	 * @return atan x
+	 */
+	private static BigDecimal atanWorking(BigDecimal x, MathContext work) {
+		if (x.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		BigDecimal y = x.abs();
+		boolean inverted = y.compareTo(BigDecimal.ONE) > 0;
+		if (inverted) {
+			y = BigDecimal.ONE.divide(y, work);
+		}
+		int doublings = 0;
+		while (y.compareTo(ATAN_REDUCTION_LIMIT) > 0) {
+			BigDecimal root = sqrt(BigDecimal.ONE.add(y.multiply(y, work), work), work);
+			y = y.divide(BigDecimal.ONE.add(root, work), work);
+			doublings++;
+		}
+
+		BigDecimal result = atanSeries(y, work).multiply(TWO.pow(doublings), work);
+		if (inverted) {
+			result = constants(work.getPrecision()).pi(work).divide(TWO, work).subtract(result, work);
+		}
+		return x.signum() < 0 ? result.negate() : result;
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava arkus sinus u radnoj preciznosti kao atan(x
+	 * / sqrt(1 - x^2))
+	 *
+	 * @param x
+	 *            broj iz [-1, 1]
+	 * @param work
+	 *            radna preciznost
+	 * @return asin x
+	 */
+	private static BigDecimal asinWorking(BigDecimal x, MathContext work) {
+		int cmp = x.abs().compareTo(BigDecimal.ONE);
+		if (cmp > 0) {
+			throw new ArithmeticException("Arkus sinus broja izvan [-1, 1]: " + x);
+		}
+		if (cmp == 0) {
+			BigDecimal halfPi = constants(work.getPrecision()).pi(work).divide(TWO, work);
+			return x.signum() < 0 ? halfPi.negate() : halfPi;
+		}
+		BigDecimal cos = sqrt(BigDecimal.ONE.subtract(x.multiply(x, work), work), work);
+		return atanWorking(x.divide(cos, work), work);
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li <b>x</b> pozitivan
+	 *
+	 * @param x
+	 *            broj koji se provjerava
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko <b>x</b> nije pozitivan
+	 */
+	private static void checkPositive(BigDecimal x) {
+		if (x.signum() <= 0) {
+			throw new ArithmeticException("Logaritam nepozitivnog broja: " + x);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava može li se kut <b>x</b> svesti na [-π, π]
+	 *
+	 * @param x
+	 *            kut koji se provjerava
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko je |x| veći od 10^100
+	 */
+	private static void checkAngle(BigDecimal x) {
+		if (x.abs().compareTo(MAX_ANGLE) > 0) {
+			throw new ArithmeticException("Prevelik kut: " + x);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li <b>x</b> cijeli broj
+	 *
+	 * @param x
+	 *            broj koji se provjerava
+	 * @return <code>true</code> ukoliko je <b>x</b> cijeli broj,
+	 *         <code>false</code> inače
+	 */
+	private static boolean isInteger(BigDecimal x) {
+		return x.signum() == 0 || x.stripTrailingZeros().scale() <= 0;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća broj znamenaka cijelog dijela broja
+	 * <b>x</b>
+	 *
+	 * @param x
+	 *            broj
+	 * @return broj znamenaka cijelog dijela (barem 0)
+	 */
+	private static int integerDigits(BigDecimal x) {
+		return Math.max(0, x.precision() - x.scale());
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara radnu preciznost za rezultat preciznosti
+	 * <b>mc</b>
+	 *
+	 * @param mc
+	 *            preciznost rezultata
+	 * @param extra
+	 *            broj dodatnih znamenaka uz {@value #GUARD_DIGITS}
+	 * @return radnu preciznost
+	 */
+	private static MathContext working(MathContext mc, int extra) {
+		return new MathContext(mc.getPrecision() + GUARD_DIGITS + extra, RoundingMode.HALF_EVEN);
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća konstante barem radne preciznosti
+	 * <b>precision</b>. Zapamćene konstante zamjenjuju se novima tek kad je
+	 * tražena preciznost veća od njihove.
+	 *
+	 * @param precision
+	 *            radna preciznost
+	 * @return konstante
+	 */
+	private static Constants constants(int precision) {
+		return CONSTANTS.updateAndGet(c -> c.work.getPrecision() >= precision ? c : new Constants(precision));
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća zapamćeni rezultat
+	 *
+	 * @param key
+	 *            ključ rezultata
+	 * @return zapamćeni rezultat ili <code>null</code>
+	 */
+	private static BigDecimal recall(MemoKey key) {
+		synchronized (MEMO) {
+			return MEMO.get(key);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja pamti rezultat
+	 *
+	 * @param key
+	 *            ključ rezultata
+	 * @param result
+	 *            rezultat
+	 */
+	private static void remember(MemoKey key, BigDecimal result) {
+		synchronized (MEMO) {
+			MEMO.put(key, result);
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja konstante jedne radne preciznosti. Svaka
+	 * konstanta izračunava se prilikom prvog dohvata, a vraća zaokružena na
+	 * traženu preciznost koja ne smije biti veća od preciznosti konstanti.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class Constants {
+
+		/** Članska varijabla koja predstavlja radnu preciznost */
+		private final MathContext work;
+
+		/** Članska varijabla koja predstavlja broj π */
+		private BigDecimal pi;
+
+		/** Članska varijabla koja predstavlja ln 2 */
+		private BigDecimal ln2;
+
+		/** Članska varijabla koja predstavlja ln 10 */
+		private BigDecimal ln10;
+
+		/**
+		 * Članska varijabla koja predstavlja recipročne vrijednosti
+		 * faktorijela, 1/n! na indeksu n
+		 */
+		private final List<BigDecimal> reciprocalFactorials;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param precision
+		 *            radna preciznost
+		 */
+		Constants(int precision) {
+			work = new MathContext(precision, RoundingMode.HALF_EVEN);
+			reciprocalFactorials = new ArrayList<>();
+			reciprocalFactorials.add(BigDecimal.ONE);
+		}
+
+		/**
+		 * Metoda koja dohvaća broj π izračunat Machinovom formulom π = 16
+		 * atan(1/5) - 4 atan(1/239)
+		 *
+		 * @param mc
+		 *            tražena preciznost
+		 * @return broj π
+		 */
+		BigDecimal pi(MathContext mc) {
+			return pi().round(mc);
+		}
+
+		/**
+		 * Pomoćna metoda koja dohvaća broj π u preciznosti konstanti
+		 *
+		 * @return broj π
+		 */
+		private synchronized BigDecimal pi() {
+			if (pi == null) {
+				BigDecimal a = atanSeries(BigDecimal.ONE.divide(BigDecimal.valueOf(5), work), work);
+				BigDecimal b = atanSeries(BigDecimal.ONE.divide(BigDecimal.valueOf(239), work), work);
+				pi = a.multiply(BigDecimal.valueOf(16), work).subtract(b.multiply(BigDecimal.valueOf(4), work), work);
+			}
+			return pi;
+		}
+
+		/**
+		 * Metoda koja dohvaća ln 2 = 2 atanh(1/3)
+		 *
+		 * @param mc
+		 *            tražena preciznost
+		 * @return ln 2
+		 */
+		BigDecimal ln2(MathContext mc) {
+			return ln2().round(mc);
+		}
+
+		/**
+		 * Pomoćna metoda koja dohvaća ln 2 u preciznosti konstanti
+		 *
+		 * @return ln 2
+		 */
+		private synchronized BigDecimal ln2() {
+			if (ln2 == null) {
+				ln2 = atanh(BigDecimal.ONE.divide(BigDecimal.valueOf(3), work), work).multiply(TWO, work);
+			}
+			return ln2;
+		}
+
+		/**
+		 * Metoda koja dohvaća ln 10 = 3 ln 2 + ln 1.25, uz ln 1.25 = 2
+		 * atanh(1/9)
+		 *
+		 * @param mc
+		 *            tražena preciznost
+		 * @return ln 10
+		 */
+		synchronized BigDecimal ln10(MathContext mc) {
+			if (ln10 == null) {
+				BigDecimal ln125 = atanh(BigDecimal.ONE.divide(BigDecimal.valueOf(9), work), work).multiply(TWO, work);
+				ln10 = ln2().multiply(BigDecimal.valueOf(3), work).add(ln125, work);
+			}
+			return ln10.round(mc);
+		}
+
+		/**
+		 * Metoda koja dohvaća 1/n!
+		 *
+		 * @param n
+		 *            nenegativan cijeli broj
+		 * @param mc
+		 *            tražena preciznost
+		 * @return 1/n!
+		 */
+		synchronized BigDecimal reciprocalFactorial(int n, MathContext mc) {
+			for (int i = reciprocalFactorials.size(); i <= n; i++) {
+				reciprocalFactorials.add(reciprocalFactorials.get(i - 1).divide(BigDecimal.valueOf(i), work));
+			}
+			return reciprocalFactorials.get(n).round(mc);
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja ključ zapamćenog rezultata. Argumenti se
+	 * uspoređuju po vrijednosti, neovisno o broju decimala.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class MemoKey {
+
+		/** Članska varijabla koja predstavlja operaciju */
+		private final Enum<?> operation;
+
+		/** Članska varijabla koja predstavlja zastavicu inverzne strategije */
+		private final boolean inverse;
+
+		/** Članska varijabla koja predstavlja prvi argument */
+		private final BigDecimal x;
+
+		/** Članska varijabla koja predstavlja drugi argument ili null */
+		private final BigDecimal y;
+
+		/** Članska varijabla koja predstavlja preciznost rezultata */
+		private final MathContext mc;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param operation
+		 *            operacija
+		 * @param inverse
+		 *            zastavica inverzne strategije
+		 * @param x
+		 *            prvi argument
+		 * @param y
+		 *            drugi argument ili <code>null</code>
+		 * @param mc
+		 *            preciznost rezultata
+		 */
+		MemoKey(Enum<?> operation, boolean inverse, BigDecimal x, BigDecimal y, MathContext mc) {
+			this.operation = operation;
+			this.inverse = inverse;
+			this.x = x.stripTrailingZeros();
+			this.y = y == null ? null : y.stripTrailingZeros();
+			this.mc = mc;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(operation, inverse, x, y, mc);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MemoKey)) {
+				return false;
+			}
+			MemoKey other = (MemoKey) obj;
+			return operation == other.operation && inverse == other.inverse && x.equals(other.x)
+					&& Objects.equals(y, other.y) && mc.equals(other.mc);
+		}
+	}
+}
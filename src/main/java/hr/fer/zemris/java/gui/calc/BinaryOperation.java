@@ -0,0 +1,93 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Enumeracija koja predstavlja binarne operacije kalkulatora. Svaka operacija
+ * sadrži glavnu strategiju i inverznu strategiju koja se koristi kada je
+ * inverzni način rada uključen. Operacije koje se ne invertiraju kao inverznu
+ * strategiju imaju glavnu strategiju.
+ *
+ * @see CalculatorEngine#selectBinaryOperation(BinaryOperation)
+ *
+ * @author Davor Češljaš
+ */
+public enum BinaryOperation {
+
+	/** Zbrajanje */
+	ADD("+", (arg1, arg2) -> arg1 + arg2, (arg1, arg2) -> arg1 + arg2),
+
+	/** Oduzimanje */
+	SUBTRACT("-", (arg1, arg2) -> arg1 - arg2, (arg1, arg2) -> arg1 - arg2),
+
+	/** Množenje */
+	MULTIPLY("*", (arg1, arg2) -> arg1 * arg2, (arg1, arg2) -> arg1 * arg2),
+
+	/** Dijeljenje */
+	DIVIDE("/", (arg1, arg2) -> arg1 / arg2, (arg1, arg2) -> arg1 / arg2),
+
+	/** Potenciranje, odnosno n-ti korijen */
+	POWER("x^n", Math::pow, (arg1, arg2) -> Math.pow(arg1, 1 / arg2));
+
+	/** Članska varijabla koja predstavlja oznaku operacije na gumbu */
+	private final String symbol;
+
+	/** Članska varijabla koja predstavlja glavnu strategiju */
+	private final DoubleBinaryOperator mainOperation;
+
+	/** Članska varijabla koja predstavlja inverznu strategiju */
+	private final DoubleBinaryOperator inverseOperation;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ove enumeracije.
+	 *
+	 * @param symbol
+	 *            oznaka operacije na gumbu
+	 * @param mainOperation
+	 *            glavna strategija
+	 * @param inverseOperation
+	 *            inverzna strategija
+	 */
+	private BinaryOperation(String symbol, DoubleBinaryOperator mainOperation,
+			DoubleBinaryOperator inverseOperation) {
+		this.symbol = symbol;
+		this.mainOperation = mainOperation;
+		this.inverseOperation = inverseOperation;
+	}
+
+	/**
+	 * Metoda koja dohvaća oznaku operacije na gumbu
+	 *
+	 * @return oznaku operacije na gumbu
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * Metoda koja dohvaća glavnu ili inverznu strategiju
+	 *
+	 * @param inverse
+	 *            zastavica koja govori dohvaća li se inverzna strategija
+	 * @return strategiju operacije
+	 */
+	public DoubleBinaryOperator getFunction(boolean inverse) {
+		return inverse ? inverseOperation : mainOperation;
+	}
+
+	/**
+	 * Metoda koja primjenjuje glavnu ili inverznu strategiju na argumente
+	 * <b>arg1</b> i <b>arg2</b>
+	 *
+	 * @param arg1
+	 *            prvi argument operacije
+	 * @param arg2
+	 *            drugi argument operacije
+	 * @param inverse
+	 *            zastavica koja govori koristi li se inverzna strategija
+	 * @return rezultat operacije
+	 */
+	public double apply(double arg1, double arg2, boolean inverse) {
+		return inverse ? inverseOperation.applyAsDouble(arg1, arg2) : mainOperation.applyAsDouble(arg1, arg2);
+	}
+}
@@ -0,0 +1,556 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.nio.DoubleBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Razred koji operacije kalkulatora {@link UnaryOperation} i
+ * {@link BinaryOperation} primjenjuje na cijela polja brojeva. Rezultati su
+ * jednaki rezultatima metoda {@link UnaryOperation#apply(double, boolean)} i
+ * {@link BinaryOperation#apply(double, double, boolean)} primijenjenih na
+ * svaki element, ali se strategija dohvaća metodom
+ * {@link UnaryOperation#getFunction(boolean)} ili
+ * {@link BinaryOperation#getFunction(boolean)} jednom, izvan petlje. Samo
+ * osnovne aritmetičke operacije i potenciranje s konstantnim eksponentom
+ * imaju vlastite petlje koje optimizator može razmotati i vektorizirati.
+ * <p>
+ * Polja dulja od {@value #PARALLEL_THRESHOLD} elemenata dijele se na
+ * dijelove koji se obrađuju zadacima {@link RecursiveAction} u zajedničkom
+ * {@link ForkJoinPool}. Izlazno polje smije biti i ulazno polje.
+ * </p>
+ * <p>
+ * Međuspremnici {@link DoubleBuffer} obrađuju se od trenutne pozicije do
+ * granice, a pozicije im se ne mijenjaju. Međuspremnici koji nisu izvedeni
+ * nad poljem obrađuju se preko privremenog polja za svaki dio.
+ * </p>
+ *
+ * @see UnaryOperation
+ * @see BinaryOperation
+ *
+ * @author Davor Češljaš
+ */
+public class BulkOperations {
+
+	/** Konstanta koja predstavlja duljinu iznad koje se polje dijeli */
+	public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Konstruktor koji je privatan jer se razred ne instancira.
+	 */
+	private BulkOperations() {
+	}
+
+	/**
+	 * Metoda koja operaciju <b>operation</b> primjenjuje na svaki element
+	 * polja <b>values</b> i rezultat sprema na isto mjesto
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param values
+	 *            polje brojeva
+	 */
+	public static void apply(UnaryOperation operation, boolean inverse, double[] values) {
+		apply(operation, inverse, values, values);
+	}
+
+	/**
+	 * Metoda koja operaciju <b>operation</b> primjenjuje na svaki element
+	 * polja <b>in</b> i rezultat sprema na isti indeks polja <b>out</b>
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in
+	 *            ulazno polje
+	 * @param out
+	 *            izlazno polje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izlazno polje kraće od ulaznog
+	 */
+	public static void apply(UnaryOperation operation, boolean inverse, double[] in, double[] out) {
+		checkLength(in.length, out.length);
+		run(in.length, (from, to) -> unary(operation, inverse, in, 0, out, 0, from, to));
+	}
+
+	/**
+	 * Metoda koja operaciju <b>operation</b> primjenjuje na svaki preostali
+	 * element međuspremnika <b>in</b> i rezultat sprema u međuspremnik
+	 * <b>out</b>
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in
+	 *            ulazni međuspremnik
+	 * @param out
+	 *            izlazni međuspremnik
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izlazni međuspremnik ima manje preostalih mjesta od
+	 *             ulaznog
+	 */
+	public static void apply(UnaryOperation operation, boolean inverse, DoubleBuffer in, DoubleBuffer out) {
+		int length = in.remaining();
+		checkLength(length, out.remaining());
+		if (in.hasArray() && out.hasArray()) {
+			double[] inArray = in.array();
+			double[] outArray = out.array();
+			int inOffset = in.arrayOffset() + in.position();
+			int outOffset = out.arrayOffset() + out.position();
+			run(length, (from, to) -> unary(operation, inverse, inArray, inOffset, outArray, outOffset, from, to));
+			return;
+		}
+
+		run(length, (from, to) -> {
+			double[] chunk = read(in, from, to);
+			unary(operation, inverse, chunk, -from, chunk, -from, from, to);
+			write(out, chunk, from);
+		});
+	}
+
+	/**
+	 * Metoda koja operaciju <b>operation</b> primjenjuje na svaki element
+	 * polja <b>in</b> kao prvi argument i <b>arg2</b> kao drugi argument.
+	 * Rezultat se sprema na isti indeks polja <b>out</b>.
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in
+	 *            ulazno polje
+	 * @param arg2
+	 *            drugi argument operacije
+	 * @param out
+	 *            izlazno polje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izlazno polje kraće od ulaznog
+	 */
+	public static void apply(BinaryOperation operation, boolean inverse, double[] in, double arg2, double[] out) {
+		checkLength(in.length, out.length);
+		run(in.length, (from, to) -> binary(operation, inverse, in, 0, arg2, out, 0, from, to));
+	}
+
+	/**
+	 * Metoda koja operaciju <b>operation</b> primjenjuje na svaki preostali
+	 * element međuspremnika <b>in</b> kao prvi argument i <b>arg2</b> kao
+	 * drugi argument. Rezultat se sprema u međuspremnik <b>out</b>.
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in
+	 *            ulazni međuspremnik
+	 * @param arg2
+	 *            drugi argument operacije
+	 * @param out
+	 *            izlazni međuspremnik
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izlazni međuspremnik ima manje preostalih mjesta od
+	 *             ulaznog
+	 */
+	public static void apply(BinaryOperation operation, boolean inverse, DoubleBuffer in, double arg2,
+			DoubleBuffer out) {
+		int length = in.remaining();
+		checkLength(length, out.remaining());
+		if (in.hasArray() && out.hasArray()) {
+			double[] inArray = in.array();
+			double[] outArray = out.array();
+			int inOffset = in.arrayOffset() + in.position();
+			int outOffset = out.arrayOffset() + out.position();
+			run(length,
+					(from, to) -> binary(operation, inverse, inArray, inOffset, arg2, outArray, outOffset, from, to));
+			return;
+		}
+
+		run(length, (from, to) -> {
+			double[] chunk = read(in, from, to);
+			binary(operation, inverse, chunk, -from, arg2, chunk, -from, from, to);
+			write(out, chunk, from);
+		});
+	}
+
+	/**
+	 * Metoda koja operaciju <b>operation</b> primjenjuje na parove elemenata
+	 * polja <b>in1</b> i <b>in2</b> s istim indeksom i rezultat sprema na isti
+	 * indeks polja <b>out</b>
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in1
+	 *            polje prvih argumenata
+	 * @param in2
+	 *            polje drugih argumenata
+	 * @param out
+	 *            izlazno polje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko polje drugih argumenata ili izlazno polje nije
+	 *             jednake duljine kao polje prvih argumenata
+	 */
+	public static void apply(BinaryOperation operation, boolean inverse, double[] in1, double[] in2,
+			double[] out) {
+		if (in1.length != in2.length) {
+			throw new IllegalArgumentException(String.format(
+					"Polja argumenata moraju biti iste duljine. Vi ste predali: %d i %d", in1.length, in2.length));
+		}
+		checkLength(in1.length, out.length);
+		run(in1.length, (from, to) -> binary(operation, inverse, in1, 0, in2, 0, out, 0, from, to));
+	}
+
+	/**
+	 * Metoda koja operaciju <b>operation</b> primjenjuje na parove preostalih
+	 * elemenata međuspremnika <b>in1</b> i <b>in2</b> i rezultat sprema u
+	 * međuspremnik <b>out</b>
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in1
+	 *            međuspremnik prvih argumenata
+	 * @param in2
+	 *            međuspremnik drugih argumenata
+	 * @param out
+	 *            izlazni međuspremnik
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko međuspremnik drugih argumenata nema jednako
+	 *             preostalih elemenata kao međuspremnik prvih argumenata ili
+	 *             izlazni međuspremnik ima manje preostalih mjesta
+	 */
+	public static void apply(BinaryOperation operation, boolean inverse, DoubleBuffer in1, DoubleBuffer in2,
+			DoubleBuffer out) {
+		int length = in1.remaining();
+		if (length != in2.remaining()) {
+			throw new IllegalArgumentException(String.format(
+					"Međuspremnici argumenata moraju imati jednako preostalih elemenata. Vi ste predali: %d i %d",
+					length, in2.remaining()));
+		}
+		checkLength(length, out.remaining());
+		if (in1.hasArray() && in2.hasArray() && out.hasArray()) {
+			double[] in1Array = in1.array();
+			double[] in2Array = in2.array();
+			double[] outArray = out.array();
+			int in1Offset = in1.arrayOffset() + in1.position();
+			int in2Offset = in2.arrayOffset() + in2.position();
+			int outOffset = out.arrayOffset() + out.position();
+			run(length, (from, to) -> binary(operation, inverse, in1Array, in1Offset, in2Array, in2Offset, outArray,
+					outOffset, from, to));
+			return;
+		}
+
+		run(length, (from, to) -> {
+			double[] chunk = read(in1, from, to);
+			double[] chunk2 = read(in2, from, to);
+			binary(operation, inverse, chunk, -from, chunk2, -from, chunk, -from, from, to);
+			write(out, chunk, from);
+		});
+	}
+
+	/**
+	 * Pomoćna metoda koja primjenjuje unarnu operaciju na elemente od
+	 * <b>from</b> do <b>to</b>. Element <b>i</b> čita se s indeksa
+	 * <code>inOffset + i</code>, a sprema na indeks <code>outOffset + i</code>.
+	 *
+	 * @param operation
+	 *            operacija
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in
+	 *            ulazno polje
+	 * @param inOffset
+	 *            pomak ulaznog polja
+	 * @param out
+	 *            izlazno polje
+	 * @param outOffset
+	 *            pomak izlaznog polja
+	 * @param from
+	 *            početni element (uključen)
+	 * @param to
+	 *            završni element (isključen)
+	 */
+	private static void unary(UnaryOperation operation, boolean inverse, double[] in, int inOffset, double[] out,
+			int outOffset, int from, int to) {
+		DoubleUnaryOperator function = operation.getFunction(inverse);
+		for (int i = from; i < to; i++) {
+			out[outOffset + i] = function.applyAsDouble(in[inOffset + i]);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja primjenjuje binarnu operaciju s konstantnim drugim
+	 * argumentom na elemente od <b>from</b> do <b>to</b>. Element <b>i</b>
+	 * čita se s indeksa <code>inOffset + i</code>, a sprema na indeks
+	 * <code>outOffset + i</code>.
+	 *
+	 * @param operation
+	 *            operacija
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in
+	 *            ulazno polje
+	 * @param inOffset
+	 *            pomak ulaznog polja
+	 * @param arg2
+	 *            drugi argument
+	 * @param out
+	 *            izlazno polje
+	 * @param outOffset
+	 *            pomak izlaznog polja
+	 * @param from
+	 *            početni element (uključen)
+	 * @param to
+	 *            završni element (isključen)
+	 */
+	private static void binary(BinaryOperation operation, boolean inverse, double[] in, int inOffset, double arg2,
+			double[] out, int outOffset, int from, int to) {
+		switch (operation) {
+		case ADD:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in[inOffset + i] + arg2;
+			}
+			return;
+		case SUBTRACT:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in[inOffset + i] - arg2;
+			}
+			return;
+		case MULTIPLY:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in[inOffset + i] * arg2;
+			}
+			return;
+		case DIVIDE:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in[inOffset + i] / arg2;
+			}
+			return;
+		case POWER:
+			// inverzna strategija je pow(x, 1 / n) pa se 1 / n računa jednom
+			double exponent = inverse ? 1 / arg2 : arg2;
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = Math.pow(in[inOffset + i], exponent);
+			}
+			return;
+		default:
+			DoubleBinaryOperator function = operation.getFunction(inverse);
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = function.applyAsDouble(in[inOffset + i], arg2);
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja primjenjuje binarnu operaciju na parove elemenata od
+	 * <b>from</b> do <b>to</b>. Element <b>i</b> čita se s indeksa
+	 * <code>in1Offset + i</code> i <code>in2Offset + i</code>, a sprema na
+	 * indeks <code>outOffset + i</code>.
+	 *
+	 * @param operation
+	 *            operacija
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param in1
+	 *            polje prvih argumenata
+	 * @param in1Offset
+	 *            pomak polja prvih argumenata
+	 * @param in2
+	 *            polje drugih argumenata
+	 * @param in2Offset
+	 *            pomak polja drugih argumenata
+	 * @param out
+	 *            izlazno polje
+	 * @param outOffset
+	 *            pomak izlaznog polja
+	 * @param from
+	 *            početni element (uključen)
+	 * @param to
+	 *            završni element (isključen)
+	 */
+	private static void binary(BinaryOperation operation, boolean inverse, double[] in1, int in1Offset,
+			double[] in2, int in2Offset, double[] out, int outOffset, int from, int to) {
+		switch (operation) {
+		case ADD:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in1[in1Offset + i] + in2[in2Offset + i];
+			}
+			return;
+		case SUBTRACT:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in1[in1Offset + i] - in2[in2Offset + i];
+			}
+			return;
+		case MULTIPLY:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in1[in1Offset + i] * in2[in2Offset + i];
+			}
+			return;
+		case DIVIDE:
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = in1[in1Offset + i] / in2[in2Offset + i];
+			}
+			return;
+		default:
+			// potenciranje nema brži oblik od poziva strategije
+			DoubleBinaryOperator function = operation.getFunction(inverse);
+			for (int i = from; i < to; i++) {
+				out[outOffset + i] = function.applyAsDouble(in1[in1Offset + i], in2[in2Offset + i]);
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja čita elemente od <b>from</b> do <b>to</b>
+	 * (relativno prema poziciji) iz međuspremnika <b>buffer</b> u novo polje
+	 *
+	 * @param buffer
+	 *            međuspremnik
+	 * @param from
+	 *            početni element (uključen)
+	 * @param to
+	 *            završni element (isključen)
+	 * @return pročitane elemente
+	 */
+	private static double[] read(DoubleBuffer buffer, int from, int to) {
+		double[] chunk = new double[to - from];
+		DoubleBuffer view = buffer.duplicate();
+		view.position(buffer.position() + from);
+		view.get(chunk);
+		return chunk;
+	}
+
+	/**
+	 * Pomoćna metoda koja elemente polja <b>chunk</b> zapisuje u
+	 * međuspremnik <b>buffer</b> počevši od elementa <b>from</b> (relativno
+	 * prema poziciji)
+	 *
+	 * @param buffer
+	 *            međuspremnik
+	 * @param chunk
+	 *            elementi koji se zapisuju
+	 * @param from
+	 *            početni element
+	 */
+	private static void write(DoubleBuffer buffer, double[] chunk, int from) {
+		DoubleBuffer view = buffer.duplicate();
+		view.position(buffer.position() + from);
+		view.put(chunk);
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava ima li izlaz barem <b>inLength</b>
+	 * mjesta
+	 *
+	 * @param inLength
+	 *            duljina ulaza
+	 * @param outLength
+	 *            duljina izlaza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izlaz kraći od ulaza
+	 */
+	private static void checkLength(int inLength, int outLength) {
+		if (outLength < inLength) {
+			throw new IllegalArgumentException(String.format(
+					"Izlaz mora imati barem %d mjesta. Vi ste predali: %d", inLength, outLength));
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja nad elementima od 0 do <b>length</b> izvodi
+	 * <b>kernel</b>, paralelno ukoliko je <b>length</b> veći od
+	 * {@value #PARALLEL_THRESHOLD}
+	 *
+	 * @param length
+	 *            broj elemenata
+	 * @param kernel
+	 *            obrada raspona elemenata
+	 */
+	private static void run(int length, RangeKernel kernel) {
+		if (length <= PARALLEL_THRESHOLD) {
+			kernel.apply(0, length);
+		} else {
+			ForkJoinPool.commonPool().invoke(new RangeTask(kernel, 0, length));
+		}
+	}
+
+	/**
+	 * Funkcijsko sučelje koje predstavlja obradu raspona elemenata
+	 *
+	 * @author Davor Češljaš
+	 */
+	@FunctionalInterface
+	private interface RangeKernel {
+
+		/**
+		 * Metoda koja obrađuje elemente od <b>from</b> do <b>to</b>
+		 *
+		 * @param from
+		 *            početni element (uključen)
+		 * @param to
+		 *            završni element (isključen)
+		 */
+		void apply(int from, int to);
+	}
+
+	/**
+	 * Razred koji predstavlja zadatak koji raspon elemenata dijeli na pola sve
+	 * dok nije kraći od {@value BulkOperations#PARALLEL_THRESHOLD}
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class RangeTask extends RecursiveAction {
+
+		/** Defaultna konstanta za serijalizaciju */
+		private static final long serialVersionUID = 1L;
+
+		/** Članska varijabla koja predstavlja obradu raspona */
+		private final RangeKernel kernel;
+
+		/** Članska varijabla koja predstavlja početni element (uključen) */
+		private final int from;
+
+		/** Članska varijabla koja predstavlja završni element (isključen) */
+		private final int to;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param kernel
+		 *            obrada raspona
+		 * @param from
+		 *            početni element (uključen)
+		 * @param to
+		 *            završni element (isključen)
+		 */
+		RangeTask(RangeKernel kernel, int from, int to) {
+			this.kernel = kernel;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_THRESHOLD) {
+				kernel.apply(from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new RangeTask(kernel, from, middle), new RangeTask(kernel, middle, to));
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Razred koji predstavlja program koji mjeri trajanje primjene operacija
+ * kalkulatora na polje brojeva. Uspoređuje se primjena operacije nad
+ * razredom {@link Double} element po element, kako je to kalkulator radio
+ * prije uvođenja primitivnih operacija, s primjenom metodom
+ * {@link UnaryOperation#apply(double, boolean)} element po element i s
+ * metodama razreda {@link BulkOperations}. Za svaku izmjeru ispisuje se
+ * najbolje od {@value #ROUNDS} ponavljanja.
+ *
+ * @see BulkOperations
+ *
+ * @author Davor Češljaš
+ */
+public class BulkOperationsBenchmark {
+
+	/** Konstanta koja predstavlja zadanu duljinu polja */
+	private static final int DEFAULT_LENGTH = 4_000_000;
+
+	/** Konstanta koja predstavlja broj ponavljanja */
+	private static final int ROUNDS = 15;
+
+	/**
+	 * Članska varijabla u koju se zbrajaju rezultati kako ih optimizator ne bi
+	 * uklonio
+	 */
+	private static volatile double sink;
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja duljinu polja (zadano {@value #DEFAULT_LENGTH})
+	 */
+	public static void main(String[] args) {
+		int length = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LENGTH;
+		double[] in = new double[length];
+		for (int i = 0; i < length; i++) {
+			in[i] = 1 + i * 1e-6;
+		}
+		double[] out = new double[length];
+
+		System.out.printf("Elemenata: %d, dretvi: %d%n", length, Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-8s %12s %12s %12s%n", "", "Double", "double", "bulk");
+
+		UnaryOperator<Double> boxedSin = Math::sin;
+		measure("sin", length, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = boxedSin.apply(in[i]);
+			}
+		}, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = UnaryOperation.SIN.apply(in[i], false);
+			}
+		}, () -> BulkOperations.apply(UnaryOperation.SIN, false, in, out), out);
+
+		UnaryOperator<Double> boxedLn = Math::log;
+		measure("ln", length, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = boxedLn.apply(in[i]);
+			}
+		}, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = UnaryOperation.LN.apply(in[i], false);
+			}
+		}, () -> BulkOperations.apply(UnaryOperation.LN, false, in, out), out);
+
+		BinaryOperator<Double> boxedPow = Math::pow;
+		measure("x^3", length, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = boxedPow.apply(in[i], 3.0);
+			}
+		}, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = BinaryOperation.POWER.apply(in[i], 3, false);
+			}
+		}, () -> BulkOperations.apply(BinaryOperation.POWER, false, in, 3, out), out);
+
+		BinaryOperator<Double> boxedMultiply = (arg1, arg2) -> arg1 * arg2;
+		measure("x*2", length, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = boxedMultiply.apply(in[i], 2.0);
+			}
+		}, () -> {
+			for (int i = 0; i < in.length; i++) {
+				out[i] = BinaryOperation.MULTIPLY.apply(in[i], 2, false);
+			}
+		}, () -> BulkOperations.apply(BinaryOperation.MULTIPLY, false, in, 2, out), out);
+	}
+
+	/**
+	 * Pomoćna metoda koja mjeri tri načina primjene jedne operacije i ispisuje
+	 * najbolje trajanje po elementu
+	 *
+	 * @param name
+	 *            ime operacije
+	 * @param length
+	 *            duljina polja
+	 * @param boxed
+	 *            primjena nad razredom {@link Double}
+	 * @param primitive
+	 *            primjena nad primitivnim brojevima element po element
+	 * @param bulk
+	 *            primjena razredom {@link BulkOperations}
+	 * @param out
+	 *            izlazno polje
+	 */
+	private static void measure(String name, int length, Runnable boxed, Runnable primitive, Runnable bulk,
+			double[] out) {
+		Runnable[] variants = { boxed, primitive, bulk };
+		double[] best = new double[variants.length];
+		for (int v = 0; v < variants.length; v++) {
+			best[v] = Double.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				variants[v].run();
+				best[v] = Math.min(best[v], (double) (System.nanoTime() - start) / length);
+				sink += out[length - 1];
+			}
+		}
+		System.out.printf("%-8s %9.2f ns %9.2f ns %9.2f ns%n", name, best[0], best[1], best[2]);
+	}
+}
@@ -5,25 +5,39 @@ import java.awt.Container;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.MathContext;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.EmptyStackException;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.Stack;
-import java.util.function.BinaryOperator;
-import java.util.function.UnaryOperator;
 
+import javax.swing.AbstractAction;
+import javax.swing.ActionMap;
 import javax.swing.BorderFactory;
+import javax.swing.ButtonGroup;
 import javax.swing.JButton;
+import javax.swing.InputMap;
 import javax.swing.JCheckBox;
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.JRadioButtonMenuItem;
+import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.WindowConstants;
 
 import hr.fer.zemris.java.gui.layouts.CalcLayout;
+import hr.fer.zemris.java.gui.layouts.CalcLayoutBatch;
 import hr.fer.zemris.java.gui.layouts.RCPosition;
 
 /**
@@ -36,9 +50,21 @@ import hr.fer.zemris.java.gui.layouts.RCPosition;
  * {@link JCheckBox#isSelected()} <code>true</code> tada sin, cos, tan, ctg
  * prelaze u arkus funkcije, log u 10^, ln u e^, x^n u n-ti korijen iz x. Za invertiranje 
  * i postavljanje operacija koriste se strategije {@link BinaryOperatorListener} i 
- * {@link UnaryOperatorListener}
+ * {@link UnaryOperatorListener}. Stanje kalkulatora i sve operacije nalaze se
+ * u primjerku razreda {@link CalculatorEngine}, a prozor nakon svakog pritiska
+ * gumba samo prikazuje njegov ekran.
+ * Svi gumbi mogu se pritisnuti i tipkovnicom: znamenke, ".", "+", "-", "*",
+ * "/", "^" (x^n), "=" ili Enter, "n" (+/-), "r" (1/x), "l" (log), "e" (ln),
+ * "s", "c", "t", "k" (sin, cos, tan, ctg), "i" (Inv), "p" (push), "o" (pop),
+ * Escape (clr) i Delete (res). Ekran se ne osvježava nakon svakog pritiska,
+ * nego najviše jednom u {@value #SCREEN_REFRESH_DELAY} ms, pa brzo
+ * upisivanje ne iscrtava ekran za svaki znak.
  * Prozoru je upravljač razmještaja postavljen na primjerak razreda
- * {@link CalcLayout}
+ * {@link CalcLayout}. Izbornik "Preciznost" prebacuje kalkulator između
+ * brojeva tipa <code>double</code> i brojeva {@link java.math.BigDecimal}
+ * zadane preciznosti. Sve operacije zapisuju se u dnevnik
+ * {@link CalculatorJournal} koji se izbornikom "Dnevnik" može spremiti i
+ * kasnije ponoviti razredom {@link JournalReplayer}.
  * <p>
  * Napomena: U daljnjoj dokumentaciji metoda, riječ "ekran" referirat će se na
  * primjerak razreda {@link JLabel} koji je prikazan u prozoru (narančasto
@@ -55,8 +81,20 @@ public class Calculator extends JFrame {
 	/** Defaultna konstanta za serijalizaciju */
 	private static final long serialVersionUID = 1L;
 
-	/** Konstanta koja predstavlja prazan niz znakova */
-	private static final String EMPTY = "";
+	/**
+	 * Konstanta koja predstavlja najmanji razmak između dva osvježavanja
+	 * ekrana u milisekundama (jedna slika pri 60 Hz)
+	 */
+	private static final int SCREEN_REFRESH_DELAY = 16;
+
+	/** Konstanta koja predstavlja naziv izbornika dnevnika */
+	private static final String JOURNAL = "Dnevnik";
+
+	/**
+	 * Konstanta koja predstavlja naziv izbornika dnevnika dok je zapisivanje
+	 * prekinuto
+	 */
+	private static final String JOURNAL_SUSPENDED = "Dnevnik (prekinut)";
 
 	// članske varijable koje se vide u stratrgijama u istom paketu
 	/**
@@ -74,33 +112,34 @@ public class Calculator extends JFrame {
 	JCheckBox inverse;
 
 	/**
-	 * Članska varijabla koja predstavlja {@link Set} svih primjeraka razreda
-	 * {@link JButton} koji predstavljaju binarne operacije i operatora "="
+	 * Članska varijabla koja predstavlja stanje i operacije ovog kalkulatora
 	 */
-	Set<JButton> operators;
+	CalculatorEngine engine;
 
 	/**
-	 * Članska varijabla koja predstavlja zastavicu koja signalizira prikazuje
-	 * li se trenutno na ekranu međurezultat
+	 * Članska varijabla koja predstavlja sav prostor ovog prozora unutar kojeg
+	 * je moguće razmještati komponente
 	 */
-	boolean subResultShowing;
+	private Container cp;
 
 	/**
-	 * Članska varijabla koja predstavlja koja predstavlja trenutni međurezultat
+	 * Članska varijabla koja predstavlja skup komponenti koje se tijekom
+	 * inicijalizacije odjednom dodaju u {@link #cp}
 	 */
-	Double subResult;
+	private CalcLayoutBatch batch;
 
 	/**
-	 * Članska varijabla koja predstavlja sav prostor ovog prozora unutar kojeg
-	 * je moguće razmještati komponente
+	 * Članska varijabla koja predstavlja {@link Timer} koji odgođeno
+	 * osvježava ekran. Dok je pokrenut, novi zahtjevi za osvježavanjem se
+	 * spajaju s već zakazanim.
 	 */
-	private Container cp;
+	private Timer screenTimer;
 
 	/**
-	 * Članska varijabla koja predstavlja stog na koji se sprema, odnosno s
-	 * kojeg se vade brojke pritiskom na "push" , odnosno "pop"
+	 * Članska varijabla koja predstavlja izbornik dnevnika. Naziv izbornika
+	 * označava je li zapisivanje u dnevnik prekinuto.
 	 */
-	private Stack<Double> stack;
+	private JMenu journalMenu;
 
 	/**
 	 * Konstrukor koji inicijalizira primjerak ovog razreda. Unutra konstruktora
@@ -108,8 +147,8 @@ public class Calculator extends JFrame {
 	 * operacija zatvaranja prozora na {@link WindowConstants#DISPOSE_ON_CLOSE}
 	 */
 	public Calculator() {
-		stack = new Stack<>();
-		operators = new HashSet<>();
+		engine = new CalculatorEngine();
+		engine.setJournal(new CalculatorJournal());
 
 		setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
 		setTitle("Kalkulator");
@@ -120,10 +159,39 @@ public class Calculator extends JFrame {
 	}
 
 	/**
-	 * Pomoćna metoda koja na ekran ispusuje {@link Double#NaN}
+	 * Metoda koja zakazuje osvježavanje ekrana. Ukoliko je osvježavanje već
+	 * zakazano, metoda ne radi ništa pa se svi pritisci unutar
+	 * {@value #SCREEN_REFRESH_DELAY} ms prikazuju jednim osvježavanjem.
+	 */
+	void refresh() {
+		if (!screenTimer.isRunning()) {
+			screenTimer.start();
+		}
+	}
+
+	/**
+	 * Metoda koja uz oslobađanje prozora zaustavlja osvježavanje ekrana i
+	 * zatvara {@link #engine} kako bi se oslobodila privremena datoteka stoga
+	 */
+	@Override
+	public void dispose() {
+		super.dispose();
+		screenTimer.stop();
+		engine.close();
+	}
+
+	/**
+	 * Pomoćna metoda koja na ekran ispisuje sadržaj ekrana iz {@link #engine}
+	 * i usklađuje {@link #inverse} s inverznim načinom rada
 	 */
-	void setNaN() {
-		screen.setText(String.valueOf(Double.NaN));
+	private void updateScreen() {
+		screen.setText(engine.getDisplay());
+		inverse.setSelected(engine.isInverse());
+		if (journalMenu != null) {
+			boolean suspended = engine.isJournalSuspended();
+			journalMenu.setText(suspended ? JOURNAL_SUSPENDED : JOURNAL);
+			journalMenu.setToolTipText(suspended ? "Zapisivanje se nastavlja resetiranjem u načinu rada double" : null);
+		}
 	}
 
 	/**
@@ -134,9 +202,10 @@ public class Calculator extends JFrame {
 	private void initGUI() {
 		cp = getContentPane();
 		cp.setLayout(new CalcLayout(10));
+		batch = new CalcLayoutBatch(cp);
 
 		screen = new JLabel();
-		cp.add(screen, "1,1");
+		batch.add(screen, "1,1");
 		screen.setBackground(Color.ORANGE);
 		screen.setOpaque(true);
 		screen.setHorizontalAlignment(SwingConstants.TRAILING);
@@ -146,8 +215,109 @@ public class Calculator extends JFrame {
 		setUpNumbers();
 
 		inverse = new JCheckBox("Inv");
-		cp.add(inverse, "5,7");
+		batch.add(inverse, "5,7");
+		inverse.addActionListener(e -> engine.setInverse(inverse.isSelected()));
+		bind("i", e -> {
+			engine.setInverse(!engine.isInverse());
+			refresh();
+		}, KeyStroke.getKeyStroke('i'));
 		setUpOperators();
+
+		// sve komponente provjeravaju se i dodaju odjednom
+		batch.commit();
+
+		screenTimer = new Timer(SCREEN_REFRESH_DELAY, e -> updateScreen());
+		screenTimer.setRepeats(false);
+		updateScreen();
+
+		JMenuBar menuBar = new JMenuBar();
+		menuBar.add(createPrecisionMenu());
+		menuBar.add(createJournalMenu());
+		setJMenuBar(menuBar);
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara izbornik s preciznostima kalkulatora
+	 *
+	 * @return izbornik s preciznostima
+	 */
+	private JMenu createPrecisionMenu() {
+		JMenu menu = new JMenu("Preciznost");
+		ButtonGroup group = new ButtonGroup();
+		addPrecision(menu, group, "double", null).setSelected(true);
+		addPrecision(menu, group, "16 znamenaka", MathContext.DECIMAL64);
+		addPrecision(menu, group, "34 znamenke", MathContext.DECIMAL128);
+		addPrecision(menu, group, "64 znamenke", new MathContext(64));
+		addPrecision(menu, group, "128 znamenaka", new MathContext(128));
+		return menu;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara izbornik za spremanje i brisanje dnevnika
+	 * operacija
+	 *
+	 * @return izbornik dnevnika
+	 */
+	private JMenu createJournalMenu() {
+		JMenu menu = new JMenu(JOURNAL);
+		journalMenu = menu;
+
+		JMenuItem save = new JMenuItem("Spremi...");
+		save.addActionListener(e -> saveJournal());
+		menu.add(save);
+
+		JMenuItem clear = new JMenuItem("Obriši");
+		clear.addActionListener(e -> {
+			engine.clearJournal();
+			refresh();
+		});
+		menu.add(clear);
+		return menu;
+	}
+
+	/**
+	 * Pomoćna metoda koja dnevnik operacija sprema u datoteku koju odabere
+	 * korisnik
+	 */
+	private void saveJournal() {
+		JFileChooser chooser = new JFileChooser();
+		if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+			return;
+		}
+
+		try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(chooser.getSelectedFile().toPath()))) {
+			engine.getJournal().writeTo(os);
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(this, "Dnevnik nije spremljen: " + e.getMessage(), "Greška",
+					JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja u izbornik <b>menu</b> dodaje stavku koja
+	 * kalkulator prebacuje u preciznost <b>mathContext</b>
+	 *
+	 * @param menu
+	 *            izbornik
+	 * @param group
+	 *            grupa međusobno isključivih stavki
+	 * @param name
+	 *            naziv stavke
+	 * @param mathContext
+	 *            preciznost ili <code>null</code> za brojeve tipa
+	 *            <code>double</code>
+	 * @return dodanu stavku
+	 */
+	private JRadioButtonMenuItem addPrecision(JMenu menu, ButtonGroup group, String name,
+			MathContext mathContext) {
+		JRadioButtonMenuItem item = new JRadioButtonMenuItem(name);
+		group.add(item);
+		menu.add(item);
+		item.addActionListener(e -> {
+			engine.setMathContext(mathContext);
+			refresh();
+		});
+		return item;
 	}
 
 	/**
@@ -158,46 +328,38 @@ public class Calculator extends JFrame {
 		setUpBinaryOperators();
 
 		JButton equals = new JButton("=");
-		cp.add(equals, "1,6");
-		operators.add(equals);
+		batch.add(equals, "1,6");
+		// dovrši operaciju koja čeka, makni međurezultat, ali ipak ispiši na ekran
 		equals.addActionListener(e -> {
-			subResultShowing = true;
-			// makni sve što si prije spremio, ali ipak ispiši na ekran
-			subResult = null;
+			engine.finishCalculation();
+			refresh();
 		});
+		bind(equals, KeyStroke.getKeyStroke('='), KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0));
 
 		JButton clr = new JButton("clr");
-		cp.add(clr, "1,7");
-		clr.addActionListener(e -> clear());
+		batch.add(clr, "1,7");
+		clr.addActionListener(e -> {
+			engine.clear();
+			refresh();
+		});
+		bind(clr, KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0));
 
 		JButton res = new JButton("res");
-		cp.add(res, "2,7");
+		batch.add(res, "2,7");
 		res.addActionListener(e -> {
-			reset();
+			engine.reset();
+			refresh();
 		});
+		bind(res, KeyStroke.getKeyStroke(KeyEvent.VK_DELETE, 0));
 	}
 
 	/**
 	 * Pomoćna metoda koja namješta unarne operatore ovog kalkulatora.
 	 */
 	private void setUpUnaryOperators() {
-		JButton powMinusOne = new JButton("1/x");
-		cp.add(powMinusOne, "2,1");
-		UnaryOperator<Double> powMinusOneOperator = arg -> 1 / arg;
-		powMinusOne.addActionListener(new UnaryOperatorListener(powMinusOneOperator, 
-				powMinusOneOperator, this));
-
-		JButton log = new JButton("log");
-		cp.add(log, "3,1");
-		UnaryOperator<Double> logOperator = Math::log10;
-		UnaryOperator<Double> power10 = arg -> Math.pow(10, arg);
-		log.addActionListener(new UnaryOperatorListener(logOperator, power10, this));
-
-		JButton ln = new JButton("ln");
-		cp.add(ln, "4,1");
-		UnaryOperator<Double> lnOperator = Math::log;
-		UnaryOperator<Double> powEOperator = Math::exp;
-		ln.addActionListener(new UnaryOperatorListener(lnOperator, powEOperator, this));
+		addUnaryOperator(UnaryOperation.RECIPROCAL, "2,1", 'r');
+		addUnaryOperator(UnaryOperation.LOG, "3,1", 'l');
+		addUnaryOperator(UnaryOperation.LN, "4,1", 'e');
 
 		setUpTrigonometricalFunctions();
 		setUpStackOperators();
@@ -209,93 +371,77 @@ public class Calculator extends JFrame {
 	 */
 	private void setUpStackOperators() {
 		JButton push = new JButton("push");
-		cp.add(push, "3,7");
+		batch.add(push, "3,7");
 		push.addActionListener(e -> {
-			try {
-				stack.push(Double.parseDouble(screen.getText()));
-			} catch (NumberFormatException nfe) {
-				setNaN();
-			}
+			engine.push();
+			refresh();
 		});
+		bind(push, KeyStroke.getKeyStroke('p'));
 
 		JButton pop = new JButton("pop");
-		cp.add(pop, "4,7");
+		batch.add(pop, "4,7");
 		pop.addActionListener(e -> {
-			try {
-				screen.setText(stack.pop().toString());
-			} catch (EmptyStackException empty) {
-				reset();
-				setNaN();
-				subResultShowing = true;
-			}
+			engine.pop();
+			refresh();
 		});
+		bind(pop, KeyStroke.getKeyStroke('o'));
 	}
 
 	/**
 	 * Pomoćna metoda koja namješta trigonometrijske funckije ovog kalkulatora
 	 */
 	private void setUpTrigonometricalFunctions() {
-		JButton sin = new JButton("sin");
-		cp.add(sin, "2,2");
-		UnaryOperator<Double> sinFunction = Math::sin;
-		UnaryOperator<Double> asinFunction = Math::asin;
-		sin.addActionListener(new UnaryOperatorListener(sinFunction, asinFunction, this));
-
-		JButton cos = new JButton("cos");
-		cp.add(cos, "3,2");
-		UnaryOperator<Double> cosFunction = Math::cos;
-		UnaryOperator<Double> acosFunction = Math::acos;
-		cos.addActionListener(new UnaryOperatorListener(cosFunction, acosFunction, this));
-
-		JButton tan = new JButton("tan");
-		cp.add(tan, "4,2");
-		UnaryOperator<Double> tanFunction = Math::tan;
-		UnaryOperator<Double> atanFunction = Math::atan;
-		tan.addActionListener(new UnaryOperatorListener(tanFunction, atanFunction, this));
-
-		JButton ctg = new JButton("ctg");
-		cp.add(ctg, "5,2");
-		UnaryOperator<Double> ctgFunction = arg -> 1 / tanFunction.apply(arg);
-		UnaryOperator<Double> actgFunction = arg -> 1 / ctgFunction.apply(arg);
-		ctg.addActionListener(new UnaryOperatorListener(ctgFunction, actgFunction, this));
+		addUnaryOperator(UnaryOperation.SIN, "2,2", 's');
+		addUnaryOperator(UnaryOperation.COS, "3,2", 'c');
+		addUnaryOperator(UnaryOperation.TAN, "4,2", 't');
+		addUnaryOperator(UnaryOperation.CTG, "5,2", 'k');
+	}
+
+	/**
+	 * Pomoćna metoda koja na poziciju <b>position</b> dodaje gumb unarne
+	 * operacije <b>operation</b> koji se može pritisnuti i tipkom <b>key</b>
+	 *
+	 * @param operation
+	 *            operacija koju gumb primjenjuje
+	 * @param position
+	 *            pozicija gumba
+	 * @param key
+	 *            tipka gumba
+	 */
+	private void addUnaryOperator(UnaryOperation operation, String position, char key) {
+		JButton button = new JButton(operation.getSymbol());
+		batch.add(button, position);
+		button.addActionListener(new UnaryOperatorListener(operation, this));
+		bind(button, KeyStroke.getKeyStroke(key));
 	}
 
 	/**
 	 * Pomoćna metoda koja namješta binarne operatore ovog kalkulatora
 	 */
 	private void setUpBinaryOperators() {
-		JButton plus = new JButton("+");
-		cp.add(plus, "5,6");
-		operators.add(plus);
-		BinaryOperator<Double> plusOperator = (arg1, arg2) -> arg1 + arg2;
-		plus.addActionListener(new BinaryOperatorListener(plusOperator, plusOperator, this));
-
-		JButton minus = new JButton("-");
-		cp.add(minus, "4,6");
-		operators.add(minus);
-		BinaryOperator<Double> minusOperator = (arg1, arg2) -> arg1 - arg2;
-		minus.addActionListener(new BinaryOperatorListener(minusOperator, minusOperator, this));
-
-		JButton multiplication = new JButton("*");
-		cp.add(multiplication, "3,6");
-		operators.add(multiplication);
-		BinaryOperator<Double> multiplicationOperator = (arg1, arg2) -> arg1 * arg2;
-		multiplication
-				.addActionListener(new BinaryOperatorListener(multiplicationOperator, 
-						multiplicationOperator, this));
-
-		JButton division = new JButton("/");
-		cp.add(division, "2,6");
-		operators.add(division);
-		BinaryOperator<Double> divisionOperator = (arg1, arg2) -> arg1 / arg2;
-		division.addActionListener(new BinaryOperatorListener(divisionOperator, divisionOperator, this));
-
-		JButton xPowN = new JButton("x^n");
-		cp.add(xPowN, "5,1");
-		operators.add(xPowN);
-		BinaryOperator<Double> xPowNOperator = Math::pow;
-		BinaryOperator<Double> xRootNOperator = (arg1, arg2) -> Math.pow(arg1, 1 / arg2);
-		xPowN.addActionListener(new BinaryOperatorListener(xPowNOperator, xRootNOperator, this));
+		addBinaryOperator(BinaryOperation.ADD, "5,6", '+');
+		addBinaryOperator(BinaryOperation.SUBTRACT, "4,6", '-');
+		addBinaryOperator(BinaryOperation.MULTIPLY, "3,6", '*');
+		addBinaryOperator(BinaryOperation.DIVIDE, "2,6", '/');
+		addBinaryOperator(BinaryOperation.POWER, "5,1", '^');
+	}
+
+	/**
+	 * Pomoćna metoda koja na poziciju <b>position</b> dodaje gumb binarne
+	 * operacije <b>operation</b> koji se može pritisnuti i tipkom <b>key</b>
+	 *
+	 * @param operation
+	 *            operacija koju gumb izvodi
+	 * @param position
+	 *            pozicija gumba
+	 * @param key
+	 *            tipka gumba
+	 */
+	private void addBinaryOperator(BinaryOperation operation, String position, char key) {
+		JButton button = new JButton(operation.getSymbol());
+		batch.add(button, position);
+		button.addActionListener(new BinaryOperatorListener(operation, this));
+		bind(button, KeyStroke.getKeyStroke(key));
 	}
 
 	/**
@@ -314,51 +460,102 @@ public class Calculator extends JFrame {
 
 		for (int y = 5, counter = 0; y >= 2; y--) {
 			for (int x = 3; x <= 5; x++) {
-				cp.add(buttonList.get(counter++), new RCPosition(y, x));
+				batch.add(buttonList.get(counter++), RCPosition.of(y, x));
 			}
 		}
 		// makni ga da mu ne dodaš krivog listenera
 		buttonList.remove(1);
 
-		ActionListener numbersAndDotListener = e -> {
-			JButton pressed = (JButton) e.getSource();
-			screen.setText((subResultShowing ? EMPTY : screen.getText()) + pressed.getText());
-			subResultShowing = false;
-		};
-		buttonList.forEach(button -> button.addActionListener(numbersAndDotListener));
-
-		plusMinus.addActionListener(new ActionListener() {
-			private boolean minus = true;
-
-			@Override
-			public void actionPerformed(ActionEvent e) {
-				if (minus) {
-					screen.setText("-" + screen.getText());
-				} else {
-					screen.setText(screen.getText().substring(1));
-				}
-				minus = !minus;
-			}
+		// makni i točku, znamenke su tada na indeksu jednakom svojoj vrijednosti
+		buttonList.remove(1);
+		for (int i = 0; i < buttonList.size(); i++) {
+			int digit = i;
+			buttonList.get(i).addActionListener(e -> {
+				engine.appendDigit(digit);
+				refresh();
+			});
+			bind(buttonList.get(i), KeyStroke.getKeyStroke((char) ('0' + digit)));
+		}
+		dot.addActionListener(e -> {
+			engine.appendDot();
+			refresh();
 		});
+		bind(dot, KeyStroke.getKeyStroke('.'), KeyStroke.getKeyStroke(','));
+
+		plusMinus.addActionListener(e -> {
+			engine.negate();
+			refresh();
+		});
+		bind(plusMinus, KeyStroke.getKeyStroke('n'));
 	}
 
 	/**
-	 * Pomoćna metoda koja resetira primjerak ovog razreda u početno stanje. Svi
-	 * međurezultati biti će odbačeni, te će se stog isprazniti
+	 * Pomoćna metoda koja tipkama <b>keys</b> pridružuje pritisak gumba
+	 * <b>button</b>. Tipke pozivaju slušače gumba izravno, bez animacije
+	 * pritiska.
+	 *
+	 * @param button
+	 *            gumb koji se pritišće
+	 * @param keys
+	 *            tipke koje pritišću gumb
 	 */
-	private void reset() {
-		clear();
-		inverse.setSelected(false);
-		subResult = null;
-		stack.clear();
+	private void bind(JButton button, KeyStroke... keys) {
+		bind(button.getText(), e -> {
+			for (ActionListener l : button.getActionListeners()) {
+				l.actionPerformed(e);
+			}
+		}, keys);
 	}
 
 	/**
-	 * Pomoćna metoda koja briše trenutni sadržaj ekrana.
+	 * Pomoćna metoda koja tipkama <b>keys</b> pridružuje akciju
+	 * <b>listener</b> imena <b>name</b>. Tipke rade dok je prozor u fokusu,
+	 * neovisno o tome koja komponenta ima fokus.
+	 *
+	 * @param name
+	 *            ime akcije
+	 * @param listener
+	 *            akcija koja se izvodi
+	 * @param keys
+	 *            tipke koje pokreću akciju
 	 */
-	private void clear() {
-		screen.setText(EMPTY);
-		subResultShowing = false;
+	private void bind(String name, ActionListener listener, KeyStroke... keys) {
+		InputMap inputMap = getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+		ActionMap actionMap = getRootPane().getActionMap();
+		for (KeyStroke key : keys) {
+			inputMap.put(key, name);
+		}
+		actionMap.put(name, new KeyAction(listener));
+	}
+
+	/**
+	 * Pomoćni razred koji akciju tipke prosljeđuje slušaču
+	 * {@link ActionListener}.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class KeyAction extends AbstractAction {
+
+		/** Defaultna konstanta za serijalizaciju */
+		private static final long serialVersionUID = 1L;
+
+		/** Članska varijabla koja predstavlja slušača kojem se prosljeđuje */
+		private final transient ActionListener listener;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param listener
+		 *            slušač kojem se akcija prosljeđuje
+		 */
+		KeyAction(ActionListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			listener.actionPerformed(e);
+		}
 	}
 
 	/**
@@ -0,0 +1,862 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Razred koji predstavlja stanje i operacije kalkulatora neovisno o
+ * grafičkom korisničkom sučelju. Razred pamti sadržaj ekrana, međurezultat
+ * binarne operacije, inverzni način rada i stog brojeva, pa se može koristiti
+ * iz testova, skripti ili servisa bez ikakvih Swing komponenti. Program
+ * {@link Calculator} samo prosljeđuje pritiske gumba metodama ovog razreda i
+ * nakon svakog pritiska prikazuje {@link #getDisplay()}.
+ * <p>
+ * Gumbi binarnih operatora pozivaju metodu
+ * {@link #selectBinaryOperation(BinaryOperation)} koja dovršava operaciju
+ * koja čeka drugi argument s brojem s ekrana i započinje novu, pa kalkulator
+ * između dva pritiska pamti samo odabranu operaciju i međurezultat. Metoda
+ * {@link #finishCalculation()} odgovara pritisku gumba "=" koji dovršava
+ * operaciju koja čeka nakon čega se međurezultat zaboravlja.
+ * </p>
+ * <p>
+ * Brojevi, međurezultat i stog čuvaju se kao primitivni brojevi tipa
+ * <code>double</code>. Ekran je ili niz znakova koji je korisnik upisao ili
+ * izračunati broj koji se u niz znakova pretvara tek kada se ekran dohvati
+ * metodom {@link #getDisplay()}. Broj se metodom {@link #enter(double)} može
+ * upisati i odjednom, pa niz operacija nad upisanim brojevima ne zauzima
+ * memoriju. Upisani znakovi dodaju se u jedan {@link StringBuilder}, pa
+ * upisivanje dugog broja ne kopira cijeli ekran pri svakoj znamenki, a niz
+ * znakova ekrana stvara se samo kada se ekran dohvati.
+ * </p>
+ * <p>
+ * Metodom {@link #setMathContext(MathContext)} kalkulator prelazi u precizni
+ * način rada u kojem se brojevi čuvaju kao {@link BigDecimal}, a operacije
+ * računa razred {@link BigDecimalMath} u zadanoj preciznosti. Upisani decimalni
+ * brojevi tada se ne zaokružuju na najbliži <code>double</code>, pa je
+ * primjerice 0.1 + 0.2 točno 0.3. Rezultati koji se ne mogu prikazati razredom
+ * {@link BigDecimal} ispisuju se kao {@link Double#NaN}.
+ * </p>
+ * <p>
+ * Ukoliko je metodom {@link #setJournal(CalculatorJournal)} postavljen
+ * dnevnik, svaka operacija (unarna, binarna, "=", rad sa stogom, brisanje i
+ * resetiranje) zapisuje se u njega zajedno s brojem s ekrana i rezultatom.
+ * Dnevnik sadrži samo brojeve tipa <code>double</code>, pa se promjenom
+ * načina rada zapisivanje prekida sve do sljedećeg resetiranja u načinu rada s
+ * brojevima tipa <code>double</code>. Resetiranje vraća kalkulator u početno
+ * stanje, pa se dnevnik s prekidom i dalje može ponoviti bez neslaganja.
+ * </p>
+ * <p>
+ * Duboki stog prepisuje se u privremenu datoteku mapiranu u memoriju, pa bi
+ * kalkulator koji se više ne koristi trebalo zatvoriti metodom
+ * {@link #close()}.
+ * </p>
+ *
+ * @see Calculator
+ *
+ * @author Davor Češljaš
+ */
+public class CalculatorEngine implements Closeable {
+
+	/**
+	 * Članska varijabla koja predstavlja znakove koje je korisnik upisao. Na
+	 * ekranu se prikazuju samo kada je {@link #typing} postavljen.
+	 */
+	private final StringBuilder input;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira prikazuje
+	 * li se na ekranu {@link #input} ili {@link #value}
+	 */
+	private boolean typing;
+
+	/**
+	 * Članska varijabla koja predstavlja broj na ekranu kada se ne prikazuje
+	 * {@link #input}
+	 */
+	private double value;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćeni sadržaj ekrana ili
+	 * <code>null</code> ukoliko se ekran promijenio od zadnjeg dohvata
+	 */
+	private String formatted;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira prikazuje
+	 * li se trenutno na ekranu međurezultat
+	 */
+	private boolean subResultShowing;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira postoji li
+	 * međurezultat, odnosno je li binarna operacija započeta
+	 */
+	private boolean hasSubResult;
+
+	/** Članska varijabla koja predstavlja trenutni međurezultat */
+	private double subResult;
+
+	/**
+	 * Članska varijabla koja predstavlja binarnu operaciju koja čeka drugi
+	 * argument ili <code>null</code> ukoliko takva operacija ne postoji
+	 */
+	private BinaryOperation pendingOperation;
+
+	/**
+	 * Članska varijabla koja predstavlja broj pročitan s ekrana metodom
+	 * {@link #readOperand()}
+	 */
+	private double operand;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu inverznog načina rada. Kada
+	 * je postavljena sin, cos, tan, ctg prelaze u arkus funkcije, log u 10^, ln
+	 * u e^, x^n u n-ti korijen iz x.
+	 */
+	private boolean inverse;
+
+	/**
+	 * Članska varijabla koja predstavlja stog na koji se sprema, odnosno s
+	 * kojeg se vade brojke metodama {@link #push()} i {@link #pop()}. Stariji
+	 * dijelovi dubokog stoga prepisuju se u privremenu datoteku, pa stog ne
+	 * može potrošiti gomilu.
+	 */
+	private SpillingDoubleStack stack;
+
+	/**
+	 * Članska varijabla koja predstavlja preciznost preciznog načina rada ili
+	 * <code>null</code> u načinu rada s brojevima tipa <code>double</code>
+	 */
+	private MathContext mathContext;
+
+	/**
+	 * Članska varijabla koja u preciznom načinu rada predstavlja broj na
+	 * ekranu kada se ne prikazuje {@link #input} ili <code>null</code> ukoliko je
+	 * taj broj {@link Double#NaN}
+	 */
+	private BigDecimal preciseValue;
+
+	/**
+	 * Članska varijabla koja u preciznom načinu rada predstavlja međurezultat
+	 * ili <code>null</code> ukoliko je međurezultat {@link Double#NaN}
+	 */
+	private BigDecimal preciseSubResult;
+
+	/**
+	 * Članska varijabla koja u preciznom načinu rada predstavlja broj pročitan
+	 * s ekrana ili <code>null</code> ukoliko je taj broj {@link Double#NaN}
+	 */
+	private BigDecimal preciseOperand;
+
+	/**
+	 * Članska varijabla koja predstavlja brojeve spremljene na stog u
+	 * preciznom načinu rada. Oni se nalaze iznad brojeva iz {@link #stack},
+	 * koji se u {@link BigDecimal} pretvaraju tek prilikom skidanja, pa
+	 * promjena načina rada ne premješta duboki stog na gomilu. Brojevi
+	 * spremljeni u preciznom načinu rada ne prepisuju se u datoteku, pa je
+	 * njihov broj ograničen veličinom gomile. Element <code>null</code>
+	 * predstavlja {@link Double#NaN}.
+	 */
+	private List<BigDecimal> preciseStack;
+
+	/**
+	 * Članska varijabla koja predstavlja dnevnik operacija ili
+	 * <code>null</code> ukoliko se operacije ne zapisuju
+	 */
+	private CalculatorJournal journal;
+
+	/**
+	 * Članska varijabla koja predstavlja broj s ekrana prije operacije koja se
+	 * zapisuje
+	 */
+	private double recordedOperand;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira je li se
+	 * broj s ekrana prije operacije koja se zapisuje mogao pročitati
+	 */
+	private boolean recordedReadable;
+
+	/**
+	 * Članska varijabla koja predstavlja inverzni način rada prije operacije
+	 * koja se zapisuje
+	 */
+	private boolean recordedInverse;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira je li
+	 * zapisivanje u dnevnik prekinuto do sljedećeg resetiranja
+	 */
+	private boolean journalSuspended;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s praznim ekranom
+	 * i praznim stogom čiji je dio u radnoj memoriji ograničen na
+	 * {@value SpillingDoubleStack#DEFAULT_MEMORY_CAPACITY} brojeva.
+	 */
+	public CalculatorEngine() {
+		this(SpillingDoubleStack.DEFAULT_MEMORY_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s praznim ekranom
+	 * i praznim stogom.
+	 *
+	 * @param stackMemoryCapacity
+	 *            najveći broj brojeva stoga u radnoj memoriji
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kapacitet manji od 2
+	 */
+	public CalculatorEngine(int stackMemoryCapacity) {
+		input = new StringBuilder();
+		typing = true;
+		stack = new SpillingDoubleStack(stackMemoryCapacity);
+		preciseStack = new ArrayList<>();
+	}
+
+	/**
+	 * Metoda koja dohvaća sadržaj ekrana. Upisani znakovi, odnosno izračunati
+	 * broj pretvaraju se u niz znakova samo prilikom prvog dohvata nakon
+	 * promjene.
+	 *
+	 * @return sadržaj ekrana
+	 */
+	public String getDisplay() {
+		if (formatted == null) {
+			if (typing) {
+				formatted = input.toString();
+			} else {
+				formatted = preciseValue == null ? Double.toString(value) : format(preciseValue);
+			}
+		}
+		return formatted;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj na ekranu bez mijenjanja stanja kalkulatora
+	 *
+	 * @return broj na ekranu ili {@link Double#NaN} ukoliko se sadržaj ekrana
+	 *         ne može pročitati kao broj
+	 */
+	public double getValue() {
+		if (!typing) {
+			return value;
+		}
+		try {
+			String text = getDisplay();
+			return mathContext == null ? Double.parseDouble(text) : new BigDecimal(text).doubleValue();
+		} catch (NumberFormatException nfe) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Metoda koja provjerava prikazuje li se na ekranu međurezultat. Sljedeća
+	 * upisana znamenka tada započinje novi broj.
+	 *
+	 * @return <code>true</code> ukoliko se prikazuje međurezultat,
+	 *         <code>false</code> inače
+	 */
+	public boolean isSubResultShowing() {
+		return subResultShowing;
+	}
+
+	/**
+	 * Metoda koja provjerava je li uključen inverzni način rada
+	 *
+	 * @return <code>true</code> ukoliko je inverzni način rada uključen,
+	 *         <code>false</code> inače
+	 */
+	public boolean isInverse() {
+		return inverse;
+	}
+
+	/**
+	 * Metoda koja uključuje ili isključuje inverzni način rada
+	 *
+	 * @param inverse
+	 *            zastavica inverznog načina rada
+	 */
+	public void setInverse(boolean inverse) {
+		this.inverse = inverse;
+	}
+
+	/**
+	 * Metoda koja dohvaća binarnu operaciju koja čeka drugi argument
+	 *
+	 * @return operacija koja čeka drugi argument ili <code>null</code>
+	 */
+	public BinaryOperation getPendingOperation() {
+		return pendingOperation;
+	}
+
+	/**
+	 * Metoda koja dohvaća dnevnik operacija
+	 *
+	 * @return dnevnik ili <code>null</code> ukoliko se operacije ne zapisuju
+	 */
+	public CalculatorJournal getJournal() {
+		return journal;
+	}
+
+	/**
+	 * Metoda koja postavlja dnevnik u koji se zapisuju operacije. Operacije u
+	 * preciznom načinu rada se ne zapisuju. Dnevnik se ponavlja od početnog
+	 * stanja kalkulatora, pa bi ga trebalo postaviti prije prve operacije.
+	 *
+	 * @param journal
+	 *            dnevnik ili <code>null</code> ukoliko se operacije ne
+	 *            zapisuju
+	 */
+	public void setJournal(CalculatorJournal journal) {
+		this.journal = journal;
+		journalSuspended = false;
+	}
+
+	/**
+	 * Metoda koja provjerava je li zapisivanje u dnevnik prekinuto. Zapisivanje
+	 * se prekida promjenom načina rada metodom
+	 * {@link #setMathContext(MathContext)} ili brisanjem dnevnika metodom
+	 * {@link #clearJournal()}, a nastavlja se sljedećim resetiranjem u načinu
+	 * rada s brojevima tipa <code>double</code>.
+	 *
+	 * @return <code>true</code> ukoliko je zapisivanje prekinuto,
+	 *         <code>false</code> inače
+	 */
+	public boolean isJournalSuspended() {
+		return journalSuspended;
+	}
+
+	/**
+	 * Metoda koja briše sve zapise postavljenog dnevnika. Kalkulator nakon
+	 * toga ne mora biti u početnom stanju, pa se zapisivanje prekida do
+	 * sljedećeg resetiranja.
+	 */
+	public void clearJournal() {
+		if (journal != null) {
+			journal.clear();
+			journalSuspended = true;
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća preciznost preciznog načina rada
+	 *
+	 * @return preciznost ili <code>null</code> ukoliko kalkulator radi s
+	 *         brojevima tipa <code>double</code>
+	 */
+	public MathContext getMathContext() {
+		return mathContext;
+	}
+
+	/**
+	 * Metoda koja mijenja način rada kalkulatora. Za <code>null</code>
+	 * kalkulator radi s brojevima tipa <code>double</code>, a inače s
+	 * brojevima {@link BigDecimal} u preciznosti <b>mathContext</b>. Sadržaj
+	 * ekrana, međurezultat i brojevi spremljeni na stog u preciznom načinu
+	 * rada pretvaraju se u novi način rada. Brojevi spremljeni na stog u
+	 * načinu rada s brojevima tipa <code>double</code> ostaju u
+	 * {@link SpillingDoubleStack} i pretvaraju se tek prilikom skidanja, a
+	 * zapisivanje u dnevnik se prekida do sljedećeg resetiranja jer se
+	 * operacije u preciznom načinu rada ne mogu ponoviti iz dnevnika.
+	 *
+	 * @param mathContext
+	 *            preciznost ili <code>null</code>
+	 */
+	public void setMathContext(MathContext mathContext) {
+		if (Objects.equals(this.mathContext, mathContext)) {
+			return;
+		}
+
+		boolean wasPrecise = this.mathContext != null;
+		journalSuspended = journal != null;
+		if (!typing) {
+			// broj se prenosi kao da ga je korisnik upisao
+			String text = getDisplay();
+			input.setLength(0);
+			input.append(text);
+			typing = true;
+		}
+		this.mathContext = mathContext;
+		preciseValue = null;
+		formatted = null;
+		if (mathContext == null) {
+			if (hasSubResult) {
+				subResult = toDouble(preciseSubResult);
+			}
+			for (BigDecimal number : preciseStack) {
+				stack.push(toDouble(number));
+			}
+			preciseStack.clear();
+			preciseSubResult = null;
+		} else if (wasPrecise) {
+			if (hasSubResult && preciseSubResult != null) {
+				preciseSubResult = preciseSubResult.round(mathContext);
+			}
+			preciseStack.replaceAll(number -> number == null ? null : number.round(mathContext));
+		} else {
+			preciseSubResult = hasSubResult ? toBigDecimal(subResult) : null;
+		}
+	}
+
+	/**
+	 * Metoda koja na ekran odjednom upisuje broj <b>number</b>. Ekran se
+	 * ponaša kao da je korisnik broj upisao znamenku po znamenku.
+	 *
+	 * @param number
+	 *            broj koji se upisuje
+	 */
+	public void enter(double number) {
+		show(number);
+		subResultShowing = false;
+	}
+
+	/**
+	 * Metoda koja na kraj ekrana dodaje znamenku <b>digit</b>. Ukoliko se na
+	 * ekranu prikazuje međurezultat, on se prvo briše.
+	 *
+	 * @param digit
+	 *            znamenka koja se dodaje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko <b>digit</b> nije znamenka
+	 */
+	public void appendDigit(int digit) {
+		if (digit < 0 || digit > 9) {
+			throw new IllegalArgumentException("Predana vrijednost nije znamenka. Vi ste predali: " + digit);
+		}
+		append((char) ('0' + digit));
+	}
+
+	/**
+	 * Metoda koja na kraj ekrana dodaje decimalnu točku. Ukoliko se na ekranu
+	 * prikazuje međurezultat, on se prvo briše.
+	 */
+	public void appendDot() {
+		append('.');
+	}
+
+	/**
+	 * Metoda koja mijenja predznak broja na ekranu dodavanjem, odnosno
+	 * uklanjanjem znaka "-" s početka ekrana
+	 */
+	public void negate() {
+		if (!typing) {
+			if (preciseValue == null) {
+				show(-value);
+			} else {
+				show(preciseValue.negate());
+			}
+			return;
+		}
+		if (input.length() > 0 && input.charAt(0) == '-') {
+			input.deleteCharAt(0);
+		} else {
+			input.insert(0, '-');
+		}
+		formatted = null;
+	}
+
+	/**
+	 * Metoda koja na broj s ekrana primjenjuje unarnu operaciju
+	 * <b>operation</b> i rezultat ispisuje na ekran. Ukoliko je uključen
+	 * inverzni način rada, koristi se inverzna strategija operacije.
+	 *
+	 * @param operation
+	 *            operacija koja se primjenjuje
+	 */
+	public void apply(UnaryOperation operation) {
+		boolean recording = beginRecord();
+		if (readOperand()) {
+			subResultShowing = true;
+			if (mathContext == null) {
+				show(operation.apply(operand, inverse));
+			} else {
+				try {
+					show(preciseOperand == null ? null
+							: BigDecimalMath.apply(operation, inverse, preciseOperand, mathContext));
+				} catch (ArithmeticException ae) {
+					show((BigDecimal) null);
+				}
+			}
+		}
+		if (recording) {
+			endRecord(CalculatorJournal.UNARY, operation.ordinal());
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja započinje binarnu operaciju. Ukoliko međurezultat
+	 * ne postoji kao prvi argument pamti se broj s ekrana, a inače se
+	 * nastavlja s postojećim međurezultatom.
+	 *
+	 * @return <code>true</code> ukoliko je operacija započeta,
+	 *         <code>false</code> ukoliko se broj s ekrana ne može pročitati
+	 */
+	private boolean beginBinaryOperation() {
+		if (!hasSubResult) {
+			if (!readOperand()) {
+				return false;
+			}
+			subResult = operand;
+			preciseSubResult = preciseOperand;
+			hasSubResult = true;
+		}
+		subResultShowing = true;
+		return true;
+	}
+
+	/**
+	 * Metoda koja odgovara pritisku gumba binarne operacije <b>operation</b>.
+	 * Ukoliko neka operacija čeka drugi argument, prvo se dovršava s brojem s
+	 * ekrana, a zatim <b>operation</b> započinje i čeka svoj drugi argument.
+	 *
+	 * @param operation
+	 *            odabrana operacija
+	 */
+	public void selectBinaryOperation(BinaryOperation operation) {
+		boolean recording = beginRecord();
+		if (pendingOperation != null) {
+			completeBinaryOperation(pendingOperation);
+		}
+		pendingOperation = beginBinaryOperation() ? operation : null;
+		if (recording) {
+			endRecord(CalculatorJournal.BINARY, operation.ordinal());
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja dovršava binarnu operaciju <b>operation</b>.
+	 * Međurezultat i broj s ekrana su argumenti operacije, a rezultat postaje
+	 * novi međurezultat i ispisuje se na ekran. Ukoliko međurezultat ne
+	 * postoji (primjerice jer je kalkulator u međuvremenu resetiran) metoda ne
+	 * radi ništa.
+	 *
+	 * @param operation
+	 *            operacija koja se dovršava
+	 */
+	private void completeBinaryOperation(BinaryOperation operation) {
+		if (!hasSubResult) {
+			return;
+		}
+
+		if (!readOperand()) {
+			hasSubResult = false;
+			return;
+		}
+		if (mathContext == null) {
+			subResult = operation.apply(subResult, operand, inverse);
+			show(subResult);
+			return;
+		}
+		try {
+			preciseSubResult = preciseSubResult == null || preciseOperand == null ? null
+					: BigDecimalMath.apply(operation, inverse, preciseSubResult, preciseOperand, mathContext);
+		} catch (ArithmeticException ae) {
+			preciseSubResult = null;
+		}
+		show(preciseSubResult);
+	}
+
+	/**
+	 * Metoda koja završava izračun (gumb "="). Operacija koja čeka drugi
+	 * argument se dovršava, rezultat ostaje na ekranu, a međurezultat se
+	 * zaboravlja.
+	 */
+	public void finishCalculation() {
+		boolean recording = beginRecord();
+		if (pendingOperation != null) {
+			completeBinaryOperation(pendingOperation);
+			pendingOperation = null;
+		}
+		subResultShowing = true;
+		hasSubResult = false;
+		if (recording) {
+			endRecord(CalculatorJournal.EQUALS, 0);
+		}
+	}
+
+	/**
+	 * Metoda koja broj s ekrana sprema na stog
+	 */
+	public void push() {
+		boolean recording = beginRecord();
+		if (readOperand()) {
+			if (mathContext == null) {
+				stack.push(operand);
+			} else {
+				preciseStack.add(preciseOperand);
+			}
+		}
+		if (recording) {
+			endRecord(CalculatorJournal.PUSH, 0);
+		}
+	}
+
+	/**
+	 * Metoda koja s vrha stoga skida broj i ispisuje ga na ekran. Ukoliko je
+	 * stog prazan kalkulator se resetira, a na ekran se ispisuje
+	 * {@link Double#NaN}
+	 */
+	public void pop() {
+		boolean recording = beginRecord();
+		try {
+			if (mathContext == null) {
+				show(stack.pop());
+			} else if (preciseStack.isEmpty()) {
+				// broj spremljen u načinu rada s brojevima tipa double
+				show(toBigDecimal(stack.pop()));
+			} else {
+				show(preciseStack.remove(preciseStack.size() - 1));
+			}
+		} catch (EmptyStackException empty) {
+			resetState();
+			show(Double.NaN);
+			subResultShowing = true;
+		}
+		if (recording) {
+			endRecord(CalculatorJournal.POP, 0);
+		}
+	}
+
+	/**
+	 * Metoda koja briše trenutni sadržaj ekrana.
+	 */
+	public void clear() {
+		boolean recording = beginRecord();
+		clearInput();
+		if (recording) {
+			endRecord(CalculatorJournal.CLEAR, 0);
+		}
+	}
+
+	/**
+	 * Metoda koja resetira primjerak ovog razreda u početno stanje. Svi
+	 * međurezultati biti će odbačeni, inverzni način rada isključen, te će se
+	 * stog isprazniti. U načinu rada s brojevima tipa <code>double</code>
+	 * resetiranje nastavlja prekinuto zapisivanje u dnevnik.
+	 */
+	public void reset() {
+		if (mathContext == null) {
+			// dnevnik se može nastaviti jer je stanje nakon resetiranja početno
+			journalSuspended = false;
+		}
+		boolean recording = beginRecord();
+		resetState();
+		if (recording) {
+			endRecord(CalculatorJournal.RESET, 0);
+		}
+	}
+
+	/**
+	 * Metoda koja resetira kalkulator i zatvara privremenu datoteku stoga.
+	 * Zatvaranje ne zapisuje ništa u dnevnik, a kalkulator se nakon zatvaranja
+	 * može dalje koristiti. Mapirani dijelovi datoteke oslobađaju se tek kada
+	 * ih ukloni sakupljač smeća jer Java ne nudi način da se mapiranje
+	 * eksplicitno ukloni.
+	 *
+	 * @throws UncheckedIOException
+	 *             ukoliko se datoteka ne može zatvoriti
+	 */
+	@Override
+	public void close() {
+		resetState();
+		try {
+			stack.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Privremena datoteka stoga ne može se zatvoriti", e);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja briše trenutni sadržaj ekrana
+	 */
+	private void clearInput() {
+		input.setLength(0);
+		typing = true;
+		formatted = null;
+		subResultShowing = false;
+	}
+
+	/**
+	 * Pomoćna metoda koja resetira primjerak ovog razreda u početno stanje
+	 */
+	private void resetState() {
+		clearInput();
+		inverse = false;
+		hasSubResult = false;
+		pendingOperation = null;
+		stack.clear();
+		preciseStack.clear();
+	}
+
+	/**
+	 * Pomoćna metoda koja prije operacije pamti broj s ekrana i inverzni način
+	 * rada, ukoliko se operacija zapisuje u dnevnik
+	 *
+	 * @return <code>true</code> ukoliko se operacija zapisuje,
+	 *         <code>false</code> inače
+	 */
+	private boolean beginRecord() {
+		if (journal == null || mathContext != null || journalSuspended) {
+			return false;
+		}
+		recordedInverse = inverse;
+		recordedReadable = true;
+		if (!typing) {
+			recordedOperand = value;
+			return true;
+		}
+		try {
+			recordedOperand = Double.parseDouble(getDisplay());
+		} catch (NumberFormatException nfe) {
+			recordedOperand = Double.NaN;
+			recordedReadable = false;
+		}
+		return true;
+	}
+
+	/**
+	 * Pomoćna metoda koja u dnevnik zapisuje operaciju čiji je broj s ekrana
+	 * zapamćen metodom {@link #beginRecord()}
+	 *
+	 * @param kind
+	 *            vrsta zapisa
+	 * @param operation
+	 *            redni broj operacije
+	 */
+	private void endRecord(int kind, int operation) {
+		journal.record(kind, operation, recordedInverse, recordedReadable, recordedOperand, getValue());
+	}
+
+	/**
+	 * Pomoćna metoda koja na kraj ekrana dodaje znak <b>c</b>. Ukoliko se na
+	 * ekranu prikazuje međurezultat znak započinje novi broj, a ukoliko se
+	 * prikazuje neki drugi izračunati broj znak se dodaje na njegov zapis.
+	 *
+	 * @param c
+	 *            znak koji se dodaje
+	 */
+	private void append(char c) {
+		if (subResultShowing) {
+			input.setLength(0);
+		} else if (!typing) {
+			String text = getDisplay();
+			input.setLength(0);
+			input.append(text);
+		}
+		input.append(c);
+		typing = true;
+		formatted = null;
+		subResultShowing = false;
+	}
+
+	/**
+	 * Pomoćna metoda koja na ekranu prikazuje broj <b>number</b>
+	 *
+	 * @param number
+	 *            broj koji se prikazuje
+	 */
+	private void show(double number) {
+		value = number;
+		preciseValue = mathContext == null ? null : toBigDecimal(number);
+		typing = false;
+		formatted = null;
+	}
+
+	/**
+	 * Pomoćna metoda koja u preciznom načinu rada na ekranu prikazuje broj
+	 * <b>number</b>
+	 *
+	 * @param number
+	 *            broj koji se prikazuje ili <code>null</code> za
+	 *            {@link Double#NaN}
+	 */
+	private void show(BigDecimal number) {
+		value = toDouble(number);
+		preciseValue = number;
+		typing = false;
+		formatted = null;
+	}
+
+	/**
+	 * Pomoćna metoda koja broj s ekrana sprema u {@link #operand}. Ukoliko se
+	 * broj ne može pročitati na ekran se ispisuje {@link Double#NaN}
+	 *
+	 * @return <code>true</code> ukoliko je broj pročitan, <code>false</code>
+	 *         inače
+	 */
+	private boolean readOperand() {
+		if (!typing) {
+			operand = value;
+			preciseOperand = preciseValue;
+			return true;
+		}
+		try {
+			if (mathContext == null) {
+				operand = Double.parseDouble(getDisplay());
+			} else {
+				preciseOperand = new BigDecimal(getDisplay()).round(mathContext);
+				operand = preciseOperand.doubleValue();
+			}
+			return true;
+		} catch (NumberFormatException nfe) {
+			show(Double.NaN);
+			return false;
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja broj <b>number</b> pretvara u niz znakova. Brojevi
+	 * čiji cijeli dio ima više znamenaka od preciznosti ili koji su manji od
+	 * 10^-3 ispisuju se u znanstvenom zapisu, a ostali bez eksponenta.
+	 *
+	 * @param number
+	 *            broj koji se pretvara
+	 * @return niz znakova broja
+	 */
+	private String format(BigDecimal number) {
+		if (number.signum() == 0) {
+			return "0";
+		}
+		BigDecimal stripped = number.stripTrailingZeros();
+		int integerDigits = stripped.precision() - stripped.scale();
+		if (integerDigits > mathContext.getPrecision() || integerDigits < -2) {
+			return stripped.toString();
+		}
+		return stripped.toPlainString();
+	}
+
+	/**
+	 * Pomoćna metoda koja broj <b>number</b> pretvara u {@link BigDecimal}
+	 *
+	 * @param number
+	 *            broj koji se pretvara
+	 * @return broj kao {@link BigDecimal} ili <code>null</code> ukoliko broj
+	 *         nije konačan
+	 */
+	private BigDecimal toBigDecimal(double number) {
+		return Double.isNaN(number) || Double.isInfinite(number) ? null
+				: BigDecimal.valueOf(number).round(mathContext);
+	}
+
+	/**
+	 * Pomoćna metoda koja broj <b>number</b> pretvara u <code>double</code>
+	 *
+	 * @param number
+	 *            broj koji se pretvara ili <code>null</code>
+	 * @return broj kao <code>double</code> ili {@link Double#NaN} za
+	 *         <code>null</code>
+	 */
+	private static double toDouble(BigDecimal number) {
+		return number == null ? Double.NaN : number.doubleValue();
+	}
+}
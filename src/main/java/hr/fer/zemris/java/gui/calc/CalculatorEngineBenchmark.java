@@ -0,0 +1,142 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.util.Stack;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.java.gui.layouts.AllocationMeter;
+
+/**
+ * Razred koji predstavlja program koji mjeri broj zauzetih bajtova i trajanje
+ * niza operacija kalkulatora. Uspoređuje se {@link CalculatorEngine}, koji
+ * sve brojeve čuva kao primitivne brojeve tipa <code>double</code>, s
+ * prijašnjim načinom rada u kojem su operacije bile {@link UnaryOperator} i
+ * {@link BinaryOperator} nad razredom {@link Double}, a stog primjerak
+ * razreda {@link Stack}. Jedan korak sastoji se od upisa broja, unarne
+ * operacije, binarne operacije te spremanja na stog i vađenja sa stoga.
+ * Zauzeti bajtovi mjere se razredom {@link AllocationMeter}, a
+ * na virtualnom stroju koji ne podržava mjerenje zauzeća po dretvi umjesto
+ * njih ispisuje se "n/a".
+ *
+ * @see CalculatorEngine
+ *
+ * @author Davor Češljaš
+ */
+public class CalculatorEngineBenchmark {
+
+	/** Konstanta koja predstavlja zadani broj koraka */
+	private static final int DEFAULT_STEPS = 5_000_000;
+
+	/** Konstanta koja predstavlja broj ponavljanja za zagrijavanje */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/** Konstanta koja predstavlja broj operacija u jednom koraku */
+	private static final int OPERATIONS_PER_STEP = 7;
+
+	/**
+	 * Članska varijabla u koju se zbrajaju rezultati kako ih optimizator ne bi
+	 * uklonio
+	 */
+	private static volatile double sink;
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja broj koraka (zadano {@value #DEFAULT_STEPS})
+	 */
+	public static void main(String[] args) {
+		int steps = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STEPS;
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			sink += runBoxed(steps);
+			sink += runEngine(steps);
+		}
+
+		System.out.printf("Koraka: %d, operacija po koraku: %d%n", steps, OPERATIONS_PER_STEP);
+		for (boolean boxed : new boolean[] { true, false }) {
+			long bytes = AllocationMeter.allocatedBytes();
+			long start = System.nanoTime();
+			sink += boxed ? runBoxed(steps) : runEngine(steps);
+			long nanos = System.nanoTime() - start;
+			long operations = (long) steps * OPERATIONS_PER_STEP;
+			String bytesPerOperation = AllocationMeter.perUnit(bytes, AllocationMeter.allocatedBytes(), operations);
+
+			System.out.printf("%-7s %8.2f ns/operacija, %8s B/operacija, %6.1f M operacija/s%n",
+					boxed ? "Double" : "double", (double) nanos / operations, bytesPerOperation,
+					operations * 1e3 / nanos);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja <b>steps</b> koraka izvodi nad primjerkom razreda
+	 * {@link CalculatorEngine}
+	 *
+	 * @param steps
+	 *            broj koraka
+	 * @return zadnji rezultat kako optimizator ne bi uklonio petlju
+	 */
+	private static double runEngine(int steps) {
+		CalculatorEngine engine = new CalculatorEngine();
+		for (int i = 0; i < steps; i++) {
+			engine.enter(i % 1000);
+			engine.apply(UnaryOperation.SIN);
+			engine.selectBinaryOperation(BinaryOperation.ADD);
+			engine.enter(i % 7);
+			engine.finishCalculation();
+			engine.push();
+			engine.pop();
+		}
+		return engine.getValue();
+	}
+
+	/**
+	 * Pomoćna metoda koja <b>steps</b> koraka izvodi nad primjerkom razreda
+	 * {@link BoxedEngine}
+	 *
+	 * @param steps
+	 *            broj koraka
+	 * @return zadnji rezultat kako optimizator ne bi uklonio petlju
+	 */
+	private static double runBoxed(int steps) {
+		BoxedEngine engine = new BoxedEngine();
+		for (int i = 0; i < steps; i++) {
+			engine.display = (double) (i % 1000);
+			engine.display = engine.sin.apply(engine.display);
+			engine.subResult = engine.display;
+			engine.display = (double) (i % 7);
+			engine.subResult = engine.add.apply(engine.subResult, engine.display);
+			engine.display = engine.subResult;
+			engine.subResult = null;
+			engine.stack.push(engine.display);
+			engine.display = engine.stack.pop();
+		}
+		return engine.display;
+	}
+
+	/**
+	 * Razred koji predstavlja stanje kalkulatora na način na koji ga je
+	 * kalkulator čuvao prije uvođenja primitivnih operacija. Stanje se čuva u
+	 * članskim varijablama, kao i u razredu {@link CalculatorEngine}, pa
+	 * optimizator ne može ukloniti omatanje brojeva.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class BoxedEngine {
+
+		/** Članska varijabla koja predstavlja unarnu operaciju */
+		private final UnaryOperator<Double> sin = Math::sin;
+
+		/** Članska varijabla koja predstavlja binarnu operaciju */
+		private final BinaryOperator<Double> add = (arg1, arg2) -> arg1 + arg2;
+
+		/** Članska varijabla koja predstavlja stog */
+		private final Stack<Double> stack = new Stack<>();
+
+		/** Članska varijabla koja predstavlja broj na ekranu */
+		private Double display = 0.0;
+
+		/** Članska varijabla koja predstavlja međurezultat */
+		private Double subResult;
+	}
+}
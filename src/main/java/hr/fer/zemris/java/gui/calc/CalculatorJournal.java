@@ -0,0 +1,300 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Razred koji predstavlja binarni dnevnik operacija kalkulatora. Dnevnik
+ * puni primjerak razreda {@link CalculatorEngine} kojem je postavljen metodom
+ * {@link CalculatorEngine#setJournal(CalculatorJournal)}, a razred
+ * {@link JournalReplayer} ga izvodi nad drugim primjerkom i provjerava daje li
+ * svaka operacija bit po bit jednak rezultat.
+ * <p>
+ * Svaki zapis započinje jednim oktetom zaglavlja: vrsta zapisa (3 bita),
+ * zastavica nečitljivog broja s ekrana (1 bit), redni broj operacije (3 bita)
+ * i zastavica inverznog načina rada (1 bit). Nakon zaglavlja slijede bitovi
+ * broja s ekrana prije operacije i bitovi broja na ekranu nakon operacije,
+ * ukoliko ih vrsta zapisa ima. Upisivanje znamenaka ne zapisuje se jer je
+ * upisani broj sadržan u operaciji koja ga koristi, pa zapis operacije
+ * zauzima najviše {@value #MAX_RECORD_LENGTH} okteta.
+ * </p>
+ * <p>
+ * Dnevnik se puni samo u načinu rada s brojevima tipa <code>double</code>.
+ * Nakon promjene načina rada kalkulator ne zapisuje operacije sve do
+ * sljedećeg resetiranja, pa dnevnik nikada ne sadrži operacije čiji se
+ * rezultat ne može ponoviti.
+ * </p>
+ *
+ * @see JournalReplayer
+ *
+ * @author Davor Češljaš
+ */
+public class CalculatorJournal {
+
+	/** Konstanta koja predstavlja zapis unarne operacije */
+	static final int UNARY = 0;
+
+	/** Konstanta koja predstavlja zapis pritiska gumba binarne operacije */
+	static final int BINARY = 1;
+
+	/** Konstanta koja predstavlja zapis pritiska gumba "=" */
+	static final int EQUALS = 2;
+
+	/** Konstanta koja predstavlja zapis spremanja broja na stog */
+	static final int PUSH = 3;
+
+	/** Konstanta koja predstavlja zapis skidanja broja sa stoga */
+	static final int POP = 4;
+
+	/** Konstanta koja predstavlja zapis brisanja ekrana */
+	static final int CLEAR = 5;
+
+	/** Konstanta koja predstavlja zapis resetiranja kalkulatora */
+	static final int RESET = 6;
+
+	/** Konstanta koja predstavlja najveću duljinu zapisa u oktetima */
+	static final int MAX_RECORD_LENGTH = 1 + 2 * Long.BYTES;
+
+	/** Konstanta koja predstavlja oznaku na početku datoteke dnevnika */
+	private static final int MAGIC = 0x434A3031;
+
+	/** Konstanta koja predstavlja početni kapacitet u oktetima */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/** Članska varijabla koja predstavlja oktete dnevnika */
+	private byte[] data;
+
+	/** Članska varijabla koja predstavlja broj zauzetih okteta */
+	private int length;
+
+	/** Članska varijabla koja predstavlja broj zapisa */
+	private int size;
+
+	/**
+	 * Konstruktor koji inicijalizira prazan primjerak ovog razreda.
+	 */
+	public CalculatorJournal() {
+		data = new byte[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s pročitanim
+	 * oktetima.
+	 *
+	 * @param data
+	 *            okteti dnevnika
+	 * @param size
+	 *            broj zapisa
+	 */
+	private CalculatorJournal(byte[] data, int size) {
+		this.data = data;
+		this.length = data.length;
+		this.size = size;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj zapisa
+	 *
+	 * @return broj zapisa
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj okteta koje zauzimaju zapisi
+	 *
+	 * @return broj okteta
+	 */
+	public int byteSize() {
+		return length;
+	}
+
+	/**
+	 * Metoda koja briše sve zapise
+	 */
+	public void clear() {
+		length = 0;
+		size = 0;
+	}
+
+	/**
+	 * Metoda koja dnevnik zapisuje u <b>os</b>. Tok se ne zatvara.
+	 *
+	 * @param os
+	 *            tok u koji se dnevnik zapisuje
+	 * @throws IOException
+	 *             ukoliko zapisivanje nije uspjelo
+	 */
+	public void writeTo(OutputStream os) throws IOException {
+		DataOutputStream dos = new DataOutputStream(os);
+		dos.writeInt(MAGIC);
+		dos.writeInt(size);
+		dos.write(data, 0, length);
+		dos.flush();
+	}
+
+	/**
+	 * Metoda koja čita dnevnik koji je zapisan metodom
+	 * {@link #writeTo(OutputStream)}. Tok se ne zatvara.
+	 *
+	 * @param is
+	 *            tok iz kojeg se dnevnik čita
+	 * @return pročitani dnevnik
+	 * @throws IOException
+	 *             ukoliko čitanje nije uspjelo ili tok ne sadrži ispravan
+	 *             dnevnik
+	 */
+	public static CalculatorJournal readFrom(InputStream is) throws IOException {
+		DataInputStream dis = new DataInputStream(is);
+		if (dis.readInt() != MAGIC) {
+			throw new IOException("Tok ne sadrži dnevnik kalkulatora");
+		}
+		int size = dis.readInt();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] chunk = new byte[8192];
+		for (int read; (read = dis.read(chunk)) != -1;) {
+			bytes.write(chunk, 0, read);
+		}
+		byte[] data = bytes.toByteArray();
+
+		int records = 0;
+		for (int position = 0; position < data.length; records++) {
+			int kind = kind(data[position]);
+			if (kind > RESET) {
+				throw new IOException("Neispravna vrsta zapisa na oktetu " + position + ": " + kind);
+			}
+			int operation = operation(data[position]);
+			if (kind == UNARY && operation >= UnaryOperation.values().length
+					|| kind == BINARY && operation >= BinaryOperation.values().length) {
+				throw new IOException("Neispravna operacija zapisa na oktetu " + position + ": " + operation);
+			}
+			position += recordLength(kind);
+			if (position > data.length) {
+				throw new IOException("Dnevnik završava usred zapisa");
+			}
+		}
+		if (records != size) {
+			throw new IOException(String.format("Dnevnik najavljuje %d zapisa, a sadrži %d", size, records));
+		}
+		return new CalculatorJournal(data, size);
+	}
+
+	/**
+	 * Metoda koja dodaje zapis operacije
+	 *
+	 * @param kind
+	 *            vrsta zapisa
+	 * @param operation
+	 *            redni broj operacije ili 0 ukoliko zapis nema operaciju
+	 * @param inverse
+	 *            zastavica inverznog načina rada prije operacije
+	 * @param readable
+	 *            zastavica koja signalizira je li se broj s ekrana mogao
+	 *            pročitati
+	 * @param operand
+	 *            broj s ekrana prije operacije
+	 * @param result
+	 *            broj na ekranu nakon operacije
+	 */
+	void record(int kind, int operation, boolean inverse, boolean readable, double operand, double result) {
+		if (length + MAX_RECORD_LENGTH > data.length) {
+			data = Arrays.copyOf(data, data.length * 2);
+		}
+		data[length++] = (byte) (kind << 5 | (readable ? 0 : 0x10) | operation << 1 | (inverse ? 1 : 0));
+		if (hasOperand(kind)) {
+			putLong(Double.doubleToRawLongBits(operand));
+		}
+		if (hasResult(kind)) {
+			putLong(Double.doubleToLongBits(result));
+		}
+		size++;
+	}
+
+	/**
+	 * Metoda koja dohvaća zapise kao spremnik samo za čitanje
+	 *
+	 * @return spremnik zapisa
+	 */
+	ByteBuffer buffer() {
+		return ByteBuffer.wrap(data, 0, length).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Metoda koja iz zaglavlja zapisa dohvaća vrstu zapisa
+	 *
+	 * @param header
+	 *            zaglavlje zapisa
+	 * @return vrsta zapisa
+	 */
+	static int kind(byte header) {
+		return (header & 0xff) >>> 5;
+	}
+
+	/**
+	 * Metoda koja iz zaglavlja zapisa dohvaća redni broj operacije
+	 *
+	 * @param header
+	 *            zaglavlje zapisa
+	 * @return redni broj operacije
+	 */
+	static int operation(byte header) {
+		return (header >>> 1) & 0x7;
+	}
+
+	/**
+	 * Metoda koja provjerava sadrži li zapis vrste <b>kind</b> broj s ekrana
+	 * prije operacije
+	 *
+	 * @param kind
+	 *            vrsta zapisa
+	 * @return <code>true</code> ukoliko zapis sadrži broj, <code>false</code>
+	 *         inače
+	 */
+	static boolean hasOperand(int kind) {
+		return kind <= PUSH;
+	}
+
+	/**
+	 * Metoda koja provjerava sadrži li zapis vrste <b>kind</b> broj na ekranu
+	 * nakon operacije
+	 *
+	 * @param kind
+	 *            vrsta zapisa
+	 * @return <code>true</code> ukoliko zapis sadrži broj, <code>false</code>
+	 *         inače
+	 */
+	static boolean hasResult(int kind) {
+		return kind <= EQUALS || kind == POP;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća duljinu zapisa vrste <b>kind</b>
+	 *
+	 * @param kind
+	 *            vrsta zapisa
+	 * @return duljina zapisa u oktetima
+	 */
+	private static int recordLength(int kind) {
+		return 1 + (hasOperand(kind) ? Long.BYTES : 0) + (hasResult(kind) ? Long.BYTES : 0);
+	}
+
+	/**
+	 * Pomoćna metoda koja na kraj dnevnika zapisuje <b>bits</b>
+	 *
+	 * @param bits
+	 *            bitovi koji se zapisuju
+	 */
+	private void putLong(long bits) {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			data[length++] = (byte) (bits >>> shift);
+		}
+	}
+}
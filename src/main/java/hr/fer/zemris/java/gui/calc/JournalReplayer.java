@@ -0,0 +1,223 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Razred koji dnevnik {@link CalculatorJournal} izvodi nad primjerkom razreda
+ * {@link CalculatorEngine} bez grafičkog korisničkog sučelja. Prije svake
+ * operacije na ekran se odjednom upisuje zapisani broj i postavlja zapisani
+ * inverzni način rada, a nakon operacije se broj na ekranu bit po bit
+ * uspoređuje sa zapisanim rezultatom. Tako se korisničke sesije mogu ponoviti,
+ * propusnost kalkulatora izmjeriti na stvarnim nizovima operacija, a
+ * izmijenjena implementacija provjeriti daje li jednake rezultate.
+ * <p>
+ * Program se pokreće s putanjom do datoteke dnevnika i opcionalnim brojem
+ * ponavljanja. Bez argumenata program stvara sesiju od
+ * {@value #DEFAULT_OPERATIONS} nasumičnih operacija s fiksnim sjemenom, pa je
+ * mjerenje ponovljivo.
+ * </p>
+ *
+ * @see CalculatorJournal
+ *
+ * @author Davor Češljaš
+ */
+public class JournalReplayer {
+
+	/** Konstanta koja predstavlja broj operacija stvorene sesije */
+	private static final int DEFAULT_OPERATIONS = 1_000_000;
+
+	/** Konstanta koja predstavlja zadani broj ponavljanja */
+	private static final int DEFAULT_ROUNDS = 10;
+
+	/** Konstanta koja predstavlja broj ponavljanja za zagrijavanje */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/** Konstanta koja predstavlja sjeme stvorene sesije */
+	private static final long SEED = 42;
+
+	/** Konstanta koja predstavlja sve unarne operacije po rednom broju */
+	private static final UnaryOperation[] UNARY_OPERATIONS = UnaryOperation.values();
+
+	/** Konstanta koja predstavlja sve binarne operacije po rednom broju */
+	private static final BinaryOperation[] BINARY_OPERATIONS = BinaryOperation.values();
+
+	/**
+	 * Konstruktor koji je privatan jer se razred ne instancira.
+	 */
+	private JournalReplayer() {
+	}
+
+	/**
+	 * Metoda koja dnevnik <b>journal</b> izvodi nad <b>engine</b>
+	 *
+	 * @param journal
+	 *            dnevnik koji se izvodi
+	 * @param engine
+	 *            kalkulator nad kojim se dnevnik izvodi. Trebao bi biti u
+	 *            početnom stanju i u načinu rada s brojevima tipa
+	 *            <code>double</code>.
+	 * @return broj operacija čiji se rezultat razlikuje od zapisanog
+	 */
+	public static int replay(CalculatorJournal journal, CalculatorEngine engine) {
+		ByteBuffer buffer = journal.buffer();
+		int mismatches = 0;
+		while (buffer.hasRemaining()) {
+			byte header = buffer.get();
+			int kind = CalculatorJournal.kind(header);
+			int operation = CalculatorJournal.operation(header);
+			engine.setInverse((header & 1) != 0);
+
+			if (CalculatorJournal.hasOperand(kind)) {
+				double operand = buffer.getDouble();
+				if ((header & 0x10) == 0) {
+					engine.enter(operand);
+				} else {
+					// sam predznak se ne može pročitati kao broj
+					engine.clear();
+					engine.negate();
+				}
+			}
+
+			switch (kind) {
+			case CalculatorJournal.UNARY:
+				engine.apply(UNARY_OPERATIONS[operation]);
+				break;
+			case CalculatorJournal.BINARY:
+				engine.selectBinaryOperation(BINARY_OPERATIONS[operation]);
+				break;
+			case CalculatorJournal.EQUALS:
+				engine.finishCalculation();
+				break;
+			case CalculatorJournal.PUSH:
+				engine.push();
+				break;
+			case CalculatorJournal.POP:
+				engine.pop();
+				break;
+			case CalculatorJournal.CLEAR:
+				engine.clear();
+				break;
+			default:
+				engine.reset();
+			}
+
+			if (CalculatorJournal.hasResult(kind)
+					&& buffer.getLong() != Double.doubleToLongBits(engine.getValue())) {
+				mismatches++;
+			}
+		}
+		return mismatches;
+	}
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja putanju do dnevnika, a drugi broj ponavljanja
+	 *            (zadano {@value #DEFAULT_ROUNDS})
+	 * @throws IOException
+	 *             ukoliko se dnevnik ne može pročitati
+	 */
+	public static void main(String[] args) throws IOException {
+		CalculatorJournal journal;
+		if (args.length > 0) {
+			try (InputStream is = new BufferedInputStream(Files.newInputStream(Paths.get(args[0])))) {
+				journal = CalculatorJournal.readFrom(is);
+			}
+		} else {
+			journal = randomSession(DEFAULT_OPERATIONS, SEED);
+		}
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			try (CalculatorEngine engine = new CalculatorEngine()) {
+				replay(journal, engine);
+			}
+		}
+
+		int mismatches = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			try (CalculatorEngine engine = new CalculatorEngine()) {
+				mismatches += replay(journal, engine);
+			}
+		}
+		long nanos = System.nanoTime() - start;
+
+		long operations = (long) journal.size() * rounds;
+		System.out.printf("Zapisa: %d (%d okteta), ponavljanja: %d%n", journal.size(), journal.byteSize(), rounds);
+		System.out.printf("%8.2f ns/operacija, %6.1f M operacija/s, neslaganja: %d%n", (double) nanos / operations,
+				operations * 1e3 / nanos, mismatches);
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara dnevnik nasumične sesije od <b>operations</b>
+	 * operacija. Brojevi se upisuju znamenku po znamenku, kao da ih upisuje
+	 * korisnik.
+	 *
+	 * @param operations
+	 *            broj operacija
+	 * @param seed
+	 *            sjeme generatora slučajnih brojeva
+	 * @return dnevnik sesije
+	 */
+	private static CalculatorJournal randomSession(int operations, long seed) {
+		Random random = new Random(seed);
+		CalculatorJournal journal = new CalculatorJournal();
+		try (CalculatorEngine engine = new CalculatorEngine()) {
+			engine.setJournal(journal);
+			fill(engine, journal, operations, random);
+		}
+		return journal;
+	}
+
+	/**
+	 * Pomoćna metoda koja nad <b>engine</b> izvodi nasumične operacije dok
+	 * dnevnik <b>journal</b> ne sadrži <b>operations</b> zapisa
+	 *
+	 * @param engine
+	 *            kalkulator koji zapisuje u dnevnik
+	 * @param journal
+	 *            dnevnik koji se puni
+	 * @param operations
+	 *            broj operacija
+	 * @param random
+	 *            generator slučajnih brojeva
+	 */
+	private static void fill(CalculatorEngine engine, CalculatorJournal journal, int operations, Random random) {
+		while (journal.size() < operations) {
+			for (int digits = 1 + random.nextInt(4); digits > 0; digits--) {
+				engine.appendDigit(random.nextInt(10));
+			}
+			if (random.nextInt(4) == 0) {
+				engine.appendDot();
+				engine.appendDigit(random.nextInt(10));
+			}
+			engine.setInverse(random.nextInt(5) == 0);
+
+			int choice = random.nextInt(100);
+			if (choice < 30) {
+				engine.apply(UNARY_OPERATIONS[random.nextInt(UNARY_OPERATIONS.length)]);
+			} else if (choice < 75) {
+				engine.selectBinaryOperation(BINARY_OPERATIONS[random.nextInt(BINARY_OPERATIONS.length)]);
+			} else if (choice < 88) {
+				engine.finishCalculation();
+			} else if (choice < 94) {
+				engine.push();
+			} else if (choice < 98) {
+				engine.pop();
+			} else if (choice < 99) {
+				engine.clear();
+			} else {
+				engine.reset();
+			}
+		}
+	}
+}
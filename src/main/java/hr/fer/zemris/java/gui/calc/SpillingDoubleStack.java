@@ -0,0 +1,310 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+
+/**
+ * Razred koji predstavlja stog primitivnih brojeva tipa <code>double</code>
+ * čiji je dio u radnoj memoriji ograničen. Vrh stoga nalazi se u polju
+ * kapaciteta zadanog prilikom stvaranja. Kada se polje napuni, njegova
+ * starija polovica (segment) prepisuje se u privremenu datoteku mapiranu u
+ * memoriju, a kada se polje isprazni, zadnji prepisani segment vraća se u
+ * polje. Segment se prepisuje tek nakon pola kapaciteta spremanja, odnosno
+ * vraća nakon pola kapaciteta vađenja, pa su spremanje i vađenje amortizirano
+ * O(1), a naizmjenično spremanje i vađenje na granici segmenta ne prepisuje
+ * ništa.
+ * <p>
+ * Polje se ne zauzima unaprijed: počinje s najviše {@value #INITIAL_CAPACITY}
+ * mjesta i udvostručuje se po potrebi do zadanog kapaciteta, pa plitki stogovi
+ * ne zauzimaju cijeli kapacitet.
+ * </p>
+ * <p>
+ * Privremena datoteka stvara se tek prilikom prvog prepisivanja i mapira u
+ * dijelovima od {@value #CHUNK_SIZE} brojeva. Mapirani dijelovi nalaze se
+ * izvan gomile, pa duboki stogovi zauzimaju na gomili najviše polje zadanog
+ * kapaciteta. Datoteka se briše odmah nakon otvaranja (ili prilikom izlaska
+ * iz programa na sustavima koji to ne dopuštaju), a metoda {@link #close()}
+ * oslobađa kanal datoteke. Prostor na disku i adresni prostor mapiranih
+ * dijelova oslobađaju se tek kada mapirane dijelove ukloni sakupljač smeća.
+ * </p>
+ *
+ * @see CalculatorEngine
+ *
+ * @author Davor Češljaš
+ */
+public class SpillingDoubleStack implements Closeable {
+
+	/** Konstanta koja predstavlja zadani kapacitet polja u memoriji */
+	public static final int DEFAULT_MEMORY_CAPACITY = 1 << 16;
+
+	/** Konstanta koja predstavlja početni kapacitet polja u memoriji */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** Konstanta koja predstavlja broj brojeva u jednom mapiranom dijelu */
+	private static final int CHUNK_SIZE = 1 << 20;
+
+	/** Članska varijabla koja predstavlja polje s vrhom stoga */
+	private double[] memory;
+
+	/** Članska varijabla koja predstavlja najveći broj brojeva u polju */
+	private final int memoryCapacity;
+
+	/** Članska varijabla koja predstavlja veličinu prepisanog segmenta */
+	private final int segment;
+
+	/** Članska varijabla koja predstavlja broj brojeva u polju */
+	private int inMemory;
+
+	/** Članska varijabla koja predstavlja broj brojeva u datoteci */
+	private long spilled;
+
+	/**
+	 * Članska varijabla koja predstavlja kanal privremene datoteke ili
+	 * <code>null</code> ukoliko datoteka još nije stvorena
+	 */
+	private FileChannel channel;
+
+	/** {@link List} mapiranih dijelova datoteke po redu */
+	private final List<DoubleBuffer> chunks;
+
+	/**
+	 * Konstruktor koji inicijalizira prazan stog s kapacitetom polja
+	 * {@value #DEFAULT_MEMORY_CAPACITY}.
+	 */
+	public SpillingDoubleStack() {
+		this(DEFAULT_MEMORY_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira prazan stog.
+	 *
+	 * @param memoryCapacity
+	 *            najveći broj brojeva u radnoj memoriji
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kapacitet manji od 2
+	 */
+	public SpillingDoubleStack(int memoryCapacity) {
+		if (memoryCapacity < 2) {
+			throw new IllegalArgumentException("Kapacitet mora biti barem 2. Vi ste predali: " + memoryCapacity);
+		}
+		this.memoryCapacity = memoryCapacity;
+		memory = new double[Math.min(memoryCapacity, INITIAL_CAPACITY)];
+		segment = memoryCapacity / 2;
+		chunks = new ArrayList<>();
+	}
+
+	/**
+	 * Metoda koja na vrh stoga sprema broj <b>value</b>
+	 *
+	 * @param value
+	 *            broj koji se sprema
+	 *
+	 * @throws UncheckedIOException
+	 *             ukoliko se segment ne može prepisati u datoteku
+	 */
+	public void push(double value) {
+		if (inMemory == memory.length) {
+			if (memory.length < memoryCapacity) {
+				grow();
+			} else {
+				spill();
+			}
+		}
+		memory[inMemory++] = value;
+	}
+
+	/**
+	 * Metoda koja skida broj s vrha stoga
+	 *
+	 * @return broj s vrha stoga
+	 *
+	 * @throws EmptyStackException
+	 *             ukoliko je stog prazan
+	 */
+	public double pop() {
+		if (inMemory == 0) {
+			fill();
+		}
+		return memory[--inMemory];
+	}
+
+	/**
+	 * Metoda koja dohvaća broj s vrha stoga bez skidanja
+	 *
+	 * @return broj s vrha stoga
+	 *
+	 * @throws EmptyStackException
+	 *             ukoliko je stog prazan
+	 */
+	public double peek() {
+		if (inMemory == 0) {
+			fill();
+		}
+		return memory[inMemory - 1];
+	}
+
+	/**
+	 * Metoda koja dohvaća broj brojeva na stogu
+	 *
+	 * @return broj brojeva na stogu
+	 */
+	public long size() {
+		return spilled + inMemory;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj brojeva koji su prepisani u datoteku
+	 *
+	 * @return broj brojeva u datoteci
+	 */
+	public long spilledSize() {
+		return spilled;
+	}
+
+	/**
+	 * Metoda koja provjerava je li stog prazan
+	 *
+	 * @return <code>true</code> ukoliko je stog prazan, <code>false</code>
+	 *         inače
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Metoda koja uklanja sve brojeve sa stoga. Datoteka ostaje otvorena i
+	 * koristi se za sljedeća prepisivanja.
+	 */
+	public void clear() {
+		inMemory = 0;
+		spilled = 0;
+	}
+
+	/**
+	 * Metoda koja uklanja sve brojeve sa stoga, vraća polje na početni
+	 * kapacitet i zatvara privremenu datoteku. Stog se nakon zatvaranja može
+	 * dalje koristiti. Zatvaranje kanala ne
+	 * uklanja mapiranja: mapirani dijelovi oslobađaju se tek kada ih, nakon
+	 * što se ovdje zaborave, ukloni sakupljač smeća.
+	 */
+	@Override
+	public void close() throws IOException {
+		clear();
+		memory = new double[Math.min(memoryCapacity, INITIAL_CAPACITY)];
+		chunks.clear();
+		if (channel != null) {
+			FileChannel toClose = channel;
+			channel = null;
+			toClose.close();
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja udvostručuje polje, najviše do zadanog kapaciteta
+	 */
+	private void grow() {
+		int length = (int) Math.min((long) memory.length * 2, memoryCapacity);
+		memory = Arrays.copyOf(memory, length);
+	}
+
+	/**
+	 * Pomoćna metoda koja stariju polovicu polja prepisuje na kraj datoteke i
+	 * ostatak polja pomiče na početak
+	 */
+	private void spill() {
+		transfer(spilled, 0, true);
+		spilled += segment;
+		inMemory -= segment;
+		System.arraycopy(memory, segment, memory, 0, inMemory);
+	}
+
+	/**
+	 * Pomoćna metoda koja zadnji segment datoteke vraća na početak praznog
+	 * polja
+	 *
+	 * @throws EmptyStackException
+	 *             ukoliko ni datoteka ne sadrži brojeve
+	 */
+	private void fill() {
+		if (spilled == 0) {
+			throw new EmptyStackException();
+		}
+		spilled -= segment;
+		transfer(spilled, 0, false);
+		inMemory = segment;
+	}
+
+	/**
+	 * Pomoćna metoda koja jedan segment prenosi između polja i datoteke
+	 *
+	 * @param position
+	 *            indeks prvog broja segmenta u datoteci
+	 * @param offset
+	 *            indeks prvog broja segmenta u polju
+	 * @param write
+	 *            <code>true</code> ukoliko se segment zapisuje u datoteku,
+	 *            <code>false</code> ukoliko se čita iz nje
+	 */
+	private void transfer(long position, int offset, boolean write) {
+		int remaining = segment;
+		while (remaining > 0) {
+			DoubleBuffer chunk = chunk((int) (position / CHUNK_SIZE)).duplicate();
+			chunk.position((int) (position % CHUNK_SIZE));
+			int count = Math.min(remaining, chunk.remaining());
+			if (write) {
+				chunk.put(memory, offset, count);
+			} else {
+				chunk.get(memory, offset, count);
+			}
+			position += count;
+			offset += count;
+			remaining -= count;
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća mapirani dio datoteke s rednim brojem
+	 * <b>index</b>. Datoteka se po potrebi stvara i proširuje.
+	 *
+	 * @param index
+	 *            redni broj dijela
+	 * @return mapirani dio datoteke
+	 *
+	 * @throws UncheckedIOException
+	 *             ukoliko se datoteka ne može stvoriti ili mapirati
+	 */
+	private DoubleBuffer chunk(int index) {
+		try {
+			if (channel == null) {
+				Path file = Files.createTempFile("calc-stack", ".bin");
+				channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+				try {
+					Files.delete(file);
+				} catch (IOException e) {
+					file.toFile().deleteOnExit();
+				}
+			}
+			while (chunks.size() <= index) {
+				long start = (long) chunks.size() * CHUNK_SIZE * Double.BYTES;
+				chunks.add(channel.map(MapMode.READ_WRITE, start, (long) CHUNK_SIZE * Double.BYTES)
+						.order(ByteOrder.nativeOrder()).asDoubleBuffer());
+			}
+			return chunks.get(index);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Stog se ne može prepisati u privremenu datoteku", e);
+		}
+	}
+}
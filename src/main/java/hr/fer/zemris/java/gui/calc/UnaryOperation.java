@@ -0,0 +1,97 @@
+package hr.fer.zemris.java.gui.calc;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Enumeracija koja predstavlja unarne operacije kalkulatora. Svaka operacija
+ * sadrži glavnu strategiju i inverznu strategiju koja se koristi kada je
+ * inverzni način rada uključen. Operacije koje se ne invertiraju kao inverznu
+ * strategiju imaju glavnu strategiju.
+ *
+ * @see CalculatorEngine#apply(UnaryOperation)
+ *
+ * @author Davor Češljaš
+ */
+public enum UnaryOperation {
+
+	/** Operacija 1/x koja je sama sebi inverz */
+	RECIPROCAL("1/x", arg -> 1 / arg, arg -> 1 / arg),
+
+	/** Dekadski logaritam, odnosno 10^x */
+	LOG("log", Math::log10, arg -> Math.pow(10, arg)),
+
+	/** Prirodni logaritam, odnosno e^x */
+	LN("ln", Math::log, Math::exp),
+
+	/** Sinus, odnosno arkus sinus */
+	SIN("sin", Math::sin, Math::asin),
+
+	/** Kosinus, odnosno arkus kosinus */
+	COS("cos", Math::cos, Math::acos),
+
+	/** Tangens, odnosno arkus tangens */
+	TAN("tan", Math::tan, Math::atan),
+
+	/** Kotangens, odnosno arkus kotangens */
+	CTG("ctg", arg -> 1 / Math.tan(arg), arg -> Math.atan(1 / arg));
+
+	/** Članska varijabla koja predstavlja oznaku operacije na gumbu */
+	private final String symbol;
+
+	/** Članska varijabla koja predstavlja glavnu strategiju */
+	private final DoubleUnaryOperator mainOperation;
+
+	/** Članska varijabla koja predstavlja inverznu strategiju */
+	private final DoubleUnaryOperator inverseOperation;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ove enumeracije.
+	 *
+	 * @param symbol
+	 *            oznaka operacije na gumbu
+	 * @param mainOperation
+	 *            glavna strategija
+	 * @param inverseOperation
+	 *            inverzna strategija
+	 */
+	private UnaryOperation(String symbol, DoubleUnaryOperator mainOperation,
+			DoubleUnaryOperator inverseOperation) {
+		this.symbol = symbol;
+		this.mainOperation = mainOperation;
+		this.inverseOperation = inverseOperation;
+	}
+
+	/**
+	 * Metoda koja dohvaća oznaku operacije na gumbu
+	 *
+	 * @return oznaku operacije na gumbu
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * Metoda koja dohvaća glavnu ili inverznu strategiju
+	 *
+	 * @param inverse
+	 *            zastavica koja govori dohvaća li se inverzna strategija
+	 * @return strategiju operacije
+	 */
+	public DoubleUnaryOperator getFunction(boolean inverse) {
+		return inverse ? inverseOperation : mainOperation;
+	}
+
+	/**
+	 * Metoda koja primjenjuje glavnu ili inverznu strategiju na argument
+	 * <b>arg</b>
+	 *
+	 * @param arg
+	 *            argument operacije
+	 * @param inverse
+	 *            zastavica koja govori koristi li se inverzna strategija
+	 * @return rezultat operacije
+	 */
+	public double apply(double arg, boolean inverse) {
+		return inverse ? inverseOperation.applyAsDouble(arg) : mainOperation.applyAsDouble(arg);
+	}
+}
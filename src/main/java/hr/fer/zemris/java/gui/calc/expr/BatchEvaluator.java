@@ -0,0 +1,276 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+/**
+ * Razred koji predstavlja program koji izračunava datoteku aritmetičkih
+ * izraza, po jedan izraz u svakom redku, i za svaki redak ispisuje rezultat
+ * u istom redoslijedu. Izrazi se prevode razredom {@link Parser} pa imaju
+ * istu semantiku kao gumbi programa
+ * {@link hr.fer.zemris.java.gui.calc.Calculator}.
+ * <p>
+ * Redci se čitaju u blokovima od {@link #getChunkSize()} redaka. Svaki blok
+ * se paralelno prevodi i izračunava na svim jezgrama, a dok se on izračunava
+ * čita se sljedeći blok i ispisuje prethodni, pa u memoriji nikad nisu više
+ * od tri bloka. Svaka dretva koristi vlastiti stog za izvođenje programa.
+ * Prazan redak daje prazan redak, a neispravan izraz redak s opisom greške.
+ * </p>
+ *
+ * @see Parser
+ * @see Program
+ *
+ * @author Davor Češljaš
+ */
+public class BatchEvaluator {
+
+	/** Konstanta koja predstavlja zadanu veličinu bloka */
+	public static final int DEFAULT_CHUNK_SIZE = 16_384;
+
+	/** Konstanta koja predstavlja prefiks redka s opisom greške */
+	private static final String ERROR_PREFIX = "Greška: ";
+
+	/** Konstanta koja predstavlja stog svake dretve */
+	private static final ThreadLocal<double[]> STACKS = ThreadLocal.withInitial(() -> new double[16]);
+
+	/** Članska varijabla koja predstavlja veličinu bloka */
+	private final int chunkSize;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s veličinom bloka
+	 * {@value #DEFAULT_CHUNK_SIZE}.
+	 */
+	public BatchEvaluator() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param chunkSize
+	 *            broj redaka koji se izračunavaju zajedno
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko veličina bloka nije pozitivna
+	 */
+	public BatchEvaluator(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Veličina bloka mora biti pozitivna. Vi ste predali: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Metoda koja dohvaća veličinu bloka
+	 *
+	 * @return veličinu bloka
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Metoda koja izračunava sve izraze iz <b>in</b> i rezultate redom
+	 * ispisuje u <b>out</b>
+	 *
+	 * @param in
+	 *            izvor izraza, po jedan u svakom redku
+	 * @param out
+	 *            odredište rezultata, po jedan u svakom redku
+	 * @return broj izračunatih redaka
+	 * @throws IOException
+	 *             ukoliko dođe do greške prilikom čitanja ili pisanja
+	 */
+	public long evaluate(BufferedReader in, Writer out) throws IOException {
+		long count = 0;
+		CompletableFuture<Chunk> pending = null;
+		while (true) {
+			String[] lines = readChunk(in);
+			if (lines == null) {
+				break;
+			}
+			count += lines.length;
+
+			Chunk chunk = new Chunk(lines);
+			CompletableFuture<Chunk> next = CompletableFuture.supplyAsync(chunk::evaluate);
+			if (pending != null) {
+				write(join(pending), out);
+			}
+			pending = next;
+		}
+		if (pending != null) {
+			write(join(pending), out);
+		}
+		out.flush();
+		return count;
+	}
+
+	/**
+	 * Pomoćna metoda koja čita sljedeći blok redaka
+	 *
+	 * @param in
+	 *            izvor redaka
+	 * @return pročitane redke ili <code>null</code> ukoliko više nema redaka
+	 * @throws IOException
+	 *             ukoliko dođe do greške prilikom čitanja
+	 */
+	private String[] readChunk(BufferedReader in) throws IOException {
+		String[] lines = new String[chunkSize];
+		int count = 0;
+		String line;
+		while (count < chunkSize && (line = in.readLine()) != null) {
+			lines[count++] = line;
+		}
+		if (count == 0) {
+			return null;
+		}
+		return count == chunkSize ? lines : Arrays.copyOf(lines, count);
+	}
+
+	/**
+	 * Pomoćna metoda koja ispisuje rezultate bloka <b>chunk</b>
+	 *
+	 * @param chunk
+	 *            izračunati blok
+	 * @param out
+	 *            odredište rezultata
+	 * @throws IOException
+	 *             ukoliko dođe do greške prilikom pisanja
+	 */
+	private static void write(Chunk chunk, Writer out) throws IOException {
+		for (int i = 0; i < chunk.lines.length; i++) {
+			if (chunk.errors[i] != null) {
+				out.write(ERROR_PREFIX);
+				out.write(chunk.errors[i]);
+			} else if (chunk.lines[i] != null) {
+				out.write(Double.toString(chunk.values[i]));
+			}
+			out.write(System.lineSeparator());
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja čeka na izračun bloka
+	 *
+	 * @param future
+	 *            blok koji se izračunava
+	 * @return izračunati blok
+	 */
+	private static Chunk join(CompletableFuture<Chunk> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja jedan blok redaka i njihove rezultate
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class Chunk {
+
+		/**
+		 * Članska varijabla koja predstavlja redke bloka. Prazni redci se
+		 * nakon izračuna postavljaju na <code>null</code>.
+		 */
+		private final String[] lines;
+
+		/** Članska varijabla koja predstavlja rezultate redaka */
+		private final double[] values;
+
+		/**
+		 * Članska varijabla koja predstavlja opise grešaka ili
+		 * <code>null</code> za ispravne redke
+		 */
+		private final String[] errors;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param lines
+		 *            redci bloka
+		 */
+		Chunk(String[] lines) {
+			this.lines = lines;
+			this.values = new double[lines.length];
+			this.errors = new String[lines.length];
+		}
+
+		/**
+		 * Metoda koja paralelno izračunava sve redke bloka
+		 *
+		 * @return ovaj blok
+		 */
+		Chunk evaluate() {
+			IntStream.range(0, lines.length).parallel().forEach(this::evaluate);
+			return this;
+		}
+
+		/**
+		 * Pomoćna metoda koja izračunava redak <b>index</b>
+		 *
+		 * @param index
+		 *            indeks redka
+		 */
+		private void evaluate(int index) {
+			String line = lines[index];
+			if (line.trim().isEmpty()) {
+				lines[index] = null;
+				return;
+			}
+
+			try {
+				Program program = Parser.compile(line);
+				double[] stack = STACKS.get();
+				if (stack.length < program.getMaxDepth()) {
+					stack = new double[program.getMaxDepth()];
+					STACKS.set(stack);
+				}
+				values[index] = program.evaluate(stack);
+			} catch (IllegalArgumentException e) {
+				errors[index] = e.getMessage();
+			}
+		}
+	}
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa. Na standardni izlaz za
+	 * greške ispisuje se broj izračunatih izraza i propusnost.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja datoteku s izrazima (zadano standardni ulaz), a
+	 *            opcionalni drugi datoteku za rezultate (zadano standardni
+	 *            izlaz)
+	 * @throws IOException
+	 *             ukoliko dođe do greške prilikom čitanja ili pisanja
+	 */
+	public static void main(String[] args) throws IOException {
+		try (BufferedReader in = args.length > 0
+				? Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)
+				: new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+				Writer out = args.length > 1 ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+						: new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+			long start = System.nanoTime();
+			long count = new BatchEvaluator().evaluate(in, out);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.err.printf("Izraza: %d, %.0f izraza/s%n", count, count / seconds);
+		}
+	}
+}
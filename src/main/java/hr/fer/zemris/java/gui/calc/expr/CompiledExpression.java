@@ -0,0 +1,89 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Razred koji predstavlja izraz preveden u stablo funkcija varijable x.
+ * Primjerke stvara razred {@link ExpressionCompiler}. Primjerak je
+ * nepromjenjiv pa ga može istovremeno koristiti više dretvi.
+ *
+ * @see ExpressionCompiler
+ * @see ExpressionCache
+ *
+ * @author Davor Češljaš
+ */
+public class CompiledExpression implements DoubleUnaryOperator {
+
+	/** Članska varijabla koja predstavlja korijen stabla funkcija */
+	private final DoubleUnaryOperator function;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira je li
+	 * cijeli izraz izračunat prilikom prevođenja
+	 */
+	private final boolean constant;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param function
+	 *            korijen stabla funkcija
+	 * @param constant
+	 *            zastavica koja signalizira je li izraz konstantan
+	 */
+	CompiledExpression(DoubleUnaryOperator function, boolean constant) {
+		this.function = function;
+		this.constant = constant;
+	}
+
+	/**
+	 * Metoda koja provjerava je li cijeli izraz izračunat prilikom prevođenja,
+	 * odnosno ne ovisi o varijabli x
+	 *
+	 * @return <code>true</code> ukoliko je izraz konstantan,
+	 *         <code>false</code> inače
+	 */
+	public boolean isConstant() {
+		return constant;
+	}
+
+	/**
+	 * Metoda koja izračunava izraz za vrijednost <b>x</b> varijable x
+	 *
+	 * @param x
+	 *            vrijednost varijable x
+	 * @return vrijednost izraza
+	 */
+	public double evaluate(double x) {
+		return function.applyAsDouble(x);
+	}
+
+	/**
+	 * Metoda koja izraz izračunava za svaku vrijednost iz <b>xs</b> i
+	 * rezultate sprema u <b>results</b> na isti indeks
+	 *
+	 * @param xs
+	 *            vrijednosti varijable x
+	 * @param results
+	 *            polje u koje se spremaju rezultati. Smije biti i
+	 *            <b>xs</b>.
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko su polja različitih duljina
+	 */
+	public void evaluate(double[] xs, double[] results) {
+		if (xs.length != results.length) {
+			throw new IllegalArgumentException(String.format("Polja moraju biti iste duljine. Vi ste predali: %d i %d",
+					xs.length, results.length));
+		}
+		DoubleUnaryOperator function = this.function;
+		for (int i = 0; i < xs.length; i++) {
+			results[i] = function.applyAsDouble(xs[i]);
+		}
+	}
+
+	@Override
+	public double applyAsDouble(double x) {
+		return function.applyAsDouble(x);
+	}
+}
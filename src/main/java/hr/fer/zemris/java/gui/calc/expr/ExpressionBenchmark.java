@@ -0,0 +1,77 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+/**
+ * Razred koji predstavlja program koji mjeri trajanje izračuna tablice
+ * vrijednosti jednog izraza. Uspoređuju se izvođenje postfiksnog programa
+ * {@link Program}, stablo funkcija {@link CompiledExpression} dohvaćeno iz
+ * {@link ExpressionCache} i isti izraz napisan izravno u Javi.
+ *
+ * @see ExpressionCompiler
+ *
+ * @author Davor Češljaš
+ */
+public class ExpressionBenchmark {
+
+	/** Konstanta koja predstavlja izraz koji se izračunava */
+	private static final String EXPRESSION = "sin(x) * 2 ^ 4 + root(x, 2) / (1 + x)";
+
+	/** Konstanta koja predstavlja zadanu veličinu tablice */
+	private static final int DEFAULT_SIZE = 1_000_000;
+
+	/** Konstanta koja predstavlja broj ponavljanja */
+	private static final int ROUNDS = 10;
+
+	/**
+	 * Članska varijabla u koju se zbrajaju rezultati kako ih optimizator ne bi
+	 * uklonio
+	 */
+	private static volatile double sink;
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja veličinu tablice (zadano {@value #DEFAULT_SIZE})
+	 */
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+		double[] xs = new double[size];
+		for (int i = 0; i < size; i++) {
+			xs[i] = i * 0.001;
+		}
+		double[] results = new double[size];
+
+		Program program = Parser.compile(EXPRESSION);
+		ExpressionCache cache = new ExpressionCache();
+		double[] stack = new double[program.getMaxDepth()];
+
+		System.out.printf("Izraz: %s, tablica: %d%n", EXPRESSION, size);
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < size; i++) {
+				results[i] = program.evaluate(xs[i], stack);
+			}
+			long interpreted = System.nanoTime() - start;
+			sink += results[size - 1];
+
+			start = System.nanoTime();
+			cache.get(EXPRESSION).evaluate(xs, results);
+			long compiled = System.nanoTime() - start;
+			sink += results[size - 1];
+
+			start = System.nanoTime();
+			for (int i = 0; i < size; i++) {
+				double x = xs[i];
+				results[i] = Math.sin(x) * 16 + Math.pow(x, 1 / 2.0) / (1 + x);
+			}
+			long java = System.nanoTime() - start;
+			sink += results[size - 1];
+
+			if (round == ROUNDS - 1) {
+				System.out.printf("program: %6.2f ns/x, stablo: %6.2f ns/x, Java: %6.2f ns/x%n",
+						(double) interpreted / size, (double) compiled / size, (double) java / size);
+			}
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Razred koji pamti prevedene izraze {@link CompiledExpression}. Izrazi se
+ * pamte pod normaliziranim tekstom izraza, odnosno tekstom bez suvišnih praznina, pa
+ * se "sin(x) * 2" i "sin(x)*2" prevode samo jednom. Kada broj zapamćenih
+ * izraza prijeđe kapacitet, zaboravlja se izraz koji najdulje nije korišten.
+ * Primjerak može dijeliti više dretvi. Izraz se prevodi izvan monitora pa
+ * dretve ne čekaju jedna na drugu dok se prevodi novi izraz. Ukoliko više
+ * dretvi istodobno prevodi isti izraz, pamti se i svima vraća prvi zapamćeni
+ * rezultat. Neispravni izrazi se ne pamte.
+ *
+ * @see ExpressionCompiler
+ *
+ * @author Davor Češljaš
+ */
+public class ExpressionCache {
+
+	/** Konstanta koja predstavlja zadani kapacitet */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	/** Članska varijabla koja predstavlja kapacitet */
+	private final int capacity;
+
+	/**
+	 * {@link Map} koji mapira normalizirane izraze na prevedene izraze.
+	 * Poredak mape je poredak korištenja.
+	 */
+	private final Map<String, CompiledExpression> expressions;
+
+	/** Članska varijabla koja predstavlja broj pronađenih izraza */
+	private long hits;
+
+	/** Članska varijabla koja predstavlja broj prevedenih izraza */
+	private long misses;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s kapacitetom
+	 * {@value #DEFAULT_CAPACITY}.
+	 */
+	public ExpressionCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param capacity
+	 *            najveći broj zapamćenih izraza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko kapacitet nije pozitivan
+	 */
+	public ExpressionCache(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Kapacitet mora biti pozitivan. Vi ste predali: " + capacity);
+		}
+		this.capacity = capacity;
+		this.expressions = new LinkedHashMap<String, CompiledExpression>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+				return size() > ExpressionCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Metoda koja dohvaća prevedeni izraz <b>expression</b>. Ukoliko izraz
+	 * nije zapamćen, prevodi se i pamti.
+	 *
+	 * @param expression
+	 *            izraz koji se dohvaća
+	 * @return prevedeni izraz
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz nije ispravan
+	 */
+	public CompiledExpression get(String expression) {
+		String key = normalize(expression);
+		synchronized (this) {
+			CompiledExpression compiled = expressions.get(key);
+			if (compiled != null) {
+				hits++;
+				return compiled;
+			}
+			misses++;
+		}
+
+		CompiledExpression compiled = ExpressionCompiler.compile(key);
+		synchronized (this) {
+			CompiledExpression previous = expressions.putIfAbsent(key, compiled);
+			return previous != null ? previous : compiled;
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća broj zapamćenih izraza
+	 *
+	 * @return broj zapamćenih izraza
+	 */
+	public synchronized int size() {
+		return expressions.size();
+	}
+
+	/**
+	 * Metoda koja dohvaća broj poziva metode {@link #get(String)} koji su
+	 * pronašli zapamćeni izraz
+	 *
+	 * @return broj pronađenih izraza
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj poziva metode {@link #get(String)} koji su
+	 * izraz morali prevesti
+	 *
+	 * @return broj prevedenih izraza
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz izraza uklanja praznine. Praznine između dva
+	 * znaka koji mogu biti dio broja ili imena te praznine oko predznaka
+	 * eksponenta zamjenjuju se jednim razmakom kako se jedinke ne bi spojile.
+	 * Tako neispravni "1e -5" ne postaje ispravni "1e-5". Izraz bez praznina
+	 * vraća se bez kopiranja.
+	 *
+	 * @param expression
+	 *            izraz koji se normalizira
+	 * @return normalizirani izraz
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>
+	 */
+	private static String normalize(String expression) {
+		if (expression == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null");
+		}
+		int i = 0;
+		while (i < expression.length() && !Character.isWhitespace(expression.charAt(i))) {
+			i++;
+		}
+		if (i == expression.length()) {
+			return expression;
+		}
+
+		StringBuilder sb = new StringBuilder(expression.length());
+		sb.append(expression, 0, i);
+		boolean whitespace = false;
+		for (; i < expression.length(); i++) {
+			char c = expression.charAt(i);
+			if (Character.isWhitespace(c)) {
+				whitespace = true;
+				continue;
+			}
+			if (whitespace && sb.length() > 0 && isSeparated(sb, c)) {
+				sb.append(' ');
+			}
+			whitespace = false;
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava može li znak <b>c</b> biti dio broja ili
+	 * imena
+	 *
+	 * @param c
+	 *            znak koji se provjerava
+	 * @return <code>true</code> ukoliko znak može biti dio broja ili imena,
+	 *         <code>false</code> inače
+	 */
+	private static boolean isWordChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '.';
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava mora li praznina između dosad
+	 * normaliziranog izraza <b>sb</b> i znaka <b>c</b> ostati. Praznina
+	 * ostaje između dva znaka koji mogu biti dio broja ili imena, između
+	 * oznake eksponenta i predznaka te između predznaka eksponenta i znaka
+	 * koji slijedi.
+	 *
+	 * @param sb
+	 *            dosad normalizirani izraz
+	 * @param c
+	 *            znak koji slijedi nakon praznine
+	 * @return <code>true</code> ukoliko praznina mora ostati,
+	 *         <code>false</code> inače
+	 */
+	private static boolean isSeparated(StringBuilder sb, char c) {
+		int last = sb.length() - 1;
+		char previous = sb.charAt(last);
+		if (isWordChar(previous) && isWordChar(c)) {
+			return true;
+		}
+		if (isSign(c)) {
+			return isExponent(sb, last);
+		}
+		return isSign(previous) && isExponent(sb, last - 1);
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li znak na indeksu <b>index</b> oznaka
+	 * eksponenta, odnosno 'e' ili 'E' nakon znamenke ili decimalne točke
+	 *
+	 * @param sb
+	 *            dosad normalizirani izraz
+	 * @param index
+	 *            indeks znaka koji se provjerava
+	 * @return <code>true</code> ukoliko je znak oznaka eksponenta,
+	 *         <code>false</code> inače
+	 */
+	private static boolean isExponent(StringBuilder sb, int index) {
+		if (index < 1) {
+			return false;
+		}
+		char c = sb.charAt(index);
+		char previous = sb.charAt(index - 1);
+		return (c == 'e' || c == 'E') && (Character.isDigit(previous) || previous == '.');
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li znak <b>c</b> predznak
+	 *
+	 * @param c
+	 *            znak koji se provjerava
+	 * @return <code>true</code> ukoliko je znak predznak, <code>false</code>
+	 *         inače
+	 */
+	private static boolean isSign(char c) {
+		return c == '+' || c == '-';
+	}
+}
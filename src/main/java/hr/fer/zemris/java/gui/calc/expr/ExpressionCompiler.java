@@ -0,0 +1,207 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import hr.fer.zemris.java.gui.calc.BinaryOperation;
+import hr.fer.zemris.java.gui.calc.UnaryOperation;
+
+/**
+ * Razred koji postfiksni program {@link Program} prevodi u stablo funkcija
+ * {@link DoubleUnaryOperator} varijable x. Svaki čvor stabla je lambda izraz
+ * koji poziva funkcije svoje djece i strategiju operacije kalkulatora, pa se
+ * instrukcije ne dekodiraju prilikom svakog izračuna, a optimizator može
+ * ugraditi cijelo stablo na mjesto poziva. Podstabla koja ne ovise o
+ * varijabli x izračunavaju se već prilikom prevođenja, a osnovne aritmetičke
+ * operacije i potenciranje s konstantnim eksponentom dobivaju specijalizirane
+ * čvorove.
+ *
+ * @see CompiledExpression
+ * @see ExpressionCache
+ *
+ * @author Davor Češljaš
+ */
+public class ExpressionCompiler {
+
+	/**
+	 * Konstruktor koji je privatan jer se razred ne instancira.
+	 */
+	private ExpressionCompiler() {
+	}
+
+	/**
+	 * Metoda koja izraz <b>expression</b> prevodi u stablo funkcija
+	 *
+	 * @param expression
+	 *            izraz koji se prevodi
+	 * @return prevedeni izraz
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz nije ispravan
+	 */
+	public static CompiledExpression compile(String expression) {
+		return compile(Parser.compile(expression));
+	}
+
+	/**
+	 * Metoda koja program <b>program</b> prevodi u stablo funkcija
+	 *
+	 * @param program
+	 *            program koji se prevodi
+	 * @return prevedeni izraz
+	 */
+	public static CompiledExpression compile(Program program) {
+		Node[] stack = new Node[Math.max(1, program.getMaxDepth())];
+		int top = -1;
+		for (int i = 0; i < program.length(); i++) {
+			int instruction = program.instructionAt(i);
+			int operand = Program.operand(instruction);
+			switch (Program.kind(instruction)) {
+			case Program.PUSH:
+				stack[++top] = new Node(program.constantAt(operand));
+				break;
+			case Program.VARIABLE:
+				stack[++top] = new Node(x -> x);
+				break;
+			case Program.NEGATE:
+				stack[top] = negate(stack[top]);
+				break;
+			case Program.UNARY:
+				stack[top] = unary(Program.UNARY_OPERATIONS[operand >>> 1], (operand & 1) != 0, stack[top]);
+				break;
+			default:
+				Node right = stack[top--];
+				stack[top] = binary(Program.BINARY_OPERATIONS[operand >>> 1], (operand & 1) != 0, stack[top], right);
+			}
+		}
+		Node root = stack[0];
+		return new CompiledExpression(root.function, root.constant);
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara čvor promjene predznaka
+	 *
+	 * @param child
+	 *            dijete čvora
+	 * @return novi čvor
+	 */
+	private static Node negate(Node child) {
+		if (child.constant) {
+			return new Node(-child.value);
+		}
+		DoubleUnaryOperator c = child.function;
+		return new Node(x -> -c.applyAsDouble(x));
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara čvor unarne operacije
+	 *
+	 * @param operation
+	 *            operacija kalkulatora
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param child
+	 *            dijete čvora
+	 * @return novi čvor
+	 */
+	private static Node unary(UnaryOperation operation, boolean inverse, Node child) {
+		DoubleUnaryOperator f = operation.getFunction(inverse);
+		if (child.constant) {
+			return new Node(f.applyAsDouble(child.value));
+		}
+		DoubleUnaryOperator c = child.function;
+		return new Node(x -> f.applyAsDouble(c.applyAsDouble(x)));
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara čvor binarne operacije
+	 *
+	 * @param operation
+	 *            operacija kalkulatora
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @param left
+	 *            lijevo dijete čvora
+	 * @param right
+	 *            desno dijete čvora
+	 * @return novi čvor
+	 */
+	private static Node binary(BinaryOperation operation, boolean inverse, Node left, Node right) {
+		DoubleBinaryOperator f = operation.getFunction(inverse);
+		if (left.constant && right.constant) {
+			return new Node(f.applyAsDouble(left.value, right.value));
+		}
+
+		DoubleUnaryOperator l = left.function;
+		DoubleUnaryOperator r = right.function;
+		switch (operation) {
+		case ADD:
+			return new Node(x -> l.applyAsDouble(x) + r.applyAsDouble(x));
+		case SUBTRACT:
+			return new Node(x -> l.applyAsDouble(x) - r.applyAsDouble(x));
+		case MULTIPLY:
+			if (right.constant) {
+				double k = right.value;
+				return new Node(x -> l.applyAsDouble(x) * k);
+			}
+			return new Node(x -> l.applyAsDouble(x) * r.applyAsDouble(x));
+		case DIVIDE:
+			return new Node(x -> l.applyAsDouble(x) / r.applyAsDouble(x));
+		case POWER:
+			if (right.constant) {
+				// inverzna strategija je pow(a, 1 / n) pa se 1 / n računa jednom
+				double exponent = inverse ? 1 / right.value : right.value;
+				return new Node(x -> Math.pow(l.applyAsDouble(x), exponent));
+			}
+			break;
+		default:
+			break;
+		}
+		return new Node(x -> f.applyAsDouble(l.applyAsDouble(x), r.applyAsDouble(x)));
+	}
+
+	/**
+	 * Razred koji predstavlja čvor stabla tijekom prevođenja. Konstantni
+	 * čvorovi pamte i svoju vrijednost kako bi se mogli izračunati prilikom
+	 * prevođenja.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class Node {
+
+		/** Članska varijabla koja predstavlja funkciju čvora */
+		private final DoubleUnaryOperator function;
+
+		/**
+		 * Članska varijabla koja predstavlja zastavicu konstantnog čvora
+		 */
+		private final boolean constant;
+
+		/** Članska varijabla koja predstavlja vrijednost konstantnog čvora */
+		private final double value;
+
+		/**
+		 * Konstruktor koji stvara konstantni čvor
+		 *
+		 * @param value
+		 *            vrijednost čvora
+		 */
+		Node(double value) {
+			this.function = x -> value;
+			this.constant = true;
+			this.value = value;
+		}
+
+		/**
+		 * Konstruktor koji stvara čvor koji ovisi o varijabli x
+		 *
+		 * @param function
+		 *            funkcija čvora
+		 */
+		Node(DoubleUnaryOperator function) {
+			this.function = function;
+			this.constant = false;
+			this.value = Double.NaN;
+		}
+	}
+}
@@ -0,0 +1,350 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import hr.fer.zemris.java.gui.calc.BinaryOperation;
+import hr.fer.zemris.java.gui.calc.UnaryOperation;
+
+/**
+ * Razred koji predstavlja sintaksni analizator aritmetičkih izraza koji izraz
+ * prevodi u primjerak razreda {@link Program}. Analizator je izveden
+ * rekurzivnim spustom po gramatici:
+ *
+ * <pre>
+ * izraz   := član (('+' | '-') član)*
+ * član    := unarni (('*' | '/') unarni)*
+ * unarni  := ('-' | '+') unarni | potencija
+ * potencija := primarni ('^' unarni)?
+ * primarni := broj | 'x' | '(' izraz ')' | funkcija '(' izraz (',' izraz)? ')'
+ * </pre>
+ *
+ * Potenciranje je desno asocijativno i ima veći prioritet od unarnog minusa
+ * pa je "-2 ^ 2" jednako -4. Funkcije odgovaraju gumbima kalkulatora: sin,
+ * cos, tan, ctg, log, ln i recip (1/x), a njihove inverzne strategije zovu se
+ * asin, acos, atan, actg, exp10, exp i recip. Operator "^" odgovara gumbu
+ * x^n, a funkcija root(x, n) njegovoj inverznoj strategiji. Ime "x"
+ * predstavlja varijablu čija se vrijednost predaje prilikom izvođenja.
+ *
+ * @see Program
+ * @see Tokenizer
+ *
+ * @author Davor Češljaš
+ */
+public class Parser {
+
+	/**
+	 * {@link Map} koji mapira imena unarnih funkcija na argument instrukcije
+	 * {@link Program#UNARY}
+	 */
+	private static final Map<String, Integer> UNARY_FUNCTIONS = new HashMap<>();
+
+	/**
+	 * {@link Map} koji mapira imena binarnih funkcija na argument instrukcije
+	 * {@link Program#BINARY}
+	 */
+	private static final Map<String, Integer> BINARY_FUNCTIONS = new HashMap<>();
+
+	/** Konstanta koja predstavlja ime varijable */
+	private static final String VARIABLE = "x";
+
+	/**
+	 * Konstanta koja predstavlja najveću dubinu ugniježđivanja zagrada,
+	 * funkcija, predznaka i potencija. Dublji izrazi odbijaju se prije nego
+	 * rekurzivni spust prepuni stog dretve.
+	 */
+	public static final int MAX_NESTING = 1000;
+
+	static {
+		addUnary("recip", "recip", UnaryOperation.RECIPROCAL);
+		addUnary("log", "exp10", UnaryOperation.LOG);
+		addUnary("ln", "exp", UnaryOperation.LN);
+		addUnary("sin", "asin", UnaryOperation.SIN);
+		addUnary("cos", "acos", UnaryOperation.COS);
+		addUnary("tan", "atan", UnaryOperation.TAN);
+		addUnary("ctg", "actg", UnaryOperation.CTG);
+		BINARY_FUNCTIONS.put("root", Program.operation(BinaryOperation.POWER.ordinal(), true));
+	}
+
+	/** Članska varijabla koja predstavlja leksički analizator */
+	private final Tokenizer tokenizer;
+
+	/** Članska varijabla koja predstavlja instrukcije programa */
+	private int[] code;
+
+	/** Članska varijabla koja predstavlja broj instrukcija programa */
+	private int codeLength;
+
+	/** Članska varijabla koja predstavlja konstante programa */
+	private double[] constants;
+
+	/** Članska varijabla koja predstavlja broj konstanti programa */
+	private int constantCount;
+
+	/** Članska varijabla koja predstavlja trenutnu dubinu stoga */
+	private int depth;
+
+	/** Članska varijabla koja predstavlja najveću dubinu stoga */
+	private int maxDepth;
+
+	/** Članska varijabla koja predstavlja trenutnu dubinu ugniježđivanja */
+	private int nesting;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param expression
+	 *            izraz koji se prevodi
+	 */
+	private Parser(String expression) {
+		tokenizer = new Tokenizer(expression);
+		code = new int[16];
+		constants = new double[8];
+	}
+
+	/**
+	 * Metoda koja izraz <b>expression</b> prevodi u postfiksni program
+	 *
+	 * @param expression
+	 *            izraz koji se prevodi
+	 * @return prevedeni program
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz nije ispravan
+	 */
+	public static Program compile(String expression) {
+		Parser parser = new Parser(expression);
+		parser.tokenizer.next();
+		parser.parseExpression();
+		parser.expect(TokenType.END);
+		return new Program(Arrays.copyOf(parser.code, parser.codeLength),
+				Arrays.copyOf(parser.constants, parser.constantCount), parser.maxDepth);
+	}
+
+	/**
+	 * Pomoćna metoda koja analizira pravilo <i>izraz</i>
+	 */
+	private void parseExpression() {
+		parseTerm();
+		while (true) {
+			TokenType type = tokenizer.getType();
+			if (type == TokenType.PLUS) {
+				tokenizer.next();
+				parseTerm();
+				emitBinary(BinaryOperation.ADD, false);
+			} else if (type == TokenType.MINUS) {
+				tokenizer.next();
+				parseTerm();
+				emitBinary(BinaryOperation.SUBTRACT, false);
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja analizira pravilo <i>član</i>
+	 */
+	private void parseTerm() {
+		parseUnary();
+		while (true) {
+			TokenType type = tokenizer.getType();
+			if (type == TokenType.MULTIPLY) {
+				tokenizer.next();
+				parseUnary();
+				emitBinary(BinaryOperation.MULTIPLY, false);
+			} else if (type == TokenType.DIVIDE) {
+				tokenizer.next();
+				parseUnary();
+				emitBinary(BinaryOperation.DIVIDE, false);
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja analizira pravilo <i>unarni</i>
+	 */
+	private void parseUnary() {
+		if (++nesting > MAX_NESTING) {
+			throw error("Izraz je ugniježđen dublje od " + MAX_NESTING + " razina");
+		}
+		TokenType type = tokenizer.getType();
+		if (type == TokenType.MINUS) {
+			tokenizer.next();
+			parseUnary();
+			emit(Program.instruction(Program.NEGATE, 0));
+		} else if (type == TokenType.PLUS) {
+			tokenizer.next();
+			parseUnary();
+		} else {
+			parsePower();
+		}
+		nesting--;
+	}
+
+	/**
+	 * Pomoćna metoda koja analizira pravilo <i>potencija</i>
+	 */
+	private void parsePower() {
+		parsePrimary();
+		if (tokenizer.getType() == TokenType.POWER) {
+			tokenizer.next();
+			parseUnary();
+			emitBinary(BinaryOperation.POWER, false);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja analizira pravilo <i>primarni</i>
+	 */
+	private void parsePrimary() {
+		switch (tokenizer.getType()) {
+		case NUMBER:
+			emitConstant(tokenizer.getNumber());
+			tokenizer.next();
+			return;
+		case OPEN:
+			tokenizer.next();
+			parseExpression();
+			expect(TokenType.CLOSE);
+			return;
+		case IDENTIFIER:
+			if (VARIABLE.equals(tokenizer.getIdentifier())) {
+				emitVariable();
+				tokenizer.next();
+			} else {
+				parseFunction();
+			}
+			return;
+		default:
+			throw error("Očekivan broj, varijabla, zagrada ili funkcija");
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja analizira poziv funkcije
+	 */
+	private void parseFunction() {
+		String name = tokenizer.getIdentifier();
+		Integer unary = UNARY_FUNCTIONS.get(name);
+		Integer binary = BINARY_FUNCTIONS.get(name);
+		if (unary == null && binary == null) {
+			throw error("Nepoznata funkcija '" + name + "'");
+		}
+
+		tokenizer.next();
+		expect(TokenType.OPEN);
+		parseExpression();
+		if (binary != null) {
+			expect(TokenType.COMMA);
+			parseExpression();
+			depth--;
+			emit(Program.instruction(Program.BINARY, binary));
+		} else {
+			emit(Program.instruction(Program.UNARY, unary));
+		}
+		expect(TokenType.CLOSE);
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li trenutna jedinka vrste <b>type</b>
+	 * i čita sljedeću
+	 *
+	 * @param type
+	 *            očekivana vrsta jedinke
+	 */
+	private void expect(TokenType type) {
+		if (tokenizer.getType() != type) {
+			throw error("Očekivano " + type);
+		}
+		if (type != TokenType.END) {
+			tokenizer.next();
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje instrukciju stavljanja konstante
+	 * <b>value</b> na stog
+	 *
+	 * @param value
+	 *            konstanta
+	 */
+	private void emitConstant(double value) {
+		if (constantCount == constants.length) {
+			constants = Arrays.copyOf(constants, constantCount * 2);
+		}
+		constants[constantCount] = value;
+		emit(Program.instruction(Program.PUSH, constantCount++));
+		depth++;
+		maxDepth = Math.max(maxDepth, depth);
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje instrukciju stavljanja varijable x na stog
+	 */
+	private void emitVariable() {
+		emit(Program.instruction(Program.VARIABLE, 0));
+		depth++;
+		maxDepth = Math.max(maxDepth, depth);
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje instrukciju binarne operacije
+	 *
+	 * @param operation
+	 *            binarna operacija
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 */
+	private void emitBinary(BinaryOperation operation, boolean inverse) {
+		depth--;
+		emit(Program.instruction(Program.BINARY, Program.operation(operation.ordinal(), inverse)));
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje instrukciju <b>instruction</b>
+	 *
+	 * @param instruction
+	 *            instrukcija
+	 */
+	private void emit(int instruction) {
+		if (codeLength == code.length) {
+			code = Arrays.copyOf(code, codeLength * 2);
+		}
+		code[codeLength++] = instruction;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara iznimku s porukom <b>message</b> i pozicijom
+	 * trenutne jedinke
+	 *
+	 * @param message
+	 *            poruka iznimke
+	 * @return stvorenu iznimku
+	 */
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(String.format("%s na poziciji %d u izrazu: %s", message,
+				tokenizer.getPosition(), tokenizer.getInput()));
+	}
+
+	/**
+	 * Pomoćna metoda koja registrira unarnu funkciju <b>name</b> i njezin
+	 * inverz <b>inverseName</b>
+	 *
+	 * @param name
+	 *            ime glavne strategije
+	 * @param inverseName
+	 *            ime inverzne strategije
+	 * @param operation
+	 *            operacija kalkulatora
+	 */
+	private static void addUnary(String name, String inverseName, UnaryOperation operation) {
+		UNARY_FUNCTIONS.put(name, Program.operation(operation.ordinal(), false));
+		if (!inverseName.equals(name)) {
+			UNARY_FUNCTIONS.put(inverseName, Program.operation(operation.ordinal(), true));
+		}
+	}
+}
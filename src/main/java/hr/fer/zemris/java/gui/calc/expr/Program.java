@@ -0,0 +1,270 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import hr.fer.zemris.java.gui.calc.BinaryOperation;
+import hr.fer.zemris.java.gui.calc.UnaryOperation;
+
+/**
+ * Razred koji predstavlja izraz preveden u postfiksni program nad
+ * operacijama kalkulatora {@link UnaryOperation} i {@link BinaryOperation}.
+ * Svaka instrukcija zapisana je u jedan <code>int</code>: najniži bajt je
+ * vrsta instrukcije, a ostatak indeks konstante, odnosno redni broj operacije
+ * pomaknut za jedan bit uz zastavicu inverzne strategije. Izraz može
+ * sadržavati varijablu x čija se vrijednost predaje prilikom izvođenja, a
+ * razred {@link ExpressionCompiler} program može prevesti u stablo funkcija.
+ * Program je
+ * nepromjenjiv pa ga može istovremeno izvoditi više dretvi, svaka sa svojim
+ * stogom.
+ * <p>
+ * Metoda {@link #evaluate(double[])} ne zauzima memoriju ukoliko se predani
+ * stog ponovno koristi. Potrebna veličina stoga dohvaća se metodom
+ * {@link #getMaxDepth()}.
+ * </p>
+ *
+ * @see Parser
+ *
+ * @author Davor Češljaš
+ */
+public class Program {
+
+	/** Konstanta koja predstavlja instrukciju stavljanja konstante na stog */
+	static final int PUSH = 0;
+
+	/** Konstanta koja predstavlja instrukciju promjene predznaka */
+	static final int NEGATE = 1;
+
+	/** Konstanta koja predstavlja instrukciju unarne operacije */
+	static final int UNARY = 2;
+
+	/** Konstanta koja predstavlja instrukciju binarne operacije */
+	static final int BINARY = 3;
+
+	/** Konstanta koja predstavlja instrukciju stavljanja varijable x na stog */
+	static final int VARIABLE = 4;
+
+	/** Konstanta koja predstavlja masku vrste instrukcije */
+	private static final int KIND_MASK = 0xFF;
+
+	/** Konstanta koja predstavlja pomak argumenta instrukcije */
+	private static final int OPERAND_SHIFT = 8;
+
+	/** Konstanta koja predstavlja sve unarne operacije po rednom broju */
+	static final UnaryOperation[] UNARY_OPERATIONS = UnaryOperation.values();
+
+	/** Konstanta koja predstavlja sve binarne operacije po rednom broju */
+	static final BinaryOperation[] BINARY_OPERATIONS = BinaryOperation.values();
+
+	/** Članska varijabla koja predstavlja instrukcije programa */
+	private final int[] code;
+
+	/** Članska varijabla koja predstavlja konstante programa */
+	private final double[] constants;
+
+	/** Članska varijabla koja predstavlja najveću dubinu stoga */
+	private final int maxDepth;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Polja se ne
+	 * kopiraju.
+	 *
+	 * @param code
+	 *            instrukcije programa
+	 * @param constants
+	 *            konstante programa
+	 * @param maxDepth
+	 *            najveća dubina stoga
+	 */
+	Program(int[] code, double[] constants, int maxDepth) {
+		this.code = code;
+		this.constants = constants;
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Metoda koja dohvaća vrstu instrukcije <b>instruction</b>
+	 *
+	 * @param instruction
+	 *            instrukcija
+	 * @return vrstu instrukcije
+	 */
+	static int kind(int instruction) {
+		return instruction & KIND_MASK;
+	}
+
+	/**
+	 * Metoda koja dohvaća argument instrukcije <b>instruction</b>
+	 *
+	 * @param instruction
+	 *            instrukcija
+	 * @return argument instrukcije
+	 */
+	static int operand(int instruction) {
+		return instruction >>> OPERAND_SHIFT;
+	}
+
+	/**
+	 * Metoda koja stvara instrukciju <b>kind</b> s argumentom <b>operand</b>
+	 *
+	 * @param kind
+	 *            vrsta instrukcije
+	 * @param operand
+	 *            argument instrukcije
+	 * @return instrukciju
+	 */
+	static int instruction(int kind, int operand) {
+		return kind | operand << OPERAND_SHIFT;
+	}
+
+	/**
+	 * Metoda koja stvara argument instrukcije operacije s rednim brojem
+	 * <b>ordinal</b>
+	 *
+	 * @param ordinal
+	 *            redni broj operacije
+	 * @param inverse
+	 *            zastavica inverzne strategije
+	 * @return argument instrukcije
+	 */
+	static int operation(int ordinal, boolean inverse) {
+		return ordinal << 1 | (inverse ? 1 : 0);
+	}
+
+	/**
+	 * Metoda koja dohvaća najveću dubinu stoga tijekom izvođenja programa
+	 *
+	 * @return najveću dubinu stoga
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj instrukcija programa
+	 *
+	 * @return broj instrukcija
+	 */
+	public int length() {
+		return code.length;
+	}
+
+	/**
+	 * Metoda koja dohvaća instrukciju na indeksu <b>index</b>
+	 *
+	 * @param index
+	 *            indeks instrukcije
+	 * @return instrukciju
+	 */
+	int instructionAt(int index) {
+		return code[index];
+	}
+
+	/**
+	 * Metoda koja dohvaća konstantu na indeksu <b>index</b>
+	 *
+	 * @param index
+	 *            indeks konstante
+	 * @return konstantu
+	 */
+	double constantAt(int index) {
+		return constants[index];
+	}
+
+	/**
+	 * Metoda koja izvodi program sa zasebno stvorenim stogom. Varijabla x ima
+	 * vrijednost {@link Double#NaN}.
+	 *
+	 * @return vrijednost izraza
+	 */
+	public double evaluate() {
+		return evaluate(Double.NaN, new double[maxDepth]);
+	}
+
+	/**
+	 * Metoda koja izvodi program koristeći stog <b>stack</b>. Varijabla x ima
+	 * vrijednost {@link Double#NaN}.
+	 *
+	 * @param stack
+	 *            stog veličine barem {@link #getMaxDepth()}
+	 * @return vrijednost izraza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je stog premalen
+	 */
+	public double evaluate(double[] stack) {
+		return evaluate(Double.NaN, stack);
+	}
+
+	/**
+	 * Metoda koja izvodi program za vrijednost <b>x</b> varijable x koristeći
+	 * stog <b>stack</b>
+	 *
+	 * @param x
+	 *            vrijednost varijable x
+	 * @param stack
+	 *            stog veličine barem {@link #getMaxDepth()}
+	 * @return vrijednost izraza
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je stog premalen
+	 */
+	public double evaluate(double x, double[] stack) {
+		if (stack.length < maxDepth) {
+			throw new IllegalArgumentException(String.format(
+					"Stog mora imati barem %d mjesta. Vi ste predali: %d", maxDepth, stack.length));
+		}
+
+		int top = -1;
+		for (int instruction : code) {
+			int operand = instruction >>> OPERAND_SHIFT;
+			switch (instruction & KIND_MASK) {
+			case PUSH:
+				stack[++top] = constants[operand];
+				break;
+			case VARIABLE:
+				stack[++top] = x;
+				break;
+			case NEGATE:
+				stack[top] = -stack[top];
+				break;
+			case UNARY:
+				stack[top] = UNARY_OPERATIONS[operand >>> 1].apply(stack[top], (operand & 1) != 0);
+				break;
+			case BINARY:
+				double arg2 = stack[top--];
+				stack[top] = BINARY_OPERATIONS[operand >>> 1].apply(stack[top], arg2, (operand & 1) != 0);
+				break;
+			default:
+				throw new IllegalStateException("Nepoznata instrukcija: " + instruction);
+			}
+		}
+		return stack[0];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int instruction : code) {
+			if (sb.length() > 0) {
+				sb.append(' ');
+			}
+			int operand = instruction >>> OPERAND_SHIFT;
+			String inverse = (operand & 1) != 0 ? "'" : "";
+			switch (instruction & KIND_MASK) {
+			case PUSH:
+				sb.append(constants[operand]);
+				break;
+			case VARIABLE:
+				sb.append("x");
+				break;
+			case NEGATE:
+				sb.append("neg");
+				break;
+			case UNARY:
+				sb.append(UNARY_OPERATIONS[operand >>> 1].getSymbol()).append(inverse);
+				break;
+			default:
+				sb.append(BINARY_OPERATIONS[operand >>> 1].getSymbol()).append(inverse);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,45 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+/**
+ * Enumeracija koja predstavlja vrste leksičkih jedinki koje vraća
+ * {@link Tokenizer}.
+ *
+ * @see Tokenizer
+ *
+ * @author Davor Češljaš
+ */
+public enum TokenType {
+
+	/** Broj, primjerice "3", "2.5" ili "1e-3" */
+	NUMBER,
+
+	/** Ime funkcije, primjerice "sin" */
+	IDENTIFIER,
+
+	/** Znak "+" */
+	PLUS,
+
+	/** Znak "-" */
+	MINUS,
+
+	/** Znak "*" */
+	MULTIPLY,
+
+	/** Znak "/" */
+	DIVIDE,
+
+	/** Znak "^" */
+	POWER,
+
+	/** Otvorena zagrada */
+	OPEN,
+
+	/** Zatvorena zagrada */
+	CLOSE,
+
+	/** Zarez koji odvaja argumente funkcije */
+	COMMA,
+
+	/** Kraj izraza */
+	END
+}
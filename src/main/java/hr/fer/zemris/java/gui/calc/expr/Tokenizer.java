@@ -0,0 +1,188 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+/**
+ * Razred koji predstavlja leksički analizator aritmetičkih izraza. Svaki
+ * poziv metode {@link #next()} čita sljedeću leksičku jedinku i vraća njezinu
+ * vrstu, a vrijednost broja, odnosno ime funkcije, dohvaća se metodama
+ * {@link #getNumber()} i {@link #getIdentifier()}. Praznine između jedinki
+ * se preskaču.
+ *
+ * @see Parser
+ *
+ * @author Davor Češljaš
+ */
+public class Tokenizer {
+
+	/** Članska varijabla koja predstavlja izraz koji se analizira */
+	private final String input;
+
+	/** Članska varijabla koja predstavlja poziciju sljedećeg znaka */
+	private int position;
+
+	/** Članska varijabla koja predstavlja poziciju trenutne jedinke */
+	private int tokenStart;
+
+	/** Članska varijabla koja predstavlja vrstu trenutne jedinke */
+	private TokenType type;
+
+	/** Članska varijabla koja predstavlja vrijednost trenutnog broja */
+	private double number;
+
+	/** Članska varijabla koja predstavlja ime trenutne funkcije */
+	private String identifier;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param input
+	 *            izraz koji se analizira
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>input</b> <code>null</code>
+	 */
+	public Tokenizer(String input) {
+		if (input == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null");
+		}
+		this.input = input;
+	}
+
+	/**
+	 * Metoda koja čita sljedeću leksičku jedinku
+	 *
+	 * @return vrstu pročitane jedinke
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz sadrži nepoznati znak ili neispravan broj
+	 */
+	public TokenType next() {
+		while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+			position++;
+		}
+		tokenStart = position;
+		if (position == input.length()) {
+			return type = TokenType.END;
+		}
+
+		char c = input.charAt(position);
+		if (Character.isDigit(c) || c == '.') {
+			return type = readNumber();
+		}
+		if (Character.isLetter(c)) {
+			while (position < input.length() && Character.isLetterOrDigit(input.charAt(position))) {
+				position++;
+			}
+			identifier = input.substring(tokenStart, position);
+			return type = TokenType.IDENTIFIER;
+		}
+
+		position++;
+		switch (c) {
+		case '+':
+			return type = TokenType.PLUS;
+		case '-':
+			return type = TokenType.MINUS;
+		case '*':
+			return type = TokenType.MULTIPLY;
+		case '/':
+			return type = TokenType.DIVIDE;
+		case '^':
+			return type = TokenType.POWER;
+		case '(':
+			return type = TokenType.OPEN;
+		case ')':
+			return type = TokenType.CLOSE;
+		case ',':
+			return type = TokenType.COMMA;
+		default:
+			throw new IllegalArgumentException(
+					String.format("Nepoznati znak '%c' na poziciji %d u izrazu: %s", c, tokenStart, input));
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća vrstu trenutne jedinke
+	 *
+	 * @return vrstu trenutne jedinke ili <code>null</code> ukoliko
+	 *         {@link #next()} još nije pozvana
+	 */
+	public TokenType getType() {
+		return type;
+	}
+
+	/**
+	 * Metoda koja dohvaća vrijednost trenutne jedinke vrste
+	 * {@link TokenType#NUMBER}
+	 *
+	 * @return vrijednost broja
+	 */
+	public double getNumber() {
+		return number;
+	}
+
+	/**
+	 * Metoda koja dohvaća ime trenutne jedinke vrste
+	 * {@link TokenType#IDENTIFIER}
+	 *
+	 * @return ime funkcije
+	 */
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	/**
+	 * Metoda koja dohvaća poziciju trenutne jedinke u izrazu
+	 *
+	 * @return poziciju trenutne jedinke
+	 */
+	public int getPosition() {
+		return tokenStart;
+	}
+
+	/**
+	 * Metoda koja dohvaća izraz koji se analizira
+	 *
+	 * @return izraz koji se analizira
+	 */
+	public String getInput() {
+		return input;
+	}
+
+	/**
+	 * Pomoćna metoda koja čita broj oblika
+	 * <code>znamenke[.znamenke][(e|E)[+|-]znamenke]</code>
+	 *
+	 * @return {@link TokenType#NUMBER}
+	 */
+	private TokenType readNumber() {
+		skipDigits();
+		if (position < input.length() && input.charAt(position) == '.') {
+			position++;
+			skipDigits();
+		}
+		if (position < input.length() && (input.charAt(position) == 'e' || input.charAt(position) == 'E')) {
+			position++;
+			if (position < input.length() && (input.charAt(position) == '+' || input.charAt(position) == '-')) {
+				position++;
+			}
+			skipDigits();
+		}
+
+		try {
+			number = Double.parseDouble(input.substring(tokenStart, position));
+		} catch (NumberFormatException nfe) {
+			throw new IllegalArgumentException(String.format("Neispravan broj '%s' na poziciji %d u izrazu: %s",
+					input.substring(tokenStart, position), tokenStart, input));
+		}
+		return TokenType.NUMBER;
+	}
+
+	/**
+	 * Pomoćna metoda koja preskače niz znamenaka
+	 */
+	private void skipDigits() {
+		while (position < input.length() && Character.isDigit(input.charAt(position))) {
+			position++;
+		}
+	}
+}
@@ -3,15 +3,24 @@ package hr.fer.zemris.java.gui.charts;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
 
 /**
  * Razred koji predstavlja model unutar
  * <a href = "https://en.wikipedia.org/wiki/Model–view–controller">MVC(Model -
  * View -Controller)</a> oblikovnog obrasca. Ovaj model koristi komponenta
  * {@link BarChartComponent} te preko podataka spremljenih unutar primjerka ovog
- * razreda crta stupičasti dijagram.
+ * razreda crta stupičasti dijagram. Vrijednosti se interno pohranjuju
+ * sortirane po x koordinati, a x i y koordinate dodatno se čuvaju u poljima
+ * primitivnih tipova kako bi se pretraživanje po x koordinati (primjerice
+ * prilikom prikaza opisa alata) moglo obaviti binarnim pretraživanjem.
  * 
  * @see BarChartComponent
  * 
@@ -69,10 +78,29 @@ public class BarChart {
 
 	/**
 	 * Članska varijabla koja predstavlja {@link List} svih primjeraka razreda
-	 * {@link XYValue} iz kojih se crta graf
+	 * {@link XYValue} iz kojih se crta graf, sortiranih po x koordinati
 	 */
 	private final List<XYValue> xyValues;
 
+	/**
+	 * Članska varijabla koja predstavlja sortirano polje x koordinata svih
+	 * vrijednosti iz {@link #xyValues}. Polje može biti veće od broja
+	 * vrijednosti.
+	 */
+	private int[] xs;
+
+	/**
+	 * Članska varijabla koja predstavlja polje y koordinata svih vrijednosti
+	 * iz {@link #xyValues}, poredanih jednako kao i {@link #xs}
+	 */
+	private int[] ys;
+
+	/**
+	 * Članska varijabla koja predstavlja {@link List} svih zainteresiranih
+	 * promatrača
+	 */
+	private final List<BarChartListener> listeners;
+
 	/** Članska varijabla koja predstavlja opis uz x-os */
 	private final String xDescription;
 
@@ -93,7 +121,8 @@ public class BarChart {
 	/**
 	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
 	 * konstruktora provjeravaju se i pohranjuju predane vrijednosti u pripadne
-	 * članske varijable
+	 * članske varijable. Predana {@link List} <b>xyValues</b> se ne mijenja,
+	 * već se interno pohranjuje njezina kopija sortirana po x koordinati
 	 *
 	 * @param xyValues
 	 *            {@link List} svih primjeraka razreda {@link XYValue} iz kojih
@@ -114,23 +143,264 @@ public class BarChart {
 	 *             objekt) <code>null</code>
 	 */
 	public BarChart(List<XYValue> xyValues, String xDescription, String yDescription, int yMin, int yMax, int yStep) {
-		this.xyValues = Objects.requireNonNull(xyValues, "Lista xy vrijednosti ne smije biti null");
+		this.xyValues = new ArrayList<>(Objects.requireNonNull(xyValues, "Lista xy vrijednosti ne smije biti null"));
+		// sort je stabilan pa vrijednosti s istim x-om ostaju u predanom poretku
+		this.xyValues.sort(Comparator.comparingInt(XYValue::getX));
+
+		int size = this.xyValues.size();
+		this.xs = new int[size];
+		this.ys = new int[size];
+		for (int i = 0; i < size; i++) {
+			XYValue xyValue = this.xyValues.get(i);
+			xs[i] = xyValue.getX();
+			ys[i] = xyValue.getY();
+		}
 		this.xDescription = Objects.requireNonNull(xDescription, "Opis uz x-os mora postajati");
 		this.yDescription = Objects.requireNonNull(yDescription, "Opis uz y-os mora postojati");
 		this.yMin = yMin;
 		this.yMax = yMax;
 		this.yStep = yStep;
+		this.listeners = new ArrayList<>();
 	}
 
 	/**
-	 * Metoda koja dohvaća {@link List} svih primjeraka razreda {@link XYValue}
-	 * iz kojih se crta graf
+	 * Metoda koja dohvaća nepromjenjivu {@link List} svih primjeraka razreda
+	 * {@link XYValue} iz kojih se crta graf, sortiranih po x koordinati
 	 *
 	 * @return {@link List} svih primjeraka razreda {@link XYValue} iz kojih se
 	 *         crta graf
 	 */
 	public List<XYValue> getXyValues() {
-		return xyValues;
+		return Collections.unmodifiableList(xyValues);
+	}
+
+	/**
+	 * Metoda koja dohvaća broj vrijednosti iz kojih se crta graf
+	 *
+	 * @return broj vrijednosti iz kojih se crta graf
+	 */
+	public int size() {
+		return xyValues.size();
+	}
+
+	/**
+	 * Metoda koja dohvaća x koordinatu vrijednosti na poziciji <b>index</b>
+	 * (u poretku sortiranom po x koordinati)
+	 *
+	 * @param index
+	 *            pozicija vrijednosti
+	 * @return x koordinatu vrijednosti na poziciji <b>index</b>
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar [0, {@link #size()})
+	 */
+	public int getX(int index) {
+		checkIndex(index);
+		return xs[index];
+	}
+
+	/**
+	 * Metoda koja dohvaća y koordinatu vrijednosti na poziciji <b>index</b>
+	 * (u poretku sortiranom po x koordinati)
+	 *
+	 * @param index
+	 *            pozicija vrijednosti
+	 * @return y koordinatu vrijednosti na poziciji <b>index</b>
+	 * 
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar [0, {@link #size()})
+	 */
+	public int getY(int index) {
+		checkIndex(index);
+		return ys[index];
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li <b>index</b> unutar [0,
+	 * {@link #size()})
+	 *
+	 * @param index
+	 *            pozicija koja se provjerava
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar [0, {@link #size()})
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Pozicija mora biti unutar [0, " + size() + "). Predali ste: " + index);
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća najmanju x koordinatu ili 0 ukoliko graf nema
+	 * vrijednosti
+	 *
+	 * @return najmanju x koordinatu
+	 */
+	public int getxMin() {
+		return size() == 0 ? 0 : xs[0];
+	}
+
+	/**
+	 * Metoda koja dohvaća najveću x koordinatu ili 0 ukoliko graf nema
+	 * vrijednosti
+	 *
+	 * @return najveću x koordinatu
+	 */
+	public int getxMax() {
+		return size() == 0 ? 0 : xs[size() - 1];
+	}
+
+	/**
+	 * Metoda koja binarnim pretraživanjem sortiranog polja x koordinata traži
+	 * poziciju vrijednosti čija je x koordinata jednaka <b>x</b>. Povratna
+	 * vrijednost ima jednaku semantiku kao i
+	 * {@link Arrays#binarySearch(int[], int)}
+	 *
+	 * @param x
+	 *            x koordinata koja se traži
+	 * @return poziciju vrijednosti s x koordinatom <b>x</b> ukoliko ona
+	 *         postoji, inače <code>(-(točka umetanja) - 1)</code>
+	 */
+	public int indexOfX(int x) {
+		return Arrays.binarySearch(xs, 0, size(), x);
+	}
+
+	/**
+	 * Metoda koja dodaje predane vrijednosti <b>values</b> u ovaj model te o
+	 * tome obavještava sve zainteresirane promatrače. Ukoliko su sve predane
+	 * vrijednosti veće ili jednake od trenutno najveće x koordinate (što je
+	 * uobičajeno kada se vrijednosti dopisuju na kraj datoteke), vrijednosti
+	 * se samo nadodaju na kraj, inače se spajaju s postojećim sortiranim
+	 * vrijednostima.
+	 *
+	 * @param values
+	 *            {@link List} vrijednosti koje se dodaju
+	 * 
+	 * @throws NullPointerException
+	 *             ukoliko je <b>values</b> <code>null</code>
+	 */
+	public void addValues(List<XYValue> values) {
+		Objects.requireNonNull(values, "Lista xy vrijednosti ne smije biti null");
+		if (values.isEmpty()) {
+			return;
+		}
+
+		List<XYValue> sorted = new ArrayList<>(values);
+		sorted.sort(Comparator.comparingInt(XYValue::getX));
+
+		int oldSize = size();
+		int newSize = oldSize + sorted.size();
+		if (newSize > xs.length) {
+			int capacity = Math.max(newSize, xs.length + (xs.length >> 1));
+			xs = Arrays.copyOf(xs, capacity);
+			ys = Arrays.copyOf(ys, capacity);
+		}
+
+		int firstChanged = oldSize;
+		if (oldSize == 0 || sorted.get(0).getX() >= xs[oldSize - 1]) {
+			xyValues.addAll(sorted);
+		} else {
+			firstChanged = -indexOfUpper(sorted.get(0).getX()) - 1;
+			List<XYValue> tail = new ArrayList<>(xyValues.subList(firstChanged, oldSize));
+			xyValues.subList(firstChanged, oldSize).clear();
+			merge(tail, sorted, xyValues);
+		}
+
+		for (int i = firstChanged; i < newSize; i++) {
+			XYValue xyValue = xyValues.get(i);
+			xs[i] = xyValue.getX();
+			ys[i] = xyValue.getY();
+		}
+
+		fireValuesAdded(firstChanged);
+	}
+
+	/**
+	 * Pomoćna metoda koja binarnim pretraživanjem pronalazi prvu poziciju na
+	 * kojoj je x koordinata strogo veća od <b>x</b>. Kako bi se ponašala kao
+	 * {@link #indexOfX(int)} metoda vraća <code>(-(pozicija) - 1)</code>
+	 *
+	 * @param x
+	 *            x koordinata s kojom se uspoređuje
+	 * @return <code>(-(pozicija) - 1)</code> gdje je pozicija prva pozicija
+	 *         na kojoj je x koordinata strogo veća od <b>x</b>
+	 */
+	private int indexOfUpper(int x) {
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (xs[mid] <= x) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return -low - 1;
+	}
+
+	/**
+	 * Pomoćna metoda koja stabilno spaja dvije sortirane {@link List}e
+	 * <b>first</b> i <b>second</b> i rezultat nadodaje na <b>destination</b>.
+	 * Kod jednakih x koordinata prednost imaju vrijednosti iz <b>first</b>
+	 *
+	 * @param first
+	 *            prva sortirana {@link List}a
+	 * @param second
+	 *            druga sortirana {@link List}a
+	 * @param destination
+	 *            {@link List}a na koju se nadodaje rezultat
+	 */
+	private static void merge(List<XYValue> first, List<XYValue> second, List<XYValue> destination) {
+		int i = 0;
+		int j = 0;
+		while (i < first.size() && j < second.size()) {
+			if (first.get(i).getX() <= second.get(j).getX()) {
+				destination.add(first.get(i++));
+			} else {
+				destination.add(second.get(j++));
+			}
+		}
+		destination.addAll(first.subList(i, first.size()));
+		destination.addAll(second.subList(j, second.size()));
+	}
+
+	/**
+	 * Metoda koja registrira promatrača <b>l</b> koji će biti obaviješten o
+	 * svakom dodavanju vrijednosti u ovaj model
+	 *
+	 * @param l
+	 *            promatrač koji se registrira
+	 * 
+	 * @throws NullPointerException
+	 *             ukoliko je <b>l</b> <code>null</code>
+	 */
+	public void addBarChartListener(BarChartListener l) {
+		listeners.add(Objects.requireNonNull(l, "Promatrač ne smije biti null"));
+	}
+
+	/**
+	 * Metoda koja odjavljuje promatrača <b>l</b>
+	 *
+	 * @param l
+	 *            promatrač koji se odjavljuje
+	 */
+	public void removeBarChartListener(BarChartListener l) {
+		listeners.remove(l);
+	}
+
+	/**
+	 * Pomoćna metoda koja obavještava sve promatrače da su dodane nove
+	 * vrijednosti
+	 *
+	 * @param firstChanged
+	 *            prva pozicija od koje su se vrijednosti promijenile
+	 */
+	private void fireValuesAdded(int firstChanged) {
+		// kopija kako bi se promatrač mogao odjaviti tijekom obavještavanja
+		for (BarChartListener l : new ArrayList<>(listeners)) {
+			l.valuesAdded(this, firstChanged);
+		}
 	}
 
 	/**
@@ -189,6 +459,35 @@ public class BarChart {
 		return yStep;
 	}
 
+	/**
+	 * Statička metoda koja iz toka neobrađenih brojčanih uzoraka <b>samples</b>
+	 * stvara novi primjerak razreda {@link BarChart}. Uzorci se razvrstavaju u
+	 * histogram koji stvara <b>histogramFactory</b> (primjerice
+	 * <code>() -&gt; Histogram.fixed(0, 1)</code> za prebrojavanje cijelih
+	 * brojeva), pri čemu se uzorci ne pohranjuju. Ukoliko je <b>samples</b>
+	 * paralelan tok, svaka dretva gradi djelomični histogram nad svojim
+	 * dijelom toka, a djelomični histogrami se potom spajaju metodom
+	 * {@link Histogram#merge(Histogram)}.
+	 *
+	 * @param samples
+	 *            tok neobrađenih brojčanih uzoraka
+	 * @param histogramFactory
+	 *            strategija koja stvara prazne histograme
+	 * @param xDescription
+	 *            opis uz x-os
+	 * @param yDescription
+	 *            opis uz y-os
+	 * @return novi primjerak razreda {@link BarChart} izgrađen iz histograma
+	 *         uzoraka
+	 *
+	 * @see Histogram#toBarChart(String, String)
+	 */
+	public static BarChart fromSamples(DoubleStream samples, Supplier<Histogram> histogramFactory,
+			String xDescription, String yDescription) {
+		Histogram histogram = samples.collect(histogramFactory, Histogram::accept, Histogram::merge);
+		return histogram.toBarChart(xDescription, yDescription);
+	}
+
 	/**
 	 * Statička metoda koja parsira datoteku predstavljenu primjerkom razreda
 	 * koji implementira sučelje {@link Path} <b>filePath</b> te iz nje stvara
@@ -8,11 +8,15 @@ import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Point;
 import java.awt.Polygon;
+import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import javax.swing.BorderFactory;
 import javax.swing.JComponent;
+import javax.swing.ToolTipManager;
 
 /**
  * Razred koji nasljeđuje razred {@link JComponent} i nadjačava njegovu metodu
@@ -20,6 +24,30 @@ import javax.swing.JComponent;
  * se {@link BarChart}. Komponenta se sastoji od samog dijagrama , y-osi, njoj
  * pripadnog opisa i pripadnih vrijednosti uz tu os, te od x- osi, njoj
  * pripadnog opisa i pripadnih vrijednosti uz tu os.
+ * <p>
+ * Stupci se mogu razmještati na dva načina. Zadano se stupci slažu jedan do
+ * drugoga redom kojim su sortirani po x koordinati. Ukoliko se pozove
+ * {@link #setProportionalX(boolean)} s <code>true</code>, položaj svakog
+ * stupca proporcionalan je njegovoj x koordinati, pa se rijetke i
+ * nekontinuirane x vrijednosti prikazuju s pripadnim razmacima. Prilikom
+ * prelaska mišem preko stupca prikazuje se opis alata s njegovim koordinatama.
+ * </p>
+ * <p>
+ * Komponenta promatra svoj model te se prilikom dodavanja novih vrijednosti
+ * ponovno iscrtava. Kada nove vrijednosti ne stanu na x-os, ona se proširuje
+ * s rezervom od pola trenutne veličine, pa se pri dodavanju vrijednosti na
+ * kraj uglavnom ponovno iscrtava samo područje novih stupaca.
+ * </p>
+ * <p>
+ * Kvaliteta i brzina iscrtavanja određuju se profilom
+ * {@link RenderingProfile} koji se postavlja metodom
+ * {@link #setRenderingProfile(RenderingProfile)}.
+ * </p>
+ * <p>
+ * Trajanje iscrtavanja može se pratiti registracijom promatrača
+ * {@link PaintListener} (primjerice primjerka razreda {@link ChartMetrics}).
+ * Dok komponenta nema niti jednog promatrača, vrijeme se ne mjeri.
+ * </p>
  * 
  * @see BarChart
  * @see JComponent
@@ -60,6 +88,69 @@ public class BarChartComponent extends JComponent {
 	/** Članska varijabla koja predstavlja točku ishodišta dijagrama */
 	private Point origin;
 
+	/**
+	 * Članska varijabla koja predstavlja informacije o x-osi izračunate
+	 * prilikom zadnjeg iscrtavanja. Koristi se za pronalazak stupca ispod
+	 * pokazivača miša
+	 */
+	private AxisInfo lastXInfo;
+
+	/**
+	 * Članska varijabla koja predstavlja broj mjesta za stupce na x-osi kada
+	 * se stupci slažu jedan do drugoga. Može biti veći od broja vrijednosti
+	 * kako se postojeći stupci ne bi pomicali prilikom dodavanja novih.
+	 */
+	private int xSlots;
+
+	/**
+	 * Članska varijabla koja predstavlja najmanju x koordinatu koju pokriva
+	 * x-os kada je položaj stupaca proporcionalan njihovoj x koordinati
+	 */
+	private int axisXMin;
+
+	/**
+	 * Članska varijabla koja predstavlja najveću x koordinatu koju pokriva
+	 * x-os kada je položaj stupaca proporcionalan njihovoj x koordinati. Može
+	 * biti veća od najveće x koordinate modela.
+	 */
+	private int axisXMax;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira jesu li
+	 * {@link #xSlots}, {@link #axisXMin} i {@link #axisXMax} izračunati
+	 */
+	private boolean xAxisFitted;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja određuje je li položaj
+	 * stupaca proporcionalan njihovoj x koordinati
+	 */
+	private boolean proportionalX;
+
+	/**
+	 * Članska varijabla koja predstavlja profil iscrtavanja koji se koristi
+	 * prilikom svakog iscrtavanja ove komponente
+	 */
+	private RenderingProfile renderingProfile = RenderingProfile.BALANCED;
+
+	/**
+	 * Članska varijabla koja predstavlja {@link List} svih promatrača nad
+	 * iscrtavanjem ove komponente
+	 */
+	private final List<PaintListener> paintListeners = new ArrayList<>();
+
+	/**
+	 * Članska varijabla koja predstavlja trajanje svake faze trenutnog
+	 * iscrtavanja, indeksirano s {@link PaintPhase#ordinal()}
+	 */
+	private final long[] phaseNanos = new long[PaintPhase.values().length];
+
+	/** Članska varijabla koja predstavlja broj nacrtanih stupaca u okviru */
+	private int barsDrawn;
+
+	/** Članska varijabla koja predstavlja broj izmjerenih natpisa u okviru */
+	private int labelsMeasured;
+
 	/**
 	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
 	 * konstruktora ukoliko <b>barChart</b> parametar nije <code>null</code>
@@ -72,10 +163,152 @@ public class BarChartComponent extends JComponent {
 	public BarChartComponent(BarChart barChart) {
 		this.barChart = Objects.requireNonNull(barChart, "Model stupičastog dijagrama ne smije biti null!");
 		setBorder(BorderFactory.createEmptyBorder(FIX_DISTANCE, FIX_DISTANCE, FIX_DISTANCE, FIX_DISTANCE));
+		ToolTipManager.sharedInstance().registerComponent(this);
+		barChart.addBarChartListener(this::valuesAdded);
+		setDoubleBuffered(true);
 
 		modifyYMax();
 	}
 
+	/**
+	 * Metoda koja dohvaća profil iscrtavanja ove komponente
+	 *
+	 * @return profil iscrtavanja ove komponente
+	 */
+	public RenderingProfile getRenderingProfile() {
+		return renderingProfile;
+	}
+
+	/**
+	 * Metoda koja postavlja profil iscrtavanja ove komponente na predani
+	 * <b>renderingProfile</b>
+	 *
+	 * @param renderingProfile
+	 *            profil iscrtavanja koji se postavlja
+	 * 
+	 * @throws NullPointerException
+	 *             ukoliko je <b>renderingProfile</b> <code>null</code>
+	 */
+	public void setRenderingProfile(RenderingProfile renderingProfile) {
+		this.renderingProfile = Objects.requireNonNull(renderingProfile, "Profil iscrtavanja ne smije biti null!");
+		repaint();
+	}
+
+	/**
+	 * Metoda koja registrira promatrača <b>l</b> nad iscrtavanjem ove
+	 * komponente
+	 *
+	 * @param l
+	 *            promatrač koji se registrira
+	 * 
+	 * @throws NullPointerException
+	 *             ukoliko je <b>l</b> <code>null</code>
+	 */
+	public void addPaintListener(PaintListener l) {
+		paintListeners.add(Objects.requireNonNull(l, "Promatrač ne smije biti null"));
+	}
+
+	/**
+	 * Metoda koja odjavljuje promatrača <b>l</b>
+	 *
+	 * @param l
+	 *            promatrač koji se odjavljuje
+	 */
+	public void removePaintListener(PaintListener l) {
+		paintListeners.remove(l);
+	}
+
+	/**
+	 * Pomoćna metoda koja se poziva kada su u {@link #barChart} dodane nove
+	 * vrijednosti. Ukoliko nove vrijednosti stanu na x-os, postojeći stupci se
+	 * ne pomiču pa se ponovno iscrtava samo područje od prvog promijenjenog
+	 * stupca nadesno. Inače se x-os proširuje (vidi {@link #fitXAxis()}) i
+	 * ponovno se iscrtava cijela komponenta.
+	 *
+	 * @param source
+	 *            model u koji su dodane vrijednosti
+	 * @param firstChanged
+	 *            prva pozicija od koje su se vrijednosti promijenile
+	 */
+	private void valuesAdded(BarChart source, int firstChanged) {
+		if (lastXInfo == null) {
+			repaint();
+			return;
+		}
+		boolean rescaled = fitXAxis();
+		if (rescaled || firstChanged == 0) {
+			repaint();
+			return;
+		}
+
+		int left = barLeft(firstChanged, lastXInfo);
+		repaint(left, 0, getWidth() - left, getHeight());
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava pokriva li x-os sve vrijednosti modela i
+	 * po potrebi je proširuje. Prilikom prvog poziva x-os točno pokriva
+	 * vrijednosti modela. Kasnije se broj mjesta za stupce, odnosno raspon x
+	 * koordinata, proširuje za polovicu više nego što je potrebno, pa se
+	 * postojeći stupci pri uzastopnom dodavanju vrijednosti na kraj pomiču
+	 * samo logaritamski mnogo puta.
+	 *
+	 * @return <code>true</code> ukoliko se x-os u trenutnom načinu
+	 *         razmještaja promijenila, <code>false</code> inače
+	 */
+	private boolean fitXAxis() {
+		int size = barChart.size();
+		int xMin = barChart.getxMin();
+		int xMax = barChart.getxMax();
+		if (!xAxisFitted) {
+			xSlots = size;
+			axisXMin = xMin;
+			axisXMax = xMax;
+			xAxisFitted = true;
+			return true;
+		}
+
+		boolean slotsChanged = size > xSlots;
+		if (slotsChanged) {
+			xSlots = (int) Math.min(Integer.MAX_VALUE, (long) size + (size >> 1));
+		}
+		boolean rangeChanged = xMin < axisXMin || xMax > axisXMax;
+		if (rangeChanged) {
+			axisXMin = Math.min(axisXMin, xMin);
+			long span = (long) Math.max(axisXMax, xMax) - axisXMin + 1;
+			axisXMax = (int) Math.min(Integer.MAX_VALUE, axisXMin + span + (span >> 1) - 1);
+		}
+		return proportionalX ? rangeChanged : slotsChanged;
+	}
+
+	/**
+	 * Metoda koja provjerava je li položaj stupaca proporcionalan njihovoj x
+	 * koordinati
+	 *
+	 * @return <code>true</code> ukoliko je položaj stupaca proporcionalan
+	 *         njihovoj x koordinati, <code>false</code> ukoliko se stupci slažu
+	 *         jedan do drugoga
+	 */
+	public boolean isProportionalX() {
+		return proportionalX;
+	}
+
+	/**
+	 * Metoda koja postavlja način razmještaja stupaca. Ukoliko je
+	 * <b>proportionalX</b> <code>true</code> položaj stupca proporcionalan je
+	 * njegovoj x koordinati, inače se stupci slažu jedan do drugoga.
+	 *
+	 * @param proportionalX
+	 *            zastavica koja određuje način razmještaja stupaca
+	 */
+	public void setProportionalX(boolean proportionalX) {
+		if (this.proportionalX == proportionalX) {
+			return;
+		}
+		this.proportionalX = proportionalX;
+		repaint();
+	}
+
 	/**
 	 * Pomoćna metoda koja modificira yMax od {@link #barChart} tako da ymax
 	 * -yMin dijeli razmak (yStep)
@@ -93,14 +326,192 @@ public class BarChartComponent extends JComponent {
 
 	@Override
 	protected void paintComponent(Graphics g) {
-		Graphics2D g2 = (Graphics2D) g;
-		calculateOriginPoint(g2);
-		calculateChartDimension(g2);
+		// kopija kako se postavke profila ne bi prenijele na ostale komponente
+		Graphics2D g2 = (Graphics2D) g.create();
+		barsDrawn = 0;
+		labelsMeasured = 0;
+		try {
+			long frameStart = lap(null, 0);
+			renderingProfile.apply(g2);
+			calculateOriginPoint(g2);
+			calculateChartDimension(g2);
+			long time = lap(PaintPhase.ORIGIN, frameStart);
+
+			fitXAxis();
+			AxisInfo xInfo = createXAxisData(g2);
+			time = lap(PaintPhase.X_AXIS, time);
+			AxisInfo yInfo = createYAxisData(g2);
+			time = lap(PaintPhase.Y_AXIS, time);
+
+			drawDiagram(g2, xInfo, yInfo);
+			time = lap(PaintPhase.DIAGRAM, time);
+			lastXInfo = xInfo;
+
+			if (!paintListeners.isEmpty()) {
+				fireFramePainted(new FrameStatistics(phaseNanos, time - frameStart, barsDrawn, labelsMeasured));
+			}
+		} finally {
+			g2.dispose();
+		}
+	}
 
-		AxisInfo xInfo = createXAxisData(g2);
-		AxisInfo yInfo = createYAxisData(g2);
+	/**
+	 * Pomoćna metoda koja završava mjerenje faze <b>phase</b> započete u
+	 * trenutku <b>start</b> i vraća trenutno vrijeme. Ukoliko komponenta nema
+	 * promatrača nad iscrtavanjem vrijeme se ne mjeri te metoda vraća 0.
+	 *
+	 * @param phase
+	 *            faza čije se mjerenje završava ili <code>null</code> ukoliko
+	 *            se samo dohvaća trenutno vrijeme
+	 * @param start
+	 *            trenutak početka faze u nanosekundama
+	 * @return trenutno vrijeme u nanosekundama ili 0 ukoliko se vrijeme ne
+	 *         mjeri
+	 */
+	private long lap(PaintPhase phase, long start) {
+		if (paintListeners.isEmpty()) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		if (phase != null) {
+			phaseNanos[phase.ordinal()] = now - start;
+		}
+		return now;
+	}
 
-		drawDiagram(g2, xInfo, yInfo);
+	/**
+	 * Pomoćna metoda koja obavještava sve promatrače o završenom iscrtavanju
+	 *
+	 * @param statistics
+	 *            statistika završenog iscrtavanja
+	 */
+	private void fireFramePainted(FrameStatistics statistics) {
+		for (int i = 0; i < paintListeners.size(); i++) {
+			paintListeners.get(i).framePainted(statistics);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja računa duljinu niza znakova <b>text</b> u pikselima
+	 * i pritom broji izmjerene natpise
+	 *
+	 * @param fm
+	 *            primjerak razreda {@link FontMetrics} pomoću kojeg se računa
+	 *            duljina
+	 * @param text
+	 *            niz znakova čija se duljina računa
+	 * @return duljinu niza znakova <b>text</b> u pikselima
+	 */
+	private int measure(FontMetrics fm, String text) {
+		labelsMeasured++;
+		return fm.stringWidth(text);
+	}
+
+	@Override
+	public String getToolTipText(MouseEvent event) {
+		if (lastXInfo == null || event.getY() > origin.y
+				|| event.getY() < origin.y - chartDimension.height + FIX_DISTANCE) {
+			return null;
+		}
+
+		int index = findBarIndex(event.getX(), lastXInfo);
+		if (index < 0) {
+			return null;
+		}
+		return String.format("(%d, %d)", barChart.getX(index), barChart.getY(index));
+	}
+
+	/**
+	 * Pomoćna metoda koja pronalazi poziciju stupca (unutar modela
+	 * {@link #barChart}) koji se nalazi na x koordinati <b>xInPixels</b>.
+	 * Ukoliko se stupci slažu jedan do drugoga pozicija se izračunava
+	 * aritmetički, a ukoliko je položaj proporcionalan x koordinati iz piksela
+	 * se izračunava x koordinata koja se potom binarno pretražuje metodom
+	 * {@link BarChart#indexOfX(int)}
+	 *
+	 * @param xInPixels
+	 *            x koordinata u pikselima
+	 * @param xInfo
+	 *            primjerak privatnog razreda {@link AxisInfo} koji sadrži
+	 *            detalje o x-osi
+	 * @return poziciju pronađenog stupca ili -1 ukoliko na predanoj koordinati
+	 *         nema stupca
+	 */
+	private int findBarIndex(int xInPixels, AxisInfo xInfo) {
+		int size = barChart.size();
+		int pixels = xInPixels - origin.x;
+		if (size == 0 || pixels < 0) {
+			return -1;
+		}
+
+		if (proportionalX) {
+			int width = chartDimension.width - FIX_DISTANCE;
+			if (pixels >= width) {
+				return -1;
+			}
+			// najmanji k za koji vrijedi pixels < floor((k + 1) * width / span)
+			long x = axisXMin + ((pixels + 1L) * xSpan() - 1) / width;
+			int index = barChart.indexOfX((int) x);
+			return index < 0 ? -1 : index;
+		}
+
+		int wideStep = xInfo.stepInPixels + 1;
+		int index = pixels < xInfo.difference * wideStep ? pixels / wideStep
+				: xInfo.stepInPixels == 0 ? size
+						: xInfo.difference + (pixels - xInfo.difference * wideStep) / xInfo.stepInPixels;
+		return index < size ? index : -1;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa broj x koordinata koje pokriva x-os kada je
+	 * položaj stupaca proporcionalan njihovoj x koordinati
+	 *
+	 * @return broj x koordinata koje pokriva x-os
+	 */
+	private long xSpan() {
+		return (long) axisXMax - axisXMin + 1;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa lijevi rub stupca na poziciji <b>index</b> u
+	 * pikselima. Za <b>index</b> jednak broju vrijednosti metoda vraća desni
+	 * rub zadnjeg stupca.
+	 *
+	 * @param index
+	 *            pozicija stupca
+	 * @param xInfo
+	 *            primjerak privatnog razreda {@link AxisInfo} koji sadrži
+	 *            detalje o x-osi
+	 * @return lijevi rub stupca u pikselima
+	 */
+	private int barLeft(int index, AxisInfo xInfo) {
+		if (!proportionalX) {
+			return origin.x + index * xInfo.stepInPixels + (index < xInfo.difference ? index : xInfo.difference);
+		}
+		if (index == barChart.size()) {
+			return index == 0 ? origin.x : barRight(index - 1, xInfo);
+		}
+		return origin.x + (int) (((long) barChart.getX(index) - axisXMin)
+				* (chartDimension.width - FIX_DISTANCE) / xSpan());
+	}
+
+	/**
+	 * Pomoćna metoda koja računa desni rub stupca na poziciji <b>index</b> u
+	 * pikselima.
+	 *
+	 * @param index
+	 *            pozicija stupca
+	 * @param xInfo
+	 *            primjerak privatnog razreda {@link AxisInfo} koji sadrži
+	 *            detalje o x-osi
+	 * @return desni rub stupca u pikselima
+	 */
+	private int barRight(int index, AxisInfo xInfo) {
+		if (!proportionalX) {
+			return barLeft(index + 1, xInfo);
+		}
+		return origin.x + (int) (((long) barChart.getX(index) - axisXMin + 1)
+				* (chartDimension.width - FIX_DISTANCE) / xSpan());
 	}
 
 	/**
@@ -123,26 +534,27 @@ public class BarChartComponent extends JComponent {
 		int currentY = dim.height - insets.bottom - fm.getDescent();
 		g2.setColor(Color.BLACK);
 		g2.drawString(barChart.getxDescription(),
-				origin.x + chartDimension.width / 2 - fm.stringWidth(barChart.getxDescription()) / 2, currentY);
+				origin.x + chartDimension.width / 2 - measure(fm, barChart.getxDescription()) / 2, currentY);
 
 		currentY -= fm.getAscent() + FIX_DISTANCE;
 
-		final int numberOfValues = barChart.getXyValues().size();
+		final int numberOfValues = barChart.size();
 		// -FIX_DISTANCE jer je linije za pola s lijeva i pola s desna duža
-		int stepXInPixels = (chartDimension.width - FIX_DISTANCE) / numberOfValues;
-		final int difference = chartDimension.width - FIX_DISTANCE - stepXInPixels * numberOfValues;
+		int stepXInPixels = xSlots == 0 ? 0 : (chartDimension.width - FIX_DISTANCE) / xSlots;
+		final int difference = chartDimension.width - FIX_DISTANCE - stepXInPixels * xSlots;
+		AxisInfo xInfo = new AxisInfo(stepXInPixels, difference);
 		// sačuvaj pa vrati
 		Color defaultColor = g2.getColor();
 		int fontHeight = fm.getHeight();
-		for (int x = 0, len = barChart.getXyValues().size(); x <= len; x++) {
-			int xInPixels = origin.x + x * stepXInPixels + (x < difference ? x : difference);
+		for (int x = 0, len = numberOfValues; x <= len; x++) {
+			int xInPixels = barLeft(x, xInfo);
 			// crtanje donjih brojki
-			int nextXInPixels = xInPixels + stepXInPixels;
 			if (x != len) {
-				String number = String.valueOf(barChart.getXyValues().get(x).getX());
+				int nextXInPixels = barRight(x, xInfo);
+				String number = String.valueOf(barChart.getX(x));
 
 				g2.setColor(Color.BLACK);
-				g2.drawString(number, xInPixels + (nextXInPixels - xInPixels) / 2 - fm.stringWidth(number) / 2,
+				g2.drawString(number, xInPixels + (nextXInPixels - xInPixels) / 2 - measure(fm, number) / 2,
 						currentY);
 			}
 
@@ -155,12 +567,12 @@ public class BarChartComponent extends JComponent {
 				// namjesti boju - narančasta skoro prozirna
 				g2.setColor(TRANSPARENT_ORANGE);
 			}
-			g2.drawLine(xInPixels, yMin, xInPixels, yMin - chartDimension.height);
+			drawVerticalLine(g2, xInPixels, yMin - chartDimension.height, yMin);
 		}
 		// resetiraj na početnu boju!
 		g2.setColor(defaultColor);
 		// vrati izračunate podatke
-		return new AxisInfo(stepXInPixels, difference);
+		return xInfo;
 	}
 
 	/**
@@ -180,14 +592,12 @@ public class BarChartComponent extends JComponent {
 		FontMetrics fm = g2.getFontMetrics();
 
 		AffineTransform defaultAt = g2.getTransform();
-		// Afina transformacija za opis y osi
-		AffineTransform at = new AffineTransform();
-		at.rotate(-Math.PI / 2);
-
-		g2.setTransform(at);
+		// rotacija se nadovezuje na postojeću transformaciju (npr. skaliranje
+		// na HiDPI zaslonima ili pomak unutar roditelja)
+		g2.rotate(-Math.PI / 2);
 
 		int currentX = insets.left + fm.getAscent();
-		int txtWidth = fm.stringWidth(barChart.getyDescription());
+		int txtWidth = measure(fm, barChart.getyDescription());
 		// koordinate se obrću x = -y y = x + x ne radi s width nego s height
 		g2.drawString(barChart.getyDescription(),
 				-((dim.height - insets.top - insets.bottom) / 2 + insets.top + txtWidth / 2), currentX);
@@ -213,7 +623,7 @@ public class BarChartComponent extends JComponent {
 			// brojke uz y-os
 			String number = String.valueOf(yMin + y * yStep);
 			g2.setColor(Color.BLACK);
-			g2.drawString(number, currentX - fm.stringWidth(number), yInPixels + fm.getHeight() / 2 - fm.getDescent());
+			g2.drawString(number, currentX - measure(fm, number), yInPixels + fm.getHeight() / 2 - fm.getDescent());
 
 			int xMin = origin.x - FIX_DISTANCE / 2;
 			if (y == 0) {
@@ -223,7 +633,7 @@ public class BarChartComponent extends JComponent {
 				// namjesti boju - narančasta skoro prozirna
 				g2.setColor(TRANSPARENT_ORANGE);
 			}
-			g2.drawLine(xMin, yInPixels, xMin + chartDimension.width, yInPixels);
+			drawHorizontalLine(g2, xMin, xMin + chartDimension.width, yInPixels);
 		}
 
 		// resetiraj na početnu boju!
@@ -245,8 +655,49 @@ public class BarChartComponent extends JComponent {
 	 */
 	private int findMaxNumberWidth(FontMetrics fm) {
 		// najveće duljine je ili najmanji ili najveći broj
-		return Math.max(fm.stringWidth(String.valueOf(barChart.getyMax())),
-				fm.stringWidth(String.valueOf(barChart.getyMin())));
+		return Math.max(measure(fm, String.valueOf(barChart.getyMax())),
+				measure(fm, String.valueOf(barChart.getyMin())));
+	}
+
+	/**
+	 * Pomoćna metoda koja crta okomitu liniju širine jednog piksela od
+	 * (<b>x</b>, <b>y1</b>) do (<b>x</b>, <b>y2</b>). Linija se crta kao
+	 * pravokutnik jer je popunjavanje pravokutnika (posebice poluprozirnom
+	 * bojom i bez zaglađivanja rubova) znatno brže od crtanja linije, a
+	 * pokriva iste piksele.
+	 *
+	 * @param g2
+	 *            primjerak razreda {@link Graphics2D} pomoću kojeg se crta po
+	 *            površini komponente
+	 * @param x
+	 *            x koordinata linije
+	 * @param y1
+	 *            gornja y koordinata linije
+	 * @param y2
+	 *            donja y koordinata linije
+	 */
+	private static void drawVerticalLine(Graphics2D g2, int x, int y1, int y2) {
+		g2.fillRect(x, y1, 1, y2 - y1 + 1);
+	}
+
+	/**
+	 * Pomoćna metoda koja crta vodoravnu liniju širine jednog piksela od
+	 * (<b>x1</b>, <b>y</b>) do (<b>x2</b>, <b>y</b>). Linija se iz istog
+	 * razloga kao i kod {@link #drawVerticalLine(Graphics2D, int, int, int)}
+	 * crta kao pravokutnik.
+	 *
+	 * @param g2
+	 *            primjerak razreda {@link Graphics2D} pomoću kojeg se crta po
+	 *            površini komponente
+	 * @param x1
+	 *            lijeva x koordinata linije
+	 * @param x2
+	 *            desna x koordinata linije
+	 * @param y
+	 *            y koordinata linije
+	 */
+	private static void drawHorizontalLine(Graphics2D g2, int x1, int x2, int y) {
+		g2.fillRect(x1, y, x2 - x1 + 1, 1);
 	}
 
 	/**
@@ -332,14 +783,12 @@ public class BarChartComponent extends JComponent {
 		int yMin = barChart.getyMin();
 		int yStep = barChart.getyStep();
 		// x ne mora nužno ići od 1 do nekog broja, ovo je dijagram
-		int x = 0;
-		for (XYValue xyValue : barChart.getXyValues()) {
-			int yDistance = xyValue.getY() - yMin;
+		for (int x = 0, len = barChart.size(); x < len; x++) {
+			int yDistance = barChart.getY(x) - yMin;
 			int y = (yDistance) / yStep;
 
-			int xInPixels = origin.x + x * xInfo.stepInPixels + (x < xInfo.difference ? x : xInfo.difference);
-			int nextXInPixels = xInPixels + xInfo.stepInPixels;
-			x++;
+			int xInPixels = barLeft(x, xInfo);
+			int nextXInPixels = barRight(x, xInfo);
 
 			int yInPixels = origin.y - y * yInfo.stepInPixels - (y < yInfo.difference ? y : yInfo.difference);
 			// modifikacija zbog toga što y - yMin ne dijeli yStep
@@ -348,8 +797,9 @@ public class BarChartComponent extends JComponent {
 
 			g2.setColor(ORANGE);
 			g2.fillRect(xInPixels + 1, yInPixels, nextXInPixels - xInPixels, origin.y - yInPixels);
+			barsDrawn++;
 			g2.setColor(Color.WHITE);
-			g2.drawLine(nextXInPixels, yInPixels, nextXInPixels, origin.y);
+			drawVerticalLine(g2, nextXInPixels, yInPixels, origin.y);
 
 		}
 	}
@@ -3,6 +3,8 @@ package hr.fer.zemris.java.gui.charts;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Container;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -19,6 +21,9 @@ import javax.swing.WindowConstants;
  * razreda {@link BarChart}. na početku programa se iz naredbenog redka čita
  * putanja do datoteke te se kroz metodu {@link BarChart#parseFromFile(Path)}
  * parsira novi model {@link BarChart}. Potom se model iscrtava unutar prozora.
+ * Ukoliko se kao drugi argument preda {@value #WATCH_OPTION}, datoteka se
+ * prati razredom {@link BarChartFileWatcher} te se sve vrijednosti dopisane na
+ * kraj datoteke dodaju u prikazani dijagram.
  * Razred ujedino nasljeđuje razred {@link JFrame} kako bi se komponenta mogla
  * prikazati na Vašem ekranu.
  * 
@@ -29,6 +34,9 @@ public class BarChartDemo extends JFrame {
 	/** Defaultna konstanta za serijalizaciju */
 	private static final long serialVersionUID = 1L;
 
+	/** Konstanta koja predstavlja argument kojim se uključuje praćenje datoteke */
+	private static final String WATCH_OPTION = "--watch";
+
 	/**
 	 * Konstrukotr koji inicijalizira primjerak ovog razreda. Unutra
 	 * konstruktora inicijaliziraju se dimenzije prozora, namješta naslov i
@@ -91,21 +99,41 @@ public class BarChartDemo extends JFrame {
 	 * Metoda od koje započinje izvođenje ovog programa.
 	 *
 	 * @param args
-	 *            argumenti naredbenog redka. Za ovaj program mora postojati
-	 *            točno jedan argument, koji predstavlja relativnu ili apsolutnu
-	 *            putanju do datoteke koja se parsira metodom
-	 *            {@link BarChart#parseFromFile(Path)}
+	 *            argumenti naredbenog redka. Za ovaj program prvi argument
+	 *            predstavlja relativnu ili apsolutnu putanju do datoteke koja
+	 *            se parsira metodom {@link BarChart#parseFromFile(Path)}.
+	 *            Opcionalni drugi argument {@value #WATCH_OPTION} uključuje
+	 *            praćenje datoteke.
 	 */
 	public static void main(String[] args) {
-		if (args.length != 1) {
+		if (args.length != 1 && args.length != 2) {
 			throw new IllegalArgumentException(
-					"Predali ste pogrešan broj argumenata. Tražio sam 1 dobio sam " + args.length);
+					"Predali ste pogrešan broj argumenata. Tražio sam 1 ili 2 dobio sam " + args.length);
+		}
+		if (args.length == 2 && !args[1].equals(WATCH_OPTION)) {
+			throw new IllegalArgumentException("Nepoznata opcija: " + args[1]);
 		}
 
 		Path filePath = Paths.get(args[0]);
 		try {
 			BarChart barChart = BarChart.parseFromFile(filePath);
-			SwingUtilities.invokeLater(() -> new BarChartDemo(barChart, filePath).setVisible(true));
+			BarChartFileWatcher watcher = args.length == 2 ? new BarChartFileWatcher(filePath, barChart) : null;
+			SwingUtilities.invokeLater(() -> {
+				BarChartDemo demo = new BarChartDemo(barChart, filePath);
+				if (watcher != null) {
+					demo.addWindowListener(new WindowAdapter() {
+						@Override
+						public void windowClosed(WindowEvent e) {
+							try {
+								watcher.close();
+							} catch (IOException ignorable) {
+							}
+						}
+					});
+					watcher.start();
+				}
+				demo.setVisible(true);
+			});
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Ne mogu otvoriti datoteku: " + filePath);
 		}
@@ -0,0 +1,332 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Razred koji prati datoteku iz koje je parsiran model {@link BarChart} i sve
+ * vrijednosti koje se dopisuju na kraj te datoteke dodaje u model. Za
+ * praćenje promjena koristi se {@link WatchService}. Razred pamti poziciju
+ * (u oktetima) do koje je datoteka pročitana te prilikom svake promjene čita
+ * samo novo dopisani sadržaj. Dopisani sadržaj mora biti niz vrijednosti u
+ * formatu <b><i>"x,y"</i></b> odvojenih prazninama. Vrijednost koja nije
+ * završena prazninom pamti se do sljedeće promjene, a ukoliko se datoteka ne
+ * promijeni {@value #FLUSH_DELAY} ms, smatra se do kraja zapisanom.
+ * Neispravne vrijednosti se preskaču.
+ * <p>
+ * Zaglavlje čine prvih {@value #HEADER_LINES} redaka, pri čemu redak može
+ * završavati znakom <code>'\n'</code>, <code>'\r'</code> ili nizom
+ * <code>"\r\n"</code>. Ukoliko zadnji redak zaglavlja nije završen, znakovi
+ * koji se dopišu do kraja tog redka pripadaju zaglavlju i ne čitaju se kao
+ * vrijednosti. Ukoliko se datoteka skrati ili zamijeni novom, čita se
+ * ponovno od početka, uz preskakanje zaglavlja.
+ * </p>
+ * <p>
+ * Praćenje se odvija u zasebnoj dretvi, dok se vrijednosti u model dodaju
+ * unutar dretve za obradu događaja (engl. event dispatch thread) pozivom
+ * metode {@link BarChart#addValues(List)}. Pogreške prilikom čitanja
+ * predaju se, također unutar dretve za obradu događaja, primatelju pogrešaka,
+ * a praćenje se nastavlja pa se datoteka ponovno čita prilikom sljedeće
+ * promjene.
+ * </p>
+ *
+ * @see BarChart
+ * @see WatchService
+ *
+ * @author Davor Češljaš
+ */
+public class BarChartFileWatcher implements Closeable {
+
+	/** Konstanta koja predstavlja broj redaka zaglavlja datoteke */
+	private static final int HEADER_LINES = 6;
+
+	/** Konstanta koja predstavlja veličinu međuspremnika za čitanje */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Konstanta koja predstavlja vrijeme u milisekundama nakon kojeg se
+	 * vrijednost koja nije završena prazninom smatra do kraja zapisanom
+	 */
+	private static final long FLUSH_DELAY = 500;
+
+	/** Članska varijabla koja predstavlja putanju do praćene datoteke */
+	private final Path filePath;
+
+	/** Članska varijabla koja predstavlja model u koji se dodaju vrijednosti */
+	private final BarChart barChart;
+
+	/**
+	 * Članska varijabla koja predstavlja primjerak razreda
+	 * {@link WatchService} kojim se prate promjene u direktoriju datoteke
+	 */
+	private final WatchService watchService;
+
+	/**
+	 * Članska varijabla koja predstavlja poziciju (u oktetima) do koje je
+	 * datoteka pročitana
+	 */
+	private long offset;
+
+	/**
+	 * Članska varijabla koja predstavlja dio vrijednosti koja još nije do kraja
+	 * zapisana u datoteku
+	 */
+	private final StringBuilder pending;
+
+	/** Članska varijabla koja predstavlja međuspremnik za čitanje */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Članska varijabla koja predstavlja broj redaka zaglavlja koji još nisu
+	 * pročitani do kraja
+	 */
+	private int headerLines;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira je li
+	 * zadnji pročitani znak <code>'\r'</code>
+	 */
+	private boolean afterCarriageReturn;
+
+	/**
+	 * Članska varijabla koja predstavlja identifikator pročitane datoteke
+	 * (primjerice i-čvor) ili <code>null</code> ukoliko ga datotečni sustav ne
+	 * nudi
+	 */
+	private Object fileKey;
+
+	/** Članska varijabla koja predstavlja primatelja pogrešaka pri čitanju */
+	private final Consumer<? super IOException> errorHandler;
+
+	/** Članska varijabla koja predstavlja dretvu unutar koje se prati datoteka */
+	private Thread thread;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Pogreške prilikom
+	 * čitanja ispisuju se na standardni izlaz za pogreške.
+	 *
+	 * @param filePath
+	 *            putanja do datoteke koja se prati
+	 * @param barChart
+	 *            model parsiran iz datoteke <b>filePath</b> u koji se dodaju
+	 *            nove vrijednosti
+	 * @throws IOException
+	 *             ukoliko nije moguće pročitati datoteku ili pratiti njezin
+	 *             direktorij
+	 * @throws NullPointerException
+	 *             ukoliko je bilo koji od parametara <code>null</code>
+	 */
+	public BarChartFileWatcher(Path filePath, BarChart barChart) throws IOException {
+		this(filePath, barChart,
+				e -> System.err.println("Ne mogu pročitati datoteku: " + filePath + " (" + e.getMessage() + ")"));
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
+	 * konstruktora provjerava se postoji li datoteka <b>filePath</b> te se
+	 * registrira praćenje direktorija u kojem se datoteka nalazi. Praćenje
+	 * započinje pozivom metode {@link #start()}, a zaglavlje datoteke
+	 * preskače se prilikom prvog čitanja.
+	 *
+	 * @param filePath
+	 *            putanja do datoteke koja se prati
+	 * @param barChart
+	 *            model parsiran iz datoteke <b>filePath</b> u koji se dodaju
+	 *            nove vrijednosti
+	 * @param errorHandler
+	 *            primatelj pogrešaka prilikom čitanja datoteke. Poziva se
+	 *            unutar dretve za obradu događaja.
+	 * @throws IOException
+	 *             ukoliko nije moguće pročitati datoteku ili pratiti njezin
+	 *             direktorij
+	 * @throws NullPointerException
+	 *             ukoliko je bilo koji od parametara <code>null</code>
+	 */
+	public BarChartFileWatcher(Path filePath, BarChart barChart, Consumer<? super IOException> errorHandler)
+			throws IOException {
+		this.filePath = Objects.requireNonNull(filePath, "Putanja do datoteke ne smije biti null").toAbsolutePath();
+		this.barChart = Objects.requireNonNull(barChart, "Model stupičastog dijagrama ne smije biti null!");
+		this.errorHandler = Objects.requireNonNull(errorHandler, "Primatelj pogrešaka ne smije biti null!");
+		this.pending = new StringBuilder();
+		this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		this.fileKey = Files.readAttributes(this.filePath, BasicFileAttributes.class).fileKey();
+		this.headerLines = HEADER_LINES;
+
+		this.watchService = this.filePath.getFileSystem().newWatchService();
+		this.filePath.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+	}
+
+	/**
+	 * Metoda koja pokreće praćenje datoteke unutar nove pozadinske dretve. Prije
+	 * čekanja na prvu promjenu čita se sav sadržaj koji je već dopisan iza
+	 * zaglavlja.
+	 *
+	 * @throws IllegalStateException
+	 *             ukoliko je praćenje već pokrenuto
+	 */
+	public synchronized void start() {
+		if (thread != null) {
+			throw new IllegalStateException("Praćenje datoteke je već pokrenuto.");
+		}
+		thread = new Thread(this::watch, "BarChartFileWatcher-" + filePath.getFileName());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Pomoćna metoda koja se izvodi unutar dretve praćenja. Metoda čeka na
+	 * promjene unutar direktorija i prilikom svake promjene praćene datoteke
+	 * čita novo dopisani sadržaj. Ukoliko se nakon čitanja nezavršene
+	 * vrijednosti datoteka ne promijeni {@value #FLUSH_DELAY} ms, vrijednost
+	 * se dodaje u model.
+	 */
+	private void watch() {
+		try {
+			readAppended();
+			long lastRead = System.nanoTime();
+			while (true) {
+				long wait = FLUSH_DELAY - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRead);
+				WatchKey key = pending.length() == 0 ? watchService.take()
+						: wait > 0 ? watchService.poll(wait, TimeUnit.MILLISECONDS) : null;
+				if (key == null) {
+					// datoteka se nije mijenjala pa je zadnja vrijednost zapisana
+					List<XYValue> values = new ArrayList<>(1);
+					parsePending(values);
+					publish(values);
+					continue;
+				}
+
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (filePath.getFileName().equals(event.context())) {
+						changed = true;
+					}
+				}
+				if (changed) {
+					readAppended();
+					lastRead = System.nanoTime();
+				}
+				if (!key.reset()) {
+					return;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// praćenje je zaustavljeno
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja čita sadržaj datoteke od pozicije {@link #offset} do
+	 * kraja, parsira sve do kraja zapisane vrijednosti i dodaje ih u model.
+	 * Ukoliko je datoteka skraćena ili zamijenjena, čita se od početka.
+	 * Pogreška prilikom čitanja predaje se primatelju pogrešaka, a vrijednosti
+	 * pročitane prije pogreške dodaju se u model.
+	 */
+	private void readAppended() {
+		List<XYValue> values = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			Object key = Files.readAttributes(filePath, BasicFileAttributes.class).fileKey();
+			if (channel.size() < offset || !Objects.equals(key, fileKey)) {
+				fileKey = key;
+				offset = 0;
+				headerLines = HEADER_LINES;
+				afterCarriageReturn = false;
+				pending.setLength(0);
+			}
+
+			channel.position(offset);
+			while (channel.read(buffer) > 0) {
+				buffer.flip();
+				offset += buffer.remaining();
+				while (buffer.hasRemaining()) {
+					// vrijednosti se sastoje isključivo od ASCII znakova
+					char c = (char) (buffer.get() & 0xFF);
+					if (headerLines > 0) {
+						// zaglavlje čita metoda BarChart.parseFromFile, a "\r\n" završava jedan redak
+						if (c == '\r' || c == '\n' && !afterCarriageReturn) {
+							headerLines--;
+						}
+					} else if (Character.isWhitespace(c)) {
+						parsePending(values);
+					} else {
+						pending.append(c);
+					}
+					afterCarriageReturn = c == '\r';
+				}
+				buffer.clear();
+			}
+		} catch (IOException e) {
+			buffer.clear();
+			SwingUtilities.invokeLater(() -> errorHandler.accept(e));
+		}
+		publish(values);
+	}
+
+	/**
+	 * Pomoćna metoda koja vrijednosti <b>values</b> unutar dretve za obradu
+	 * događaja dodaje u model
+	 *
+	 * @param values
+	 *            vrijednosti koje se dodaju
+	 */
+	private void publish(List<XYValue> values) {
+		if (!values.isEmpty()) {
+			SwingUtilities.invokeLater(() -> barChart.addValues(values));
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja parsira do kraja zapisanu vrijednost iz
+	 * {@link #pending} i dodaje ju u <b>values</b>. Neispravne vrijednosti se
+	 * preskaču.
+	 *
+	 * @param values
+	 *            {@link List} u koju se dodaje parsirana vrijednost
+	 */
+	private void parsePending(List<XYValue> values) {
+		if (pending.length() == 0) {
+			return;
+		}
+		try {
+			values.add(XYValue.parse(pending.toString()));
+		} catch (IllegalArgumentException e) {
+			// preskoči neispravnu vrijednost
+		}
+		pending.setLength(0);
+	}
+
+	/**
+	 * Metoda koja zaustavlja praćenje datoteke.
+	 *
+	 * @throws IOException
+	 *             ukoliko se dogodila pogreška prilikom zatvaranja
+	 *             {@link WatchService}
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		watchService.close();
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+}
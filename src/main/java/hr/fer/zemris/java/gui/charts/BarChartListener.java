@@ -0,0 +1,27 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * Sučelje koje predstavlja promatrača nad modelom {@link BarChart}. Promatrač
+ * se obavještava svaki puta kada se u model dodaju nove vrijednosti. Korisnik
+ * se upućuje na teoriju oblikovnog obrasca
+ * <a href = "https://en.wikipedia.org/wiki/Observer_pattern">promatrač</a>
+ * 
+ * @see BarChart
+ * 
+ * @author Davor Češljaš
+ */
+@FunctionalInterface
+public interface BarChartListener {
+
+	/**
+	 * Metoda koja se poziva kada su u model <b>source</b> dodane nove
+	 * vrijednosti. Sve vrijednosti od pozicije <b>firstChanged</b> do kraja
+	 * modela su nove ili su promijenile svoju poziciju.
+	 *
+	 * @param source
+	 *            model u koji su dodane vrijednosti
+	 * @param firstChanged
+	 *            prva pozicija od koje su se vrijednosti promijenile
+	 */
+	void valuesAdded(BarChart source, int firstChanged);
+}
@@ -0,0 +1,104 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Razred koji predstavlja program koji mjeri prosječno vrijeme iscrtavanja
+ * jednog okvira komponente {@link BarChartComponent} za svaki profil
+ * {@link RenderingProfile}. Komponenta se iscrtava u primjerak razreda
+ * {@link BufferedImage} bez prikazivanja prozora, pa se program može pokrenuti
+ * i bez grafičkog okruženja (<code>-Djava.awt.headless=true</code>). Za
+ * svaki profil ispisuje se i udio pojedine faze iscrtavanja prikupljen
+ * razredom {@link ChartMetrics}.
+ *
+ * @see RenderingProfile
+ * @see BarChartComponent
+ *
+ * @author Davor Češljaš
+ */
+public class BarChartRenderingBenchmark {
+
+	/** Konstanta koja predstavlja zadani broj stupaca dijagrama */
+	private static final int DEFAULT_BARS = 2_000;
+
+	/** Konstanta koja predstavlja širinu slike u pikselima */
+	private static final int WIDTH = 1920;
+
+	/** Konstanta koja predstavlja visinu slike u pikselima */
+	private static final int HEIGHT = 1080;
+
+	/** Konstanta koja predstavlja broj okvira za zagrijavanje */
+	private static final int WARMUP_FRAMES = 20;
+
+	/** Konstanta koja predstavlja broj mjerenih okvira */
+	private static final int MEASURED_FRAMES = 50;
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja broj stupaca dijagrama (zadano
+	 *            {@value #DEFAULT_BARS})
+	 */
+	public static void main(String[] args) {
+		int bars = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BARS;
+
+		Random random = new Random(42);
+		List<XYValue> values = new ArrayList<>(bars);
+		for (int i = 0; i < bars; i++) {
+			values.add(new XYValue(i, random.nextInt(1000)));
+		}
+
+		BarChartComponent component = new BarChartComponent(
+				new BarChart(values, "x", "Frequency", 0, 1000, 100));
+		component.setSize(WIDTH, HEIGHT);
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+		ChartMetrics metrics = new ChartMetrics();
+		component.addPaintListener(metrics);
+
+		System.out.printf("Stupaca: %d, slika %dx%d%n", bars, WIDTH, HEIGHT);
+		for (RenderingProfile profile : RenderingProfile.values()) {
+			component.setRenderingProfile(profile);
+			renderFrames(component, image, WARMUP_FRAMES);
+			metrics.reset();
+
+			long start = System.nanoTime();
+			renderFrames(component, image, MEASURED_FRAMES);
+			double millisPerFrame = (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES;
+
+			System.out.printf("%-8s %10.3f ms/okvir (p50 %.3f ms, p99 %.3f ms)%n", profile, millisPerFrame,
+					metrics.getP50FrameNanos() / 1e6, metrics.getP99FrameNanos() / 1e6);
+			System.out.printf("         ishodište %.3f ms, x-os %.3f ms, y-os %.3f ms, dijagram %.3f ms%n",
+					metrics.getOriginNanos() / 1e6 / MEASURED_FRAMES, metrics.getXAxisNanos() / 1e6 / MEASURED_FRAMES,
+					metrics.getYAxisNanos() / 1e6 / MEASURED_FRAMES, metrics.getDiagramNanos() / 1e6 / MEASURED_FRAMES);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja <b>frames</b> puta iscrtava komponentu
+	 * <b>component</b> u sliku <b>image</b>
+	 *
+	 * @param component
+	 *            komponenta koja se iscrtava
+	 * @param image
+	 *            slika u koju se iscrtava
+	 * @param frames
+	 *            broj iscrtavanja
+	 */
+	private static void renderFrames(BarChartComponent component, BufferedImage image, int frames) {
+		for (int i = 0; i < frames; i++) {
+			Graphics2D g2 = image.createGraphics();
+			try {
+				component.paint(g2);
+			} finally {
+				g2.dispose();
+			}
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Razred koji prikuplja statistiku iscrtavanja komponente
+ * {@link BarChartComponent}. Razred implementira sučelje {@link PaintListener}
+ * pa ga je dovoljno registrirati metodom
+ * {@link BarChartComponent#addPaintListener(PaintListener)}. Trajanja okvira
+ * bilježe se u primjerak razreda {@link FrameTimeHistogram}, a trajanja faza,
+ * broj nacrtanih stupaca i broj izmjerenih natpisa se zbrajaju. Prikupljena
+ * statistika može se izložiti kroz JMX metodom {@link #register(String)}.
+ *
+ * @see ChartMetricsMBean
+ * @see FrameTimeHistogram
+ *
+ * @author Davor Češljaš
+ */
+public class ChartMetrics implements ChartMetricsMBean, PaintListener {
+
+	/** Konstanta koja predstavlja JMX domenu pod kojom se registrira MBean */
+	private static final String DOMAIN = "hr.fer.zemris.java.gui.charts";
+
+	/** Članska varijabla koja predstavlja histogram trajanja okvira */
+	private final FrameTimeHistogram frameTimes;
+
+	/**
+	 * Članska varijabla koja predstavlja ukupno trajanje svake faze,
+	 * indeksirano s {@link PaintPhase#ordinal()}
+	 */
+	private final long[] phaseNanos;
+
+	/** Članska varijabla koja predstavlja ukupan broj nacrtanih stupaca */
+	private long barsDrawn;
+
+	/** Članska varijabla koja predstavlja ukupan broj izmjerenih natpisa */
+	private long labelsMeasured;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
+	 * konstruktora stvara se prazan histogram trajanja okvira.
+	 */
+	public ChartMetrics() {
+		frameTimes = new FrameTimeHistogram();
+		phaseNanos = new long[PaintPhase.values().length];
+	}
+
+	@Override
+	public synchronized void framePainted(FrameStatistics statistics) {
+		frameTimes.record(statistics.getFrameNanos());
+		for (PaintPhase phase : PaintPhase.values()) {
+			phaseNanos[phase.ordinal()] += statistics.getPhaseNanos(phase);
+		}
+		barsDrawn += statistics.getBarsDrawn();
+		labelsMeasured += statistics.getLabelsMeasured();
+	}
+
+	/**
+	 * Metoda koja registrira primjerak ovog razreda na platformski
+	 * {@link javax.management.MBeanServer} pod imenom
+	 * <code>hr.fer.zemris.java.gui.charts:type=ChartMetrics,name=</code><b>name</b>
+	 *
+	 * @param name
+	 *            ime pod kojim se registrira primjerak ovog razreda
+	 * @return ime pod kojim je primjerak ovog razreda registriran
+	 * @throws JMException
+	 *             ukoliko registracija nije uspjela (primjerice jer je ime već
+	 *             zauzeto)
+	 */
+	public ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName(DOMAIN + ":type=ChartMetrics,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		return objectName;
+	}
+
+	/**
+	 * Metoda koja dohvaća histogram trajanja okvira
+	 *
+	 * @return histogram trajanja okvira
+	 */
+	public FrameTimeHistogram getFrameTimes() {
+		return frameTimes;
+	}
+
+	@Override
+	public long getFrameCount() {
+		return frameTimes.getTotalCount();
+	}
+
+	@Override
+	public double getMeanFrameNanos() {
+		return frameTimes.getMean();
+	}
+
+	@Override
+	public long getP50FrameNanos() {
+		return frameTimes.getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getP99FrameNanos() {
+		return frameTimes.getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getMaxFrameNanos() {
+		return frameTimes.getMax();
+	}
+
+	@Override
+	public synchronized long getOriginNanos() {
+		return phaseNanos[PaintPhase.ORIGIN.ordinal()];
+	}
+
+	@Override
+	public synchronized long getXAxisNanos() {
+		return phaseNanos[PaintPhase.X_AXIS.ordinal()];
+	}
+
+	@Override
+	public synchronized long getYAxisNanos() {
+		return phaseNanos[PaintPhase.Y_AXIS.ordinal()];
+	}
+
+	@Override
+	public synchronized long getDiagramNanos() {
+		return phaseNanos[PaintPhase.DIAGRAM.ordinal()];
+	}
+
+	@Override
+	public synchronized long getBarsDrawn() {
+		return barsDrawn;
+	}
+
+	@Override
+	public synchronized long getLabelsMeasured() {
+		return labelsMeasured;
+	}
+
+	@Override
+	public synchronized void reset() {
+		frameTimes.reset();
+		for (int i = 0; i < phaseNanos.length; i++) {
+			phaseNanos[i] = 0;
+		}
+		barsDrawn = 0;
+		labelsMeasured = 0;
+	}
+}
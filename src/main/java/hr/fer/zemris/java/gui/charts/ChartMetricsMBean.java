@@ -0,0 +1,94 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * Sučelje koje predstavlja standardni JMX MBean razreda {@link ChartMetrics}.
+ * Sva trajanja izražena su u nanosekundama.
+ *
+ * @see ChartMetrics
+ *
+ * @author Davor Češljaš
+ */
+public interface ChartMetricsMBean {
+
+	/**
+	 * Metoda koja dohvaća broj iscrtanih okvira
+	 *
+	 * @return broj iscrtanih okvira
+	 */
+	long getFrameCount();
+
+	/**
+	 * Metoda koja dohvaća prosječno trajanje iscrtavanja jednog okvira
+	 *
+	 * @return prosječno trajanje iscrtavanja jednog okvira
+	 */
+	double getMeanFrameNanos();
+
+	/**
+	 * Metoda koja dohvaća medijan trajanja iscrtavanja jednog okvira
+	 *
+	 * @return medijan trajanja iscrtavanja jednog okvira
+	 */
+	long getP50FrameNanos();
+
+	/**
+	 * Metoda koja dohvaća 99. percentil trajanja iscrtavanja jednog okvira
+	 *
+	 * @return 99. percentil trajanja iscrtavanja jednog okvira
+	 */
+	long getP99FrameNanos();
+
+	/**
+	 * Metoda koja dohvaća najdulje trajanje iscrtavanja jednog okvira
+	 *
+	 * @return najdulje trajanje iscrtavanja jednog okvira
+	 */
+	long getMaxFrameNanos();
+
+	/**
+	 * Metoda koja dohvaća ukupno trajanje faze {@link PaintPhase#ORIGIN}
+	 *
+	 * @return ukupno trajanje faze {@link PaintPhase#ORIGIN}
+	 */
+	long getOriginNanos();
+
+	/**
+	 * Metoda koja dohvaća ukupno trajanje faze {@link PaintPhase#X_AXIS}
+	 *
+	 * @return ukupno trajanje faze {@link PaintPhase#X_AXIS}
+	 */
+	long getXAxisNanos();
+
+	/**
+	 * Metoda koja dohvaća ukupno trajanje faze {@link PaintPhase#Y_AXIS}
+	 *
+	 * @return ukupno trajanje faze {@link PaintPhase#Y_AXIS}
+	 */
+	long getYAxisNanos();
+
+	/**
+	 * Metoda koja dohvaća ukupno trajanje faze {@link PaintPhase#DIAGRAM}
+	 *
+	 * @return ukupno trajanje faze {@link PaintPhase#DIAGRAM}
+	 */
+	long getDiagramNanos();
+
+	/**
+	 * Metoda koja dohvaća ukupan broj nacrtanih stupaca
+	 *
+	 * @return ukupan broj nacrtanih stupaca
+	 */
+	long getBarsDrawn();
+
+	/**
+	 * Metoda koja dohvaća ukupan broj izmjerenih natpisa
+	 *
+	 * @return ukupan broj izmjerenih natpisa
+	 */
+	long getLabelsMeasured();
+
+	/**
+	 * Metoda koja briše sve prikupljene podatke
+	 */
+	void reset();
+}
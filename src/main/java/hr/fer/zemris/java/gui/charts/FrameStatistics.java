@@ -0,0 +1,102 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.util.Arrays;
+
+/**
+ * Razred koji predstavlja statistiku jednog iscrtavanja (okvira) komponente
+ * {@link BarChartComponent}. Statistika sadrži trajanje svake faze
+ * {@link PaintPhase} u nanosekundama, ukupno trajanje iscrtavanja, broj
+ * nacrtanih stupaca i broj izmjerenih natpisa (poziva
+ * {@link java.awt.FontMetrics#stringWidth(String)}). Razred je nepromijenjiv.
+ *
+ * @see PaintListener
+ *
+ * @author Davor Češljaš
+ */
+public class FrameStatistics {
+
+	/**
+	 * Članska varijabla koja predstavlja trajanje svake faze u nanosekundama,
+	 * indeksirano s {@link PaintPhase#ordinal()}
+	 */
+	private final long[] phaseNanos;
+
+	/** Članska varijabla koja predstavlja ukupno trajanje u nanosekundama */
+	private final long frameNanos;
+
+	/** Članska varijabla koja predstavlja broj nacrtanih stupaca */
+	private final int barsDrawn;
+
+	/** Članska varijabla koja predstavlja broj izmjerenih natpisa */
+	private final int labelsMeasured;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
+	 * konstruktora pohranjuje se kopija polja <b>phaseNanos</b> te ostali
+	 * predani parametri.
+	 *
+	 * @param phaseNanos
+	 *            trajanje svake faze u nanosekundama, indeksirano s
+	 *            {@link PaintPhase#ordinal()}
+	 * @param frameNanos
+	 *            ukupno trajanje iscrtavanja u nanosekundama
+	 * @param barsDrawn
+	 *            broj nacrtanih stupaca
+	 * @param labelsMeasured
+	 *            broj izmjerenih natpisa
+	 */
+	public FrameStatistics(long[] phaseNanos, long frameNanos, int barsDrawn, int labelsMeasured) {
+		this.phaseNanos = Arrays.copyOf(phaseNanos, PaintPhase.values().length);
+		this.frameNanos = frameNanos;
+		this.barsDrawn = barsDrawn;
+		this.labelsMeasured = labelsMeasured;
+	}
+
+	/**
+	 * Metoda koja dohvaća trajanje faze <b>phase</b> u nanosekundama
+	 *
+	 * @param phase
+	 *            faza čije se trajanje dohvaća
+	 * @return trajanje faze <b>phase</b> u nanosekundama
+	 */
+	public long getPhaseNanos(PaintPhase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Metoda koja dohvaća ukupno trajanje iscrtavanja u nanosekundama
+	 *
+	 * @return ukupno trajanje iscrtavanja u nanosekundama
+	 */
+	public long getFrameNanos() {
+		return frameNanos;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj nacrtanih stupaca
+	 *
+	 * @return broj nacrtanih stupaca
+	 */
+	public int getBarsDrawn() {
+		return barsDrawn;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj izmjerenih natpisa
+	 *
+	 * @return broj izmjerenih natpisa
+	 */
+	public int getLabelsMeasured() {
+		return labelsMeasured;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("FrameStatistics [frameNanos=").append(frameNanos);
+		for (PaintPhase phase : PaintPhase.values()) {
+			sb.append(", ").append(phase).append('=').append(getPhaseNanos(phase));
+		}
+		return sb.append(", barsDrawn=").append(barsDrawn).append(", labelsMeasured=").append(labelsMeasured)
+				.append("]").toString();
+	}
+}
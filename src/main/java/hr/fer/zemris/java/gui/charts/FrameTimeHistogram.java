@@ -0,0 +1,176 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.util.Arrays;
+
+/**
+ * Razred koji predstavlja histogram trajanja iscrtavanja u nanosekundama po
+ * uzoru na <a href = "http://hdrhistogram.org/">HdrHistogram</a>. Vrijednosti
+ * manje od {@value #SUB_BUCKETS} pohranjuju se točno, a veće vrijednosti u
+ * razrede čija širina raste s potencijom broja 2, pri čemu se svaka potencija
+ * dijeli na {@value #SUB_BUCKETS} jednakih razreda. Relativna pogreška
+ * pohranjene vrijednosti zato nikada nije veća od 1/{@value #SUB_BUCKETS}, a
+ * histogram zauzima fiksnu količinu memorije za sve vrijednosti tipa
+ * <code>long</code>.
+ * <p>
+ * Sve metode su sinkronizirane jer se vrijednosti bilježe iz dretve koja
+ * iscrtava, a čitaju iz proizvoljne dretve (primjerice kroz JMX).
+ * </p>
+ *
+ * @see ChartMetrics
+ *
+ * @author Davor Češljaš
+ */
+public class FrameTimeHistogram {
+
+	/**
+	 * Konstanta koja predstavlja broj bitova kojima se određuje razred unutar
+	 * jedne potencije broja 2
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	/**
+	 * Konstanta koja predstavlja broj razreda unutar jedne potencije broja 2
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Članska varijabla koja predstavlja brojače svih razreda */
+	private final long[] counts;
+
+	/** Članska varijabla koja predstavlja broj zabilježenih vrijednosti */
+	private long totalCount;
+
+	/** Članska varijabla koja predstavlja zbroj zabilježenih vrijednosti */
+	private long sum;
+
+	/** Članska varijabla koja predstavlja najveću zabilježenu vrijednost */
+	private long max;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
+	 * konstruktora stvara se polje brojača za sve vrijednosti tipa
+	 * <code>long</code>
+	 */
+	public FrameTimeHistogram() {
+		counts = new long[SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+	}
+
+	/**
+	 * Metoda koja bilježi vrijednost <b>nanos</b>. Negativne vrijednosti
+	 * bilježe se kao 0.
+	 *
+	 * @param nanos
+	 *            vrijednost koja se bilježi
+	 */
+	public synchronized void record(long nanos) {
+		nanos = Math.max(0, nanos);
+		counts[indexOf(nanos)]++;
+		totalCount++;
+		sum += nanos;
+		max = Math.max(max, nanos);
+	}
+
+	/**
+	 * Pomoćna metoda koja računa indeks razreda u koji pripada vrijednost
+	 * <b>value</b>
+	 *
+	 * @param value
+	 *            nenegativna vrijednost
+	 * @return indeks razreda
+	 */
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa najveću vrijednost koja pripada razredu s
+	 * indeksom <b>index</b>
+	 *
+	 * @param index
+	 *            indeks razreda
+	 * @return najveću vrijednost koja pripada razredu
+	 */
+	private static long highestValueOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		long subBucket = SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS;
+		return (subBucket << shift) + (1L << shift) - 1;
+	}
+
+	/**
+	 * Metoda koja dohvaća vrijednost ispod koje (uključivo) se nalazi
+	 * <b>percentile</b> posto zabilježenih vrijednosti. Vraćena vrijednost je
+	 * gornja granica pripadnog razreda, ali nikada nije veća od najveće
+	 * zabilježene vrijednosti.
+	 *
+	 * @param percentile
+	 *            postotak unutar [0, 100]
+	 * @return vrijednost pripadnog percentila ili 0 ukoliko nije zabilježena
+	 *         niti jedna vrijednost
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko <b>percentile</b> nije unutar [0, 100]
+	 */
+	public synchronized long getValueAtPercentile(double percentile) {
+		if (!(percentile >= 0 && percentile <= 100)) {
+			throw new IllegalArgumentException("Postotak mora biti unutar [0, 100]. Vi ste predali: " + percentile);
+		}
+		if (totalCount == 0) {
+			return 0;
+		}
+
+		long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= countAtPercentile) {
+				return Math.min(highestValueOf(i), max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj zabilježenih vrijednosti
+	 *
+	 * @return broj zabilježenih vrijednosti
+	 */
+	public synchronized long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća prosjek zabilježenih vrijednosti
+	 *
+	 * @return prosjek zabilježenih vrijednosti ili 0 ukoliko nije zabilježena
+	 *         niti jedna vrijednost
+	 */
+	public synchronized double getMean() {
+		return totalCount == 0 ? 0 : (double) sum / totalCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća najveću zabilježenu vrijednost
+	 *
+	 * @return najveću zabilježenu vrijednost
+	 */
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/**
+	 * Metoda koja briše sve zabilježene vrijednosti
+	 */
+	public synchronized void reset() {
+		Arrays.fill(counts, 0);
+		totalCount = 0;
+		sum = 0;
+		max = 0;
+	}
+}
@@ -0,0 +1,452 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Razred koji predstavlja histogram koji se gradi iz toka brojčanih uzoraka.
+ * Uzorci se ne pohranjuju, već se za svaki uzorak samo povećava brojač
+ * pripadnog razreda (engl. bin). Razred <i>i</i> pokriva interval
+ * <code>[origin + i * binWidth, origin + (i + 1) * binWidth)</code>.
+ * <p>
+ * Histogram može imati fiksnu širinu razreda (metoda
+ * {@link #fixed(double, double)}) ili prilagodljivu širinu razreda (metoda
+ * {@link #adaptive(double, double, int)}). Kod prilagodljive širine, kada broj
+ * razreda potreban za pokrivanje svih uzoraka premaši zadani najveći broj
+ * razreda, širina se udvostručuje, a susjedni razredi se spajaju.
+ * </p>
+ * <p>
+ * Primjerci ovog razreda nisu sigurni za korištenje iz više dretvi, ali se
+ * djelomični histogrami izgrađeni nad dijelovima toka mogu spojiti metodom
+ * {@link #merge(Histogram)}. Zbog toga se histogram može graditi paralelno
+ * metodom {@link DoubleStream#collect(java.util.function.Supplier,
+ * java.util.function.ObjDoubleConsumer, java.util.function.BiConsumer)}, kao
+ * što to radi {@link BarChart#fromSamples(DoubleStream,
+ * java.util.function.Supplier, String, String)}.
+ * </p>
+ *
+ * @see BarChart
+ *
+ * @author Davor Češljaš
+ */
+public class Histogram implements DoubleConsumer {
+
+	/**
+	 * Konstanta koja predstavlja najveći broj razreda histograma s fiksnom
+	 * širinom razreda
+	 */
+	private static final int MAX_FIXED_BINS = 1 << 24;
+
+	/** Konstanta koja predstavlja početni kapacitet polja brojača */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** Članska varijabla koja predstavlja početak razreda s indeksom 0 */
+	private final double origin;
+
+	/** Članska varijabla koja predstavlja širinu jednog razreda */
+	private double binWidth;
+
+	/**
+	 * Članska varijabla koja predstavlja najveći broj razreda ili 0 ukoliko je
+	 * širina razreda fiksna
+	 */
+	private final int maxBins;
+
+	/**
+	 * Članska varijabla koja predstavlja polje brojača. Brojač na poziciji
+	 * <i>i</i> pripada razredu s indeksom {@link #base} + <i>i</i>
+	 */
+	private long[] counts;
+
+	/**
+	 * Članska varijabla koja predstavlja indeks razreda čiji je brojač na
+	 * poziciji 0 unutar {@link #counts}
+	 */
+	private long base;
+
+	/** Članska varijabla koja predstavlja najmanji indeks nepraznog razreda */
+	private long minBin;
+
+	/** Članska varijabla koja predstavlja najveći indeks nepraznog razreda */
+	private long maxBin;
+
+	/** Članska varijabla koja predstavlja ukupan broj uzoraka */
+	private long total;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Korisnik
+	 * primjerke stvara metodama {@link #fixed(double, double)} i
+	 * {@link #adaptive(double, double, int)}
+	 *
+	 * @param origin
+	 *            početak razreda s indeksom 0
+	 * @param binWidth
+	 *            širina jednog razreda
+	 * @param maxBins
+	 *            najveći broj razreda ili 0 ukoliko je širina razreda fiksna
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko <b>origin</b> nije konačan broj ili
+	 *             <b>binWidth</b> nije pozitivan konačan broj
+	 */
+	private Histogram(double origin, double binWidth, int maxBins) {
+		if (!Double.isFinite(origin)) {
+			throw new IllegalArgumentException("Početak histograma mora biti konačan broj. Vi ste predali: " + origin);
+		}
+		if (!(binWidth > 0) || Double.isInfinite(binWidth)) {
+			throw new IllegalArgumentException(
+					"Širina razreda mora biti pozitivan konačan broj. Vi ste predali: " + binWidth);
+		}
+		this.origin = origin;
+		this.binWidth = binWidth;
+		this.maxBins = maxBins;
+		this.counts = new long[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Statička metoda koja stvara novi prazan histogram s fiksnom širinom
+	 * razreda. Broj razreda ograničen je na {@value #MAX_FIXED_BINS}.
+	 *
+	 * @param origin
+	 *            početak razreda s indeksom 0
+	 * @param binWidth
+	 *            širina jednog razreda
+	 * @return novi prazan histogram s fiksnom širinom razreda
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko <b>origin</b> nije konačan broj ili
+	 *             <b>binWidth</b> nije pozitivan konačan broj
+	 */
+	public static Histogram fixed(double origin, double binWidth) {
+		return new Histogram(origin, binWidth, 0);
+	}
+
+	/**
+	 * Statička metoda koja stvara novi prazan histogram s prilagodljivom
+	 * širinom razreda. Histogram nikada neće imati više od <b>maxBins</b>
+	 * razreda, a širina razreda uvijek je <b>initialBinWidth</b> pomnožena s
+	 * potencijom broja 2.
+	 *
+	 * @param origin
+	 *            početak razreda s indeksom 0
+	 * @param initialBinWidth
+	 *            početna širina jednog razreda
+	 * @param maxBins
+	 *            najveći broj razreda
+	 * @return novi prazan histogram s prilagodljivom širinom razreda
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko <b>origin</b> nije konačan broj,
+	 *             <b>initialBinWidth</b> nije pozitivan konačan broj ili je
+	 *             <b>maxBins</b> manji od 2
+	 */
+	public static Histogram adaptive(double origin, double initialBinWidth, int maxBins) {
+		if (maxBins < 2) {
+			throw new IllegalArgumentException("Najveći broj razreda mora biti barem 2. Vi ste predali: " + maxBins);
+		}
+		return new Histogram(origin, initialBinWidth, maxBins);
+	}
+
+	/**
+	 * Metoda koja dodaje uzorak <b>sample</b> u histogram.
+	 *
+	 * @param sample
+	 *            uzorak koji se dodaje
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko <b>sample</b> nije konačan broj ili ukoliko bi
+	 *             histogram s fiksnom širinom razreda trebao imati više od
+	 *             {@value #MAX_FIXED_BINS} razreda
+	 */
+	@Override
+	public void accept(double sample) {
+		if (!Double.isFinite(sample)) {
+			throw new IllegalArgumentException("Uzorak mora biti konačan broj. Vi ste predali: " + sample);
+		}
+		add((long) Math.floor((sample - origin) / binWidth), 1);
+	}
+
+	/**
+	 * Metoda koja u ovaj histogram dodaje sve brojače histograma <b>other</b>.
+	 * Oba histograma moraju imati isti početak, a širine njihovih razreda
+	 * moraju se razlikovati za potenciju broja 2. Histogram s užim razredima
+	 * prethodno se proširuje.
+	 *
+	 * @param other
+	 *            histogram koji se spaja s ovim histogramom
+	 * @return ovaj histogram
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko histogrami nemaju isti početak ili se širine njihovih
+	 *             razreda ne razlikuju za potenciju broja 2
+	 */
+	public Histogram merge(Histogram other) {
+		if (Double.compare(origin, other.origin) != 0) {
+			throw new IllegalArgumentException("Histogrami moraju imati isti početak.");
+		}
+
+		// provjera prije bilo kakve promjene ovog histograma
+		int shift = 0;
+		double width = other.binWidth;
+		while (width < binWidth) {
+			width *= 2;
+			shift++;
+		}
+		int coarsenings = 0;
+		double ownWidth = binWidth;
+		while (ownWidth < width) {
+			ownWidth *= 2;
+			coarsenings++;
+		}
+		if (Double.compare(width, ownWidth) != 0) {
+			throw new IllegalArgumentException("Širine razreda histograma moraju se razlikovati za potenciju broja 2.");
+		}
+		if (coarsenings > 0 && maxBins == 0) {
+			throw new IllegalArgumentException("Histogram s fiksnom širinom razreda ne može se proširiti.");
+		}
+
+		for (int i = 0; i < coarsenings; i++) {
+			coarsen();
+		}
+
+		if (other.total == 0) {
+			return this;
+		}
+		for (long bin = other.minBin; bin <= other.maxBin; bin++) {
+			long count = other.counts[(int) (bin - other.base)];
+			if (count != 0) {
+				add(bin >> shift, count);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Pomoćna metoda koja povećava brojač razreda s indeksom <b>bin</b> za
+	 * <b>count</b>. Ukoliko je širina razreda prilagodljiva, a histogram bi
+	 * trebao imati više od {@link #maxBins} razreda, razredi se prethodno
+	 * proširuju.
+	 *
+	 * @param bin
+	 *            indeks razreda
+	 * @param count
+	 *            vrijednost za koju se povećava brojač
+	 */
+	private void add(long bin, long count) {
+		if (maxBins != 0 && total != 0) {
+			while (Math.max(bin, maxBin) - Math.min(bin, minBin) >= maxBins) {
+				coarsen();
+				bin >>= 1;
+			}
+		}
+		ensureBin(bin);
+
+		counts[(int) (bin - base)] += count;
+		total += count;
+	}
+
+	/**
+	 * Pomoćna metoda koja osigurava da polje {@link #counts} sadrži brojač za
+	 * razred s indeksom <b>bin</b> te osvježava {@link #minBin} i
+	 * {@link #maxBin}
+	 *
+	 * @param bin
+	 *            indeks razreda
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko bi histogram trebao imati više od
+	 *             {@value #MAX_FIXED_BINS} razreda
+	 */
+	private void ensureBin(long bin) {
+		if (total == 0) {
+			base = bin - counts.length / 2;
+			minBin = maxBin = bin;
+			return;
+		}
+
+		long newMin = Math.min(bin, minBin);
+		long newMax = Math.max(bin, maxBin);
+		if (newMax - newMin >= MAX_FIXED_BINS) {
+			throw new IllegalArgumentException("Histogram bi imao previše razreda: " + (newMax - newMin + 1));
+		}
+		if (newMin < base || newMax >= base + counts.length) {
+			int capacity = (int) Math.min(MAX_FIXED_BINS, Math.max(2L * counts.length, newMax - newMin + 1));
+			// ostavi slobodno mjesto na strani na kojoj histogram raste
+			long newBase = bin < minBin ? newMax - capacity + 1 : newMin;
+			long[] newCounts = new long[capacity];
+			System.arraycopy(counts, (int) (minBin - base), newCounts, (int) (minBin - newBase),
+					(int) (maxBin - minBin + 1));
+			counts = newCounts;
+			base = newBase;
+		}
+		minBin = newMin;
+		maxBin = newMax;
+	}
+
+	/**
+	 * Pomoćna metoda koja udvostručuje širinu razreda i spaja svaka dva
+	 * susjedna razreda u jedan.
+	 */
+	private void coarsen() {
+		binWidth *= 2;
+		if (total == 0) {
+			return;
+		}
+
+		long newMin = minBin >> 1;
+		long newMax = maxBin >> 1;
+		long[] newCounts = new long[counts.length];
+		long newBase = newMin - (newCounts.length - (newMax - newMin + 1)) / 2;
+		for (long bin = minBin; bin <= maxBin; bin++) {
+			newCounts[(int) ((bin >> 1) - newBase)] += counts[(int) (bin - base)];
+		}
+		counts = newCounts;
+		base = newBase;
+		minBin = newMin;
+		maxBin = newMax;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj razreda od najmanjeg do najvećeg nepraznog
+	 * razreda (uključujući prazne razrede između njih)
+	 *
+	 * @return broj razreda
+	 */
+	public int getBinCount() {
+		return total == 0 ? 0 : (int) (maxBin - minBin + 1);
+	}
+
+	/**
+	 * Metoda koja dohvaća početak <b>index</b>-tog razreda, gdje je razred s
+	 * pozicijom 0 najmanji neprazni razred
+	 *
+	 * @param index
+	 *            pozicija razreda unutar [0, {@link #getBinCount()})
+	 * @return početak razreda
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar [0, {@link #getBinCount()})
+	 */
+	public double getBinStart(int index) {
+		checkIndex(index);
+		return origin + (minBin + index) * binWidth;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj uzoraka u <b>index</b>-tom razredu, gdje je
+	 * razred s pozicijom 0 najmanji neprazni razred
+	 *
+	 * @param index
+	 *            pozicija razreda unutar [0, {@link #getBinCount()})
+	 * @return broj uzoraka u razredu
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar [0, {@link #getBinCount()})
+	 */
+	public long getCount(int index) {
+		checkIndex(index);
+		return counts[(int) (minBin - base) + index];
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li <b>index</b> unutar [0,
+	 * {@link #getBinCount()})
+	 *
+	 * @param index
+	 *            pozicija koja se provjerava
+	 * @throws IndexOutOfBoundsException
+	 *             ukoliko <b>index</b> nije unutar [0, {@link #getBinCount()})
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= getBinCount()) {
+			throw new IndexOutOfBoundsException(
+					"Pozicija mora biti unutar [0, " + getBinCount() + "). Predali ste: " + index);
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća trenutnu širinu jednog razreda
+	 *
+	 * @return trenutnu širinu jednog razreda
+	 */
+	public double getBinWidth() {
+		return binWidth;
+	}
+
+	/**
+	 * Metoda koja dohvaća ukupan broj uzoraka
+	 *
+	 * @return ukupan broj uzoraka
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Metoda koja iz ovog histograma stvara novi primjerak razreda
+	 * {@link BarChart}. Svaki razred postaje jedan stupac čija je x koordinata
+	 * početak razreda zaokružen na manji cijeli broj, a y koordinata broj
+	 * uzoraka u razredu. Susjedni razredi čiji se počeci zaokružuju na isti
+	 * broj (kada je širina razreda manja od 1) spajaju se u jedan stupac s
+	 * zbrojem njihovih uzoraka. Y-os kreće od 0, a razmak na y-osi bira se
+	 * tako da os ima desetak oznaka.
+	 *
+	 * @param xDescription
+	 *            opis uz x-os
+	 * @param yDescription
+	 *            opis uz y-os
+	 * @return novi primjerak razreda {@link BarChart}
+	 *
+	 * @throws ArithmeticException
+	 *             ukoliko neki stupac ima više od {@link Integer#MAX_VALUE}
+	 *             uzoraka
+	 */
+	public BarChart toBarChart(String xDescription, String yDescription) {
+		int binCount = getBinCount();
+		List<XYValue> values = new ArrayList<>(binCount);
+		int yMax = 0;
+		for (int i = 0; i < binCount; i++) {
+			int x = (int) Math.floor(getBinStart(i));
+			int count = Math.toIntExact(getCount(i));
+			int last = values.size() - 1;
+			if (last >= 0 && values.get(last).getX() == x) {
+				count = Math.addExact(values.remove(last).getY(), count);
+			}
+			values.add(new XYValue(x, count));
+			yMax = Math.max(yMax, count);
+		}
+
+		return new BarChart(values, xDescription, yDescription, 0, Math.max(yMax, 1), niceStep(yMax));
+	}
+
+	/**
+	 * Pomoćna metoda koja bira razmak na y-osi oblika 1, 2 ili 5 puta
+	 * potencija broja 10 tako da os do <b>max</b> ima najviše desetak oznaka
+	 *
+	 * @param max
+	 *            najveća vrijednost na y-osi
+	 * @return razmak na y-osi
+	 */
+	private static int niceStep(int max) {
+		long step = 1;
+		while (true) {
+			for (int factor : new int[] { 1, 2, 5 }) {
+				if (max / (step * factor) <= 10) {
+					return (int) (step * factor);
+				}
+			}
+			step *= 10;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("Histogram [binWidth=" + binWidth + ", total=" + total + ", counts=");
+		sb.append(total == 0 ? "[]"
+				: Arrays.toString(Arrays.copyOfRange(counts, (int) (minBin - base), (int) (maxBin - base + 1))));
+		return sb.append("]").toString();
+	}
+}
@@ -0,0 +1,26 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * Sučelje koje predstavlja promatrača nad iscrtavanjem komponente
+ * {@link BarChartComponent}. Promatrač se obavještava nakon svakog
+ * iscrtavanja komponente. Dok komponenta nema niti jednog promatrača,
+ * vrijeme iscrtavanja se ne mjeri.
+ *
+ * @see BarChartComponent#addPaintListener(PaintListener)
+ * @see FrameStatistics
+ *
+ * @author Davor Češljaš
+ */
+@FunctionalInterface
+public interface PaintListener {
+
+	/**
+	 * Metoda koja se poziva nakon svakog iscrtavanja komponente. Metoda se
+	 * poziva unutar dretve koja je iscrtavala komponentu te bi se trebala
+	 * brzo izvesti.
+	 *
+	 * @param statistics
+	 *            statistika iscrtavanja jednog okvira
+	 */
+	void framePainted(FrameStatistics statistics);
+}
@@ -0,0 +1,26 @@
+package hr.fer.zemris.java.gui.charts;
+
+/**
+ * Enumeracija koja predstavlja faze iscrtavanja komponente
+ * {@link BarChartComponent}. Trajanje svake faze mjeri se zasebno i
+ * dojavljuje promatračima {@link PaintListener} kroz primjerak razreda
+ * {@link FrameStatistics}.
+ *
+ * @see FrameStatistics
+ *
+ * @author Davor Češljaš
+ */
+public enum PaintPhase {
+
+	/** Faza izračuna ishodišta i dimenzija dijagrama */
+	ORIGIN,
+
+	/** Faza crtanja x-osi, opisa uz x-os i vrijednosti uz x-os */
+	X_AXIS,
+
+	/** Faza crtanja y-osi, opisa uz y-os i vrijednosti uz y-os */
+	Y_AXIS,
+
+	/** Faza crtanja stupaca dijagrama */
+	DIAGRAM
+}
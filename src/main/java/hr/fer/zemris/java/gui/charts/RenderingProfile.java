@@ -0,0 +1,80 @@
+package hr.fer.zemris.java.gui.charts;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * Enumeracija koja predstavlja profile iscrtavanja komponente
+ * {@link BarChartComponent}. Svaki profil određuje skup primjeraka razreda
+ * {@link RenderingHints} koji se postavljaju prije iscrtavanja. Profil
+ * {@link #FAST} isključuje svo zaglađivanje rubova i bira najbrže algoritme,
+ * profil {@link #QUALITY} uključuje zaglađivanje rubova i teksta te bira
+ * najkvalitetnije algoritme, dok profil {@link #BALANCED} zaglađuje samo tekst
+ * (stupci i linije dijagrama su poravnati s osima pa zaglađivanje rubova kod
+ * njih nema vidljivog efekta).
+ *
+ * @see BarChartComponent#setRenderingProfile(RenderingProfile)
+ *
+ * @author Davor Češljaš
+ */
+public enum RenderingProfile {
+
+	/** Profil koji bira najbrže iscrtavanje */
+	FAST(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF,
+			RenderingHints.VALUE_RENDER_SPEED, RenderingHints.VALUE_STROKE_NORMALIZE,
+			RenderingHints.VALUE_FRACTIONALMETRICS_OFF),
+
+	/** Profil koji bira kompromis između brzine i kvalitete iscrtavanja */
+	BALANCED(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+			RenderingHints.VALUE_RENDER_DEFAULT, RenderingHints.VALUE_STROKE_NORMALIZE,
+			RenderingHints.VALUE_FRACTIONALMETRICS_OFF),
+
+	/** Profil koji bira najkvalitetnije iscrtavanje */
+	QUALITY(RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+			RenderingHints.VALUE_RENDER_QUALITY, RenderingHints.VALUE_STROKE_PURE,
+			RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+
+	/**
+	 * Članska varijabla koja predstavlja skup primjeraka razreda
+	 * {@link RenderingHints} koji se postavljaju ovim profilom
+	 */
+	private final RenderingHints hints;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ove enumeracije. Unutar
+	 * konstruktora stvara se skup primjeraka razreda {@link RenderingHints} iz
+	 * predanih vrijednosti.
+	 *
+	 * @param antialias
+	 *            vrijednost za {@link RenderingHints#KEY_ANTIALIASING}
+	 * @param textAntialias
+	 *            vrijednost za {@link RenderingHints#KEY_TEXT_ANTIALIASING}
+	 * @param rendering
+	 *            vrijednost za {@link RenderingHints#KEY_RENDERING}
+	 * @param stroke
+	 *            vrijednost za {@link RenderingHints#KEY_STROKE_CONTROL}
+	 * @param fractionalMetrics
+	 *            vrijednost za {@link RenderingHints#KEY_FRACTIONALMETRICS}
+	 */
+	private RenderingProfile(Object antialias, Object textAntialias, Object rendering, Object stroke,
+			Object fractionalMetrics) {
+		hints = new RenderingHints(RenderingHints.KEY_ANTIALIASING, antialias);
+		hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialias);
+		hints.put(RenderingHints.KEY_RENDERING, rendering);
+		hints.put(RenderingHints.KEY_STROKE_CONTROL, stroke);
+		hints.put(RenderingHints.KEY_FRACTIONALMETRICS, fractionalMetrics);
+	}
+
+	/**
+	 * Metoda koja postavlja sve primjerke razreda {@link RenderingHints} ovog
+	 * profila u predani <b>g2</b>. Ostale postavke unutar <b>g2</b> ostaju
+	 * nepromijenjene.
+	 *
+	 * @param g2
+	 *            primjerak razreda {@link Graphics2D} u koji se postavlja
+	 *            profil
+	 */
+	public void apply(Graphics2D g2) {
+		g2.addRenderingHints(hints);
+	}
+}
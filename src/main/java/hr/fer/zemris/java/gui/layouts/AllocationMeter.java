@@ -0,0 +1,60 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Razred koji mjernim programima ovog projekta ({@link CalcLayoutHarness},
+ * {@link RCPositionBenchmark} i mjerenju kalkulatora) mjeri broj bajtova koje
+ * zauzima trenutna dretva. Na virtualnim strojevima koji ne podržavaju mjerenje
+ * zauzeća po dretvi mjerenje se preskače umjesto da se program sruši.
+ *
+ * @author Davor Češljaš
+ */
+public final class AllocationMeter {
+
+	/**
+	 * Konstruktor koji je privatan jer se razred ne instancira.
+	 */
+	private AllocationMeter() {
+	}
+
+	/**
+	 * Metoda koja dohvaća broj bajtova koje je zauzela trenutna dretva
+	 *
+	 * @return broj zauzetih bajtova ili -1 ukoliko virtualni stroj ne
+	 *         podržava mjerenje zauzeća po dretvi
+	 */
+	public static long allocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return -1;
+		}
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		if (!allocations.isThreadAllocatedMemorySupported()) {
+			return -1;
+		}
+		allocations.setThreadAllocatedMemoryEnabled(true);
+		return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Metoda koja formatira broj bajtova zauzetih između mjerenja
+	 * <b>before</b> i <b>after</b> po jednoj od <b>units</b> jedinica
+	 *
+	 * @param before
+	 *            broj zauzetih bajtova prije mjerenja
+	 * @param after
+	 *            broj zauzetih bajtova nakon mjerenja
+	 * @param units
+	 *            broj izmjerenih jedinica
+	 * @return broj bajtova po jedinici ili "n/a" ukoliko se zauzeće ne može
+	 *         mjeriti
+	 */
+	public static String perUnit(long before, long after, long units) {
+		if (before < 0 || after < 0) {
+			return "n/a";
+		}
+		return String.format("%.2f", (double) (after - before) / units);
+	}
+}
@@ -5,9 +5,8 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Insets;
 import java.awt.LayoutManager2;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * Razred koji implementira sučelje {@link LayoutManager2} i sve njegove metode.
@@ -20,6 +19,20 @@ import java.util.function.Function;
  * u rasponu (1-{@value #NUMBER_OF_ROWS}) i stupci u rasponu
  * (1-{@value #NUMBER_OF_COLUMNS}) uz iznimku prvog redka gdje su stupci (2-5)
  * zabranjeni. Komponenta sa položajem (1,1) razvlači se kroz navedene stupce.
+ * <p>
+ * Razred pamti izračunate dimenzije razmještaja (preporučenu, minimalnu i
+ * maksimalnu) sve dok se ne pozove {@link #invalidateLayout(Container)} ili
+ * se ne doda odnosno ukloni komponenta. Razred također pamti izračunate
+ * položaje i veličine redaka i stupaca za zadnju veličinu roditeljske
+ * komponente. Kako ti položaji ne ovise o veličinama komponenti, već samo o
+ * veličini roditelja, ne brišu se pozivom
+ * {@link #invalidateLayout(Container)}.
+ * </p>
+ * <p>
+ * Metodom {@link #setAnimated(boolean)} može se uključiti način rada u kojem
+ * se komponente nakon promjene veličine roditelja postepeno premještaju na
+ * nove granice umjesto da na njih odmah skoče.
+ * </p>
  * 
  * @see LayoutManager2
  * @see RCPosition
@@ -54,16 +67,128 @@ public class CalcLayout implements LayoutManager2 {
 	 * Konstanta koja predstavlja primjerak razreda {@link RCPosition} koji je
 	 * specijalno raspoređen naspram ostalih komponenti
 	 */
-	private static final RCPosition SPECIAL_POSITION = new RCPosition(1, 1);
+	private static final RCPosition SPECIAL_POSITION = RCPosition.of(1, 1);
 
 	/** Članska varijabla koja predstavlja razmak između svake komponente */
 	private int gap;
 
 	/**
-	 * {@link Map} koji mapira pozicije oblikovane razredom {@link RCPosition}
-	 * na pripadne komponente predstavljene razredom {@link Component}
+	 * Mreža komponenti indeksirana s <code>[row - FIRST][column - FIRST]</code>.
+	 * Prazne pozicije sadrže <code>null</code>.
 	 */
-	private Map<RCPosition, Component> positions;
+	private final Component[][] grid;
+
+	/**
+	 * {@link Map} koji mapira komponente na njihove pozicije oblikovane
+	 * razredom {@link RCPosition}. Komponente se uspoređuju po identitetu kao
+	 * i u roditeljskoj komponenti.
+	 */
+	private final Map<Component, RCPosition> componentPositions;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćene dimenzije komponenti unutar
+	 * trenutnog ciklusa validacije
+	 */
+	private final SizeCache sizeCache;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćenu preporučenu dimenziju
+	 * razmještaja ili <code>null</code> ukoliko ona nije izračunata
+	 */
+	private Dimension preferredSize;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćenu minimalnu dimenziju
+	 * razmještaja ili <code>null</code> ukoliko ona nije izračunata
+	 */
+	private Dimension minimumSize;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćenu maksimalnu dimenziju
+	 * razmještaja ili <code>null</code> ukoliko ona nije izračunata
+	 */
+	private Dimension maximumSize;
+
+	/**
+	 * Članska varijabla koja predstavlja položaje stupaca (relativno na lijevi
+	 * umetak roditelja), indeksirano brojem stupca
+	 */
+	private final int[] columnX;
+
+	/**
+	 * Članska varijabla koja predstavlja širine stupaca, indeksirano brojem
+	 * stupca
+	 */
+	private final int[] columnWidth;
+
+	/**
+	 * Članska varijabla koja predstavlja položaje redaka (relativno na gornji
+	 * umetak roditelja), indeksirano brojem redka
+	 */
+	private final int[] rowY;
+
+	/**
+	 * Članska varijabla koja predstavlja visine redaka, indeksirano brojem
+	 * redka
+	 */
+	private final int[] rowHeight;
+
+	/**
+	 * Članska varijabla koja predstavlja širinu komponente na poziciji
+	 * {@link #SPECIAL_POSITION}
+	 */
+	private int specialWidth;
+
+	/**
+	 * Članska varijabla koja predstavlja broj prvih stupaca koji su za jedan
+	 * piksel širi od ostalih
+	 */
+	private int widthDiff;
+
+	/**
+	 * Članska varijabla koja predstavlja broj prvih redaka koji su za jedan
+	 * piksel viši od ostalih
+	 */
+	private int heightDiff;
+
+	/**
+	 * Članska varijabla koja predstavlja širinu roditelja za koju su izračunati
+	 * položaji redaka i stupaca ili -1 ukoliko oni nisu izračunati
+	 */
+	private int tracksWidth = -1;
+
+	/**
+	 * Članska varijabla koja predstavlja visinu roditelja za koju su izračunati
+	 * položaji redaka i stupaca
+	 */
+	private int tracksHeight;
+
+	/**
+	 * Članska varijabla koja predstavlja umetke roditelja za koje su izračunati
+	 * položaji redaka i stupaca
+	 */
+	private Insets tracksInsets;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira jesu li
+	 * sve komponente već razmještene prema zapamćenim položajima redaka i
+	 * stupaca
+	 */
+	private boolean layoutValid;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira da je
+	 * {@link CalcLayoutBatch} već provjerio ograničenja komponenti koje se
+	 * trenutno dodaju
+	 */
+	private boolean batchValidated;
+
+	/**
+	 * Članska varijabla koja predstavlja primjerak razreda
+	 * {@link LayoutAnimator} koji premješta komponente ili <code>null</code>
+	 * ukoliko način rada s prijelazima nije uključen
+	 */
+	private LayoutAnimator animator;
 
 	/**
 	 * Konstruktor koji inicijalizira primjerak ovog razreda. Konstuktor poziva
@@ -91,7 +216,13 @@ public class CalcLayout implements LayoutManager2 {
 					"Razmak između redaka i stupaca mora biti pozitivan cijeli broj. Vi ste predali: " + gap);
 		}
 		this.gap = gap;
-		this.positions = new HashMap<>(NUMBER_OF_COMPONENTS);
+		this.grid = new Component[NUMBER_OF_ROWS][NUMBER_OF_COLUMNS];
+		this.componentPositions = new IdentityHashMap<>(NUMBER_OF_COMPONENTS);
+		this.sizeCache = new SizeCache(NUMBER_OF_COMPONENTS);
+		this.columnX = new int[NUMBER_OF_COLUMNS + 1];
+		this.columnWidth = new int[NUMBER_OF_COLUMNS + 1];
+		this.rowY = new int[NUMBER_OF_ROWS + 1];
+		this.rowHeight = new int[NUMBER_OF_ROWS + 1];
 	}
 
 	@Override
@@ -103,52 +234,66 @@ public class CalcLayout implements LayoutManager2 {
 
 	@Override
 	public void removeLayoutComponent(Component comp) {
-		RCPosition position = findPosition(comp);
+		RCPosition position = componentPositions.remove(comp);
 		if (position != null) {
-			positions.remove(position);
+			grid[position.getRow() - FIRST][position.getColumn() - FIRST] = null;
+			sizeCache.remove(comp);
+			if (animator != null) {
+				animator.remove(comp);
+			}
+			componentsChanged();
 		}
 	}
 
 	/**
-	 * Pomoćna metoda koja za predanu komponentu predstavljenu razredom
-	 * {@link Component} <b>comp</b> traži pripadni joj ključ unutar
-	 * {@link #positions}. Ključ je modeliran razredom {@link RCPosition}
-	 *
-	 * @param comp
-	 *            primjerak razreda {@link Component} čiji se ključ traži unutar
-	 *            {@link #positions}
-	 * @return pronađeni ključ za predani parametar ili <code>null</code>
-	 *         ukoliko taj ključ ne postoji
-	 */
-	private RCPosition findPosition(Component comp) {
-		for (Map.Entry<RCPosition, Component> entry : positions.entrySet()) {
-			if (entry.getValue().equals(comp)) {
-				return entry.getKey();
-			}
-		}
-		return null;
+	 * Pomoćna metoda koja briše sve zapamćene vrijednosti koje ovise o
+	 * komponentama ovog razmještaja. Poziva se prilikom dodavanja i uklanjanja
+	 * komponenti.
+	 */
+	private void componentsChanged() {
+		invalidateSizes();
+		layoutValid = false;
+	}
+
+	/**
+	 * Pomoćna metoda koja briše sve zapamćene dimenzije razmještaja
+	 */
+	private void invalidateSizes() {
+		preferredSize = null;
+		minimumSize = null;
+		maximumSize = null;
 	}
 
 	@Override
 	public Dimension preferredLayoutSize(Container parent) {
-		return calculateDimension(parent, Component::getPreferredSize);
+		if (preferredSize == null) {
+			preferredSize = calculateDimension(parent, SizeCache.Kind.PREFERRED);
+		}
+		// kopija jer pozivatelj smije mijenjati vraćenu dimenziju
+		return new Dimension(preferredSize);
 	}
 
 	@Override
 	public Dimension minimumLayoutSize(Container parent) {
-		return calculateDimension(parent, Component::getMinimumSize);
+		if (minimumSize == null) {
+			minimumSize = calculateDimension(parent, SizeCache.Kind.MINIMUM);
+		}
+		return new Dimension(minimumSize);
 	}
 
 	@Override
 	public Dimension maximumLayoutSize(Container target) {
-		return calculateDimension(target, Component::getMaximumSize);
+		if (maximumSize == null) {
+			maximumSize = calculateDimension(target, SizeCache.Kind.MAXIMUM);
+		}
+		return new Dimension(maximumSize);
 	}
 
 	/**
 	 * Pomoćna metoda koja se koristi za izračun određene dimenzije ovog
 	 * razmještaja (time i roditeljske komponente koja kojoj je primjerak ovog
-	 * razreda postavljen kao upravljač razreda), ovisno o predanoj strategiji
-	 * <b>dimensionGetter</b>. Metoda se poziva kroz metode
+	 * razreda postavljen kao upravljač razreda), ovisno o predanoj vrsti
+	 * dimenzije <b>kind</b>. Metoda se poziva kroz metode
 	 * {@link #preferredLayoutSize(Container)},
 	 * {@link #minimumLayoutSize(Container)} i
 	 * {@link #maximumLayoutSize(Container)}. kako se ne bi multiplicirao isti
@@ -157,15 +302,15 @@ public class CalcLayout implements LayoutManager2 {
 	 * @param parent
 	 *            komponenta čija se dimenzija (koja ovisi o predanoj
 	 *            strategiji) računa
-	 * @param dimensionGetter
-	 *            strategija koja računa neku dimenziju za svu djecu komponente
+	 * @param kind
+	 *            vrsta dimenzije koja se računa za svu djecu komponente
 	 *            <b>parent</b>
 	 * @return primjerak razreda {@link Dimension} koji predstavlja izračunatu
 	 *         dimenziju
 	 */
-	private Dimension calculateDimension(Container parent, Function<Component, Dimension> dimensionGetter) {
+	private Dimension calculateDimension(Container parent, SizeCache.Kind kind) {
 		// pronalazak maksimalnih dimenzija
-		Dimension dim = findMaximalDimension(parent, dimensionGetter);
+		Dimension dim = findMaximalDimension(parent, kind);
 
 		Insets parentInsets = parent.getInsets();
 
@@ -179,34 +324,38 @@ public class CalcLayout implements LayoutManager2 {
 	}
 
 	/**
-	 * Pomoćna metoda koja računa najveću dimenziju koja se dobiva pozivom
-	 * {@link Function#apply(Object)} za svako dijete ove komponente i vraća je
-	 * kao povratnu vrijednost.
+	 * Pomoćna metoda koja računa najveću dimenziju vrste <b>kind</b> među
+	 * svom djecom ove komponente i vraća je kao povratnu vrijednost. Dimenzije
+	 * djece dohvaćaju se kroz {@link #sizeCache}.
 	 *
 	 * @param parent
 	 *            primjerak razreda {@link Container} čija se maksimalna širina
 	 *            i visina djeteta računa
-	 * @param dimensionGetter
-	 *            strategija koja računa neku dimenziju za svu djecu komponente
+	 * @param kind
+	 *            vrsta dimenzije koja se računa za svu djecu komponente
 	 *            <b>parent</b>
 	 * @return primjerak razreda {@link Dimension} koji ima širinu najšireg
 	 *         djeteta parametra <b>parent</b> i visinu najvišeg djeteta istog
 	 *         parametra.
 	 */
-	private Dimension findMaximalDimension(Container parent, Function<Component, Dimension> dimensionGetter) {
+	private Dimension findMaximalDimension(Container parent, SizeCache.Kind kind) {
 		Dimension dim = new Dimension(0, 0);
-		for (Map.Entry<RCPosition, Component> entry : positions.entrySet()) {
-			if (entry.getKey().equals(SPECIAL_POSITION)) {
-				continue;
-			}
-
-			Dimension compDim = dimensionGetter.apply(entry.getValue());
-
-			if (compDim == null) {
-				continue;
+		for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+			for (int column = 0; column < NUMBER_OF_COLUMNS; column++) {
+				Component comp = grid[row][column];
+				// komponenta na poziciji SPECIAL_POSITION ne utječe na dimenzije
+				if (comp == null || (row == 0 && column == 0)) {
+					continue;
+				}
+
+				Dimension compDim = sizeCache.get(comp, kind);
+
+				if (compDim == null) {
+					continue;
+				}
+				dim.width = Math.max(dim.width, compDim.width);
+				dim.height = Math.max(dim.height, compDim.height);
 			}
-			dim.width = Math.max(dim.width, compDim.width);
-			dim.height = Math.max(dim.height, compDim.height);
 		}
 
 		return dim;
@@ -214,9 +363,231 @@ public class CalcLayout implements LayoutManager2 {
 
 	@Override
 	public void layoutContainer(Container parent) {
-		Dimension dimensionLeft = getDimensionLeft(parent);
+		Insets parentInsets = parent.getInsets();
+		boolean sameSize = parent.getWidth() == tracksWidth && parent.getHeight() == tracksHeight
+				&& parentInsets.equals(tracksInsets);
+		if (sameSize && layoutValid) {
+			// ništa se nije promijenilo od zadnjeg razmještaja
+			return;
+		}
+		if (!sameSize) {
+			calculateTracks(parent, parentInsets);
+		}
 		// nemam gdje crtati
+		if (columnWidth[FIRST] == 0 || rowHeight[FIRST] == 0) {
+			return;
+		}
+
+		// nevidljivi roditelj nema što prikazati pa se komponente odmah postavljaju
+		boolean animate = animator != null && parent.isShowing();
+		if (animator != null && !animate) {
+			animator.finish();
+		}
+		for (int row = FIRST; row <= NUMBER_OF_ROWS; row++) {
+			Component[] components = grid[row - FIRST];
+			int y = rowY[row] + parentInsets.top;
+			for (int column = FIRST; column <= NUMBER_OF_COLUMNS; column++) {
+				Component comp = components[column - FIRST];
+				if (comp == null) {
+					continue;
+				}
+
+				boolean special = row == SPECIAL_POSITION.getRow() && column == SPECIAL_POSITION.getColumn();
+				int cWidth = special ? specialWidth : columnWidth[column];
+				place(comp, columnX[column] + parentInsets.left, y, cWidth, rowHeight[row], animate);
+			}
+		}
+		if (animate) {
+			animator.commit();
+		}
+		layoutValid = true;
+	}
+
+	/**
+	 * Pomoćna metoda koja komponenti <b>comp</b> postavlja granice ili, ukoliko
+	 * je <b>animate</b> <code>true</code>, te granice postavlja kao cilj
+	 * prijelaza
+	 *
+	 * @param comp
+	 *            komponenta čije se granice postavljaju
+	 * @param x
+	 *            x koordinata
+	 * @param y
+	 *            y koordinata
+	 * @param width
+	 *            širina
+	 * @param height
+	 *            visina
+	 * @param animate
+	 *            <code>true</code> ukoliko se komponenta premješta postepeno
+	 */
+	private void place(Component comp, int x, int y, int width, int height, boolean animate) {
+		if (animate) {
+			animator.setTarget(comp, x, y, width, height);
+		} else {
+			comp.setBounds(x, y, width, height);
+		}
+	}
+
+	/**
+	 * Metoda koja računa poziciju ćelije koja sadrži točku (<b>x</b>,
+	 * <b>y</b>) roditelja <b>parent</b>. Pozicija se računa aritmetički iz
+	 * zapamćenih položaja redaka i stupaca, bez prolaska kroz komponente.
+	 * Točke unutar razmaka između stupaca koje prekriva komponenta na poziciji
+	 * (1,1) pripadaju toj poziciji.
+	 *
+	 * @param parent
+	 *            roditelj kojem je ovaj razmještaj postavljen
+	 * @param x
+	 *            x koordinata u koordinatnom sustavu roditelja
+	 * @param y
+	 *            y koordinata u koordinatnom sustavu roditelja
+	 * @return poziciju ćelije ili <code>null</code> ukoliko točka nije unutar
+	 *         niti jedne legalne ćelije (primjerice ukoliko je unutar razmaka
+	 *         ili umetaka)
+	 */
+	public RCPosition positionAt(Container parent, int x, int y) {
+		Insets parentInsets = parent.getInsets();
+		if (parent.getWidth() != tracksWidth || parent.getHeight() != tracksHeight
+				|| !parentInsets.equals(tracksInsets)) {
+			calculateTracks(parent, parentInsets);
+			// komponente još nisu razmještene za novu veličinu
+			layoutValid = false;
+		}
+		if (columnWidth[FIRST] == 0 || rowHeight[FIRST] == 0) {
+			return null;
+		}
+
+		int row = trackAt(y - parentInsets.top, rowHeight[NUMBER_OF_ROWS], heightDiff, NUMBER_OF_ROWS);
+		if (row == -1) {
+			return null;
+		}
+		int left = x - parentInsets.left;
+		if (row == SPECIAL_POSITION.getRow() && left >= 0 && left < specialWidth) {
+			return SPECIAL_POSITION;
+		}
+		int column = trackAt(left, columnWidth[NUMBER_OF_COLUMNS], widthDiff, NUMBER_OF_COLUMNS);
+		if (column == -1) {
+			return null;
+		}
+		RCPosition position = RCPosition.of(row, column);
+		return isLegalPosition(position) ? position : null;
+	}
+
+	/**
+	 * Metoda koja dohvaća komponentu koja se nalazi na točki (<b>x</b>,
+	 * <b>y</b>) roditelja <b>parent</b>. Ćelija se računa metodom
+	 * {@link #positionAt(Container, int, int)}, a komponenta se iz nje
+	 * dohvaća izravno.
+	 *
+	 * @param parent
+	 *            roditelj kojem je ovaj razmještaj postavljen
+	 * @param x
+	 *            x koordinata u koordinatnom sustavu roditelja
+	 * @param y
+	 *            y koordinata u koordinatnom sustavu roditelja
+	 * @return komponentu ili <code>null</code> ukoliko na toj točki nema
+	 *         komponente
+	 */
+	public Component componentAt(Container parent, int x, int y) {
+		RCPosition position = positionAt(parent, x, y);
+		return position == null ? null : grid[position.getRow() - FIRST][position.getColumn() - FIRST];
+	}
+
+	/**
+	 * Pomoćna metoda koja računa redni broj redka ili stupca koji sadrži
+	 * udaljenost <b>offset</b> od početka prvog redka ili stupca. Prvih
+	 * <b>diff</b> redaka ili stupaca veličine je <b>base</b> + 1, a ostali
+	 * veličine <b>base</b>.
+	 *
+	 * @param offset
+	 *            udaljenost od početka prvog redka ili stupca
+	 * @param base
+	 *            veličina redka ili stupca bez dodatnog piksela
+	 * @param diff
+	 *            broj redaka ili stupaca s dodatnim pikselom
+	 * @param tracks
+	 *            ukupan broj redaka ili stupaca
+	 * @return redni broj redka ili stupca (od 1) ili -1 ukoliko je
+	 *         udaljenost unutar razmaka ili izvan mreže
+	 */
+	private int trackAt(int offset, int base, int diff, int tracks) {
+		if (offset < 0) {
+			return -1;
+		}
+		int wideStride = base + 1 + gap;
+		int wideSpan = diff * wideStride;
+
+		int track;
+		int within;
+		int size;
+		if (offset < wideSpan) {
+			track = offset / wideStride;
+			within = offset % wideStride;
+			size = base + 1;
+		} else {
+			int stride = base + gap;
+			if (stride == 0) {
+				return -1;
+			}
+			track = diff + (offset - wideSpan) / stride;
+			within = (offset - wideSpan) % stride;
+			size = base;
+		}
+		return track < tracks && within < size ? track + FIRST : -1;
+	}
+
+	/**
+	 * Metoda koja uključuje ili isključuje način rada s prijelazima. U tom
+	 * načinu rada komponente vidljivog roditelja se nakon promjene njegove
+	 * veličine postepeno premještaju na nove granice, a promjene veličine
+	 * tijekom prijelaza spajaju se u jedan prijelaz. Isključivanjem se sve
+	 * komponente odmah postavljaju na konačne granice. Metoda se mora pozivati
+	 * iz dretve za obradu događaja.
+	 *
+	 * @param animated
+	 *            <code>true</code> ukoliko se uključuju prijelazi
+	 */
+	public void setAnimated(boolean animated) {
+		if (animated && animator == null) {
+			animator = new LayoutAnimator();
+		} else if (!animated && animator != null) {
+			animator.finish();
+			animator = null;
+		}
+	}
+
+	/**
+	 * Metoda koja provjerava je li uključen način rada s prijelazima
+	 *
+	 * @return <code>true</code> ukoliko su prijelazi uključeni,
+	 *         <code>false</code> inače
+	 */
+	public boolean isAnimated() {
+		return animator != null;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa položaje i veličine svih redaka i stupaca za
+	 * trenutnu veličinu roditelja <b>parent</b> te ih pamti u pripadnim
+	 * članskim varijablama. Ukoliko nema prostora za crtanje sve veličine
+	 * postavljaju se na 0.
+	 *
+	 * @param parent
+	 *            primjerak razreda {@link Container} za čiju se veličinu
+	 *            računaju položaji
+	 * @param parentInsets
+	 *            umetci roditelja <b>parent</b>
+	 */
+	private void calculateTracks(Container parent, Insets parentInsets) {
+		tracksWidth = parent.getWidth();
+		tracksHeight = parent.getHeight();
+		tracksInsets = (Insets) parentInsets.clone();
+
+		Dimension dimensionLeft = getDimensionLeft(parent);
 		if (dimensionLeft.width == 0 || dimensionLeft.height == 0) {
+			columnWidth[FIRST] = 0;
+			rowHeight[FIRST] = 0;
 			return;
 		}
 
@@ -225,36 +596,26 @@ public class CalcLayout implements LayoutManager2 {
 
 		// razlika između podijeljenih vrijednosti i koliko prostora imam za
 		// crtati
-		final int widthDiff = dimensionLeft.width - cDimension.width * NUMBER_OF_COLUMNS;
-		final int heightDiff = dimensionLeft.height - cDimension.height * NUMBER_OF_ROWS;
-
-		Insets parentInsets = parent.getInsets();
-		for (Map.Entry<RCPosition, Component> entry : positions.entrySet()) {
-			RCPosition position = entry.getKey();
-			int row = position.getRow();
-			int column = position.getColumn();
-
-			int x = (column - 1) * (cDimension.width + gap);
-			// modifikacija x-a
-			if (column != FIRST) {
-				x += column < widthDiff ? column : widthDiff;
-			}
-
-			int y = (row - 1) * (cDimension.height + gap);
-			// modifikacija y-a
-			if (row != FIRST) {
-				y += row < heightDiff ? row : heightDiff;
-			}
+		widthDiff = dimensionLeft.width - cDimension.width * NUMBER_OF_COLUMNS;
+		heightDiff = dimensionLeft.height - cDimension.height * NUMBER_OF_ROWS;
+
+		for (int column = FIRST; column <= NUMBER_OF_COLUMNS; column++) {
+			// svaki od prethodnih stupaca s rednim brojem do widthDiff širi je
+			// za jedan piksel
+			int x = (column - 1) * (cDimension.width + gap) + Math.min(column - 1, widthDiff);
+			columnX[column] = x;
+			columnWidth[column] = cDimension.width + (column <= widthDiff ? 1 : 0);
+		}
 
-			int cWidth = 0;
-			if (entry.getKey().equals(SPECIAL_POSITION)) {
-				cWidth = scaleWidth(cDimension.width, SCALE, widthDiff);
-			} else {
-				cWidth = cDimension.width + (column <= widthDiff ? 1 : 0);
-			}
-			entry.getValue().setBounds(x + parentInsets.left, y + parentInsets.top, cWidth,
-					cDimension.height + (row <= heightDiff ? 1 : 0));
+		for (int row = FIRST; row <= NUMBER_OF_ROWS; row++) {
+			// svaki od prethodnih redaka s rednim brojem do heightDiff viši je
+			// za jedan piksel
+			int y = (row - 1) * (cDimension.height + gap) + Math.min(row - 1, heightDiff);
+			rowY[row] = y;
+			rowHeight[row] = cDimension.height + (row <= heightDiff ? 1 : 0);
 		}
+
+		specialWidth = scaleWidth(cDimension.width, SCALE, widthDiff);
 	}
 
 	/**
@@ -312,16 +673,84 @@ public class CalcLayout implements LayoutManager2 {
 
 		// moguć ClassCastException
 		RCPosition position = (RCPosition) constraints;
+		if (batchValidated) {
+			// provjereno i zapamćene vrijednosti brišu se jednom u endBatch()
+			grid[position.getRow() - FIRST][position.getColumn() - FIRST] = comp;
+			componentPositions.put(comp, position);
+			return;
+		}
 		checkArguments(comp, position);
 
-		positions.put(position, comp);
+		grid[position.getRow() - FIRST][position.getColumn() - FIRST] = comp;
+		componentPositions.put(comp, position);
+		componentsChanged();
+	}
+
+	/**
+	 * Metoda koju poziva {@link CalcLayoutBatch} prije dodavanja skupa
+	 * komponenti čija su ograničenja već provjerena. Do poziva
+	 * {@link #endBatch()} metoda {@link #addLayoutComponent(Component, Object)}
+	 * ne provjerava ograničenja i ne briše zapamćene dimenzije.
+	 */
+	void beginBatch() {
+		batchValidated = true;
+	}
+
+	/**
+	 * Metoda koju poziva {@link CalcLayoutBatch} nakon dodavanja skupa
+	 * komponenti. Zapamćene dimenzije brišu se jednom za cijeli skup.
+	 */
+	void endBatch() {
+		batchValidated = false;
+		componentsChanged();
+	}
+
+	/**
+	 * Metoda koja provjerava je li komponenta <b>comp</b> dodana u ovaj
+	 * razmještaj
+	 *
+	 * @param comp
+	 *            komponenta koja se provjerava
+	 * @return <code>true</code> ukoliko je komponenta dodana,
+	 *         <code>false</code> inače
+	 */
+	boolean contains(Component comp) {
+		return componentPositions.containsKey(comp);
+	}
+
+	/**
+	 * Metoda koja dohvaća zauzete pozicije ovog razmještaja kao masku bitova
+	 * u kojoj pozicija <code>(row, column)</code> odgovara bitu
+	 * {@link #cellIndex(RCPosition)}
+	 *
+	 * @return masku zauzetih pozicija
+	 */
+	long occupiedCells() {
+		long mask = 0;
+		for (RCPosition position : componentPositions.values()) {
+			mask |= 1L << cellIndex(position);
+		}
+		return mask;
+	}
+
+	/**
+	 * Statička metoda koja računa redni broj pozicije <b>position</b> unutar
+	 * mreže, redak po redak. Pozicija mora biti legalna.
+	 *
+	 * @param position
+	 *            legalna pozicija
+	 * @return redni broj pozicije unutar [0, {@value #NUMBER_OF_ROWS} *
+	 *         {@value #NUMBER_OF_COLUMNS})
+	 */
+	static int cellIndex(RCPosition position) {
+		return (position.getRow() - FIRST) * NUMBER_OF_COLUMNS + position.getColumn() - FIRST;
 	}
 
 	/**
 	 * Pomoćna metoda koja provjerava ispravnost predanih parametara <b>comp</b>
-	 * i <b>position</b>. Argumenti nisu ispravni ukoliko se <b>comp</b> već
-	 * nalazi u {@link Map} {@link #positions} ili već postoji ključ
-	 * <b>position</b> u istoj mapi ili je metoda
+	 * i <b>position</b>. Argumenti nisu ispravni ukoliko je <b>comp</b> već
+	 * dodana u {@link #componentPositions} ili je pozicija <b>position</b> u
+	 * {@link #grid} već zauzeta ili je metoda
 	 * {@link #isLegalPosition(RCPosition)} vratila <code>false</code>
 	 *
 	 * @param comp
@@ -331,13 +760,13 @@ public class CalcLayout implements LayoutManager2 {
 	 * @throws IllegalArgumentException ukoliko se dogodio bilo koji od gornjih scenarija
 	 */
 	private void checkArguments(Component comp, RCPosition position) {
-		if (positions.containsValue(comp)) {
+		if (componentPositions.containsKey(comp)) {
 			throw new IllegalArgumentException("Komponenta je već dodana.");
 		}
 		if (!isLegalPosition(position)) {
 			throw new IllegalArgumentException(String.format("Ograničenje %s nije podržano", position.toString()));
 		}
-		if (positions.containsKey(position)) {
+		if (grid[position.getRow() - FIRST][position.getColumn() - FIRST] != null) {
 			throw new IllegalArgumentException("Već postoji komponenta s ograničenje" + position);
 		}
 	}
@@ -354,7 +783,7 @@ public class CalcLayout implements LayoutManager2 {
 	 * @return <code>true</code> ukoliko je predani parametar ispravan,
 	 * 			<code>false</code> inače
 	 */
-	private boolean isLegalPosition(RCPosition postition) {
+	static boolean isLegalPosition(RCPosition postition) {
 		int row = postition.getRow();
 		int column = postition.getColumn();
 		if (row < 1 || row > NUMBER_OF_ROWS || column < 1 || column > NUMBER_OF_COLUMNS) {
@@ -378,7 +807,9 @@ public class CalcLayout implements LayoutManager2 {
 
 	@Override
 	public void invalidateLayout(Container target) {
-		// nemam cashiranih stvari
+		// položaji redaka i stupaca ne ovise o komponentama pa ostaju zapamćeni
+		invalidateSizes();
+		sizeCache.invalidate();
 	}
 
 }
@@ -0,0 +1,188 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Razred koji predstavlja skupno dodavanje komponenti u primjerak razreda
+ * {@link Container} kojemu je upravljač razmještaja primjerak razreda
+ * {@link CalcLayout}. Komponente se najprije pripremaju metodama
+ * {@link #add(Component, RCPosition)} i {@link #add(Component, String)}, a
+ * zatim se metodom {@link #commit()} sve odjednom provjeravaju i dodaju.
+ * <p>
+ * Provjera se obavlja u jednom prolazu pomoću maske bitova zauzetih pozicija
+ * pa se komponente ne provjeravaju jedna po jedna naspram trenutnog stanja
+ * razmještaja. Ukoliko bilo koja komponenta nije ispravna ne dodaje se niti
+ * jedna. Zapamćene dimenzije razmještaja brišu se jednom za cijeli skup, a
+ * roditelj se poništava samo prvim dodavanjem.
+ * </p>
+ *
+ * <pre>
+ * new CalcLayoutBatch(container)
+ * 	.add(screen, "1,1")
+ * 	.add(equals, "1,6")
+ * 	.commit();
+ * </pre>
+ *
+ * @see CalcLayout
+ *
+ * @author Davor Češljaš
+ */
+public class CalcLayoutBatch {
+
+	/** Članska varijabla koja predstavlja roditelja u kojeg se dodaje */
+	private final Container parent;
+
+	/** Članska varijabla koja predstavlja razmještaj roditelja */
+	private final CalcLayout layout;
+
+	/** Članska varijabla koja predstavlja pripremljene komponente */
+	private final List<Component> components;
+
+	/**
+	 * Članska varijabla koja predstavlja pozicije pripremljenih komponenti,
+	 * indeksirano jednako kao {@link #components}
+	 */
+	private final List<RCPosition> positions;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param parent
+	 *            roditelj u kojeg se dodaju komponente
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko upravljač razmještaja roditelja nije primjerak
+	 *             razreda {@link CalcLayout}
+	 */
+	public CalcLayoutBatch(Container parent) {
+		if (!(parent.getLayout() instanceof CalcLayout)) {
+			throw new IllegalArgumentException("Upravljač razmještaja roditelja mora biti CalcLayout.");
+		}
+		this.parent = parent;
+		this.layout = (CalcLayout) parent.getLayout();
+		this.components = new ArrayList<>();
+		this.positions = new ArrayList<>();
+	}
+
+	/**
+	 * Metoda koja priprema komponentu <b>comp</b> za dodavanje na poziciju
+	 * <b>position</b>
+	 *
+	 * @param comp
+	 *            komponenta koja se dodaje
+	 * @param position
+	 *            pozicija komponente
+	 * @return ovaj primjerak razreda kako bi se pozivi mogli ulančavati
+	 */
+	public CalcLayoutBatch add(Component comp, RCPosition position) {
+		components.add(comp);
+		positions.add(position);
+		return this;
+	}
+
+	/**
+	 * Metoda koja priprema komponentu <b>comp</b> za dodavanje na poziciju
+	 * zadanu formatom propisanim metodom {@link RCPosition#parse(String)}
+	 *
+	 * @param comp
+	 *            komponenta koja se dodaje
+	 * @param position
+	 *            pozicija komponente
+	 * @return ovaj primjerak razreda kako bi se pozivi mogli ulančavati
+	 *
+	 * @throws NumberFormatException
+	 *             ukoliko se pozicija ne može parsirati
+	 */
+	public CalcLayoutBatch add(Component comp, String position) {
+		return add(comp, RCPosition.parse(position));
+	}
+
+	/**
+	 * Metoda koja provjerava sve pripremljene komponente i dodaje ih u
+	 * roditelja. Nakon poziva ove metode primjerak ovog razreda može se
+	 * ponovno koristiti.
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je neka komponenta već dodana ili pripremljena više
+	 *             puta, ukoliko pozicija nije legalna ili ukoliko je pozicija
+	 *             već zauzeta. U tom slučaju ne dodaje se niti jedna
+	 *             komponenta. Ukoliko samo dodavanje u roditelja baci
+	 *             iznimku, već dodane komponente se uklanjaju prije nego se
+	 *             iznimka proslijedi. Komponenta koja je prije dodavanja
+	 *             pripadala drugom roditelju ne vraća se u njega.
+	 */
+	public void commit() {
+		synchronized (parent.getTreeLock()) {
+			validate();
+
+			int attempted = 0;
+			layout.beginBatch();
+			try {
+				for (int size = components.size(); attempted < size; attempted++) {
+					parent.add(components.get(attempted), positions.get(attempted));
+				}
+			} finally {
+				if (attempted < components.size()) {
+					rollback(attempted);
+				}
+				layout.endBatch();
+			}
+		}
+		components.clear();
+		positions.clear();
+	}
+
+	/**
+	 * Pomoćna metoda koja iz roditelja uklanja komponente od prve do
+	 * komponente s indeksom <b>failed</b> čije je dodavanje bacilo iznimku.
+	 * Komponenta s tim indeksom uklanja se samo ukoliko je dodana prije
+	 * iznimke.
+	 *
+	 * @param failed
+	 *            indeks komponente čije dodavanje nije uspjelo
+	 */
+	private void rollback(int failed) {
+		for (int i = failed; i >= 0; i--) {
+			Component comp = components.get(i);
+			if (comp.getParent() == parent) {
+				parent.remove(comp);
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja u jednom prolazu provjerava sve pripremljene
+	 * komponente. Zauzete pozicije pamte se u maski bitova koja započinje
+	 * pozicijama koje su već zauzete u razmještaju.
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko neka od komponenti nije ispravna
+	 */
+	private void validate() {
+		long occupied = layout.occupiedCells();
+		Set<Component> staged = Collections.newSetFromMap(new IdentityHashMap<>(components.size()));
+
+		for (int i = 0, size = components.size(); i < size; i++) {
+			Component comp = components.get(i);
+			RCPosition position = positions.get(i);
+
+			if (layout.contains(comp) || !staged.add(comp)) {
+				throw new IllegalArgumentException("Komponenta je već dodana.");
+			}
+			if (!CalcLayout.isLegalPosition(position)) {
+				throw new IllegalArgumentException(String.format("Ograničenje %s nije podržano", position));
+			}
+			long cell = 1L << CalcLayout.cellIndex(position);
+			if ((occupied & cell) != 0) {
+				throw new IllegalArgumentException("Već postoji komponenta s ograničenjem " + position);
+			}
+			occupied |= cell;
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.util.Random;
+
+/**
+ * Razred koji predstavlja okruženje za mjerenje razmještaja
+ * {@link CalcLayout} bez grafičkog sučelja. Razmještaj se postavlja laganoj
+ * roditeljskoj komponenti sa zadanim umetcima u kojoj se na svakoj legalnoj
+ * poziciji nalazi lagana komponenta, a metodom {@link #resize(int, int)}
+ * roditelj se razmješta za zadanu veličinu. Provjere ispravnosti
+ * razmještaja nad ovim okruženjem nalaze se u testovima razreda
+ * {@link CalcLayout}.
+ * <p>
+ * Metoda {@link #main(String[])} mjeri trajanje i broj zauzetih bajtova po
+ * razmještaju za slijed nasumičnih promjena veličine. Ukoliko virtualni
+ * stroj ne podržava mjerenje zauzeća po dretvi, umjesto broja bajtova
+ * ispisuje se "n/a". Program se može pokrenuti i bez grafičkog okruženja
+ * (<code>-Djava.awt.headless=true</code>).
+ * </p>
+ *
+ * @see CalcLayout
+ *
+ * @author Davor Češljaš
+ */
+public class CalcLayoutHarness {
+
+	/** Konstanta koja predstavlja broj redaka razmještaja */
+	private static final int ROWS = 5;
+
+	/** Konstanta koja predstavlja broj stupaca razmještaja */
+	private static final int COLUMNS = 7;
+
+	/** Konstanta koja predstavlja zadani broj mjerenih promjena veličine */
+	private static final int DEFAULT_RESIZES = 1_000_000;
+
+	/** Članska varijabla koja predstavlja roditelja kojeg se razmješta */
+	private final Container parent;
+
+	/** Članska varijabla koja predstavlja ispitivani razmještaj */
+	private final CalcLayout layout;
+
+	/** Članska varijabla koja predstavlja razmak između komponenata */
+	private final int gap;
+
+	/**
+	 * Članska varijabla koja predstavlja komponente, indeksirano s
+	 * <code>[row - 1][column - 1]</code>. Nelegalne pozicije sadrže
+	 * <code>null</code>
+	 */
+	private final Component[][] cells;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
+	 * konstruktora stvara se roditelj s umetcima <b>insets</b> i razmještajem
+	 * s razmakom <b>gap</b> te se na svaku legalnu poziciju dodaje lagana
+	 * komponenta.
+	 *
+	 * @param gap
+	 *            razmak između komponenata
+	 * @param insets
+	 *            umetci roditelja
+	 */
+	CalcLayoutHarness(int gap, Insets insets) {
+		this.gap = gap;
+		this.layout = new CalcLayout(gap);
+		this.parent = new StubContainer(insets);
+		this.parent.setLayout(layout);
+		this.cells = new Component[ROWS][COLUMNS];
+
+		for (int row = 1; row <= ROWS; row++) {
+			for (int column = 1; column <= COLUMNS; column++) {
+				if (row == 1 && column >= 2 && column <= 5) {
+					continue;
+				}
+				Component comp = new StubComponent(new Dimension(10 * column, 5 * row));
+				cells[row - 1][column - 1] = comp;
+				parent.add(comp, RCPosition.of(row, column));
+			}
+		}
+	}
+
+	/**
+	 * Metoda koja postavlja veličinu roditelja i razmješta ga
+	 *
+	 * @param width
+	 *            širina roditelja
+	 * @param height
+	 *            visina roditelja
+	 */
+	void resize(int width, int height) {
+		parent.setSize(width, height);
+		layout.layoutContainer(parent);
+	}
+
+	/**
+	 * Metoda koja dohvaća preporučenu veličinu roditelja nakon što se
+	 * razmještaj obavijesti da su se komponente promijenile
+	 *
+	 * @return preporučenu veličinu roditelja
+	 */
+	Dimension preferredSize() {
+		layout.invalidateLayout(parent);
+		return layout.preferredLayoutSize(parent);
+	}
+
+	/**
+	 * Metoda koja dohvaća komponentu na poziciji (<b>row</b>, <b>column</b>)
+	 *
+	 * @param row
+	 *            redak (od 1)
+	 * @param column
+	 *            stupac (od 1)
+	 * @return komponentu ili <code>null</code> ukoliko pozicija nije legalna
+	 */
+	Component getComponent(int row, int column) {
+		return cells[row - 1][column - 1];
+	}
+
+	/**
+	 * Metoda koja dohvaća roditelja kojeg se razmješta
+	 *
+	 * @return roditelja
+	 */
+	Container getParent() {
+		return parent;
+	}
+
+	/**
+	 * Metoda koja dohvaća razmak između komponenata
+	 *
+	 * @return razmak između komponenata
+	 */
+	int getGap() {
+		return gap;
+	}
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja broj mjerenih promjena veličine (zadano
+	 *            {@value #DEFAULT_RESIZES})
+	 */
+	public static void main(String[] args) {
+		int resizes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RESIZES;
+
+		CalcLayoutHarness harness = new CalcLayoutHarness(3, new Insets(3, 5, 2, 4));
+		int[] widths = new int[1024];
+		int[] heights = new int[widths.length];
+		Random random = new Random(42);
+		for (int i = 0; i < widths.length; i++) {
+			widths[i] = 100 + random.nextInt(1800);
+			heights[i] = 100 + random.nextInt(1000);
+		}
+		// zagrijavanje
+		measure(harness, widths, heights, resizes);
+
+		long bytes = AllocationMeter.allocatedBytes();
+		long start = System.nanoTime();
+		long checksum = measure(harness, widths, heights, resizes);
+		long nanos = System.nanoTime() - start;
+		String bytesPerResize = AllocationMeter.perUnit(bytes, AllocationMeter.allocatedBytes(), resizes);
+
+		System.out.printf("Promjena veličine: %d (kontrolni zbroj %d)%n", resizes, checksum);
+		System.out.printf("%.2f ns/razmještaj, %s B/razmještaj%n", (double) nanos / resizes, bytesPerResize);
+	}
+
+	/**
+	 * Pomoćna metoda koja <b>resizes</b> puta mijenja veličinu roditelja
+	 * redom po veličinama iz <b>widths</b> i <b>heights</b>, razmješta ga i
+	 * računa njegovu preporučenu veličinu
+	 *
+	 * @param harness
+	 *            okruženje koje se mjeri
+	 * @param widths
+	 *            širine roditelja
+	 * @param heights
+	 *            visine roditelja
+	 * @param resizes
+	 *            broj promjena veličine
+	 * @return kontrolni zbroj kako optimizator ne bi uklonio petlju
+	 */
+	private static long measure(CalcLayoutHarness harness, int[] widths, int[] heights, int resizes) {
+		long checksum = 0;
+		for (int i = 0; i < resizes; i++) {
+			int index = i % widths.length;
+			harness.resize(widths[index], heights[index]);
+			checksum += harness.preferredSize().width;
+		}
+		return checksum;
+	}
+
+	/**
+	 * Razred koji predstavlja laganu roditeljsku komponentu sa zadanim
+	 * umetcima
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class StubContainer extends Container {
+
+		/** Konstanta koja predstavlja serijski broj verzije razreda */
+		private static final long serialVersionUID = 1L;
+
+		/** Članska varijabla koja predstavlja umetke komponente */
+		private final Insets insets;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param insets
+		 *            umetci komponente
+		 */
+		public StubContainer(Insets insets) {
+			this.insets = (Insets) insets.clone();
+		}
+
+		@Override
+		public Insets getInsets() {
+			return (Insets) insets.clone();
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja laganu komponentu sa zadanom preporučenom
+	 * veličinom
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class StubComponent extends Component {
+
+		/** Konstanta koja predstavlja serijski broj verzije razreda */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param preferredSize
+		 *            preporučena veličina komponente
+		 */
+		public StubComponent(Dimension preferredSize) {
+			setPreferredSize(preferredSize);
+		}
+	}
+}
@@ -0,0 +1,789 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.LayoutManager2;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Razred koji implementira sučelje {@link LayoutManager2} i predstavlja
+ * poopćenje razreda {@link CalcLayout}. Razred stvara mrežu proizvoljnog broja
+ * redaka i stupaca, a svaka komponenta može se razvući kroz proizvoljan broj
+ * redaka i stupaca. Kao ograničenje za ovaj razred može se predati primjerak
+ * razreda {@link GridConstraint}, primjerak razreda {@link RCPosition} (jedna
+ * ćelija) ili primjerak razreda {@link String} propisan formatom koji je
+ * naveden ovdje {@link GridConstraint#parse(String)}. Redci i stupci numerirani
+ * su od 1.
+ * <p>
+ * Svaki redak i stupac ima težinu (zadano 1) koja određuje koliki udio
+ * raspoloživog prostora dobiva. Pikseli koji preostanu nakon cjelobrojnog
+ * dijeljenja dodjeljuju se, jedan po jedan, prvim redcima odnosno stupcima pa
+ * mreža uvijek ispunjava cijeli roditelj bez praznina.
+ * </p>
+ * <p>
+ * Preklapanje komponenti otkriva se prilikom dodavanja komponente pomoću
+ * mreže zauzetih ćelija. Položaji i veličine redaka i stupaca pamte se u
+ * poljima primitivnih tipova pa su razmještaj i izračun dimenzija linearni u
+ * broju komponenti, neovisno o njihovim rasponima.
+ * </p>
+ *
+ * @see LayoutManager2
+ * @see GridConstraint
+ * @see CalcLayout
+ *
+ * @author Davor Češljaš
+ */
+public class ConfigurableGridLayout implements LayoutManager2 {
+
+	/** Konstanta koja predstavlja početnu poziciju od koje kreće razmještaj */
+	private static final int FIRST = 1;
+
+	/** Konstanta koja predstavlja početni kapacitet polja komponenti */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** Članska varijabla koja predstavlja broj redaka ovog razmještaja */
+	private final int rows;
+
+	/** Članska varijabla koja predstavlja broj stupaca ovog razmještaja */
+	private final int columns;
+
+	/** Članska varijabla koja predstavlja razmak između svake komponente */
+	private final int gap;
+
+	/**
+	 * Članska varijabla koja predstavlja zauzete ćelije, redak po redak. Prazne
+	 * ćelije sadrže <code>null</code>
+	 */
+	private final Component[] cells;
+
+	/** Članska varijabla koja predstavlja sve dodane komponente */
+	private Component[] components;
+
+	/**
+	 * Članska varijabla koja predstavlja ograničenja komponenti, indeksirano
+	 * jednako kao {@link #components}
+	 */
+	private GridConstraint[] constraints;
+
+	/** Članska varijabla koja predstavlja broj dodanih komponenti */
+	private int count;
+
+	/**
+	 * {@link Map} koji mapira komponente na njihov indeks unutar
+	 * {@link #components}. Komponente se uspoređuju po identitetu.
+	 */
+	private final Map<Component, Integer> indices;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćene dimenzije komponenti unutar
+	 * trenutnog ciklusa validacije
+	 */
+	private final SizeCache sizeCache;
+
+	/** Članska varijabla koja predstavlja težine redaka */
+	private final int[] rowWeights;
+
+	/** Članska varijabla koja predstavlja težine stupaca */
+	private final int[] columnWeights;
+
+	/**
+	 * Članska varijabla koja predstavlja zbrojeve težina redaka, pri čemu
+	 * element <code>i</code> sadrži zbroj težina prvih <code>i</code> redaka
+	 */
+	private final long[] rowWeightSums;
+
+	/**
+	 * Članska varijabla koja predstavlja zbrojeve težina stupaca, pri čemu
+	 * element <code>i</code> sadrži zbroj težina prvih <code>i</code> stupaca
+	 */
+	private final long[] columnWeightSums;
+
+	/**
+	 * Članska varijabla koja predstavlja početke redaka (relativno na gornji
+	 * umetak roditelja)
+	 */
+	private final int[] rowStart;
+
+	/**
+	 * Članska varijabla koja predstavlja krajeve redaka (relativno na gornji
+	 * umetak roditelja)
+	 */
+	private final int[] rowEnd;
+
+	/**
+	 * Članska varijabla koja predstavlja početke stupaca (relativno na lijevi
+	 * umetak roditelja)
+	 */
+	private final int[] columnStart;
+
+	/**
+	 * Članska varijabla koja predstavlja krajeve stupaca (relativno na lijevi
+	 * umetak roditelja)
+	 */
+	private final int[] columnEnd;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćenu preporučenu dimenziju
+	 * razmještaja ili <code>null</code> ukoliko ona nije izračunata
+	 */
+	private Dimension preferredSize;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćenu minimalnu dimenziju
+	 * razmještaja ili <code>null</code> ukoliko ona nije izračunata
+	 */
+	private Dimension minimumSize;
+
+	/**
+	 * Članska varijabla koja predstavlja zapamćenu maksimalnu dimenziju
+	 * razmještaja ili <code>null</code> ukoliko ona nije izračunata
+	 */
+	private Dimension maximumSize;
+
+	/**
+	 * Članska varijabla koja predstavlja širinu roditelja za koju su izračunati
+	 * položaji redaka i stupaca ili -1 ukoliko oni nisu izračunati
+	 */
+	private int tracksWidth = -1;
+
+	/**
+	 * Članska varijabla koja predstavlja visinu roditelja za koju su izračunati
+	 * položaji redaka i stupaca
+	 */
+	private int tracksHeight;
+
+	/**
+	 * Članska varijabla koja predstavlja umetke roditelja za koje su izračunati
+	 * položaji redaka i stupaca
+	 */
+	private Insets tracksInsets;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira jesu li
+	 * sve komponente već razmještene prema zapamćenim položajima redaka i
+	 * stupaca
+	 */
+	private boolean layoutValid;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Konstruktor poziva
+	 * konstruktor {@link #ConfigurableGridLayout(int, int, int)} pri čemu mu za
+	 * <b>gap</b> predaje 0.
+	 *
+	 * @param rows
+	 *            broj redaka
+	 * @param columns
+	 *            broj stupaca
+	 */
+	public ConfigurableGridLayout(int rows, int columns) {
+		this(rows, columns, 0);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Svi redci i
+	 * stupci dobivaju težinu 1.
+	 *
+	 * @param rows
+	 *            broj redaka
+	 * @param columns
+	 *            broj stupaca
+	 * @param gap
+	 *            željeni razmak između komponenata
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko broj redaka ili stupaca nije pozitivan ili ukoliko je
+	 *             <b>gap</b> manji od 0
+	 */
+	public ConfigurableGridLayout(int rows, int columns, int gap) {
+		if (rows < 1 || columns < 1) {
+			throw new IllegalArgumentException(
+					String.format("Broj redaka i stupaca mora biti pozitivan. Vi ste predali: %dx%d", rows, columns));
+		}
+		if (gap < 0) {
+			throw new IllegalArgumentException(
+					"Razmak između redaka i stupaca mora biti pozitivan cijeli broj. Vi ste predali: " + gap);
+		}
+		this.rows = rows;
+		this.columns = columns;
+		this.gap = gap;
+		this.cells = new Component[Math.multiplyExact(rows, columns)];
+		this.components = new Component[INITIAL_CAPACITY];
+		this.constraints = new GridConstraint[INITIAL_CAPACITY];
+		this.indices = new IdentityHashMap<>();
+		this.sizeCache = new SizeCache(INITIAL_CAPACITY);
+
+		this.rowWeights = new int[rows];
+		this.columnWeights = new int[columns];
+		Arrays.fill(rowWeights, 1);
+		Arrays.fill(columnWeights, 1);
+		this.rowWeightSums = new long[rows + 1];
+		this.columnWeightSums = new long[columns + 1];
+		sumWeights(rowWeights, rowWeightSums);
+		sumWeights(columnWeights, columnWeightSums);
+
+		this.rowStart = new int[rows];
+		this.rowEnd = new int[rows];
+		this.columnStart = new int[columns];
+		this.columnEnd = new int[columns];
+	}
+
+	/**
+	 * Metoda koja dohvaća broj redaka ovog razmještaja
+	 *
+	 * @return broj redaka
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj stupaca ovog razmještaja
+	 *
+	 * @return broj stupaca
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Metoda koja dohvaća razmak između komponenata
+	 *
+	 * @return razmak između komponenata
+	 */
+	public int getGap() {
+		return gap;
+	}
+
+	/**
+	 * Metoda koja dohvaća težinu redka <b>row</b>
+	 *
+	 * @param row
+	 *            redak (od 1)
+	 * @return težinu redka
+	 */
+	public int getRowWeight(int row) {
+		return rowWeights[checkTrack(row, rows) - FIRST];
+	}
+
+	/**
+	 * Metoda koja postavlja težinu redka <b>row</b>. Redak dobiva udio visine
+	 * razmjeran svojoj težini.
+	 *
+	 * @param row
+	 *            redak (od 1)
+	 * @param weight
+	 *            pozitivna težina redka
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko redak ne postoji ili težina nije pozitivna
+	 */
+	public void setRowWeight(int row, int weight) {
+		rowWeights[checkTrack(row, rows) - FIRST] = checkWeight(weight);
+		sumWeights(rowWeights, rowWeightSums);
+		weightsChanged();
+	}
+
+	/**
+	 * Metoda koja dohvaća težinu stupca <b>column</b>
+	 *
+	 * @param column
+	 *            stupac (od 1)
+	 * @return težinu stupca
+	 */
+	public int getColumnWeight(int column) {
+		return columnWeights[checkTrack(column, columns) - FIRST];
+	}
+
+	/**
+	 * Metoda koja postavlja težinu stupca <b>column</b>. Stupac dobiva udio
+	 * širine razmjeran svojoj težini.
+	 *
+	 * @param column
+	 *            stupac (od 1)
+	 * @param weight
+	 *            pozitivna težina stupca
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko stupac ne postoji ili težina nije pozitivna
+	 */
+	public void setColumnWeight(int column, int weight) {
+		columnWeights[checkTrack(column, columns) - FIRST] = checkWeight(weight);
+		sumWeights(columnWeights, columnWeightSums);
+		weightsChanged();
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava postoji li redak ili stupac
+	 * <b>track</b>
+	 *
+	 * @param track
+	 *            redak ili stupac (od 1)
+	 * @param tracks
+	 *            ukupan broj redaka ili stupaca
+	 * @return predani <b>track</b>
+	 * @throws IllegalArgumentException
+	 *             ukoliko redak ili stupac ne postoji
+	 */
+	private static int checkTrack(int track, int tracks) {
+		if (track < FIRST || track > tracks) {
+			throw new IllegalArgumentException(
+					String.format("Redak ili stupac mora biti unutar [1, %d]. Vi ste predali: %d", tracks, track));
+		}
+		return track;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li težina <b>weight</b> pozitivna
+	 *
+	 * @param weight
+	 *            težina koja se provjerava
+	 * @return predanu težinu
+	 * @throws IllegalArgumentException
+	 *             ukoliko težina nije pozitivna
+	 */
+	private static int checkWeight(int weight) {
+		if (weight < 1) {
+			throw new IllegalArgumentException("Težina mora biti pozitivna. Vi ste predali: " + weight);
+		}
+		return weight;
+	}
+
+	/**
+	 * Pomoćna metoda koja u polje <b>sums</b> upisuje zbrojeve prvih
+	 * <code>i</code> težina iz polja <b>weights</b>
+	 *
+	 * @param weights
+	 *            težine redaka ili stupaca
+	 * @param sums
+	 *            polje za <code>weights.length + 1</code> zbrojeva
+	 */
+	private static void sumWeights(int[] weights, long[] sums) {
+		for (int i = 0; i < weights.length; i++) {
+			sums[i + 1] = sums[i] + weights[i];
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja briše sve zapamćene vrijednosti koje ovise o
+	 * težinama redaka i stupaca
+	 */
+	private void weightsChanged() {
+		invalidateSizes();
+		tracksWidth = -1;
+		layoutValid = false;
+	}
+
+	/**
+	 * Pomoćna metoda koja briše sve zapamćene vrijednosti koje ovise o
+	 * komponentama ovog razmještaja. Poziva se prilikom dodavanja i uklanjanja
+	 * komponenti.
+	 */
+	private void componentsChanged() {
+		invalidateSizes();
+		layoutValid = false;
+	}
+
+	/**
+	 * Pomoćna metoda koja briše sve zapamćene dimenzije razmještaja
+	 */
+	private void invalidateSizes() {
+		preferredSize = null;
+		minimumSize = null;
+		maximumSize = null;
+	}
+
+	@Override
+	public void addLayoutComponent(String name, Component comp) {
+		addLayoutComponent(comp, name);
+	}
+
+	@Override
+	public void addLayoutComponent(Component comp, Object constraints) {
+		GridConstraint constraint;
+		if (constraints instanceof GridConstraint) {
+			constraint = (GridConstraint) constraints;
+		} else if (constraints instanceof RCPosition) {
+			constraint = GridConstraint.of((RCPosition) constraints);
+		} else if (constraints instanceof String) {
+			// moguć NumberFormatException
+			constraint = GridConstraint.parse((String) constraints);
+		} else {
+			throw new IllegalArgumentException("Ograničenje nije podržano: " + constraints);
+		}
+		checkArguments(comp, constraint);
+
+		occupy(constraint, comp);
+		if (count == components.length) {
+			int capacity = count + (count >> 1);
+			components = Arrays.copyOf(components, capacity);
+			this.constraints = Arrays.copyOf(this.constraints, capacity);
+		}
+		components[count] = comp;
+		this.constraints[count] = constraint;
+		indices.put(comp, count);
+		count++;
+		componentsChanged();
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava ispravnost predanih parametara <b>comp</b>
+	 * i <b>constraint</b>. Argumenti nisu ispravni ukoliko je <b>comp</b> već
+	 * dodana, ukoliko ograničenje izlazi izvan mreže ili ukoliko je neka od
+	 * ćelija koje ograničenje pokriva već zauzeta.
+	 *
+	 * @param comp
+	 *            primjerak razreda {@link Component} čija se ispravnost ocjenjuje
+	 * @param constraint
+	 *            primjerak razreda {@link GridConstraint} čija se ispravnost
+	 *            ocjenjuje
+	 * @throws IllegalArgumentException
+	 *             ukoliko se dogodio bilo koji od gornjih scenarija
+	 */
+	private void checkArguments(Component comp, GridConstraint constraint) {
+		if (indices.containsKey(comp)) {
+			throw new IllegalArgumentException("Komponenta je već dodana.");
+		}
+		int row = constraint.getRow();
+		int column = constraint.getColumn();
+		// oduzimanje ne može izazvati preljev, za razliku od zbrajanja retka i raspona
+		if (row < FIRST || column < FIRST || constraint.getRowSpan() > rows - (row - FIRST)
+				|| constraint.getColumnSpan() > columns - (column - FIRST)) {
+			throw new IllegalArgumentException(String.format("Ograničenje %s izlazi izvan mreže.", constraint));
+		}
+		for (int r = row - FIRST, rEnd = r + constraint.getRowSpan(); r < rEnd; r++) {
+			for (int c = column - FIRST, cEnd = c + constraint.getColumnSpan(); c < cEnd; c++) {
+				if (cells[r * columns + c] != null) {
+					throw new IllegalArgumentException(String.format(
+							"Ograničenje %s preklapa se s komponentom u ćeliji (%d, %d)", constraint, r + FIRST,
+							c + FIRST));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja sve ćelije koje pokriva ograničenje
+	 * <b>constraint</b> postavlja na <b>comp</b>
+	 *
+	 * @param constraint
+	 *            ograničenje čije se ćelije postavljaju
+	 * @param comp
+	 *            komponenta ili <code>null</code> ukoliko se ćelije oslobađaju
+	 */
+	private void occupy(GridConstraint constraint, Component comp) {
+		for (int r = constraint.getRow() - FIRST, rEnd = r + constraint.getRowSpan(); r < rEnd; r++) {
+			int offset = r * columns + constraint.getColumn() - FIRST;
+			Arrays.fill(cells, offset, offset + constraint.getColumnSpan(), comp);
+		}
+	}
+
+	@Override
+	public void removeLayoutComponent(Component comp) {
+		Integer index = indices.remove(comp);
+		if (index == null) {
+			return;
+		}
+		occupy(constraints[index], null);
+		sizeCache.remove(comp);
+
+		// na mjesto uklonjene komponente dolazi zadnja komponenta
+		count--;
+		if (index != count) {
+			components[index] = components[count];
+			constraints[index] = constraints[count];
+			indices.put(components[index], index);
+		}
+		components[count] = null;
+		constraints[count] = null;
+		componentsChanged();
+	}
+
+	/**
+	 * Metoda koja dohvaća ograničenje komponente <b>comp</b>
+	 *
+	 * @param comp
+	 *            komponenta čije se ograničenje dohvaća
+	 * @return ograničenje komponente ili <code>null</code> ukoliko komponenta
+	 *         nije dodana
+	 */
+	public GridConstraint getConstraint(Component comp) {
+		Integer index = indices.get(comp);
+		return index == null ? null : constraints[index];
+	}
+
+	@Override
+	public Dimension preferredLayoutSize(Container parent) {
+		if (preferredSize == null) {
+			preferredSize = calculateDimension(parent, SizeCache.Kind.PREFERRED);
+		}
+		// kopija jer pozivatelj smije mijenjati vraćenu dimenziju
+		return new Dimension(preferredSize);
+	}
+
+	@Override
+	public Dimension minimumLayoutSize(Container parent) {
+		if (minimumSize == null) {
+			minimumSize = calculateDimension(parent, SizeCache.Kind.MINIMUM);
+		}
+		return new Dimension(minimumSize);
+	}
+
+	@Override
+	public Dimension maximumLayoutSize(Container target) {
+		if (maximumSize == null) {
+			maximumSize = calculateDimension(target, SizeCache.Kind.MAXIMUM);
+		}
+		return new Dimension(maximumSize);
+	}
+
+	/**
+	 * Pomoćna metoda koja se koristi za izračun određene dimenzije ovog
+	 * razmještaja ovisno o predanoj vrsti dimenzije <b>kind</b>. Za
+	 * svaku komponentu računa se širina i visina koju mora dobiti jedinica
+	 * težine kako bi komponenta dobila svoju dimenziju, a dimenzija
+	 * razmještaja određena je najvećom takvom jedinicom.
+	 *
+	 * @param parent
+	 *            komponenta čija se dimenzija računa
+	 * @param kind
+	 *            vrsta dimenzije koja se računa za svu djecu komponente
+	 *            <b>parent</b>
+	 * @return primjerak razreda {@link Dimension} koji predstavlja izračunatu
+	 *         dimenziju
+	 */
+	private Dimension calculateDimension(Container parent, SizeCache.Kind kind) {
+		double unitWidth = 0;
+		double unitHeight = 0;
+		for (int i = 0; i < count; i++) {
+			Dimension compDim = sizeCache.get(components[i], kind);
+			if (compDim == null) {
+				continue;
+			}
+			GridConstraint constraint = constraints[i];
+			int column = constraint.getColumn() - FIRST;
+			int row = constraint.getRow() - FIRST;
+			long columnWeight = columnWeightSums[column + constraint.getColumnSpan()] - columnWeightSums[column];
+			long rowWeight = rowWeightSums[row + constraint.getRowSpan()] - rowWeightSums[row];
+
+			// razmaci unutar raspona pripadaju komponenti
+			unitWidth = Math.max(unitWidth,
+					(compDim.width - (constraint.getColumnSpan() - 1L) * gap) / (double) columnWeight);
+			unitHeight = Math.max(unitHeight,
+					(compDim.height - (constraint.getRowSpan() - 1L) * gap) / (double) rowWeight);
+		}
+
+		Insets parentInsets = parent.getInsets();
+		return new Dimension(
+				saturate(unitWidth * columnWeightSums[columns], columns, parentInsets.left + parentInsets.right),
+				saturate(unitHeight * rowWeightSums[rows], rows, parentInsets.top + parentInsets.bottom));
+	}
+
+	/**
+	 * Pomoćna metoda koja zbraja prostor za komponente, razmake i umetke te
+	 * rezultat ograničava na {@link Integer#MAX_VALUE} (primjerice kada su
+	 * maksimalne dimenzije komponenti neograničene)
+	 *
+	 * @param space
+	 *            prostor potreban za komponente
+	 * @param tracks
+	 *            broj redaka ili stupaca
+	 * @param insets
+	 *            zbroj umetaka roditelja
+	 * @return ukupnu dimenziju
+	 */
+	private int saturate(double space, int tracks, int insets) {
+		double total = Math.ceil(space) + (tracks - 1L) * gap + insets;
+		return (int) Math.min(Integer.MAX_VALUE, total);
+	}
+
+	@Override
+	public void layoutContainer(Container parent) {
+		Insets parentInsets = parent.getInsets();
+		boolean sameSize = parent.getWidth() == tracksWidth && parent.getHeight() == tracksHeight
+				&& parentInsets.equals(tracksInsets);
+		if (sameSize && layoutValid) {
+			// ništa se nije promijenilo od zadnjeg razmještaja
+			return;
+		}
+		if (!sameSize) {
+			calculateTracks(parent, parentInsets);
+		}
+
+		for (int i = 0; i < count; i++) {
+			GridConstraint constraint = constraints[i];
+			int column = constraint.getColumn() - FIRST;
+			int row = constraint.getRow() - FIRST;
+			int x = columnStart[column];
+			int y = rowStart[row];
+			components[i].setBounds(x + parentInsets.left, y + parentInsets.top,
+					columnEnd[column + constraint.getColumnSpan() - 1] - x,
+					rowEnd[row + constraint.getRowSpan() - 1] - y);
+		}
+		layoutValid = true;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa položaje i veličine svih redaka i stupaca za
+	 * trenutnu veličinu roditelja <b>parent</b> te ih pamti u pripadnim
+	 * članskim varijablama
+	 *
+	 * @param parent
+	 *            primjerak razreda {@link Container} za čiju se veličinu
+	 *            računaju položaji
+	 * @param parentInsets
+	 *            umetci roditelja <b>parent</b>
+	 */
+	private void calculateTracks(Container parent, Insets parentInsets) {
+		tracksWidth = parent.getWidth();
+		tracksHeight = parent.getHeight();
+		tracksInsets = (Insets) parentInsets.clone();
+		distribute(tracksWidth - parentInsets.left - parentInsets.right, columnWeights, columnWeightSums, columnStart,
+				columnEnd);
+		distribute(tracksHeight - parentInsets.top - parentInsets.bottom, rowWeights, rowWeightSums, rowStart,
+				rowEnd);
+	}
+
+	/**
+	 * Metoda koja računa poziciju ćelije koja sadrži točku (<b>x</b>,
+	 * <b>y</b>) roditelja <b>parent</b>. Redak i stupac pronalaze se
+	 * binarnim pretraživanjem zapamćenih položaja redaka i stupaca.
+	 *
+	 * @param parent
+	 *            roditelj kojem je ovaj razmještaj postavljen
+	 * @param x
+	 *            x koordinata u koordinatnom sustavu roditelja
+	 * @param y
+	 *            y koordinata u koordinatnom sustavu roditelja
+	 * @return poziciju ćelije ili <code>null</code> ukoliko točka nije unutar
+	 *         niti jedne ćelije (primjerice ukoliko je unutar razmaka ili
+	 *         umetaka)
+	 */
+	public RCPosition positionAt(Container parent, int x, int y) {
+		Insets parentInsets = parent.getInsets();
+		if (parent.getWidth() != tracksWidth || parent.getHeight() != tracksHeight
+				|| !parentInsets.equals(tracksInsets)) {
+			calculateTracks(parent, parentInsets);
+			// komponente još nisu razmještene za novu veličinu
+			layoutValid = false;
+		}
+
+		int row = trackAt(y - parentInsets.top, rowStart, rowEnd);
+		int column = trackAt(x - parentInsets.left, columnStart, columnEnd);
+		if (row == -1 || column == -1) {
+			return null;
+		}
+		return RCPosition.of(row + FIRST, column + FIRST);
+	}
+
+	/**
+	 * Metoda koja dohvaća komponentu koja se nalazi na točki (<b>x</b>,
+	 * <b>y</b>) roditelja <b>parent</b>. Komponenta se dohvaća izravno iz
+	 * mreže zauzetih ćelija pa se pronalaze i komponente koje se razvlače kroz
+	 * više ćelija. Razmaci unutar raspona komponente ne pripadaju niti jednoj
+	 * ćeliji.
+	 *
+	 * @param parent
+	 *            roditelj kojem je ovaj razmještaj postavljen
+	 * @param x
+	 *            x koordinata u koordinatnom sustavu roditelja
+	 * @param y
+	 *            y koordinata u koordinatnom sustavu roditelja
+	 * @return komponentu ili <code>null</code> ukoliko na toj točki nema
+	 *         komponente
+	 */
+	public Component componentAt(Container parent, int x, int y) {
+		RCPosition position = positionAt(parent, x, y);
+		if (position == null) {
+			return null;
+		}
+		return cells[(position.getRow() - FIRST) * columns + position.getColumn() - FIRST];
+	}
+
+	/**
+	 * Pomoćna metoda koja binarnim pretraživanjem pronalazi zadnji redak ili
+	 * stupac koji počinje najkasnije na <b>offset</b> i provjerava sadrži li
+	 * ga. Prazni redci ili stupci nikada ne sadrže točku.
+	 *
+	 * @param offset
+	 *            udaljenost od početka prvog redka ili stupca
+	 * @param start
+	 *            počeci redaka ili stupaca
+	 * @param end
+	 *            krajevi redaka ili stupaca
+	 * @return indeks redka ili stupca (od 0) ili -1 ukoliko ga nema
+	 */
+	private static int trackAt(int offset, int[] start, int[] end) {
+		int low = 0;
+		int high = start.length - 1;
+		int found = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (start[middle] <= offset) {
+				found = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return found != -1 && offset < end[found] ? found : -1;
+	}
+
+	/**
+	 * Pomoćna metoda koja raspoloživi prostor <b>size</b> dijeli između
+	 * redaka ili stupaca razmjerno njihovim težinama. Pikseli koji preostanu
+	 * nakon cjelobrojnog dijeljenja dodjeljuju se, jedan po jedan, prvim
+	 * redcima ili stupcima. Ukoliko nema prostora za crtanje svi redci ili
+	 * stupci dobivaju veličinu 0.
+	 *
+	 * @param size
+	 *            raspoloživi prostor uključujući razmake
+	 * @param weights
+	 *            težine redaka ili stupaca
+	 * @param weightSums
+	 *            zbrojevi težina redaka ili stupaca
+	 * @param start
+	 *            polje u koje se upisuju počeci redaka ili stupaca
+	 * @param end
+	 *            polje u koje se upisuju krajevi redaka ili stupaca
+	 */
+	private void distribute(int size, int[] weights, long[] weightSums, int[] start, int[] end) {
+		int tracks = weights.length;
+		long available = Math.max(0, size - (tracks - 1L) * gap);
+		long totalWeight = weightSums[tracks];
+
+		long assigned = 0;
+		for (int i = 0; i < tracks; i++) {
+			assigned += available * weights[i] / totalWeight;
+		}
+		long remainder = available - assigned;
+
+		long position = 0;
+		for (int i = 0; i < tracks; i++) {
+			long trackSize = available * weights[i] / totalWeight + (i < remainder ? 1 : 0);
+			start[i] = (int) position;
+			end[i] = (int) (position + trackSize);
+			position = end[i] + (available == 0 ? 0 : gap);
+		}
+	}
+
+	@Override
+	public float getLayoutAlignmentX(Container target) {
+		return 0;
+	}
+
+	@Override
+	public float getLayoutAlignmentY(Container target) {
+		return 0;
+	}
+
+	@Override
+	public void invalidateLayout(Container target) {
+		// položaji redaka i stupaca ne ovise o komponentama pa ostaju zapamćeni
+		invalidateSizes();
+		sizeCache.invalidate();
+	}
+}
@@ -0,0 +1,225 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Container;
+
+/**
+ * Razred koji predstavlja ograničenje za razred
+ * {@link ConfigurableGridLayout}. Razred je nepromijenjiv i sadrži redak i
+ * stupac gornje lijeve ćelije komponente te broj redaka i stupaca kroz koje se
+ * komponenta razvlači. Razred se koristi kao ograničenje (engl. constraint)
+ * prilikom poziva metode {@link Container#add(java.awt.Component, Object)},
+ * ukoliko je tom primjerku razreda {@link Container} postavljen upravljač
+ * razmještaja na primjerak razreda {@link ConfigurableGridLayout}.
+ *
+ * @see ConfigurableGridLayout
+ * @see RCPosition
+ *
+ * @author Davor Češljaš
+ */
+public class GridConstraint {
+
+	/** Članska varijabla koja predstavlja redak gornje lijeve ćelije */
+	private final int row;
+
+	/** Članska varijabla koja predstavlja stupac gornje lijeve ćelije */
+	private final int column;
+
+	/** Članska varijabla koja predstavlja broj redaka komponente */
+	private final int rowSpan;
+
+	/** Članska varijabla koja predstavlja broj stupaca komponente */
+	private final int columnSpan;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Konstruktor poziva
+	 * konstruktor {@link #GridConstraint(int, int, int, int)} pri čemu mu za
+	 * <b>rowSpan</b> i <b>columnSpan</b> predaje 1.
+	 *
+	 * @param row
+	 *            redak ćelije
+	 * @param column
+	 *            stupac ćelije
+	 */
+	public GridConstraint(int row, int column) {
+		this(row, column, 1, 1);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Unutar
+	 * konstruktora se članske varijable postavljaju na predane argumente.
+	 *
+	 * @param row
+	 *            redak gornje lijeve ćelije
+	 * @param column
+	 *            stupac gornje lijeve ćelije
+	 * @param rowSpan
+	 *            broj redaka kroz koje se komponenta razvlači
+	 * @param columnSpan
+	 *            broj stupaca kroz koje se komponenta razvlači
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko je <b>rowSpan</b> ili <b>columnSpan</b> manji od 1
+	 */
+	public GridConstraint(int row, int column, int rowSpan, int columnSpan) {
+		if (rowSpan < 1 || columnSpan < 1) {
+			throw new IllegalArgumentException(
+					String.format("Raspon mora biti barem 1. Vi ste predali: %dx%d", rowSpan, columnSpan));
+		}
+		this.row = row;
+		this.column = column;
+		this.rowSpan = rowSpan;
+		this.columnSpan = columnSpan;
+	}
+
+	/**
+	 * Statička metoda tvornica koja stvara ograničenje veličine jedne ćelije
+	 * na poziciji <b>position</b>
+	 *
+	 * @param position
+	 *            pozicija ćelije
+	 * @return novi primjerak razreda {@link GridConstraint}
+	 */
+	public static GridConstraint of(RCPosition position) {
+		return new GridConstraint(position.getRow(), position.getColumn());
+	}
+
+	/**
+	 * Metoda koja dohvaća redak gornje lijeve ćelije
+	 *
+	 * @return redak gornje lijeve ćelije
+	 */
+	public int getRow() {
+		return row;
+	}
+
+	/**
+	 * Metoda koja dohvaća stupac gornje lijeve ćelije
+	 *
+	 * @return stupac gornje lijeve ćelije
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj redaka kroz koje se komponenta razvlači
+	 *
+	 * @return broj redaka komponente
+	 */
+	public int getRowSpan() {
+		return rowSpan;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj stupaca kroz koje se komponenta razvlači
+	 *
+	 * @return broj stupaca komponente
+	 */
+	public int getColumnSpan() {
+		return columnSpan;
+	}
+
+	/**
+	 * Statička metoda koja iz predanog parametra <b>input</b> parsira novi
+	 * primjerak razreda {@link GridConstraint}. Predani parametar mora biti
+	 * formata <b><i>"row,column"</i></b> ili
+	 * <b><i>"row,column,rowSpan,columnSpan"</i></b>, pri čemu su dozvoljene
+	 * praznine oko brojeva. Parsiranje ne stvara pomoćne objekte, jednako kao
+	 * metoda {@link RCPosition#parse(String)}.
+	 *
+	 * @param input
+	 *            parametar koji se parsira
+	 * @return novi primjerak razreda {@link GridConstraint} parsiran iz
+	 *         <b>input</b>
+	 *
+	 * @throws NumberFormatException
+	 *             ukoliko se predani parametar ne može parsirati u dva ili
+	 *             četiri cijela broja odvojena zarezom
+	 * @throws IllegalArgumentException
+	 *             ukoliko je parsirani raspon manji od 1
+	 */
+	public static GridConstraint parse(String input) {
+		int length = input.length();
+		int index = RCPosition.skipWhitespace(input, 0);
+		int end = RCPosition.scanInteger(input, index);
+		int row = RCPosition.parseInteger(input, index, end);
+
+		index = skipComma(input, end);
+		end = RCPosition.scanInteger(input, index);
+		int column = RCPosition.parseInteger(input, index, end);
+
+		index = RCPosition.skipWhitespace(input, end);
+		if (index == length) {
+			return new GridConstraint(row, column);
+		}
+
+		index = skipComma(input, index);
+		end = RCPosition.scanInteger(input, index);
+		int rowSpan = RCPosition.parseInteger(input, index, end);
+
+		index = skipComma(input, end);
+		end = RCPosition.scanInteger(input, index);
+		int columnSpan = RCPosition.parseInteger(input, index, end);
+
+		if (RCPosition.skipWhitespace(input, end) != length) {
+			throw new NumberFormatException("Višak znakova u ograničenju: \"" + input + "\"");
+		}
+		return new GridConstraint(row, column, rowSpan, columnSpan);
+	}
+
+	/**
+	 * Pomoćna metoda koja preskače zarez i praznine oko njega u <b>input</b>
+	 * počevši od indeksa <b>index</b>
+	 *
+	 * @param input
+	 *            niz znakova
+	 * @param index
+	 *            indeks iza prethodnog broja
+	 * @return indeks prvog znaka iza zareza koji nije praznina
+	 * @throws NumberFormatException
+	 *             ukoliko na tom mjestu nema zareza
+	 */
+	private static int skipComma(String input, int index) {
+		index = RCPosition.skipWhitespace(input, index);
+		if (index == input.length() || input.charAt(index) != ',') {
+			throw new NumberFormatException("Nedostaje zarez u ograničenju: \"" + input + "\"");
+		}
+		return RCPosition.skipWhitespace(input, index + 1);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("(%d, %d, %d, %d)", row, column, rowSpan, columnSpan);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + column;
+		result = prime * result + columnSpan;
+		result = prime * result + row;
+		result = prime * result + rowSpan;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		GridConstraint other = (GridConstraint) obj;
+		if (column != other.column)
+			return false;
+		if (columnSpan != other.columnSpan)
+			return false;
+		if (row != other.row)
+			return false;
+		if (rowSpan != other.rowSpan)
+			return false;
+		return true;
+	}
+}
@@ -0,0 +1,303 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Component;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import javax.swing.Timer;
+
+/**
+ * Razred koji postepeno premješta komponente s trenutnih na ciljne granice.
+ * Upravljač razmještaja za svaku komponentu metodom
+ * {@link #setTarget(Component, int, int, int, int)} postavlja ciljne granice,
+ * a zatim metodom {@link #commit()} započinje prijelaz. Granice se
+ * interpoliraju na {@link Timer} otprilike svakih {@value #FRAME_MILLIS} ms
+ * tijekom {@value #DURATION_MILLIS} ms. Ukoliko se ciljevi promijene tijekom
+ * prijelaza (primjerice tijekom promjene veličine prozora) oni se spajaju u
+ * jedan novi prijelaz koji kreće od trenutnih granica.
+ * <p>
+ * Granice se postavljaju samo komponentama kojima se granice u tom okviru
+ * zaista mijenjaju pa se samo one ponovno iscrtavaju. Ukoliko jedan okvir
+ * traje dulje od {@value #FRAME_BUDGET_MILLIS} ms, prijelaz se prekida i sve
+ * komponente se odmah postavljaju na ciljne granice.
+ * </p>
+ * <p>
+ * Sve metode moraju se pozivati iz dretve za obradu događaja.
+ * </p>
+ *
+ * @see CalcLayout#setAnimated(boolean)
+ *
+ * @author Davor Češljaš
+ */
+class LayoutAnimator {
+
+	/** Konstanta koja predstavlja razmak između okvira u milisekundama */
+	private static final int FRAME_MILLIS = 16;
+
+	/** Konstanta koja predstavlja trajanje prijelaza u milisekundama */
+	private static final int DURATION_MILLIS = 150;
+
+	/** Konstanta koja predstavlja najdulje dozvoljeno trajanje okvira */
+	private static final int FRAME_BUDGET_MILLIS = 8;
+
+	/** Konstanta koja predstavlja trajanje prijelaza u nanosekundama */
+	private static final long DURATION_NANOS = DURATION_MILLIS * 1_000_000L;
+
+	/** Konstanta koja predstavlja najdulje dozvoljeno trajanje okvira */
+	private static final long FRAME_BUDGET_NANOS = FRAME_BUDGET_MILLIS * 1_000_000L;
+
+	/**
+	 * {@link Map} koji mapira komponente na njihove prijelaze. Komponente se
+	 * uspoređuju po identitetu.
+	 */
+	private final Map<Component, Transition> transitions;
+
+	/** Članska varijabla koja predstavlja štopericu koja pokreće okvire */
+	private final Timer timer;
+
+	/** Članska varijabla koja predstavlja izvor vremena u nanosekundama */
+	private final LongSupplier clock;
+
+	/** Članska varijabla koja predstavlja trenutak početka prijelaza */
+	private long startNanos;
+
+	/**
+	 * Članska varijabla koja predstavlja zastavicu koja signalizira da se neki
+	 * cilj promijenio od zadnjeg poziva {@link #commit()}
+	 */
+	private boolean targetsChanged;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda koji vrijeme
+	 * mjeri metodom {@link System#nanoTime()}.
+	 */
+	LayoutAnimator() {
+		this(System::nanoTime);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param clock
+	 *            izvor vremena u nanosekundama
+	 */
+	LayoutAnimator(LongSupplier clock) {
+		this.clock = clock;
+		transitions = new IdentityHashMap<>();
+		timer = new Timer(FRAME_MILLIS, e -> tick());
+		timer.setCoalesce(true);
+	}
+
+	/**
+	 * Metoda koja postavlja ciljne granice komponente <b>comp</b>. Komponente
+	 * koje još nemaju veličinu odmah se postavljaju na ciljne granice.
+	 *
+	 * @param comp
+	 *            komponenta čije se granice postavljaju
+	 * @param x
+	 *            ciljna x koordinata
+	 * @param y
+	 *            ciljna y koordinata
+	 * @param width
+	 *            ciljna širina
+	 * @param height
+	 *            ciljna visina
+	 */
+	void setTarget(Component comp, int x, int y, int width, int height) {
+		Transition transition = transitions.get(comp);
+		if (transition != null) {
+			if (!transition.hasTarget(x, y, width, height)) {
+				transition.setTarget(x, y, width, height);
+				targetsChanged = true;
+			}
+			return;
+		}
+
+		if (comp.getWidth() == 0 && comp.getHeight() == 0) {
+			// komponenta još nije bila razmještena
+			comp.setBounds(x, y, width, height);
+			return;
+		}
+		if (comp.getX() == x && comp.getY() == y && comp.getWidth() == width && comp.getHeight() == height) {
+			return;
+		}
+		transition = new Transition();
+		transition.setTarget(x, y, width, height);
+		transitions.put(comp, transition);
+		targetsChanged = true;
+	}
+
+	/**
+	 * Metoda koja započinje prijelaz ukoliko se neki cilj promijenio. Svi
+	 * prijelazi kreću od trenutnih granica komponenti pa se ciljevi postavljeni
+	 * tijekom prijelaza spajaju u jedan novi prijelaz.
+	 */
+	void commit() {
+		if (!targetsChanged) {
+			return;
+		}
+		targetsChanged = false;
+
+		for (Map.Entry<Component, Transition> entry : transitions.entrySet()) {
+			Component comp = entry.getKey();
+			entry.getValue().setStart(comp.getX(), comp.getY(), comp.getWidth(), comp.getHeight());
+		}
+		startNanos = clock.getAsLong();
+		timer.restart();
+	}
+
+	/**
+	 * Metoda koja uklanja prijelaz komponente <b>comp</b>. Poziva se prilikom
+	 * uklanjanja komponente iz razmještaja.
+	 *
+	 * @param comp
+	 *            komponenta čiji se prijelaz uklanja
+	 */
+	void remove(Component comp) {
+		transitions.remove(comp);
+		if (transitions.isEmpty()) {
+			timer.stop();
+		}
+	}
+
+	/**
+	 * Metoda koja sve komponente odmah postavlja na ciljne granice i
+	 * zaustavlja prijelaz
+	 */
+	void finish() {
+		timer.stop();
+		for (Map.Entry<Component, Transition> entry : transitions.entrySet()) {
+			entry.getValue().apply(entry.getKey(), 1);
+		}
+		transitions.clear();
+		targetsChanged = false;
+	}
+
+	/**
+	 * Metoda koja iscrtava jedan okvir prijelaza. Poziva ju štoperica, a
+	 * napredak se računa prema proteklom vremenu pa zakašnjeli okviri
+	 * preskaču međupoložaje.
+	 */
+	void tick() {
+		long now = clock.getAsLong();
+		double progress = Math.min(1, (double) (now - startNanos) / DURATION_NANOS);
+		if (progress >= 1) {
+			finish();
+			return;
+		}
+
+		// usporavanje pred kraj prijelaza
+		double eased = 1 - Math.pow(1 - progress, 3);
+		for (Map.Entry<Component, Transition> entry : transitions.entrySet()) {
+			entry.getValue().apply(entry.getKey(), eased);
+		}
+
+		if (clock.getAsLong() - now > FRAME_BUDGET_NANOS) {
+			finish();
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja početne i ciljne granice jedne komponente
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class Transition {
+
+		/** Članska varijabla koja predstavlja početne granice (x, y, w, h) */
+		private final int[] start = new int[4];
+
+		/** Članska varijabla koja predstavlja ciljne granice (x, y, w, h) */
+		private final int[] target = new int[4];
+
+		/**
+		 * Metoda koja postavlja početne granice
+		 *
+		 * @param x
+		 *            početna x koordinata
+		 * @param y
+		 *            početna y koordinata
+		 * @param width
+		 *            početna širina
+		 * @param height
+		 *            početna visina
+		 */
+		void setStart(int x, int y, int width, int height) {
+			start[0] = x;
+			start[1] = y;
+			start[2] = width;
+			start[3] = height;
+		}
+
+		/**
+		 * Metoda koja postavlja ciljne granice
+		 *
+		 * @param x
+		 *            ciljna x koordinata
+		 * @param y
+		 *            ciljna y koordinata
+		 * @param width
+		 *            ciljna širina
+		 * @param height
+		 *            ciljna visina
+		 */
+		void setTarget(int x, int y, int width, int height) {
+			target[0] = x;
+			target[1] = y;
+			target[2] = width;
+			target[3] = height;
+		}
+
+		/**
+		 * Metoda koja provjerava jesu li ciljne granice jednake predanima
+		 *
+		 * @param x
+		 *            x koordinata
+		 * @param y
+		 *            y koordinata
+		 * @param width
+		 *            širina
+		 * @param height
+		 *            visina
+		 * @return <code>true</code> ukoliko su granice jednake,
+		 *         <code>false</code> inače
+		 */
+		boolean hasTarget(int x, int y, int width, int height) {
+			return target[0] == x && target[1] == y && target[2] == width && target[3] == height;
+		}
+
+		/**
+		 * Metoda koja komponenti <b>comp</b> postavlja granice koje odgovaraju
+		 * napretku <b>fraction</b>. Granice se postavljaju samo ukoliko se
+		 * razlikuju od trenutnih.
+		 *
+		 * @param comp
+		 *            komponenta čije se granice postavljaju
+		 * @param fraction
+		 *            napredak unutar [0, 1]
+		 */
+		void apply(Component comp, double fraction) {
+			int x = interpolate(0, fraction);
+			int y = interpolate(1, fraction);
+			int width = interpolate(2, fraction);
+			int height = interpolate(3, fraction);
+			if (comp.getX() != x || comp.getY() != y || comp.getWidth() != width || comp.getHeight() != height) {
+				comp.setBounds(x, y, width, height);
+			}
+		}
+
+		/**
+		 * Pomoćna metoda koja interpolira jednu od granica
+		 *
+		 * @param index
+		 *            indeks granice
+		 * @param fraction
+		 *            napredak unutar [0, 1]
+		 * @return interpoliranu vrijednost
+		 */
+		private int interpolate(int index, double fraction) {
+			return (int) Math.round(start[index] + (target[index] - start[index]) * fraction);
+		}
+	}
+}
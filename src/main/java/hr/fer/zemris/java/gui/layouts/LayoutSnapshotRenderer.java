@@ -0,0 +1,455 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import javax.imageio.ImageIO;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+/**
+ * Razred koji razmješta i iscrtava spremnik u primjerak razreda
+ * {@link BufferedImage} bez prikazivanja prozora, pa se može koristiti i bez
+ * grafičkog okruženja (<code>-Djava.awt.headless=true</code>). Spremnik se
+ * stvara predanom tvornicom, a svaka dretva koja iscrtava dobiva vlastiti
+ * spremnik i vlastitu sliku. Slika se ponovno koristi za sve veličine koje
+ * dretva iscrtava i povećava se samo kada je tražena veličina veća od
+ * trenutne.
+ * <p>
+ * Swing komponente nisu sigurne za višedretveno korištenje. Spremnici koje
+ * stvara tvornica nikada nisu prikazani niti dijeljeni, pa svaki pripada
+ * točno jednoj dretvi ovog razreda i razmješta se paralelno s ostalima.
+ * Iscrtavanje se ipak obavlja jedno po jedno jer standardni UI delegati
+ * dijele stanje iscrtavanja između svih komponenti (primjerice statički
+ * pravokutnici razreda {@link javax.swing.plaf.basic.BasicButtonUI} i
+ * zajednički primjerak razreda {@link javax.swing.plaf.basic.BasicLabelUI}),
+ * pa se sva iscrtavanja svih primjeraka ovog razreda izvode pod jednim
+ * zajedničkim ključem. Tvornica mora svaki put stvoriti nove komponente koje
+ * nisu dodane u prikazani prozor i ne smiju se mijenjati izvan ovog razreda.
+ * </p>
+ * <p>
+ * Metoda {@link #renderAll(List, BiConsumer)} iscrtava spremnik u svim
+ * predanim veličinama na vlastitim dretvama ovog razreda i svaku sliku predaje
+ * povratnom pozivu. Predana slika dijeli memoriju s međuspremnikom dretve pa
+ * je povratni poziv mora obraditi (ili kopirati) prije povratka. Metoda
+ * {@link #close()} zaustavlja dretve i zaboravlja njihove spremnike i slike.
+ * </p>
+ *
+ * @see CalcLayout
+ *
+ * @author Davor Češljaš
+ */
+public class LayoutSnapshotRenderer implements Closeable {
+
+	/** Konstanta koja predstavlja zadani broj iscrtanih veličina */
+	private static final int DEFAULT_SIZES = 2_000;
+
+	/**
+	 * Konstanta koja predstavlja ključ pod kojim se iscrtavaju spremnici svih
+	 * primjeraka ovog razreda jer UI delegati dijele stanje iscrtavanja
+	 */
+	private static final Object PAINT_LOCK = new Object();
+
+	/** Članska varijabla koja predstavlja tvornicu spremnika */
+	private final Supplier<? extends Container> factory;
+
+	/** Članska varijabla koja predstavlja broj dretvi za iscrtavanje */
+	private final int threads;
+
+	/**
+	 * Članska varijabla koja predstavlja dretve za iscrtavanje ili
+	 * <code>null</code> ukoliko još nisu pokrenute
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Članska varijabla koja predstavlja spremnik i sliku metode
+	 * {@link #render(int, int)} ili <code>null</code> ukoliko još nisu
+	 * stvoreni
+	 */
+	private Slot slot;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda koji iscrtava s
+	 * onoliko dretvi koliko je procesora na raspolaganju.
+	 *
+	 * @param factory
+	 *            tvornica koja stvara spremnik koji se iscrtava. Poziva se
+	 *            jednom za svaku dretvu koja iscrtava.
+	 */
+	public LayoutSnapshotRenderer(Supplier<? extends Container> factory) {
+		this(factory, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param factory
+	 *            tvornica koja stvara spremnik koji se iscrtava. Poziva se
+	 *            jednom za svaku dretvu koja iscrtava.
+	 * @param threads
+	 *            broj dretvi metode {@link #renderAll(List, BiConsumer)}
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko broj dretvi nije pozitivan
+	 */
+	public LayoutSnapshotRenderer(Supplier<? extends Container> factory, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Broj dretvi mora biti pozitivan. Vi ste predali: " + threads);
+		}
+		this.factory = factory;
+		this.threads = threads;
+	}
+
+	/**
+	 * Metoda koja razmješta i iscrtava spremnik u veličini <b>width</b> x
+	 * <b>height</b> na dretvi pozivatelja. Svi pozivi dijele jedan spremnik pa
+	 * se izvode jedan za drugim, a vraćena slika vrijedi do sljedećeg poziva
+	 * ove metode ili metode {@link #close()}.
+	 *
+	 * @param width
+	 *            širina spremnika
+	 * @param height
+	 *            visina spremnika
+	 * @return sliku spremnika
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko širina ili visina nisu pozitivne
+	 */
+	public synchronized BufferedImage render(int width, int height) {
+		checkSize(width, height);
+		if (slot == null) {
+			slot = new Slot();
+		}
+		return slot.render(width, height);
+	}
+
+	/**
+	 * Metoda koja na dretvama ovog razreda iscrtava spremnik u svim
+	 * veličinama <b>sizes</b> i svaku sliku predaje povratnom pozivu
+	 * <b>consumer</b>. Povratni poziv se poziva iz više dretvi istovremeno, a
+	 * metoda se vraća tek kada su sve veličine iscrtane.
+	 *
+	 * @param sizes
+	 *            veličine u kojima se spremnik iscrtava
+	 * @param consumer
+	 *            povratni poziv koji prima veličinu i sliku
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko neka od veličina nije pozitivna
+	 */
+	public void renderAll(List<Dimension> sizes, BiConsumer<Dimension, BufferedImage> consumer) {
+		for (Dimension size : sizes) {
+			checkSize(size.width, size.height);
+		}
+
+		AtomicInteger next = new AtomicInteger();
+		Runnable task = () -> {
+			Slot workerSlot = ((Worker) Thread.currentThread()).slot();
+			for (int i; (i = next.getAndIncrement()) < sizes.size();) {
+				Dimension size = sizes.get(i);
+				consumer.accept(size, workerSlot.render(size.width, size.height));
+			}
+		};
+
+		List<Future<?>> futures = new ArrayList<>(threads);
+		ExecutorService service = executor();
+		for (int i = 0, n = Math.min(threads, sizes.size()); i < n; i++) {
+			futures.add(service.submit(task));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Iscrtavanje je prekinuto", e);
+			}
+		}
+	}
+
+	/**
+	 * Metoda koja zaustavlja dretve ovog razreda i zaboravlja sve spremnike i
+	 * slike. Primjerak se nakon zatvaranja može dalje koristiti, a dretve i
+	 * spremnici se tada stvaraju ponovno.
+	 */
+	@Override
+	public synchronized void close() {
+		slot = null;
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća dretve za iscrtavanje i po potrebi ih
+	 * pokreće
+	 *
+	 * @return dretve za iscrtavanje
+	 */
+	private synchronized ExecutorService executor() {
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(threads, Worker::new);
+		}
+		return executor;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava veličinu spremnika
+	 *
+	 * @param width
+	 *            širina spremnika
+	 * @param height
+	 *            visina spremnika
+	 *
+	 * @throws IllegalArgumentException
+	 *             ukoliko širina ili visina nisu pozitivne
+	 */
+	private static void checkSize(int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException(
+					String.format("Veličina mora biti pozitivna. Vi ste predali: %dx%d", width, height));
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja dretvu za iscrtavanje. Dretva pamti vlastiti
+	 * spremnik i sliku, pa se oni zaboravljaju zajedno s dretvom kada se
+	 * zaustave dretve ovog razreda.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private class Worker extends Thread {
+
+		/**
+		 * Članska varijabla koja predstavlja spremnik i sliku dretve ili
+		 * <code>null</code> ukoliko još nisu stvoreni
+		 */
+		private Slot own;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param task
+		 *            posao koji dretva izvodi
+		 */
+		Worker(Runnable task) {
+			super(task, "layout-snapshot");
+			setDaemon(true);
+		}
+
+		/**
+		 * Metoda koja dohvaća spremnik i sliku dretve i po potrebi ih stvara
+		 *
+		 * @return spremnik i sliku dretve
+		 */
+		Slot slot() {
+			if (own == null) {
+				own = new Slot();
+			}
+			return own;
+		}
+	}
+
+	/**
+	 * Razred koji predstavlja spremnik i sliku jedne dretve
+	 *
+	 * @author Davor Češljaš
+	 */
+	private class Slot {
+
+		/** Članska varijabla koja predstavlja spremnik dretve */
+		private final Container container;
+
+		/** Članska varijabla koja predstavlja sliku dretve */
+		private BufferedImage image;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda. Spremnik se
+		 * stvara tvornicom.
+		 */
+		Slot() {
+			container = factory.get();
+		}
+
+		/**
+		 * Metoda koja razmješta spremnik i iscrtava ga pod ključem
+		 * {@link LayoutSnapshotRenderer#PAINT_LOCK}
+		 *
+		 * @param width
+		 *            širina spremnika
+		 * @param height
+		 *            visina spremnika
+		 * @return dio slike dretve u koji je spremnik iscrtan
+		 */
+		BufferedImage render(int width, int height) {
+			if (image == null || image.getWidth() < width || image.getHeight() < height) {
+				int newWidth = image == null ? width : Math.max(width, image.getWidth());
+				int newHeight = image == null ? height : Math.max(height, image.getHeight());
+				image = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
+			}
+
+			container.setSize(width, height);
+			layoutTree(container);
+
+			BufferedImage view = image.getSubimage(0, 0, width, height);
+			Graphics2D g2 = view.createGraphics();
+			try {
+				Color background = container.getBackground();
+				g2.setColor(background == null ? Color.WHITE : background);
+				g2.fillRect(0, 0, width, height);
+				synchronized (PAINT_LOCK) {
+					container.printAll(g2);
+				}
+			} finally {
+				g2.dispose();
+			}
+			return view;
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja razmješta spremnik <b>container</b> i sve
+	 * spremnike unutar njega. Metoda {@link Container#validate()} se ne
+	 * koristi jer ne radi ništa dok spremnik nije prikazan.
+	 *
+	 * @param container
+	 *            spremnik koji se razmješta
+	 */
+	private static void layoutTree(Container container) {
+		container.doLayout();
+		for (int i = 0, n = container.getComponentCount(); i < n; i++) {
+			Component child = container.getComponent(i);
+			if (child instanceof Container) {
+				layoutTree((Container) child);
+			}
+		}
+	}
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa. Program iscrtava ploču
+	 * razmještenu razredom {@link CalcLayout} u nizu veličina i ispisuje
+	 * propusnost te kontrolni zbroj svih slika koji se može usporediti između
+	 * dvije verzije koda.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja broj veličina (zadano {@value #DEFAULT_SIZES}), a
+	 *            opcionalni drugi direktorij u koji se spremaju slike
+	 * @throws IOException
+	 *             ukoliko se direktorij ne može stvoriti
+	 */
+	public static void main(String[] args) throws IOException {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZES;
+		Path output = args.length > 1 ? Paths.get(args[1]) : null;
+		if (output != null) {
+			Files.createDirectories(output);
+		}
+
+		List<Dimension> sizes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			sizes.add(new Dimension(200 + (i * 7) % 1000, 150 + (i * 13) % 600));
+		}
+
+		AtomicLong checksum = new AtomicLong();
+		BiConsumer<Dimension, BufferedImage> consumer = (size, image) -> {
+			checksum.addAndGet(hash(image));
+			if (output != null) {
+				try {
+					ImageIO.write(image, "png", output.resolve(size.width + "x" + size.height + ".png").toFile());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		};
+
+		double seconds;
+		try (LayoutSnapshotRenderer renderer = new LayoutSnapshotRenderer(
+				LayoutSnapshotRenderer::createCalculatorPanel)) {
+			// zagrijavanje
+			renderer.renderAll(sizes.subList(0, Math.min(100, count)), (size, image) -> {
+			});
+
+			long start = System.nanoTime();
+			renderer.renderAll(sizes, consumer);
+			seconds = (System.nanoTime() - start) / 1e9;
+		}
+
+		System.out.printf("Slika: %d, %.1f slika/s (%.3f ms/slika)%n", count, count / seconds,
+				seconds * 1e3 / count);
+		System.out.printf("Kontrolni zbroj: %016x%n", checksum.get());
+	}
+
+	/**
+	 * Pomoćna metoda koja računa kontrolni zbroj svih piksela slike
+	 *
+	 * @param image
+	 *            slika čiji se kontrolni zbroj računa
+	 * @return kontrolni zbroj
+	 */
+	private static long hash(BufferedImage image) {
+		long hash = 17;
+		for (int y = 0; y < image.getHeight(); y++) {
+			for (int x = 0; x < image.getWidth(); x++) {
+				hash = 31 * hash + image.getRGB(x, y);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara ploču s rasporedom komponenti kalkulatora:
+	 * ekranom na poziciji (1,1) i gumbom na svakoj ostaloj legalnoj poziciji
+	 *
+	 * @return novu ploču
+	 */
+	static Container createCalculatorPanel() {
+		JPanel panel = new JPanel(new CalcLayout(10));
+		CalcLayoutBatch batch = new CalcLayoutBatch(panel);
+
+		JLabel screen = new JLabel("0", JLabel.TRAILING);
+		screen.setOpaque(true);
+		screen.setBackground(Color.ORANGE);
+		batch.add(screen, RCPosition.of(1, 1));
+		for (int row = 1; row <= 5; row++) {
+			for (int column = 1; column <= 7; column++) {
+				if (row == 1 && column <= 5) {
+					continue;
+				}
+				batch.add(new JButton(row + "," + column), RCPosition.of(row, column));
+			}
+		}
+		batch.commit();
+		return panel;
+	}
+}
@@ -10,6 +10,11 @@ import java.awt.Container;
  * {@link Container#add(java.awt.Component, Object)}, ukoliko je tom primjerku
  * razreda {@link Container} postavljen upravljač razmještaja na primjerak
  * razreda {@link CalcLayout}.
+ * <p>
+ * Primjerci za retke i stupce unutar [0, {@value #CACHE_SIZE}) unaprijed su
+ * stvoreni i dohvaćaju se statičkom metodom tvornicom {@link #of(int, int)},
+ * pa ih i metoda {@link #parse(String)} vraća bez stvaranja novih objekata.
+ * </p>
  * 
  * @see CalcLayout
  * @see Container
@@ -18,6 +23,26 @@ import java.awt.Container;
  */
 public class RCPosition {
 
+	/**
+	 * Konstanta koja predstavlja broj redaka i stupaca za koje se primjerci
+	 * ovog razreda pamte
+	 */
+	private static final int CACHE_SIZE = 32;
+
+	/**
+	 * Konstanta koja predstavlja zapamćene primjerke ovog razreda,
+	 * indeksirano s <code>[row][column]</code>
+	 */
+	private static final RCPosition[][] CACHE = new RCPosition[CACHE_SIZE][CACHE_SIZE];
+
+	static {
+		for (int row = 0; row < CACHE_SIZE; row++) {
+			for (int column = 0; column < CACHE_SIZE; column++) {
+				CACHE[row][column] = new RCPosition(row, column);
+			}
+		}
+	}
+
 	/** Članska varijabla koja predstavlja redak */
 	private final int row;
 
@@ -39,6 +64,26 @@ public class RCPosition {
 		this.column = column;
 	}
 
+	/**
+	 * Statička metoda tvornica koja dohvaća primjerak ovog razreda za redak
+	 * <b>row</b> i stupac <b>column</b>. Za retke i stupce unutar [0,
+	 * {@value #CACHE_SIZE}) vraća se uvijek isti primjerak, a za ostale se
+	 * stvara novi.
+	 *
+	 * @param row
+	 *            redak
+	 * @param column
+	 *            stupac
+	 * @return primjerak razreda {@link RCPosition} s predanim retkom i
+	 *         stupcem
+	 */
+	public static RCPosition of(int row, int column) {
+		if (row >= 0 && row < CACHE_SIZE && column >= 0 && column < CACHE_SIZE) {
+			return CACHE[row][column];
+		}
+		return new RCPosition(row, column);
+	}
+
 	/**
 	 * Metoda koja dohvaća vrijednost redka
 	 *
@@ -59,26 +104,120 @@ public class RCPosition {
 
 	/**
 	 * Statička metoda koja iz predanog parametra koji je primjerak razreda
-	 * {@link String} <b>input</b> parsira novi primjerak razreda
+	 * {@link String} <b>input</b> parsira primjerak razreda
 	 * {@link RCPosition}. Kako bi ovo bilo moguće predani parametar mora biti
-	 * formata: <b><i>"row,column"</i></b>
+	 * formata: <b><i>"row,column"</i></b>, pri čemu su dozvoljene praznine
+	 * oko brojeva. Parsiranje ne stvara pomoćne objekte, a rezultat se
+	 * dohvaća metodom {@link #of(int, int)}.
 	 *
 	 * @param input
-	 *            parametar koji se parsira u novi primjerak razreda
+	 *            parametar koji se parsira u primjerak razreda
 	 *            {@link RCPosition}
-	 * @return novi primjerak razreda {@link RCPosition} parsiran iz
-	 *         <b>input</b>
+	 * @return primjerak razreda {@link RCPosition} parsiran iz <b>input</b>
 	 * 
 	 * @throws NumberFormatException
 	 *             ukoliko se predani parametar ne može parsirati u točno dva
-	 *             primjerka razreda {@link Integer}
-	 * @throws ArrayIndexOutOfBoundsException
-	 *             ukoliko se preda pogrešan format ulaznog parametra
+	 *             cijela broja odvojena zarezom
 	 */
 	public static RCPosition parse(String input) {
-		input = input.trim();
-		String[] coordinates = input.split(",");
-		return new RCPosition(Integer.parseInt(coordinates[0].trim()), Integer.parseInt(coordinates[1].trim()));
+		int length = input.length();
+		int index = skipWhitespace(input, 0);
+		int end = scanInteger(input, index);
+		int row = parseInteger(input, index, end);
+
+		index = skipWhitespace(input, end);
+		if (index == length || input.charAt(index) != ',') {
+			throw new NumberFormatException("Nedostaje zarez u ograničenju: \"" + input + "\"");
+		}
+		index = skipWhitespace(input, index + 1);
+		end = scanInteger(input, index);
+		int column = parseInteger(input, index, end);
+
+		if (skipWhitespace(input, end) != length) {
+			throw new NumberFormatException("Višak znakova u ograničenju: \"" + input + "\"");
+		}
+		return of(row, column);
+	}
+
+	/**
+	 * Pomoćna metoda koja preskače praznine u <b>input</b> počevši od indeksa
+	 * <b>index</b>
+	 *
+	 * @param input
+	 *            niz znakova
+	 * @param index
+	 *            početni indeks
+	 * @return indeks prvog znaka koji nije praznina ili duljinu niza
+	 */
+	static int skipWhitespace(String input, int index) {
+		while (index < input.length() && Character.isWhitespace(input.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Pomoćna metoda koja pronalazi kraj cijelog broja (s opcionalnim
+	 * predznakom) koji počinje na indeksu <b>index</b>
+	 *
+	 * @param input
+	 *            niz znakova
+	 * @param index
+	 *            početni indeks broja
+	 * @return indeks prvog znaka iza broja
+	 */
+	static int scanInteger(String input, int index) {
+		if (index < input.length() && (input.charAt(index) == '-' || input.charAt(index) == '+')) {
+			index++;
+		}
+		while (index < input.length() && input.charAt(index) >= '0' && input.charAt(index) <= '9') {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Pomoćna metoda koja parsira cijeli broj iz znakova unutar [<b>start</b>,
+	 * <b>end</b>) niza <b>input</b>
+	 *
+	 * @param input
+	 *            niz znakova
+	 * @param start
+	 *            početni indeks broja
+	 * @param end
+	 *            indeks prvog znaka iza broja
+	 * @return parsirani broj
+	 * @throws NumberFormatException
+	 *             ukoliko znakovi ne predstavljaju cijeli broj ili broj ne
+	 *             stane u <code>int</code>
+	 */
+	static int parseInteger(String input, int start, int end) {
+		boolean negative = false;
+		int index = start;
+		if (index < end && (input.charAt(index) == '-' || input.charAt(index) == '+')) {
+			negative = input.charAt(index) == '-';
+			index++;
+		}
+		if (index == end) {
+			throw new NumberFormatException("Nedostaje broj u ograničenju: \"" + input + "\"");
+		}
+
+		// akumulira se negativno kako bi Integer.MIN_VALUE bio prikaziv
+		int value = 0;
+		for (; index < end; index++) {
+			int digit = input.charAt(index) - '0';
+			if (value < (Integer.MIN_VALUE + digit) / 10) {
+				throw new NumberFormatException("Broj je prevelik u ograničenju: \"" + input + "\"");
+			}
+			value = value * 10 - digit;
+		}
+		if (!negative) {
+			if (value == Integer.MIN_VALUE) {
+				throw new NumberFormatException("Broj je prevelik u ograničenju: \"" + input + "\"");
+			}
+			value = -value;
+		}
+		return value;
 	}
 
 	@Override
@@ -0,0 +1,170 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Component;
+
+/**
+ * Razred koji predstavlja program koji mjeri broj zauzetih bajtova i trajanje
+ * slaganja razmještaja {@link CalcLayout} iz ograničenja zadanih nizom znakova
+ * <b><i>"row,column"</i></b>. Uspoređuje se metoda {@link RCPosition#parse(String)}
+ * s prijašnjim parsiranjem pomoću {@link String#split(String)} i stvaranjem
+ * novog primjerka razreda {@link RCPosition} za svako ograničenje. Zauzeti
+ * bajtovi mjere se razredom {@link AllocationMeter}, a na
+ * virtualnom stroju koji ne podržava mjerenje zauzeća po dretvi umjesto njih
+ * ispisuje se "n/a".
+ *
+ * @see RCPosition
+ * @see CalcLayout
+ *
+ * @author Davor Češljaš
+ */
+public class RCPositionBenchmark {
+
+	/** Konstanta koja predstavlja zadani broj složenih razmještaja */
+	private static final int DEFAULT_PANELS = 200_000;
+
+	/** Konstanta koja predstavlja broj ponavljanja za zagrijavanje */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/** Konstanta koja predstavlja sva legalna ograničenja razmještaja */
+	private static final String[] CONSTRAINTS = createConstraints();
+
+	/**
+	 * Konstanta koja predstavlja komponente koje se dodaju u razmještaj, po
+	 * jedna za svako ograničenje
+	 */
+	private static final Component[] COMPONENTS = createComponents();
+
+	/**
+	 * Članska varijabla u koju se zbrajaju rezultati parsiranja kako ih
+	 * optimizator ne bi uklonio
+	 */
+	private static volatile long sink;
+
+	/**
+	 * Metoda od koje započinje izvođenje ovog programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog redka. Opcionalni prvi argument
+	 *            predstavlja broj složenih razmještaja (zadano
+	 *            {@value #DEFAULT_PANELS})
+	 */
+	public static void main(String[] args) {
+		int panels = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PANELS;
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			buildPanels(panels, true);
+			buildPanels(panels, false);
+			sink += parseAll(panels, true);
+			sink += parseAll(panels, false);
+		}
+
+		System.out.printf("Razmještaja: %d, komponenti po razmještaju: %d%n", panels, CONSTRAINTS.length);
+		for (boolean split : new boolean[] { true, false }) {
+			String name = split ? "split" : "parse";
+
+			long bytes = AllocationMeter.allocatedBytes();
+			long start = System.nanoTime();
+			sink += parseAll(panels, split);
+			long nanos = System.nanoTime() - start;
+			long parses = (long) panels * CONSTRAINTS.length;
+			System.out.printf("%-6s parsiranje: %8.2f ns/ograničenje, %8s B/ograničenje%n", name,
+					(double) nanos / parses, AllocationMeter.perUnit(bytes, AllocationMeter.allocatedBytes(), parses));
+
+			bytes = AllocationMeter.allocatedBytes();
+			start = System.nanoTime();
+			buildPanels(panels, split);
+			nanos = System.nanoTime() - start;
+			System.out.printf("%-6s slaganje:   %8.2f µs/razmještaj, %8s B/razmještaj%n", name,
+					nanos / 1e3 / panels, AllocationMeter.perUnit(bytes, AllocationMeter.allocatedBytes(), panels));
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja <b>panels</b> puta parsira sva ograničenja
+	 *
+	 * @param panels
+	 *            broj ponavljanja
+	 * @param split
+	 *            <code>true</code> ukoliko se koristi prijašnje parsiranje
+	 * @return zbroj redaka i stupaca kako optimizator ne bi uklonio petlju
+	 */
+	private static long parseAll(int panels, boolean split) {
+		long checksum = 0;
+		for (int i = 0; i < panels; i++) {
+			for (String constraint : CONSTRAINTS) {
+				RCPosition position = split ? splitParse(constraint) : RCPosition.parse(constraint);
+				checksum += position.getRow() + position.getColumn();
+			}
+		}
+		return checksum;
+	}
+
+	/**
+	 * Pomoćna metoda koja <b>panels</b> puta slaže novi razmještaj sa svim
+	 * komponentama
+	 *
+	 * @param panels
+	 *            broj ponavljanja
+	 * @param split
+	 *            <code>true</code> ukoliko se koristi prijašnje parsiranje
+	 */
+	private static void buildPanels(int panels, boolean split) {
+		for (int i = 0; i < panels; i++) {
+			CalcLayout layout = new CalcLayout();
+			for (int j = 0; j < CONSTRAINTS.length; j++) {
+				Object constraint = split ? splitParse(CONSTRAINTS[j]) : CONSTRAINTS[j];
+				layout.addLayoutComponent(COMPONENTS[j], constraint);
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja parsira ograničenje na način na koji je to
+	 * {@link RCPosition#parse(String)} radila prije uvođenja zapamćenih
+	 * primjeraka
+	 *
+	 * @param input
+	 *            ograničenje formata <b><i>"row,column"</i></b>
+	 * @return novi primjerak razreda {@link RCPosition}
+	 */
+	private static RCPosition splitParse(String input) {
+		input = input.trim();
+		String[] coordinates = input.split(",");
+		return new RCPosition(Integer.parseInt(coordinates[0].trim()), Integer.parseInt(coordinates[1].trim()));
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara sva legalna ograničenja razmještaja
+	 * {@link CalcLayout}
+	 *
+	 * @return polje ograničenja
+	 */
+	private static String[] createConstraints() {
+		String[] constraints = new String[31];
+		int index = 0;
+		for (int row = 1; row <= 5; row++) {
+			for (int column = 1; column <= 7; column++) {
+				if (row == 1 && column >= 2 && column <= 5) {
+					continue;
+				}
+				constraints[index++] = row + "," + column;
+			}
+		}
+		return constraints;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara po jednu laganu komponentu za svako
+	 * ograničenje
+	 *
+	 * @return polje komponenti
+	 */
+	private static Component[] createComponents() {
+		Component[] components = new Component[CONSTRAINTS.length];
+		for (int i = 0; i < components.length; i++) {
+			components[i] = new Component() {
+				private static final long serialVersionUID = 1L;
+			};
+		}
+		return components;
+	}
+}
@@ -0,0 +1,166 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Razred koji pamti preporučene, minimalne i maksimalne dimenzije komponenti
+ * koje razmješta neki upravljač razmještaja. Komponente se uspoređuju po
+ * identitetu, a svaka zapamćena dimenzija vrijedi samo unutar epohe u kojoj
+ * je izračunata. Epoha se povećava metodom {@link #invalidate()} koju
+ * upravljač razmještaja poziva iz
+ * {@link java.awt.LayoutManager2#invalidateLayout(java.awt.Container)}, a
+ * AWT taj poziv dobiva svaki roditelj poništene komponente. Dimenzija
+ * djeteta zato se od njega traži najviše jednom po ciklusu validacije, pa se
+ * ugniježđeni spremnici, čija je preporučena dimenzija skupa, ne obilaze
+ * ponovno svaki put kada roditelj dodavanjem ili uklanjanjem komponente
+ * izgubi svoje zapamćene dimenzije. Poništavanje je jedno povećanje brojača
+ * i ne prolazi kroz zapamćene komponente.
+ * <p>
+ * Svaki upravljač razmještaja ima vlastiti primjerak jer komponentu uvijek
+ * razmješta samo upravljač njenog roditelja. Zajednička epoha za cijelo
+ * stablo povećavala bi se svakim poništavanjem u stablu pa bi se brisale i
+ * zapamćene dimenzije podstabala koja nisu poništena. Ovako poništavanje
+ * komponente briše samo dimenzije zapamćene na putu od nje do korijena.
+ * </p>
+ * <p>
+ * Vraćene dimenzije se dijele i pozivatelj ih ne smije mijenjati.
+ * </p>
+ *
+ * @see CalcLayout
+ * @see ConfigurableGridLayout
+ *
+ * @author Davor Češljaš
+ */
+class SizeCache {
+
+	/**
+	 * Enumeracija koja predstavlja vrstu dimenzije koja se pamti
+	 *
+	 * @author Davor Češljaš
+	 */
+	enum Kind {
+		/** Preporučena dimenzija */
+		PREFERRED {
+			@Override
+			Dimension query(Component comp) {
+				return comp.getPreferredSize();
+			}
+		},
+		/** Minimalna dimenzija */
+		MINIMUM {
+			@Override
+			Dimension query(Component comp) {
+				return comp.getMinimumSize();
+			}
+		},
+		/** Maksimalna dimenzija */
+		MAXIMUM {
+			@Override
+			Dimension query(Component comp) {
+				return comp.getMaximumSize();
+			}
+		};
+
+		/**
+		 * Metoda koja od komponente <b>comp</b> dohvaća dimenziju ove vrste
+		 *
+		 * @param comp
+		 *            komponenta čija se dimenzija dohvaća
+		 * @return dimenziju komponente
+		 */
+		abstract Dimension query(Component comp);
+	}
+
+	/** Konstanta koja predstavlja broj vrsta dimenzija */
+	private static final int KINDS = Kind.values().length;
+
+	/**
+	 * {@link Map} koji mapira komponente na njihove zapamćene dimenzije
+	 */
+	private final Map<Component, Entry> entries;
+
+	/** Članska varijabla koja predstavlja trenutnu epohu */
+	private long epoch;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param expectedComponents
+	 *            očekivani broj komponenti
+	 */
+	SizeCache(int expectedComponents) {
+		entries = new IdentityHashMap<>(expectedComponents);
+	}
+
+	/**
+	 * Metoda koja dohvaća dimenziju vrste <b>kind</b> komponente <b>comp</b>.
+	 * Ukoliko dimenzija nije izračunata u trenutnoj epohi dohvaća se od
+	 * komponente i pamti.
+	 *
+	 * @param comp
+	 *            komponenta čija se dimenzija dohvaća
+	 * @param kind
+	 *            vrsta dimenzije
+	 * @return dimenziju komponente (moguće <code>null</code> ukoliko je
+	 *         komponenta vrati)
+	 */
+	Dimension get(Component comp, Kind kind) {
+		Entry entry = entries.get(comp);
+		if (entry == null) {
+			entry = new Entry();
+			entries.put(comp, entry);
+		}
+		if (entry.epoch != epoch) {
+			entry.epoch = epoch;
+			entry.known = 0;
+		}
+
+		int bit = 1 << kind.ordinal();
+		if ((entry.known & bit) != 0) {
+			return entry.sizes[kind.ordinal()];
+		}
+		Dimension size = kind.query(comp);
+		entry.sizes[kind.ordinal()] = size;
+		entry.known |= bit;
+		return size;
+	}
+
+	/**
+	 * Metoda koja povećava epohu čime sve zapamćene dimenzije prestaju
+	 * vrijediti
+	 */
+	void invalidate() {
+		epoch++;
+	}
+
+	/**
+	 * Metoda koja zaboravlja sve dimenzije komponente <b>comp</b>. Poziva se
+	 * prilikom uklanjanja komponente iz razmještaja.
+	 *
+	 * @param comp
+	 *            komponenta koja se zaboravlja
+	 */
+	void remove(Component comp) {
+		entries.remove(comp);
+	}
+
+	/**
+	 * Razred koji predstavlja zapamćene dimenzije jedne komponente
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class Entry {
+
+		/** Članska varijabla koja predstavlja epohu zapamćenih dimenzija */
+		private long epoch = -1;
+
+		/** Članska varijabla koja predstavlja masku zapamćenih vrsta */
+		private int known;
+
+		/** Članska varijabla koja predstavlja zapamćene dimenzije po vrstama */
+		private final Dimension[] sizes = new Dimension[KINDS];
+	}
+}
@@ -0,0 +1,79 @@
+package hr.fer.zemris.java.gui.calc;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.junit.Test;
+
+public class BigDecimalMathTest {
+
+	private static final MathContext MC = new MathContext(50);
+
+	private static final String PI = "3.1415926535897932384626433832795028841971693993751";
+
+	private static final String LN2 = "0.69314718055994530941723212145817656807550013436026";
+
+	private static final String E = "2.7182818284590452353602874713526624977572470937000";
+
+	private static final String SQRT2 = "1.4142135623730950488016887242096980785696718753769";
+
+	@Test
+	public void testiranjeKonstanti() throws Exception {
+		assertEquals(new BigDecimal(PI), BigDecimalMath.pi(MC));
+		assertEquals(new BigDecimal(LN2), BigDecimalMath.ln(BigDecimal.valueOf(2), MC));
+		assertEquals(new BigDecimal(E), BigDecimalMath.exp(BigDecimal.ONE, MC));
+		assertEquals(new BigDecimal(SQRT2), BigDecimalMath.sqrt(BigDecimal.valueOf(2), MC));
+	}
+
+	@Test
+	public void testiranjeInverznihFunkcija() throws Exception {
+		BigDecimal x = new BigDecimal("0.7");
+		for (UnaryOperation operation : UnaryOperation.values()) {
+			BigDecimal y = BigDecimalMath.apply(operation, false, x, MC);
+			BigDecimal back = BigDecimalMath.apply(operation, true, y, MC);
+			assertTrue(operation.toString(), x.subtract(back).abs().compareTo(new BigDecimal("1e-45")) < 0);
+		}
+		// ponovljeni izračun vraća zapamćeni rezultat
+		assertSame(BigDecimalMath.apply(UnaryOperation.SIN, false, x, MC),
+				BigDecimalMath.apply(UnaryOperation.SIN, false, new BigDecimal("0.700"), MC));
+	}
+
+	@Test
+	public void testiranjeTocnihRezultata() throws Exception {
+		assertEquals(0, BigDecimal.valueOf(3).compareTo(BigDecimalMath.log10(new BigDecimal("1000"), MC)));
+		assertEquals(0, BigDecimal.valueOf(2)
+				.compareTo(BigDecimalMath.apply(BinaryOperation.POWER, true, BigDecimal.valueOf(8), BigDecimal.valueOf(3), MC)));
+		assertEquals(0, new BigDecimal("1.44")
+				.compareTo(BigDecimalMath.apply(BinaryOperation.POWER, false, new BigDecimal("1.2"), BigDecimal.valueOf(2), MC)));
+		assertEquals(0, new BigDecimal("-2")
+				.compareTo(BigDecimalMath.apply(BinaryOperation.POWER, true, new BigDecimal("-8"), BigDecimal.valueOf(3), MC)));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testiranjeLogaritmaNule() throws Exception {
+		BigDecimalMath.ln(BigDecimal.ZERO, MC);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testiranjePrevelikogKuta() throws Exception {
+		BigDecimalMath.sin(new BigDecimal("1e20000"), MathContext.DECIMAL64);
+	}
+
+	@Test
+	public void testiranjeNajvecegKuta() throws Exception {
+		BigDecimal x = new BigDecimal("1e100");
+		BigDecimal sin = BigDecimalMath.sin(x, MC);
+		BigDecimal cos = BigDecimalMath.cos(x, MC);
+		BigDecimal one = sin.multiply(sin, MC).add(cos.multiply(cos, MC), MC);
+		assertTrue(one.subtract(BigDecimal.ONE).abs().compareTo(new BigDecimal("1e-45")) < 0);
+	}
+
+	@Test
+	public void testiranjeKonstantiManjePreciznosti() throws Exception {
+		BigDecimalMath.pi(new MathContext(500));
+		assertEquals(new BigDecimal(PI), BigDecimalMath.pi(MC));
+		assertEquals(new BigDecimal(LN2), BigDecimalMath.ln(BigDecimal.valueOf(2), MC));
+	}
+}
@@ -0,0 +1,133 @@
+package hr.fer.zemris.java.gui.calc;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import org.junit.Test;
+
+public class BulkOperationsTest {
+
+	private static double[] values(int length) {
+		double[] values = new double[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = (i % 2000 - 1000) * 0.0125;
+		}
+		return values;
+	}
+
+	private static void assertBitsEqual(double expected, double actual) {
+		assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+	}
+
+	@Test
+	public void testiranjeUnarnihOperacija() throws Exception {
+		// dulje od praga pa se polje dijeli
+		double[] in = values(3 * BulkOperations.PARALLEL_THRESHOLD + 17);
+		double[] out = new double[in.length];
+		for (UnaryOperation operation : UnaryOperation.values()) {
+			for (boolean inverse : new boolean[] { false, true }) {
+				BulkOperations.apply(operation, inverse, in, out);
+				for (int i = 0; i < in.length; i++) {
+					assertBitsEqual(operation.apply(in[i], inverse), out[i]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testiranjeBinarnihOperacija() throws Exception {
+		double[] in = values(1000);
+		double[] in2 = values(1000);
+		for (int i = 0; i < in2.length; i++) {
+			in2[i] = 3 - in2[i];
+		}
+		double[] out = new double[in.length];
+		for (BinaryOperation operation : BinaryOperation.values()) {
+			for (boolean inverse : new boolean[] { false, true }) {
+				BulkOperations.apply(operation, inverse, in, 3, out);
+				for (int i = 0; i < in.length; i++) {
+					assertBitsEqual(operation.apply(in[i], 3, inverse), out[i]);
+				}
+
+				BulkOperations.apply(operation, inverse, in, in2, out);
+				for (int i = 0; i < in.length; i++) {
+					assertBitsEqual(operation.apply(in[i], in2[i], inverse), out[i]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testiranjeMeduspremnika() throws Exception {
+		double[] values = values(2 * BulkOperations.PARALLEL_THRESHOLD + 5);
+		DoubleBuffer direct = ByteBuffer.allocateDirect(values.length * Double.BYTES).asDoubleBuffer();
+		direct.put(values).flip();
+		direct.position(3);
+
+		BulkOperations.apply(UnaryOperation.COS, false, direct, direct);
+		assertEquals(3, direct.position());
+		for (int i = 0; i < values.length; i++) {
+			assertBitsEqual(i < 3 ? values[i] : Math.cos(values[i]), direct.get(i));
+		}
+
+		DoubleBuffer heap = DoubleBuffer.wrap(values, 1, 10).slice();
+		double[] out = new double[12];
+		BulkOperations.apply(UnaryOperation.LN, true, heap, DoubleBuffer.wrap(out, 2, 10));
+		for (int i = 0; i < 10; i++) {
+			assertBitsEqual(Math.exp(values[i + 1]), out[i + 2]);
+		}
+	}
+
+	@Test
+	public void testiranjeBinarnihOperacijaNadMeduspremnicima() throws Exception {
+		double[] values = values(2 * BulkOperations.PARALLEL_THRESHOLD + 5);
+		double[] values2 = new double[values.length];
+		for (int i = 0; i < values2.length; i++) {
+			values2[i] = 2 + values[i] * values[i];
+		}
+		DoubleBuffer direct = ByteBuffer.allocateDirect(values.length * Double.BYTES).asDoubleBuffer();
+		DoubleBuffer directOut = ByteBuffer.allocateDirect(values.length * Double.BYTES).asDoubleBuffer();
+		direct.put(values).flip();
+		double[] heapOut = new double[values.length + 1];
+
+		for (BinaryOperation operation : BinaryOperation.values()) {
+			for (boolean inverse : new boolean[] { false, true }) {
+				directOut.clear();
+				BulkOperations.apply(operation, inverse, direct, 3, directOut);
+				assertEquals(0, direct.position());
+				for (int i = 0; i < values.length; i++) {
+					assertBitsEqual(operation.apply(values[i], 3, inverse), directOut.get(i));
+				}
+
+				// međuspremnici nad poljima s pomakom i izravan međuspremnik zajedno
+				DoubleBuffer tail = direct.duplicate();
+				tail.position(1);
+				DoubleBuffer heap = DoubleBuffer.wrap(values2, 1, values.length - 1);
+				BulkOperations.apply(operation, inverse, tail.slice(), heap,
+						DoubleBuffer.wrap(heapOut, 2, values.length - 1));
+				for (int i = 1; i < values.length; i++) {
+					assertBitsEqual(operation.apply(values[i], values2[i], inverse), heapOut[i + 1]);
+				}
+
+				BulkOperations.apply(operation, inverse, DoubleBuffer.wrap(values), DoubleBuffer.wrap(values2),
+						DoubleBuffer.wrap(heapOut, 1, values.length).slice());
+				for (int i = 0; i < values.length; i++) {
+					assertBitsEqual(operation.apply(values[i], values2[i], inverse), heapOut[i + 1]);
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeRazlicitihMeduspremnikaArgumenata() throws Exception {
+		BulkOperations.apply(BinaryOperation.ADD, false, DoubleBuffer.allocate(3), DoubleBuffer.allocate(2),
+				DoubleBuffer.allocate(3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjePrekratkogIzlaza() throws Exception {
+		BulkOperations.apply(UnaryOperation.SIN, false, new double[3], new double[2]);
+	}
+}
@@ -0,0 +1,250 @@
+package hr.fer.zemris.java.gui.calc;
+
+import static org.junit.Assert.*;
+
+import java.math.MathContext;
+
+import org.junit.Test;
+
+public class CalculatorEngineTest {
+
+	@Test
+	public void testiranjeUpisaBroja() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.appendDigit(1);
+		engine.appendDot();
+		engine.appendDigit(5);
+		engine.negate();
+		assertEquals("-1.5", engine.getDisplay());
+
+		engine.negate();
+		assertEquals("1.5", engine.getDisplay());
+	}
+
+	@Test
+	public void testiranjeUnarneOperacije() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.appendDigit(1);
+		engine.appendDigit(0);
+		engine.appendDigit(0);
+		engine.apply(UnaryOperation.LOG);
+		assertEquals("2.0", engine.getDisplay());
+
+		engine.setInverse(true);
+		engine.apply(UnaryOperation.LOG);
+		assertEquals("100.0", engine.getDisplay());
+
+		// nakon rezultata znamenka započinje novi broj
+		engine.appendDigit(7);
+		assertEquals("7", engine.getDisplay());
+	}
+
+	@Test
+	public void testiranjeUlancaneBinarneOperacije() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		// 2 + 3 * 4 = (lijevo na desno)
+		engine.appendDigit(2);
+		engine.selectBinaryOperation(BinaryOperation.ADD);
+		engine.appendDigit(3);
+		engine.selectBinaryOperation(BinaryOperation.MULTIPLY);
+		assertEquals("5.0", engine.getDisplay());
+
+		engine.appendDigit(4);
+		engine.finishCalculation();
+		assertEquals("20.0", engine.getDisplay());
+
+		// 8 x^n 3 uz inverz je treći korijen iz 8
+		engine.appendDigit(8);
+		engine.selectBinaryOperation(BinaryOperation.POWER);
+		engine.appendDigit(3);
+		engine.setInverse(true);
+		engine.finishCalculation();
+		assertEquals("2.0", engine.getDisplay());
+	}
+
+	@Test
+	public void testiranjeResetaTijekomBinarneOperacije() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.appendDigit(2);
+		engine.selectBinaryOperation(BinaryOperation.ADD);
+		engine.reset();
+		engine.appendDigit(3);
+		engine.finishCalculation();
+		assertEquals("3", engine.getDisplay());
+	}
+
+	@Test
+	public void testiranjeStoga() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.appendDigit(4);
+		engine.push();
+		engine.clear();
+		engine.appendDigit(9);
+		engine.pop();
+		assertEquals("4.0", engine.getDisplay());
+
+		engine.setInverse(true);
+		engine.pop();
+		assertEquals("NaN", engine.getDisplay());
+		assertFalse(engine.isInverse());
+	}
+
+	@Test
+	public void testiranjeNeispravnogEkrana() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.appendDot();
+		engine.apply(UnaryOperation.SIN);
+		assertEquals("NaN", engine.getDisplay());
+
+		// operacija koja ne može pročitati prvi argument ne čeka drugi
+		engine.clear();
+		engine.selectBinaryOperation(BinaryOperation.ADD);
+		assertEquals("NaN", engine.getDisplay());
+		assertNull(engine.getPendingOperation());
+	}
+
+	@Test
+	public void testiranjeUpisaCijelogBroja() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.enter(2.5);
+		engine.negate();
+		assertEquals(-2.5, engine.getValue(), 0);
+		assertEquals("-2.5", engine.getDisplay());
+
+		// upisani broj se nastavlja znamenkama
+		engine.appendDigit(1);
+		assertEquals("-2.51", engine.getDisplay());
+		assertEquals(-2.51, engine.getValue(), 0);
+
+		engine.appendDot();
+		assertTrue(Double.isNaN(engine.getValue()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNeispravneZnamenke() throws Exception {
+		new CalculatorEngine().appendDigit(10);
+	}
+
+	@Test
+	public void testiranjePreciznogNacinaRada() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.setMathContext(MathContext.DECIMAL128);
+		// 0.1 + 0.2 je točno 0.3
+		engine.appendDot();
+		engine.appendDigit(1);
+		engine.selectBinaryOperation(BinaryOperation.ADD);
+		engine.appendDot();
+		engine.appendDigit(2);
+		engine.finishCalculation();
+		assertEquals("0.3", engine.getDisplay());
+
+		engine.push();
+		engine.appendDigit(0);
+		engine.apply(UnaryOperation.LN);
+		assertEquals("NaN", engine.getDisplay());
+
+		// stog se prenosi u način rada s brojevima tipa double
+		engine.setMathContext(null);
+		engine.pop();
+		assertEquals("0.3", engine.getDisplay());
+		assertEquals(0.3, engine.getValue(), 0);
+	}
+
+	@Test
+	public void testiranjeDubokogStogaUPreciznomNacinuRada() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		int count = 3 * SpillingDoubleStack.DEFAULT_MEMORY_CAPACITY;
+		for (int i = 0; i < count; i++) {
+			engine.enter(i);
+			engine.push();
+		}
+
+		// brojevi spremljeni u načinu rada double pretvaraju se tek prilikom skidanja
+		engine.setMathContext(MathContext.DECIMAL64);
+		engine.clear();
+		engine.appendDot();
+		engine.appendDigit(5);
+		engine.push();
+		engine.setMathContext(MathContext.DECIMAL128);
+		engine.pop();
+		assertEquals("0.5", engine.getDisplay());
+		engine.pop();
+		assertEquals(String.valueOf(count - 1), engine.getDisplay());
+
+		engine.clear();
+		engine.appendDigit(7);
+		engine.push();
+		engine.setMathContext(null);
+		engine.pop();
+		assertEquals(7, engine.getValue(), 0);
+		for (int i = count - 2; i >= 0; i--) {
+			engine.pop();
+			assertEquals(i, engine.getValue(), 0);
+		}
+		engine.pop();
+		assertEquals("NaN", engine.getDisplay());
+	}
+
+	@Test
+	public void testiranjeKapacitetaStoga() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine(4);
+		for (int i = 0; i < 10; i++) {
+			engine.enter(i);
+			engine.push();
+		}
+		for (int i = 9; i >= 0; i--) {
+			engine.pop();
+			assertEquals(i, engine.getValue(), 0);
+		}
+		engine.close();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNeispravnogKapacitetaStoga() throws Exception {
+		new CalculatorEngine(1);
+	}
+
+	@Test
+	public void testiranjeZatvaranja() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		for (int i = 0; i < 2 * SpillingDoubleStack.DEFAULT_MEMORY_CAPACITY; i++) {
+			engine.enter(i);
+			engine.push();
+		}
+		engine.close();
+		engine.pop();
+		assertEquals("NaN", engine.getDisplay());
+
+		// zatvoreni kalkulator može se dalje koristiti
+		engine.appendDigit(4);
+		engine.push();
+		engine.clear();
+		engine.pop();
+		assertEquals(4, engine.getValue(), 0);
+		engine.close();
+	}
+
+	@Test
+	public void testiranjeOperacijeKojaCekaArgument() throws Exception {
+		CalculatorEngine engine = new CalculatorEngine();
+		// 2 + 3 * 4 = kako ga izvode gumbi kalkulatora
+		engine.appendDigit(2);
+		engine.selectBinaryOperation(BinaryOperation.ADD);
+		assertEquals(BinaryOperation.ADD, engine.getPendingOperation());
+		engine.appendDigit(3);
+		engine.selectBinaryOperation(BinaryOperation.MULTIPLY);
+		assertEquals("5.0", engine.getDisplay());
+		engine.appendDigit(4);
+		engine.finishCalculation();
+		assertEquals("20.0", engine.getDisplay());
+		assertNull(engine.getPendingOperation());
+
+		// nakon resetiranja operacija više ne čeka argument
+		engine.appendDigit(1);
+		engine.selectBinaryOperation(BinaryOperation.SUBTRACT);
+		engine.reset();
+		engine.appendDigit(9);
+		engine.finishCalculation();
+		assertEquals("9", engine.getDisplay());
+	}
+}
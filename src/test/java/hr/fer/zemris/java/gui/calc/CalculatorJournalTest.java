@@ -0,0 +1,135 @@
+package hr.fer.zemris.java.gui.calc;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.MathContext;
+
+import org.junit.Test;
+
+public class CalculatorJournalTest {
+
+	@Test
+	public void testiranjePonavljanjaSesije() throws Exception {
+		CalculatorJournal journal = new CalculatorJournal();
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.setJournal(journal);
+
+		// 12.5 * 3 = , ln, push, 8 x^n 3 uz inverz =, pop, "-" sin
+		engine.appendDigit(1);
+		engine.appendDigit(2);
+		engine.appendDot();
+		engine.appendDigit(5);
+		engine.selectBinaryOperation(BinaryOperation.MULTIPLY);
+		engine.appendDigit(3);
+		engine.finishCalculation();
+		engine.apply(UnaryOperation.LN);
+		engine.push();
+		engine.appendDigit(8);
+		engine.setInverse(true);
+		engine.selectBinaryOperation(BinaryOperation.POWER);
+		engine.appendDigit(3);
+		engine.finishCalculation();
+		engine.pop();
+		engine.clear();
+		engine.negate();
+		engine.apply(UnaryOperation.SIN);
+		engine.reset();
+		assertEquals(10, journal.size());
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		journal.writeTo(bytes);
+		CalculatorJournal read = CalculatorJournal.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+		assertEquals(journal.size(), read.size());
+		assertEquals(journal.byteSize(), read.byteSize());
+
+		CalculatorEngine replayed = new CalculatorEngine();
+		assertEquals(0, JournalReplayer.replay(read, replayed));
+		assertEquals(engine.getDisplay(), replayed.getDisplay());
+
+		// izmijenjen zadnji oktet rezultata operacije "=" mora se primijetiti
+		byte[] tampered = bytes.toByteArray();
+		tampered[8 + 17 + 16] ^= 1;
+		CalculatorJournal changed = CalculatorJournal.readFrom(new ByteArrayInputStream(tampered));
+		assertEquals(1, JournalReplayer.replay(changed, new CalculatorEngine()));
+	}
+
+	@Test
+	public void testiranjePromjeneNacinaRada() throws Exception {
+		CalculatorJournal journal = new CalculatorJournal();
+		CalculatorEngine engine = new CalculatorEngine();
+		engine.setJournal(journal);
+
+		engine.appendDigit(5);
+		engine.push();
+		engine.setMathContext(MathContext.DECIMAL64);
+		engine.pop();
+		engine.setMathContext(null);
+		engine.pop();
+		assertTrue(engine.isJournalSuspended());
+		assertEquals(1, journal.size());
+		assertEquals(0, JournalReplayer.replay(journal, new CalculatorEngine()));
+
+		// resetiranje vraća početno stanje pa se zapisivanje nastavlja
+		engine.reset();
+		assertFalse(engine.isJournalSuspended());
+		engine.appendDigit(2);
+		engine.push();
+		engine.appendDigit(3);
+		engine.selectBinaryOperation(BinaryOperation.ADD);
+		engine.pop();
+		engine.finishCalculation();
+		assertEquals(6, journal.size());
+
+		CalculatorEngine replayed = new CalculatorEngine();
+		assertEquals(0, JournalReplayer.replay(journal, replayed));
+		assertEquals(engine.getDisplay(), replayed.getDisplay());
+
+		// resetiranje u preciznom načinu rada ne nastavlja zapisivanje
+		engine.setMathContext(MathContext.DECIMAL128);
+		engine.reset();
+		assertTrue(engine.isJournalSuspended());
+		engine.setMathContext(null);
+		engine.clearJournal();
+		assertEquals(0, journal.size());
+		assertTrue(engine.isJournalSuspended());
+	}
+
+	@Test
+	public void testiranjeNeispravnogDnevnika() throws Exception {
+		assertUnreadable(new byte[] { 1, 2, 3, 4, 0, 0, 0, 0 });
+
+		// unarna operacija 7 i binarne operacije 5 do 7 ne postoje
+		CalculatorJournal journal = new CalculatorJournal();
+		journal.record(CalculatorJournal.UNARY, 7, false, true, 1, 2);
+		assertUnreadable(journal);
+		for (int operation = 5; operation <= 7; operation++) {
+			journal = new CalculatorJournal();
+			journal.record(CalculatorJournal.BINARY, operation, false, true, 1, 2);
+			assertUnreadable(journal);
+		}
+
+		journal = new CalculatorJournal();
+		journal.record(CalculatorJournal.UNARY, 6, true, true, 1, 2);
+		journal.record(CalculatorJournal.BINARY, 4, false, true, 1, 2);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		journal.writeTo(out);
+		assertEquals(2, CalculatorJournal.readFrom(new ByteArrayInputStream(out.toByteArray())).size());
+	}
+
+	private static void assertUnreadable(CalculatorJournal journal) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		journal.writeTo(out);
+		assertUnreadable(out.toByteArray());
+	}
+
+	private static void assertUnreadable(byte[] bytes) {
+		try {
+			CalculatorJournal.readFrom(new ByteArrayInputStream(bytes));
+			fail("Dnevnik je pročitan");
+		} catch (IOException expected) {
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package hr.fer.zemris.java.gui.calc;
+
+import static org.junit.Assert.*;
+
+import java.util.EmptyStackException;
+
+import org.junit.Test;
+
+public class SpillingDoubleStackTest {
+
+	@Test
+	public void testiranjeDubokogStoga() throws Exception {
+		try (SpillingDoubleStack stack = new SpillingDoubleStack(8)) {
+			int count = 3_000_000;
+			for (int i = 0; i < count; i++) {
+				stack.push(i);
+			}
+			assertEquals(count, stack.size());
+			assertTrue(stack.spilledSize() >= count - 8);
+
+			for (int i = count - 1; i >= 0; i--) {
+				assertEquals(i, stack.peek(), 0);
+				assertEquals(i, stack.pop(), 0);
+			}
+			assertTrue(stack.isEmpty());
+		}
+	}
+
+	@Test
+	public void testiranjeNaizmjenicnogRadaNaGranici() throws Exception {
+		try (SpillingDoubleStack stack = new SpillingDoubleStack(4)) {
+			for (int i = 0; i < 10; i++) {
+				stack.push(i);
+			}
+			// vađenje i spremanje oko granice segmenta ne smije izgubiti brojeve
+			for (int round = 0; round < 5; round++) {
+				assertEquals(9, stack.pop(), 0);
+				assertEquals(8, stack.pop(), 0);
+				assertEquals(7, stack.pop(), 0);
+				stack.push(7);
+				stack.push(8);
+				stack.push(9);
+			}
+			for (int i = 9; i >= 0; i--) {
+				assertEquals(i, stack.pop(), 0);
+			}
+
+			stack.push(1);
+			stack.clear();
+			assertTrue(stack.isEmpty());
+		}
+	}
+
+	@Test
+	public void testiranjePostupnogRasta() throws Exception {
+		try (SpillingDoubleStack stack = new SpillingDoubleStack(100)) {
+			// polje raste do punog kapaciteta prije prvog prepisivanja
+			for (int i = 0; i < 100; i++) {
+				stack.push(i);
+			}
+			assertEquals(0, stack.spilledSize());
+			stack.push(100);
+			assertEquals(50, stack.spilledSize());
+
+			for (int i = 100; i >= 0; i--) {
+				assertEquals(i, stack.pop(), 0);
+			}
+			assertTrue(stack.isEmpty());
+		}
+	}
+
+	@Test(expected = EmptyStackException.class)
+	public void testiranjePraznogStoga() throws Exception {
+		try (SpillingDoubleStack stack = new SpillingDoubleStack(2)) {
+			stack.push(1);
+			stack.push(2);
+			stack.push(3);
+			stack.pop();
+			stack.pop();
+			stack.pop();
+			stack.pop();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNeispravnogKapaciteta() throws Exception {
+		new SpillingDoubleStack(1);
+	}
+}
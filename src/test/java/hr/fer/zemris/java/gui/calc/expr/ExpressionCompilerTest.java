@@ -0,0 +1,82 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ExpressionCompilerTest {
+
+	private static final String[] EXPRESSIONS = { "sin(x) * 2 ^ 4", "-x ^ 2 + 3 * x - 1", "root(x, 3) / (1 + x)",
+			"ctg(x) - actg(2 * x)", "x ^ x", "log(x) * ln(2) + exp10(recip(x))", "2 ^ root(x, 0.5)" };
+
+	@Test
+	public void testiranjeIstihRezultataKaoProgram() throws Exception {
+		double[] stack = new double[16];
+		for (String expression : EXPRESSIONS) {
+			Program program = Parser.compile(expression);
+			CompiledExpression compiled = ExpressionCompiler.compile(program);
+			for (double x = -3; x <= 3; x += 0.125) {
+				double expected = program.evaluate(x, stack);
+				assertEquals(expression + " za x=" + x, Double.doubleToLongBits(expected),
+						Double.doubleToLongBits(compiled.evaluate(x)));
+			}
+		}
+	}
+
+	@Test
+	public void testiranjeRacunanjaKonstanti() throws Exception {
+		CompiledExpression compiled = ExpressionCompiler.compile("sin(3) * 2 ^ 4");
+		assertTrue(compiled.isConstant());
+		assertEquals(Math.sin(3) * 16, compiled.evaluate(Double.NaN), 0);
+		assertFalse(ExpressionCompiler.compile("1 + 2 * x").isConstant());
+	}
+
+	@Test
+	public void testiranjeIzracunaTablice() throws Exception {
+		double[] xs = { 0, 1, 2, 3 };
+		ExpressionCompiler.compile("x * x + 1").evaluate(xs, xs);
+		assertArrayEquals(new double[] { 1, 2, 5, 10 }, xs, 0);
+	}
+
+	@Test
+	public void testiranjeZaboravljanjaNajduljeNekoristenog() throws Exception {
+		ExpressionCache cache = new ExpressionCache(2);
+		CompiledExpression first = cache.get("x + 1");
+		cache.get("x + 2");
+		assertSame(first, cache.get("x+1"));
+		cache.get("x + 3");
+
+		assertEquals(2, cache.size());
+		assertSame(first, cache.get(" x +  1 "));
+		assertEquals(2, cache.getHits());
+		assertEquals(3, cache.getMisses());
+
+		cache.get("x + 2");
+		assertEquals(4, cache.getMisses());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNespajanjaJedinki() throws Exception {
+		new ExpressionCache().get("2 3");
+	}
+
+	@Test
+	public void testiranjePrazninaUEksponentu() throws Exception {
+		ExpressionCache cache = new ExpressionCache();
+		CompiledExpression compiled = cache.get("2e-1 * x");
+		assertSame(compiled, cache.get(" 2e-1*x "));
+		assertSame(compiled, cache.get("2e-1 *x"));
+		assertEquals(1, cache.size());
+
+		// "1e -5", "1e- 5" i "1e - 5" nisu ispravni brojevi, ni kada su zapamćeni
+		cache.get("1e-5");
+		for (String expression : new String[] { "1e -5", "1e- 5", "1E - 5", "1.e +5" }) {
+			try {
+				cache.get(expression);
+				fail("Izraz je trebao biti neispravan: " + expression);
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+		assertEquals(2, cache.size());
+	}
+}
@@ -0,0 +1,108 @@
+package hr.fer.zemris.java.gui.calc.expr;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class ParserTest {
+
+	private static double eval(String expression) {
+		return Parser.compile(expression).evaluate();
+	}
+
+	@Test
+	public void testiranjePrioritetaOperatora() throws Exception {
+		assertEquals(7, eval("1 + 2 * 3"), 0);
+		assertEquals(9, eval("(1 + 2) * 3"), 0);
+		assertEquals(2, eval("8 / 2 / 2"), 0);
+		assertEquals(512, eval("2 ^ 3 ^ 2"), 0);
+		assertEquals(-4, eval("-2 ^ 2"), 0);
+		assertEquals(0.5, eval("2 ^ -1"), 0);
+		assertEquals(1.5e-3, eval("1.5e-3"), 0);
+	}
+
+	@Test
+	public void testiranjeFunkcija() throws Exception {
+		assertEquals(Math.sin(3) * 16, eval("sin(3) * 2 ^ 4"), 0);
+		assertEquals(2, eval("log(100)"), 1e-12);
+		assertEquals(100, eval("exp10(2)"), 1e-12);
+		assertEquals(0.25, eval("recip(4)"), 0);
+		assertEquals(2, eval("root(8, 3)"), 0);
+		assertEquals(Math.atan(0.5), eval("actg(2)"), 0);
+		assertEquals(1, eval("ctg(atan(1))"), 1e-12);
+	}
+
+	@Test
+	public void testiranjePostfiksnogZapisa() throws Exception {
+		Program program = Parser.compile("-(1 + 2) * sin(3)");
+		assertEquals("1.0 2.0 + neg 3.0 sin *", program.toString());
+		assertEquals(2, program.getMaxDepth());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNepoznateFunkcije() throws Exception {
+		Parser.compile("foo(1)");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNezatvoreneZagrade() throws Exception {
+		Parser.compile("(1 + 2");
+	}
+
+	@Test
+	public void testiranjeNajveceDubine() throws Exception {
+		// vanjski izraz je prva razina, a svaka zagrada dodaje po jednu
+		int parentheses = Parser.MAX_NESTING - 1;
+		assertEquals(1, eval(repeat("(", parentheses) + "1" + repeat(")", parentheses)), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjePredubokogIzraza() throws Exception {
+		Parser.compile(repeat("(", 100_000));
+	}
+
+	@Test
+	public void testiranjePredubokogRetka() throws Exception {
+		StringWriter out = new StringWriter();
+		String input = "1 + 1\n" + repeat("(", 100_000) + "\n2 * 2\n";
+		long count = new BatchEvaluator(2).evaluate(new BufferedReader(new StringReader(input)), out);
+
+		assertEquals(3, count);
+		String[] lines = out.toString().split(System.lineSeparator());
+		assertEquals("2.0", lines[0]);
+		assertTrue(lines[1].startsWith("Greška: "));
+		assertEquals("4.0", lines[2]);
+	}
+
+	@Test
+	public void testiranjeRedoslijedaRezultata() throws Exception {
+		StringBuilder input = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			input.append(i).append(" * 2\n");
+			expected.append((double) i * 2).append(System.lineSeparator());
+		}
+		input.append("\n1 +\n");
+		expected.append(System.lineSeparator());
+
+		StringWriter out = new StringWriter();
+		long count = new BatchEvaluator(7).evaluate(new BufferedReader(new StringReader(input.toString())), out);
+
+		assertEquals(1002, count);
+		String[] lines = out.toString().split(System.lineSeparator(), -1);
+		assertTrue(out.toString().startsWith(expected.toString()));
+		assertTrue(lines[1001].startsWith("Greška: "));
+	}
+
+	private static String repeat(String text, int count) {
+		StringBuilder sb = new StringBuilder(text.length() * count);
+		for (int i = 0; i < count; i++) {
+			sb.append(text);
+		}
+		return sb.toString();
+	}
+}
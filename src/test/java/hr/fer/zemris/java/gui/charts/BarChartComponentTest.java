@@ -0,0 +1,76 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class BarChartComponentTest {
+
+	@Test
+	public void testiranjeIscrtavanjaSamoNovihStupaca() throws Exception {
+		checkAppending(false);
+	}
+
+	@Test
+	public void testiranjeIscrtavanjaSamoNovihProporcionalnihStupaca() throws Exception {
+		checkAppending(true);
+	}
+
+	private static void checkAppending(boolean proportionalX) {
+		List<XYValue> values = new ArrayList<>();
+		for (int x = 1; x <= 10; x++) {
+			values.add(new XYValue(x, x % 7));
+		}
+		BarChart barChart = new BarChart(values, "x", "y", 0, 10, 2);
+		List<Rectangle> repaints = new ArrayList<>();
+		BarChartComponent component = new BarChartComponent(barChart) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void repaint(long tm, int x, int y, int width, int height) {
+				repaints.add(new Rectangle(x, y, width, height));
+			}
+		};
+		component.setProportionalX(proportionalX);
+		component.setSize(800, 300);
+		BufferedImage image = new BufferedImage(800, 300, BufferedImage.TYPE_INT_RGB);
+		paint(component, image);
+
+		int full = 0;
+		int partial = 0;
+		for (int x = 11; x <= 1000; x++) {
+			repaints.clear();
+			barChart.addValues(Collections.singletonList(new XYValue(x, x % 7)));
+			assertEquals(1, repaints.size());
+			Rectangle area = repaints.get(0);
+			if (area.x == 0 && area.width == component.getWidth()) {
+				full++;
+			} else {
+				partial++;
+				assertTrue(area.x > 0);
+				assertEquals(component.getWidth(), area.x + area.width);
+			}
+			paint(component, image);
+		}
+
+		// x-os se proširuje za pola pa se stupci pomiču logaritamski mnogo puta
+		assertTrue("Cijelih iscrtavanja: " + full, full <= 12);
+		assertEquals(990 - full, partial);
+	}
+
+	private static void paint(BarChartComponent component, BufferedImage image) {
+		Graphics g = image.createGraphics();
+		try {
+			component.paint(g);
+		} finally {
+			g.dispose();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BarChartFileWatcherTest {
+
+	/** Zaglavlje bez završnog znaka novog redka, kao u datoteci bar_chart.txt */
+	private static final String HEADER = "Number of people in the car\nFrequency\n1,8 2,20 3,22\n0\n22\n2";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testiranjeDopisivanjaNaKrajDatoteke() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("chart.txt");
+		write(file, HEADER, StandardOpenOption.CREATE_NEW);
+		BarChart barChart = BarChart.parseFromFile(file);
+
+		try (BarChartFileWatcher watcher = new BarChartFileWatcher(file, barChart)) {
+			watcher.start();
+			// "0" završava zadnji redak zaglavlja, a zadnja vrijednost nije završena prazninom
+			write(file, "0\n4,10 5,", StandardOpenOption.APPEND);
+			write(file, "4", StandardOpenOption.APPEND);
+
+			awaitSize(barChart, 5);
+			assertEquals(4, barChart.getX(3));
+			assertEquals(10, barChart.getY(3));
+			assertEquals(5, barChart.getX(4));
+			assertEquals(4, barChart.getY(4));
+
+			write(file, " 6,13\r\n", StandardOpenOption.APPEND);
+			awaitSize(barChart, 6);
+			assertEquals(13, barChart.getY(5));
+		}
+	}
+
+	@Test
+	public void testiranjeZaglavljaSRazlicitimKrajevimaRedaka() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("chart.txt");
+		write(file, HEADER.replace("\n", "\r\n") + "\r\n7,1 ", StandardOpenOption.CREATE_NEW);
+		BarChart barChart = BarChart.parseFromFile(file);
+
+		try (BarChartFileWatcher watcher = new BarChartFileWatcher(file, barChart)) {
+			watcher.start();
+			awaitSize(barChart, 4);
+			assertEquals(7, barChart.getX(3));
+		}
+	}
+
+	@Test
+	public void testiranjeNastavkaNakonPogreske() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("chart.txt");
+		write(file, HEADER + "\n", StandardOpenOption.CREATE_NEW);
+		BarChart barChart = BarChart.parseFromFile(file);
+
+		CountDownLatch failed = new CountDownLatch(1);
+		AtomicInteger errors = new AtomicInteger();
+		try (BarChartFileWatcher watcher = new BarChartFileWatcher(file, barChart, e -> {
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			errors.incrementAndGet();
+			failed.countDown();
+		})) {
+			watcher.start();
+			// datoteka se zamjenjuje direktorijem koji se ne može čitati
+			Files.delete(file);
+			Files.createDirectory(file);
+			assertTrue(failed.await(10, TimeUnit.SECONDS));
+
+			Files.delete(file);
+			write(file, HEADER + "\n9,5 ", StandardOpenOption.CREATE_NEW);
+			awaitSize(barChart, 4);
+			assertEquals(9, barChart.getX(3));
+			assertTrue(errors.get() > 0);
+		}
+	}
+
+	private static void write(Path file, String text, StandardOpenOption option) throws IOException {
+		Files.write(file, text.getBytes(StandardCharsets.US_ASCII), option, StandardOpenOption.WRITE);
+	}
+
+	private static void awaitSize(BarChart barChart, int size) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		int[] current = new int[1];
+		do {
+			Thread.sleep(20);
+			SwingUtilities.invokeAndWait(() -> current[0] = barChart.size());
+		} while (current[0] < size && System.nanoTime() < deadline);
+		assertEquals(size, current[0]);
+	}
+}
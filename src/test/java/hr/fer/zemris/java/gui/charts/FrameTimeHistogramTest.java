@@ -0,0 +1,160 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class FrameTimeHistogramTest {
+
+	@Test
+	public void testiranjeGranicaRazreda() throws Exception {
+		// do 64 svaka vrijednost ima svoj razred
+		for (long value : new long[] { 0, 1, 31, 32, 33, 63 }) {
+			assertEquals(value, singleBucketHigh(value));
+		}
+		// od 64 do 127 razredi su širine 2, od 128 do 255 širine 4
+		assertEquals(65, singleBucketHigh(64));
+		assertEquals(65, singleBucketHigh(65));
+		assertEquals(67, singleBucketHigh(66));
+		assertEquals(127, singleBucketHigh(126));
+		assertEquals(131, singleBucketHigh(128));
+		assertEquals(131, singleBucketHigh(131));
+		assertEquals(135, singleBucketHigh(132));
+
+		// 1 000 000 pripada razredu širine 2^14 koji počinje na 61 * 2^14
+		assertEquals(61 * (1L << 14) + (1L << 14) - 1, singleBucketHigh(1_000_000));
+		for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+			long high = singleBucketHigh(value);
+			assertTrue(high >= value);
+			assertTrue("Prevelika pogreška za " + value, high - value <= value / 32);
+		}
+	}
+
+	@Test
+	public void testiranjePercentila() throws Exception {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(50));
+		for (long value = 100; value >= 1; value--) {
+			histogram.record(value);
+		}
+
+		assertEquals(100, histogram.getTotalCount());
+		assertEquals(50.5, histogram.getMean(), 1e-12);
+		assertEquals(100, histogram.getMax());
+		assertEquals(1, histogram.getValueAtPercentile(0));
+		assertEquals(50, histogram.getValueAtPercentile(50));
+		// 90 i 99 dijele razred s 91 odnosno 98
+		assertEquals(91, histogram.getValueAtPercentile(90));
+		assertEquals(99, histogram.getValueAtPercentile(99));
+		// gornja granica razreda [100, 101] ograničena je najvećom vrijednošću
+		assertEquals(100, histogram.getValueAtPercentile(100));
+
+		histogram.record(-7);
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(0, histogram.getValueAtPercentile(0));
+		assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getTotalCount());
+		assertEquals(0, histogram.getMean(), 0);
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getValueAtPercentile(99));
+	}
+
+	@Test
+	public void testiranjeNeispravnogPercentila() throws Exception {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		for (double percentile : new double[] { -0.5, 100.5, Double.NaN }) {
+			try {
+				histogram.getValueAtPercentile(percentile);
+				fail("Postotak je trebao biti odbijen: " + percentile);
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+	}
+
+	@Test
+	public void testiranjeZbrajanjaStatistike() throws Exception {
+		long[] phases = { 1, 2, 3, 4 };
+		FrameStatistics statistics = new FrameStatistics(phases, 10, 5, 6);
+		// statistika čuva kopiju polja
+		Arrays.fill(phases, 100);
+
+		ChartMetrics metrics = new ChartMetrics();
+		metrics.framePainted(statistics);
+		metrics.framePainted(new FrameStatistics(new long[] { 10, 20, 30, 40 }, 1000, 1, 0));
+
+		assertEquals(2, metrics.getFrameCount());
+		assertEquals(11, metrics.getOriginNanos());
+		assertEquals(22, metrics.getXAxisNanos());
+		assertEquals(33, metrics.getYAxisNanos());
+		assertEquals(44, metrics.getDiagramNanos());
+		assertEquals(6, metrics.getBarsDrawn());
+		assertEquals(6, metrics.getLabelsMeasured());
+		assertEquals(10, metrics.getP50FrameNanos());
+		assertEquals(1000, metrics.getP99FrameNanos());
+		assertEquals(505, metrics.getMeanFrameNanos(), 0);
+
+		metrics.reset();
+		assertEquals(0, metrics.getFrameCount());
+		assertEquals(0, metrics.getDiagramNanos());
+		assertEquals(0, metrics.getBarsDrawn());
+	}
+
+	@Test
+	public void testiranjeIscrtavanjaBezPromatraca() throws Exception {
+		BarChartComponent component = new BarChartComponent(new BarChart(
+				Arrays.asList(new XYValue(1, 3), new XYValue(2, 7), new XYValue(3, 5)), "x", "y", 0, 10, 2));
+		component.setSize(400, 300);
+		BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+
+		ChartMetrics metrics = new ChartMetrics();
+		component.addPaintListener(metrics);
+		paint(component, image);
+		assertEquals(1, metrics.getFrameCount());
+		assertEquals(3, metrics.getBarsDrawn());
+		assertTrue(metrics.getMaxFrameNanos() > 0);
+		int[] measured = pixels(image);
+
+		// bez promatrača se ne mjeri i ne obavještava, a slika je ista
+		component.removePaintListener(metrics);
+		image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+		paint(component, image);
+		assertEquals(1, metrics.getFrameCount());
+		assertEquals(3, metrics.getBarsDrawn());
+		assertArrayEquals(measured, pixels(image));
+
+		component.addPaintListener(metrics);
+		paint(component, image);
+		assertEquals(2, metrics.getFrameCount());
+	}
+
+	/**
+	 * Pomoćna metoda koja vraća gornju granicu razreda u koji pripada
+	 * <b>value</b>. Histogram sadrži <b>value</b> i jednu veću vrijednost pa
+	 * medijan nije ograničen najvećom vrijednošću.
+	 */
+	private static long singleBucketHigh(long value) {
+		FrameTimeHistogram histogram = new FrameTimeHistogram();
+		histogram.record(value);
+		histogram.record(Long.MAX_VALUE);
+		return histogram.getValueAtPercentile(50);
+	}
+
+	private static void paint(BarChartComponent component, BufferedImage image) {
+		Graphics g = image.createGraphics();
+		try {
+			component.paint(g);
+		} finally {
+			g.dispose();
+		}
+	}
+
+	private static int[] pixels(BufferedImage image) {
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+}
@@ -0,0 +1,116 @@
+package hr.fer.zemris.java.gui.charts;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+	@Test
+	public void testiranjePrebrojavanjaCijelihBrojeva() throws Exception {
+		Histogram histogram = Histogram.fixed(0, 1);
+		DoubleStream.of(1, 2, 2, 3, 3, 3, 5).forEach(histogram);
+
+		assertEquals(5, histogram.getBinCount());
+		assertEquals(7, histogram.getTotal());
+		assertEquals(1.0, histogram.getBinStart(0), 0);
+		assertEquals(1, histogram.getCount(0));
+		assertEquals(2, histogram.getCount(1));
+		assertEquals(3, histogram.getCount(2));
+		assertEquals(0, histogram.getCount(3));
+		assertEquals(1, histogram.getCount(4));
+	}
+
+	@Test
+	public void testiranjeNegativnihUzoraka() throws Exception {
+		Histogram histogram = Histogram.fixed(0, 10);
+		DoubleStream.of(-0.5, -10, -10.5, 9.99).forEach(histogram);
+
+		assertEquals(3, histogram.getBinCount());
+		assertEquals(-20.0, histogram.getBinStart(0), 0);
+		assertEquals(1, histogram.getCount(0));
+		assertEquals(2, histogram.getCount(1));
+		assertEquals(1, histogram.getCount(2));
+	}
+
+	@Test
+	public void testiranjePrilagodljiveSirineRazreda() throws Exception {
+		Histogram histogram = Histogram.adaptive(0, 1, 4);
+		for (int i = 0; i < 16; i++) {
+			histogram.accept(i);
+		}
+
+		assertEquals(4.0, histogram.getBinWidth(), 0);
+		assertEquals(4, histogram.getBinCount());
+		for (int i = 0; i < 4; i++) {
+			assertEquals(4, histogram.getCount(i));
+		}
+	}
+
+	@Test
+	public void testiranjeSpajanjaRazlicitihSirina() throws Exception {
+		Histogram first = Histogram.adaptive(0, 1, 4);
+		IntStream.range(0, 16).forEach(first::accept);
+		Histogram second = Histogram.adaptive(0, 1, 4);
+		second.accept(1);
+
+		first.merge(second);
+		assertEquals(17, first.getTotal());
+		assertEquals(5, first.getCount(0));
+
+		second.merge(first);
+		assertEquals(4.0, second.getBinWidth(), 0);
+		assertEquals(18, second.getTotal());
+		assertEquals(6, second.getCount(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeSpajanjaNeskladnihSirina() throws Exception {
+		Histogram.fixed(0, 1).merge(Histogram.fixed(0, 3));
+	}
+
+	@Test
+	public void testiranjeParalelnogIzracuna() throws Exception {
+		double[] samples = new Random(42).doubles(200_000, -50, 50).toArray();
+
+		Histogram sequential = Histogram.adaptive(0, 0.5, 64);
+		DoubleStream.of(samples).forEach(sequential);
+		Histogram parallel = DoubleStream.of(samples).parallel().collect(() -> Histogram.adaptive(0, 0.5, 64),
+				Histogram::accept, Histogram::merge);
+
+		assertEquals(sequential.getBinWidth(), parallel.getBinWidth(), 0);
+		assertEquals(sequential.getBinCount(), parallel.getBinCount());
+		for (int i = 0; i < sequential.getBinCount(); i++) {
+			assertEquals(sequential.getCount(i), parallel.getCount(i));
+		}
+	}
+
+	@Test
+	public void testiranjeStvaranjaDijagrama() throws Exception {
+		BarChart barChart = BarChart.fromSamples(DoubleStream.of(1, 2, 2, 3, 3, 3, 3).parallel(),
+				() -> Histogram.fixed(0, 1), "Number of people in the car", "Frequency");
+
+		assertEquals(3, barChart.size());
+		assertEquals(new XYValue(3, 4), barChart.getXyValues().get(2));
+		assertEquals(0, barChart.getyMin());
+		assertEquals(4, barChart.getyMax());
+		assertEquals(1, barChart.getyStep());
+	}
+
+	@Test
+	public void testiranjeDijagramaUskihRazreda() throws Exception {
+		Histogram histogram = Histogram.fixed(0, 0.25);
+		DoubleStream.of(0.1, 0.3, 0.6, 0.9, 1.2, 1.4, 2.9).forEach(histogram);
+
+		BarChart barChart = histogram.toBarChart("x", "y");
+		assertEquals(3, barChart.size());
+		assertEquals(new XYValue(0, 4), barChart.getXyValues().get(0));
+		assertEquals(new XYValue(1, 2), barChart.getXyValues().get(1));
+		assertEquals(new XYValue(2, 1), barChart.getXyValues().get(2));
+		assertEquals(4, barChart.getyMax());
+	}
+}
@@ -0,0 +1,364 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.Rectangle;
+
+import org.junit.Test;
+
+public class CalcLayoutTest {
+
+	private static final int ROWS = 5;
+
+	private static final int COLUMNS = 7;
+
+	@Test
+	public void testiranjeRaspodjeleOstatkaBezPraznina() throws Exception {
+		for (int gap : new int[] { 0, 1, 3, 7 }) {
+			for (Insets insets : new Insets[] { new Insets(0, 0, 0, 0), new Insets(1, 2, 3, 4) }) {
+				CalcLayoutHarness harness = new CalcLayoutHarness(gap, insets);
+				for (int width = 0; width <= 300; width++) {
+					harness.resize(width, 60 + width % 13);
+					checkLayout(harness);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testiranjeGranicaUzOstatak() throws Exception {
+		CalcLayoutHarness harness = new CalcLayoutHarness(0, new Insets(0, 0, 0, 0));
+		// 103 = 7 * 14 + 5, 53 = 5 * 10 + 3
+		harness.resize(103, 53);
+
+		assertEquals(new Rectangle(0, 0, 75, 11), harness.getComponent(1, 1).getBounds());
+		assertEquals(new Rectangle(15, 11, 15, 11), harness.getComponent(2, 2).getBounds());
+		assertEquals(new Rectangle(75, 22, 14, 11), harness.getComponent(3, 6).getBounds());
+		assertEquals(new Rectangle(89, 43, 14, 10), harness.getComponent(5, 7).getBounds());
+	}
+
+	@Test
+	public void testiranjePreporuceneVelicine() throws Exception {
+		CalcLayoutHarness harness = new CalcLayoutHarness(2, new Insets(1, 2, 3, 4));
+		// najšira komponenta je u stupcu 7, a najviša u redku 5
+		assertEquals(new Dimension(7 * 70 + 6 * 2 + 6, 5 * 25 + 4 * 2 + 4), harness.preferredSize());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeZauzetePozicije() throws Exception {
+		Container container = new Container();
+		container.setLayout(new CalcLayout());
+		container.add(new Component() {
+			private static final long serialVersionUID = 1L;
+		}, "2,2");
+		container.add(new Component() {
+			private static final long serialVersionUID = 1L;
+		}, " 2 , 2 ");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNelegalnePozicije() throws Exception {
+		Container container = new Container();
+		container.setLayout(new CalcLayout());
+		container.add(new Component() {
+			private static final long serialVersionUID = 1L;
+		}, RCPosition.of(1, 3));
+	}
+
+	@Test
+	public void testiranjePamcenjaDimenzijaDjece() throws Exception {
+		int[] queries = new int[1];
+		Component counting = new Component() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Dimension getPreferredSize() {
+				queries[0]++;
+				return new Dimension(10, 10);
+			}
+		};
+		Container container = new Container();
+		CalcLayout layout = new CalcLayout();
+		container.setLayout(layout);
+		container.add(counting, "2,2");
+
+		layout.preferredLayoutSize(container);
+		// dodavanje komponente briše dimenziju razmještaja, ali ne i djece
+		container.add(new Component() {
+			private static final long serialVersionUID = 1L;
+		}, "3,3");
+		layout.preferredLayoutSize(container);
+		assertEquals(1, queries[0]);
+
+		layout.invalidateLayout(container);
+		layout.preferredLayoutSize(container);
+		assertEquals(2, queries[0]);
+	}
+
+	@Test
+	public void testiranjeUgnijezdenihRazmjestaja() throws Exception {
+		int[] queries = new int[2];
+		Container root = new Container();
+		CalcLayout rootLayout = new CalcLayout();
+		root.setLayout(rootLayout);
+		Container[] children = new Container[2];
+		for (int i = 0; i < children.length; i++) {
+			int index = i;
+			children[i] = new Container();
+			children[i].setLayout(new CalcLayout());
+			for (int column = 1; column <= 7; column++) {
+				children[i].add(new Component() {
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					public Dimension getPreferredSize() {
+						queries[index]++;
+						return new Dimension(10, 10);
+					}
+				}, RCPosition.of(2, column));
+			}
+			root.add(children[i], RCPosition.of(2, i + 1));
+		}
+
+		Dimension size = rootLayout.preferredLayoutSize(root);
+		assertEquals(7, queries[0]);
+		assertEquals(7, queries[1]);
+		assertEquals(size, rootLayout.preferredLayoutSize(root));
+		assertEquals(7, queries[0]);
+
+		// AWT poništava razmještaje od prvog djeteta do korijena
+		((CalcLayout) children[0].getLayout()).invalidateLayout(children[0]);
+		rootLayout.invalidateLayout(root);
+		assertEquals(size, rootLayout.preferredLayoutSize(root));
+		assertEquals(14, queries[0]);
+		assertEquals(7, queries[1]);
+	}
+
+	@Test
+	public void testiranjeDohvataKomponenteNaTocki() throws Exception {
+		for (int gap : new int[] { 0, 3 }) {
+			Container container = new Container() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public Insets getInsets() {
+					return new Insets(2, 3, 1, 4);
+				}
+			};
+			CalcLayout layout = new CalcLayout(gap);
+			container.setLayout(layout);
+			for (int row = 1; row <= 5; row++) {
+				for (int column = 1; column <= 7; column++) {
+					if (row != 1 || column == 1 || column > 5) {
+						container.add(new Component() {
+							private static final long serialVersionUID = 1L;
+						}, RCPosition.of(row, column));
+					}
+				}
+			}
+
+			for (int width = 40; width <= 120; width += 7) {
+				for (int height = 30; height <= 80; height += 9) {
+					container.setSize(width, height);
+					container.doLayout();
+					for (int x = -1; x <= width; x++) {
+						for (int y = -1; y <= height; y++) {
+							Component expected = container.getComponentAt(x, y);
+							if (expected == container) {
+								expected = null;
+							}
+							assertSame(expected, layout.componentAt(container, x, y));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testiranjeSkupnogDodavanja() throws Exception {
+		// bez prikaza spremnik nikada nije ispravan pa se ispravnost glumi
+		int[] invalidations = new int[1];
+		boolean[] valid = new boolean[1];
+		Container container = new Container() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public boolean isValid() {
+				return valid[0];
+			}
+
+			@Override
+			public void invalidate() {
+				invalidations[0]++;
+				valid[0] = false;
+				super.invalidate();
+			}
+		};
+		CalcLayout layout = new CalcLayout();
+		container.setLayout(layout);
+		container.add(component(), "2,2");
+		valid[0] = true;
+		invalidations[0] = 0;
+
+		Component screen = component();
+		new CalcLayoutBatch(container).add(screen, "1,1").add(component(), "1,6").add(component(), "5,7").commit();
+		assertEquals(4, container.getComponentCount());
+		assertEquals(1, invalidations[0]);
+		assertSame(screen, container.getComponent(1));
+		assertEquals(4, Long.bitCount(layout.occupiedCells()));
+	}
+
+	@Test
+	public void testiranjeProvjereSkupnogDodavanja() throws Exception {
+		Container container = new Container();
+		CalcLayout layout = new CalcLayout();
+		container.setLayout(layout);
+		Component existing = component();
+		container.add(existing, "2,2");
+		Component staged = component();
+
+		// zauzeta pozicija u razmještaju, zauzeta pozicija u skupu, nelegalna
+		// pozicija i komponenta pripremljena dva puta
+		CalcLayoutBatch[] batches = { new CalcLayoutBatch(container).add(component(), "3,3").add(component(), "2,2"),
+				new CalcLayoutBatch(container).add(component(), "3,3").add(component(), " 3 , 3 "),
+				new CalcLayoutBatch(container).add(component(), "3,3").add(component(), "1,3"),
+				new CalcLayoutBatch(container).add(staged, "3,3").add(staged, "3,4"),
+				new CalcLayoutBatch(container).add(component(), "3,3").add(existing, "3,4") };
+		for (CalcLayoutBatch batch : batches) {
+			try {
+				batch.commit();
+				fail("Skup je trebao biti odbijen");
+			} catch (IllegalArgumentException expected) {
+			}
+			assertEquals(1, container.getComponentCount());
+			assertEquals(1L << CalcLayout.cellIndex(RCPosition.of(2, 2)), layout.occupiedCells());
+		}
+	}
+
+	@Test
+	public void testiranjePonistavanjaSkupnogDodavanja() throws Exception {
+		Component failing = component();
+		Container container = new Container() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void addImpl(Component comp, Object constraints, int index) {
+				if (comp == failing) {
+					throw new IllegalStateException("Dodavanje nije uspjelo");
+				}
+				super.addImpl(comp, constraints, index);
+			}
+		};
+		CalcLayout layout = new CalcLayout();
+		container.setLayout(layout);
+		Component first = component();
+
+		try {
+			new CalcLayoutBatch(container).add(first, "2,1").add(component(), "2,2").add(failing, "2,3").commit();
+			fail("Dodavanje je trebalo baciti iznimku");
+		} catch (IllegalStateException expected) {
+		}
+		assertEquals(0, container.getComponentCount());
+		assertNull(first.getParent());
+		assertEquals(0, layout.occupiedCells());
+
+		// razmještaj nije ostao u skupnom načinu rada
+		container.add(first, "2,1");
+		try {
+			container.add(component(), "2,1");
+			fail("Zauzeta pozicija je trebala biti odbijena");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	@Test
+	public void testiranjeParsiranjaPozicije() throws Exception {
+		assertSame(RCPosition.of(3, 7), RCPosition.parse(" 3 ,7"));
+		assertEquals(new RCPosition(-1, 100), RCPosition.parse("-1,100"));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testiranjeParsiranjaNeispravnePozicije() throws Exception {
+		RCPosition.parse("1,2,3");
+	}
+
+	private static Component component() {
+		return new Component() {
+			private static final long serialVersionUID = 1L;
+		};
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava da redci i stupci ispunjavaju cijeli
+	 * roditelj bez praznina i preklapanja, da preostali pikseli pripadaju
+	 * prvim redcima i stupcima te da je svaka komponenta, uključujući (1, 1),
+	 * poravnata sa svojim retkom i stupcem. Ukoliko za crtanje nema prostora
+	 * razmještaj se ne provjerava.
+	 */
+	private static void checkLayout(CalcLayoutHarness harness) {
+		Container parent = harness.getParent();
+		Insets insets = parent.getInsets();
+		int gap = harness.getGap();
+		int width = parent.getWidth() - insets.left - insets.right - (COLUMNS - 1) * gap;
+		int height = parent.getHeight() - insets.top - insets.bottom - (ROWS - 1) * gap;
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+
+		// drugi redak i zadnji stupac sadrže sve stupce odnosno retke
+		checkTracks(harness, 2, true, insets.left, parent.getWidth() - insets.right, width);
+		checkTracks(harness, COLUMNS, false, insets.top, parent.getHeight() - insets.bottom, height);
+
+		for (int row = 1; row <= ROWS; row++) {
+			for (int column = 1; column <= COLUMNS; column++) {
+				Component comp = harness.getComponent(row, column);
+				if (comp == null) {
+					continue;
+				}
+				boolean wide = row == 1 && column == 1;
+				Rectangle columnBounds = harness.getComponent(2, wide ? 5 : column).getBounds();
+				Rectangle rowBounds = harness.getComponent(row, COLUMNS).getBounds();
+				int left = wide ? harness.getComponent(2, 1).getX() : columnBounds.x;
+
+				Rectangle expected = new Rectangle(left, rowBounds.y, columnBounds.x + columnBounds.width - left,
+						rowBounds.height);
+				assertEquals(describe(harness) + ", komponenta (" + row + ", " + column + ")", expected,
+						comp.getBounds());
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava da se komponente jednog retka
+	 * (<b>horizontal</b>) ili stupca nastavljaju jedna na drugu od
+	 * <b>start</b> do <b>end</b> i da su veće veličine na početku.
+	 */
+	private static void checkTracks(CalcLayoutHarness harness, int index, boolean horizontal, int start, int end,
+			int available) {
+		int tracks = horizontal ? COLUMNS : ROWS;
+		int base = available / tracks;
+		int remainder = available % tracks;
+
+		int position = start;
+		for (int i = 1; i <= tracks; i++) {
+			Component comp = horizontal ? harness.getComponent(index, i) : harness.getComponent(i, index);
+			String track = describe(harness) + (horizontal ? ", stupac " : ", redak ") + i;
+			assertEquals(track, position, horizontal ? comp.getX() : comp.getY());
+			int size = horizontal ? comp.getWidth() : comp.getHeight();
+			assertEquals(track, base + (i <= remainder ? 1 : 0), size);
+			position += size + harness.getGap();
+		}
+		assertEquals(describe(harness), end, position - harness.getGap());
+	}
+
+	private static String describe(CalcLayoutHarness harness) {
+		Container parent = harness.getParent();
+		return String.format("%dx%d, razmak %d, umetci %s", parent.getWidth(), parent.getHeight(), harness.getGap(),
+				parent.getInsets());
+	}
+}
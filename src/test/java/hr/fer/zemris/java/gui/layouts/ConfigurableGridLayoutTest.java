@@ -0,0 +1,234 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.Rectangle;
+
+import org.junit.Test;
+
+public class ConfigurableGridLayoutTest {
+
+	@Test
+	public void testiranjeTezinaStupaca() throws Exception {
+		ConfigurableGridLayout layout = new ConfigurableGridLayout(1, 3, 2);
+		layout.setColumnWeight(2, 2);
+		Container container = container(layout, new Insets(0, 0, 0, 0));
+		Component[] comps = { add(container, "1,1"), add(container, "1,2"), add(container, "1,3") };
+
+		// 84 = 80 + 2 razmaka, 80 se dijeli u omjeru 1:2:1
+		container.setSize(84, 10);
+		container.doLayout();
+		assertEquals(new Rectangle(0, 0, 20, 10), comps[0].getBounds());
+		assertEquals(new Rectangle(22, 0, 40, 10), comps[1].getBounds());
+		assertEquals(new Rectangle(64, 0, 20, 10), comps[2].getBounds());
+	}
+
+	@Test
+	public void testiranjeRaspodjeleOstatka() throws Exception {
+		ConfigurableGridLayout layout = new ConfigurableGridLayout(1, 3);
+		Container container = container(layout, new Insets(0, 0, 0, 0));
+		Component[] comps = { add(container, "1,1"), add(container, "1,2"), add(container, "1,3") };
+
+		// 11 = 3 * 3 + 2, preostali pikseli pripadaju prvim stupcima
+		container.setSize(11, 5);
+		container.doLayout();
+		assertEquals(new Rectangle(0, 0, 4, 5), comps[0].getBounds());
+		assertEquals(new Rectangle(4, 0, 4, 5), comps[1].getBounds());
+		assertEquals(new Rectangle(8, 0, 3, 5), comps[2].getBounds());
+
+		// promjena težine mora ponovno izračunati stupce iste veličine roditelja
+		layout.setColumnWeight(1, 2);
+		container.doLayout();
+		assertEquals(new Rectangle(0, 0, 6, 5), comps[0].getBounds());
+		assertEquals(new Rectangle(6, 0, 3, 5), comps[1].getBounds());
+		assertEquals(new Rectangle(9, 0, 2, 5), comps[2].getBounds());
+	}
+
+	@Test
+	public void testiranjeRaspodjeleBezPraznina() throws Exception {
+		int[] rowWeights = { 2, 1 };
+		int[] columnWeights = { 1, 3, 2 };
+		for (int gap : new int[] { 0, 3 }) {
+			ConfigurableGridLayout layout = new ConfigurableGridLayout(2, 3, gap);
+			for (int i = 0; i < rowWeights.length; i++) {
+				layout.setRowWeight(i + 1, rowWeights[i]);
+			}
+			for (int i = 0; i < columnWeights.length; i++) {
+				layout.setColumnWeight(i + 1, columnWeights[i]);
+			}
+			Insets insets = new Insets(1, 2, 3, 4);
+			Container container = container(layout, insets);
+			Component[] row = { add(container, "1,1"), add(container, "1,2"), add(container, "1,3") };
+			Component[] column = { row[2], add(container, "2,3") };
+			Component wide = add(container, "2,1,1,2");
+
+			for (int width = 0; width <= 300; width++) {
+				int height = 40 + width % 17;
+				container.setSize(width, height);
+				container.doLayout();
+
+				checkTracks(row, true, insets.left, width - insets.right, gap, columnWeights);
+				checkTracks(column, false, insets.top, height - insets.bottom, gap, rowWeights);
+				if (width - insets.left - insets.right > 2 * gap) {
+					assertEquals(row[0].getX(), wide.getX());
+					assertEquals(row[1].getX() + row[1].getWidth(), wide.getX() + wide.getWidth());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testiranjeRasponaKomponente() throws Exception {
+		ConfigurableGridLayout layout = new ConfigurableGridLayout(3, 3, 5);
+		Container container = container(layout, new Insets(0, 0, 0, 0));
+		Component span = add(container, "1,1,2,2");
+		Component corner = add(container, "3,3");
+
+		// svaki redak i stupac dobiva 30, a raspon sadrži i jedan razmak
+		container.setSize(100, 100);
+		container.doLayout();
+		assertEquals(new Rectangle(0, 0, 65, 65), span.getBounds());
+		assertEquals(new Rectangle(70, 70, 30, 30), corner.getBounds());
+		assertSame(span, layout.componentAt(container, 64, 40));
+		assertNull(layout.componentAt(container, 67, 40));
+		assertEquals(new GridConstraint(1, 1, 2, 2), layout.getConstraint(span));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjePreklapanjaRaspona() throws Exception {
+		Container container = container(new ConfigurableGridLayout(3, 3), new Insets(0, 0, 0, 0));
+		add(container, "1,1,2,2");
+		add(container, "2,2");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeRasponaIzvanMreze() throws Exception {
+		Container container = container(new ConfigurableGridLayout(3, 3), new Insets(0, 0, 0, 0));
+		add(container, "3,3,1,2");
+	}
+
+	@Test
+	public void testiranjeRasponaKojiPreljevaIndeks() throws Exception {
+		Container container = container(new ConfigurableGridLayout(3, 3), new Insets(0, 0, 0, 0));
+		for (String constraint : new String[] { Integer.MAX_VALUE + ",1,2,1", "1," + Integer.MAX_VALUE + ",1,2" }) {
+			try {
+				add(container, constraint);
+				fail("Ograničenje " + constraint + " je prihvaćeno");
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNeispravneTezine() throws Exception {
+		new ConfigurableGridLayout(2, 2).setRowWeight(1, 0);
+	}
+
+	@Test
+	public void testiranjeVelicinaRazmjestaja() throws Exception {
+		ConfigurableGridLayout layout = new ConfigurableGridLayout(2, 2, 2);
+		layout.setColumnWeight(2, 3);
+		Container container = container(layout, new Insets(1, 2, 3, 4));
+		Component small = add(container, "1,1");
+		Component right = add(container, "1,2");
+		Component wide = add(container, "2,1,1,2");
+
+		small.setPreferredSize(new Dimension(10, 10));
+		right.setPreferredSize(new Dimension(60, 8));
+		wide.setPreferredSize(new Dimension(50, 20));
+		small.setMinimumSize(new Dimension(7, 3));
+		right.setMinimumSize(new Dimension(0, 0));
+		wide.setMinimumSize(new Dimension(0, 0));
+		small.setMaximumSize(new Dimension(100, 100));
+		right.setMaximumSize(new Dimension(100, 100));
+		wide.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
+		layout.invalidateLayout(container);
+
+		// jedinica težine: max(10 / 1, 60 / 3, (50 - 2) / 4) = 20 i max(10, 8, 20)
+		assertEquals(new Dimension(20 * 4 + 2 + 6, 20 * 2 + 2 + 4), layout.preferredLayoutSize(container));
+		assertEquals(new Dimension(7 * 4 + 2 + 6, 3 * 2 + 2 + 4), layout.minimumLayoutSize(container));
+		assertEquals(new Dimension(Integer.MAX_VALUE, 100 * 2 + 2 + 4), layout.maximumLayoutSize(container));
+
+		// rezultati su kopije pa ih pozivatelj smije mijenjati
+		layout.preferredLayoutSize(container).width = 0;
+		assertEquals(88, layout.preferredLayoutSize(container).width);
+	}
+
+	@Test
+	public void testiranjeParsiranjaOgranicenja() throws Exception {
+		assertEquals(new GridConstraint(2, 3), GridConstraint.parse(" 2 , 3 "));
+		assertEquals(new GridConstraint(1, 2, 3, 4), GridConstraint.parse("1, 2 ,3,4 "));
+		assertEquals(new GridConstraint(-1, 2), GridConstraint.parse("-1,+2"));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testiranjeParsiranjaTriBroja() throws Exception {
+		GridConstraint.parse("1,2,3");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testiranjeParsiranjaViskaZnakova() throws Exception {
+		GridConstraint.parse("1,2,3,4,5");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeParsiranjaNeispravnogRaspona() throws Exception {
+		GridConstraint.parse("1,2,0,1");
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava da se komponente <b>comps</b> nastavljaju
+	 * jedna na drugu uz razmak <b>gap</b> od <b>start</b> do <b>end</b> te da
+	 * su veličine razmjerne težinama, pri čemu preostali pikseli pripadaju
+	 * prvim redcima ili stupcima.
+	 */
+	private static void checkTracks(Component[] comps, boolean horizontal, int start, int end, int gap,
+			int[] weights) {
+		int available = end - start - (comps.length - 1) * gap;
+		if (available <= 0) {
+			return;
+		}
+		int totalWeight = 0;
+		for (int weight : weights) {
+			totalWeight += weight;
+		}
+		int assigned = 0;
+		for (int weight : weights) {
+			assigned += available * weight / totalWeight;
+		}
+
+		int position = start;
+		for (int i = 0; i < comps.length; i++) {
+			int expectedSize = available * weights[i] / totalWeight + (i < available - assigned ? 1 : 0);
+			assertEquals(position, horizontal ? comps[i].getX() : comps[i].getY());
+			assertEquals(expectedSize, horizontal ? comps[i].getWidth() : comps[i].getHeight());
+			position += expectedSize + gap;
+		}
+		assertEquals(end, position - gap);
+	}
+
+	private static Container container(ConfigurableGridLayout layout, Insets insets) {
+		Container container = new Container() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Insets getInsets() {
+				return (Insets) insets.clone();
+			}
+		};
+		container.setLayout(layout);
+		return container;
+	}
+
+	private static Component add(Container container, String constraint) {
+		Component comp = new Component() {
+			private static final long serialVersionUID = 1L;
+		};
+		container.add(comp, constraint);
+		return comp;
+	}
+}
@@ -0,0 +1,167 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Component;
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+public class LayoutAnimatorTest {
+
+	private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/** Trenutno vrijeme lažnog sata u nanosekundama */
+	private long now;
+
+	@Test
+	public void testiranjeSpajanjaCiljevaTijekomPrijelaza() throws Exception {
+		onEventThread(() -> {
+			CountingComponent comp = new CountingComponent(0, 0, 10, 10);
+			LayoutAnimator animator = new LayoutAnimator(() -> now);
+
+			animator.setTarget(comp, 100, 0, 10, 10);
+			animator.commit();
+			now = 75 * MILLIS;
+			animator.tick();
+			// napredak 0.5 uz usporavanje je 1 - 0.5^3 = 0.875
+			assertEquals(new Rectangle(88, 0, 10, 10), comp.getBounds());
+
+			// novi cilj kreće od trenutnih granica i ponovno traje cijeli prijelaz
+			animator.setTarget(comp, 0, 0, 10, 10);
+			animator.commit();
+			now += 75 * MILLIS;
+			// isti cilj ne započinje novi prijelaz
+			animator.setTarget(comp, 0, 0, 10, 10);
+			animator.commit();
+			animator.tick();
+			assertEquals(new Rectangle(11, 0, 10, 10), comp.getBounds());
+
+			now += 75 * MILLIS;
+			animator.tick();
+			assertEquals(new Rectangle(0, 0, 10, 10), comp.getBounds());
+
+			// prijelaz je završen pa se granice više ne mijenjaju
+			comp.calls = 0;
+			now += 75 * MILLIS;
+			animator.tick();
+			assertEquals(0, comp.calls);
+		});
+	}
+
+	@Test
+	public void testiranjePrekoracenjaTrajanjaOkvira() throws Exception {
+		onEventThread(() -> {
+			CountingComponent slow = new CountingComponent(0, 0, 10, 10) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void setBounds(int x, int y, int width, int height) {
+					super.setBounds(x, y, width, height);
+					now += 10 * MILLIS;
+				}
+			};
+			CountingComponent other = new CountingComponent(0, 20, 10, 10);
+			LayoutAnimator animator = new LayoutAnimator(() -> now);
+
+			animator.setTarget(slow, 200, 0, 10, 10);
+			animator.setTarget(other, 200, 20, 10, 10);
+			animator.commit();
+			now = 30 * MILLIS;
+			animator.tick();
+
+			// okvir je trajao dulje od 8 ms pa su sve komponente odmah na cilju
+			assertEquals(new Rectangle(200, 0, 10, 10), slow.getBounds());
+			assertEquals(new Rectangle(200, 20, 10, 10), other.getBounds());
+		});
+	}
+
+	@Test
+	public void testiranjePostavljanjaSamoPromijenjenihGranica() throws Exception {
+		onEventThread(() -> {
+			CountingComponent still = new CountingComponent(0, 0, 10, 10);
+			CountingComponent nudged = new CountingComponent(20, 0, 10, 10);
+			CountingComponent moved = new CountingComponent(40, 0, 10, 10);
+			CountingComponent fresh = new CountingComponent(0, 0, 0, 0);
+			LayoutAnimator animator = new LayoutAnimator(() -> now);
+
+			animator.setTarget(still, 0, 0, 10, 10);
+			animator.setTarget(nudged, 21, 0, 10, 10);
+			animator.setTarget(moved, 140, 0, 10, 10);
+			animator.setTarget(fresh, 60, 0, 10, 10);
+			animator.commit();
+			// komponenta bez veličine odmah dobiva ciljne granice
+			assertEquals(1, fresh.calls);
+			assertEquals(new Rectangle(60, 0, 10, 10), fresh.getBounds());
+
+			for (int frame = 1; frame <= 10; frame++) {
+				now = frame * 16 * MILLIS;
+				animator.tick();
+			}
+
+			assertEquals(0, still.calls);
+			// pomak od jednog piksela postavlja se samo u okviru u kojem se zaokruži
+			assertEquals(1, nudged.calls);
+			assertEquals(new Rectangle(21, 0, 10, 10), nudged.getBounds());
+			assertTrue(moved.calls > 1 && moved.calls <= 10);
+			assertEquals(new Rectangle(140, 0, 10, 10), moved.getBounds());
+			assertEquals(1, fresh.calls);
+		});
+	}
+
+	@Test
+	public void testiranjeZavrsetkaIUklanjanja() throws Exception {
+		onEventThread(() -> {
+			CountingComponent kept = new CountingComponent(0, 0, 10, 10);
+			CountingComponent removed = new CountingComponent(0, 20, 10, 10);
+			LayoutAnimator animator = new LayoutAnimator(() -> now);
+
+			animator.setTarget(kept, 50, 0, 10, 10);
+			animator.setTarget(removed, 50, 20, 10, 10);
+			animator.commit();
+			animator.remove(removed);
+			animator.finish();
+
+			assertEquals(new Rectangle(50, 0, 10, 10), kept.getBounds());
+			assertEquals(new Rectangle(0, 20, 10, 10), removed.getBounds());
+			assertEquals(0, removed.calls);
+		});
+	}
+
+	private static void onEventThread(Runnable test) throws Exception {
+		Throwable[] failure = new Throwable[1];
+		SwingUtilities.invokeAndWait(() -> {
+			try {
+				test.run();
+			} catch (Throwable t) {
+				failure[0] = t;
+			}
+		});
+		if (failure[0] instanceof Error) {
+			throw (Error) failure[0];
+		}
+		if (failure[0] != null) {
+			throw new AssertionError(failure[0]);
+		}
+	}
+
+	private static class CountingComponent extends Component {
+
+		private static final long serialVersionUID = 1L;
+
+		int calls;
+
+		CountingComponent(int x, int y, int width, int height) {
+			super.setBounds(x, y, width, height);
+		}
+
+		@Override
+		public void setBounds(int x, int y, int width, int height) {
+			calls++;
+			super.setBounds(x, y, width, height);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package hr.fer.zemris.java.gui.layouts;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import org.junit.Test;
+
+public class LayoutSnapshotRendererTest {
+
+	@Test
+	public void testiranjeJednakihSlikaIsteVelicine() throws Exception {
+		try (LayoutSnapshotRenderer renderer = new LayoutSnapshotRenderer(LayoutSnapshotRendererTest::panel, 2)) {
+			int[] first = pixels(renderer.render(210, 120));
+			// veća slika povećava međuspremnik, a manja koristi njegov dio
+			renderer.render(400, 300);
+			int[] second = pixels(renderer.render(210, 120));
+			assertArrayEquals(first, second);
+
+			// redci su visine 22, 22, 22, 21 i 21 uz razmak 3
+			BufferedImage image = renderer.render(210, 120);
+			assertEquals(Color.ORANGE.getRGB(), image.getRGB(5, 5));
+			assertEquals(Color.WHITE.getRGB(), image.getRGB(5, 23));
+			assertEquals(new Color(80, 30, 100).getRGB(), image.getRGB(5, 30));
+		}
+	}
+
+	@Test
+	public void testiranjeIscrtavanjaNaVlastitimDretvama() throws Exception {
+		List<Dimension> sizes = Arrays.asList(new Dimension(210, 120), new Dimension(330, 170),
+				new Dimension(210, 120), new Dimension(330, 170));
+		Map<String, int[]> images = new ConcurrentHashMap<>();
+		AtomicInteger mismatches = new AtomicInteger();
+		AtomicInteger calls = new AtomicInteger();
+
+		LayoutSnapshotRenderer renderer = new LayoutSnapshotRenderer(LayoutSnapshotRendererTest::panel, 2);
+		for (int round = 0; round < 2; round++) {
+			renderer.renderAll(sizes, (size, image) -> {
+				calls.incrementAndGet();
+				assertTrue(Thread.currentThread().getName().startsWith("layout-snapshot"));
+				int[] previous = images.putIfAbsent(size.width + "x" + size.height, pixels(image));
+				if (previous != null && !Arrays.equals(previous, pixels(image))) {
+					mismatches.incrementAndGet();
+				}
+			});
+			// nakon zatvaranja dretve i spremnici stvaraju se ponovno
+			renderer.close();
+		}
+		assertEquals(2 * sizes.size(), calls.get());
+		assertEquals(0, mismatches.get());
+	}
+
+	@Test
+	public void testiranjeJednakihSlikaKaoSlijednoIscrtavanje() throws Exception {
+		// gumbi i natpisi dijele UI delegate pa se smiju iscrtavati samo jedan po jedan
+		List<Dimension> sizes = new ArrayList<>();
+		for (int i = 0; i < 24; i++) {
+			sizes.add(new Dimension(200 + i * 17, 150 + i * 11));
+		}
+		Map<Dimension, int[]> expected = new HashMap<>();
+		try (LayoutSnapshotRenderer renderer = new LayoutSnapshotRenderer(
+				LayoutSnapshotRenderer::createCalculatorPanel, 1)) {
+			for (Dimension size : sizes) {
+				expected.put(size, pixels(renderer.render(size.width, size.height)));
+			}
+		}
+
+		AtomicInteger mismatches = new AtomicInteger();
+		try (LayoutSnapshotRenderer renderer = new LayoutSnapshotRenderer(
+				LayoutSnapshotRenderer::createCalculatorPanel, 4)) {
+			renderer.renderAll(sizes, (size, image) -> {
+				if (!Arrays.equals(expected.get(size), pixels(image))) {
+					mismatches.incrementAndGet();
+				}
+			});
+		}
+		assertEquals(0, mismatches.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testiranjeNeispravneVelicine() throws Exception {
+		try (LayoutSnapshotRenderer renderer = new LayoutSnapshotRenderer(LayoutSnapshotRendererTest::panel)) {
+			renderer.renderAll(Arrays.asList(new Dimension(10, 10), new Dimension(0, 10)), (size, image) -> {
+			});
+		}
+	}
+
+	private static int[] pixels(BufferedImage image) {
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	private static Container panel() {
+		JPanel panel = new JPanel(new CalcLayout(3));
+		panel.setBackground(Color.WHITE);
+		JLabel screen = new JLabel("0");
+		screen.setOpaque(true);
+		screen.setBackground(Color.ORANGE);
+		panel.add(screen, "1,1");
+		for (int row = 2; row <= 5; row++) {
+			for (int column = 1; column <= 7; column++) {
+				JLabel label = new JLabel(row + "," + column);
+				label.setOpaque(true);
+				label.setBackground(new Color(row * 40, column * 30, 100));
+				panel.add(label, RCPosition.of(row, column));
+			}
+		}
+		return panel;
+	}
+}